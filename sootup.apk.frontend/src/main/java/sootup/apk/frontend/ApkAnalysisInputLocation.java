@@ -25,12 +25,17 @@ package sootup.apk.frontend;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.jf.dexlib2.iface.DexFile;
 import sootup.apk.frontend.Util.*;
 import sootup.apk.frontend.dexpler.DexClassProvider;
 import sootup.apk.frontend.dexpler.DexFileProvider;
+import sootup.apk.frontend.dexpler.DexResolver;
 import sootup.apk.frontend.main.AndroidVersionInfo;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
@@ -41,8 +46,15 @@ import sootup.core.types.ClassType;
 import sootup.core.util.Modifiers;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
 
-public class ApkAnalysisInputLocation implements AnalysisInputLocation {
+/**
+ * An input location for the classes of an apk. Its dex files are parsed and cached by a {@link
+ * DexResolver} of its own, so they can be garbage collected together with the input location and
+ * its view. An analysis of many apks in one JVM can release them even earlier via {@link #close()}.
+ */
+public class ApkAnalysisInputLocation implements AnalysisInputLocation, AutoCloseable {
 
   Path apk_path;
 
@@ -54,21 +66,24 @@ public class ApkAnalysisInputLocation implements AnalysisInputLocation {
 
   final Map<String, EnumSet<ClassModifier>> classNamesList;
 
+  private final DexResolver dexResolver;
+
   public ApkAnalysisInputLocation(
       Path apkPath, String android_jar_path, List<BodyInterceptor> bodyInterceptors) {
     this.apk_path = apkPath;
     androidSDKVersionInfo = new AndroidVersionInfo(apkPath, android_jar_path);
     this.android_jar_path = android_jar_path;
     this.bodyInterceptors = bodyInterceptors;
+    this.dexResolver = new DexResolver(androidSDKVersionInfo.getApi_version());
     this.classNamesList = extractDexFilesFromPath();
   }
 
   private Map<String, EnumSet<ClassModifier>> extractDexFilesFromPath() {
     List<DexFileProvider.DexContainer<? extends DexFile>> dexFromSource;
-    DexUtil.setAndroidVersionInfo(androidSDKVersionInfo);
     try {
       dexFromSource =
-          DexFileProvider.getInstance()
+          dexResolver
+              .getDexFileProvider()
               .getDexFromSource(apk_path.toFile(), androidSDKVersionInfo.getApi_version());
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -92,7 +107,8 @@ public class ApkAnalysisInputLocation implements AnalysisInputLocation {
   @Override
   public Optional<? extends SootClassSource> getClassSource(
       @Nonnull ClassType type, @Nonnull View view) {
-    return Objects.requireNonNull(getClassSourceInternal(type, new DexClassProvider(view)));
+    return Objects.requireNonNull(
+        getClassSourceInternal(type, new DexClassProvider(view, dexResolver)));
   }
 
   private Optional<? extends SootClassSource> getClassSourceInternal(
@@ -104,12 +120,56 @@ public class ApkAnalysisInputLocation implements AnalysisInputLocation {
   @Nonnull
   @Override
   public Stream<? extends SootClassSource> getClassSources(@Nonnull View view) {
-    return classNamesList.entrySet().stream()
+    DexClassProvider dexClassProvider = new DexClassProvider(view, dexResolver);
+    // a list splits evenly if the class sources are created in parallel
+    List<String> classNames = new ArrayList<>(classNamesList.keySet());
+    return classNames.stream()
         .flatMap(
             className ->
                 StreamUtils.optionalToStream(
-                    getClassSource(
-                        view.getIdentifierFactory().getClassType(className.getKey()), view)));
+                    getClassSourceInternal(
+                        view.getIdentifierFactory().getClassType(className), dexClassProvider)));
+  }
+
+  /**
+   * Resolves the classes of the apk and converts the bodies of their methods in parallel on the
+   * given pool. The classes of all dex files of the apk are converted together, so the threads are
+   * kept busy even if the dex files differ in size. The view should be created with a {@link
+   * sootup.core.cache.provider.ConcurrentCacheProvider}.
+   *
+   * @return the resolved classes, in no particular order
+   */
+  @Nonnull
+  public List<JavaSootClass> resolveClassesInParallel(
+      @Nonnull JavaView view, @Nonnull ForkJoinPool pool) {
+    List<String> classNames = new ArrayList<>(classNamesList.keySet());
+    ForkJoinTask<List<JavaSootClass>> task =
+        pool.submit(
+            () ->
+                classNames
+                    .parallelStream()
+                    .flatMap(
+                        className ->
+                            StreamUtils.optionalToStream(
+                                view.getClass(view.getIdentifierFactory().getClassType(className))))
+                    .map(
+                        javaSootClass -> {
+                          // converts the bodies of the methods
+                          javaSootClass.getMethods();
+                          return javaSootClass;
+                        })
+                    .collect(Collectors.toList()));
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving the classes.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Could not resolve the classes of " + apk_path, e);
+    }
   }
 
   @Nonnull
@@ -123,4 +183,13 @@ public class ApkAnalysisInputLocation implements AnalysisInputLocation {
   public List<BodyInterceptor> getBodyInterceptors() {
     return bodyInterceptors;
   }
+
+  /**
+   * Releases the parsed dex files of the apk. Classes that have already been resolved stay valid.
+   * Classes that are resolved afterwards parse the dex files again.
+   */
+  @Override
+  public void close() {
+    dexResolver.clear();
+  }
 }
@@ -36,7 +36,7 @@ import sootup.java.core.types.JavaClassType;
 
 public class DexUtil {
 
-  private static AndroidVersionInfo androidVersionInfo;
+  private static volatile AndroidVersionInfo androidVersionInfo;
 
   public static Type toSootType(String typeDescriptor, int pos) {
     Type type = null;
@@ -157,10 +157,21 @@ public class DexUtil {
     return javaClassType;
   }
 
+  /**
+   * Sets the api version of the shared {@link sootup.apk.frontend.dexpler.DexResolver#getInstance()
+   * resolver}.
+   *
+   * @deprecated an {@link sootup.apk.frontend.ApkAnalysisInputLocation} parses its dex files for
+   *     the version of its own apk; use a {@link
+   *     sootup.apk.frontend.dexpler.DexResolver#DexResolver(int) resolver} per apk instead
+   */
+  @Deprecated
   public static void setAndroidVersionInfo(AndroidVersionInfo androidVersionInfo) {
     DexUtil.androidVersionInfo = androidVersionInfo;
   }
 
+  /** @deprecated see {@link #setAndroidVersionInfo(AndroidVersionInfo)} */
+  @Deprecated
   public static AndroidVersionInfo getAndroidVersionInfo() {
     return androidVersionInfo;
   }
@@ -35,14 +35,26 @@ import sootup.core.views.View;
 public class DexClassProvider implements ClassProvider {
   @Nonnull private final View view;
 
+  @Nonnull private final DexResolver dexResolver;
+
   public DexClassProvider(@Nonnull View view) {
+    this(view, DexResolver.getInstance());
+  }
+
+  /**
+   * @param view the view the classes are created for
+   * @param dexResolver the resolver that parses and caches the dex files of the classes
+   */
+  public DexClassProvider(@Nonnull View view, @Nonnull DexResolver dexResolver) {
     this.view = view;
+    this.dexResolver = dexResolver;
   }
 
   @Override
   public Optional<SootClassSource> createClassSource(
       AnalysisInputLocation inputLocation, Path sourcePath, ClassType classSignature) {
-    return Optional.of(new DexClassSource(view, inputLocation, classSignature, sourcePath));
+    return Optional.of(
+        new DexClassSource(view, inputLocation, classSignature, sourcePath, dexResolver));
   }
 
   @Override
@@ -63,12 +63,21 @@ public class DexClassSource extends JavaSootClassSource {
       @Nonnull AnalysisInputLocation analysisInputLocation,
       @Nonnull ClassType classSignature,
       @Nonnull Path sourcePath) {
+    this(view, analysisInputLocation, classSignature, sourcePath, DexResolver.getInstance());
+  }
+
+  public DexClassSource(
+      @Nonnull View view,
+      @Nonnull AnalysisInputLocation analysisInputLocation,
+      @Nonnull ClassType classSignature,
+      @Nonnull Path sourcePath,
+      @Nonnull DexResolver dexResolver) {
     super(analysisInputLocation, classSignature, sourcePath);
     // Initialize only for the first time.
     this.view = view;
     this.bodyInterceptors = analysisInputLocation.getBodyInterceptors();
     if (this.wrapper == null) {
-      this.wrapper = DexResolver.getInstance().initializeDexFile(new File(sourcePath.toString()));
+      this.wrapper = dexResolver.initializeDexFile(new File(sourcePath.toString()));
     }
     this.classInformation = wrapper.getClassInformation(classSignature);
   }
@@ -25,6 +25,7 @@ package sootup.apk.frontend.dexpler;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jf.dexlib2.DexFileFactory;
 import org.jf.dexlib2.Opcodes;
 import org.jf.dexlib2.dexbacked.DexBackedDexFile;
@@ -37,14 +38,14 @@ public class DexFileProvider {
 
   private final Logger logger = LoggerFactory.getLogger(DexFileProvider.class);
 
-  private int api_version;
+  /**
+   * the api version the dex files are parsed for if a caller does not know the version of its apk
+   */
+  public static final int DEFAULT_API_VERSION = 15;
 
-  private static DexFileProvider instance;
+  private static final DexFileProvider instance = new DexFileProvider();
 
   public static DexFileProvider getInstance() {
-    if (instance == null) {
-      instance = new DexFileProvider();
-    }
     return instance;
   }
 
@@ -68,8 +69,12 @@ public class DexFileProvider {
     }
   }
 
-  /** Mapping of filesystem file (apk, dex, etc.) to mapping of dex name to dex file */
-  private final Map<String, Map<String, DexContainer<? extends DexFile>>> dexMap = new HashMap<>();
+  /**
+   * Mapping of filesystem file (apk, dex, etc.) to mapping of dex name to dex file. Threads that
+   * parse the same file at the same time all use the mapping that was stored first.
+   */
+  private final Map<String, Map<String, DexContainer<? extends DexFile>>> dexMap =
+      new ConcurrentHashMap<>();
 
   /**
    * Returns all dex files found in dex source
@@ -81,15 +86,34 @@ public class DexFileProvider {
    */
   public List<DexContainer<? extends DexFile>> getDexFromSource(File dexSource, int api_version)
       throws IOException {
-    this.api_version = api_version;
-    return getDexFromSource(dexSource, DEFAULT_PRIORITIZER);
+    return getDexFromSource(dexSource, api_version, DEFAULT_PRIORITIZER);
   }
 
+  /**
+   * @deprecated the dex files are parsed for the {@link #DEFAULT_API_VERSION}; use {@link
+   *     #getDexFromSource(File, int, Comparator)} to parse them for the version of their apk
+   */
+  @Deprecated
   public List<DexContainer<? extends DexFile>> getDexFromSource(
       File dexSource, Comparator<DexContainer<? extends DexFile>> prioritizer) throws IOException {
+    return getDexFromSource(dexSource, DEFAULT_API_VERSION, prioritizer);
+  }
+
+  /**
+   * Returns all dex files found in dex source, ordered by the given prioritizer
+   *
+   * @param dexSource Path to a jar, apk, dex, odex or a directory containing multiple dex files
+   * @param api_version the version of the currently instrumenting APK
+   * @param prioritizer the order of the returned dex files, highest priority first
+   * @return List of dex files derived from source
+   * @throws IOException if the dex source is not parsed properly
+   */
+  public List<DexContainer<? extends DexFile>> getDexFromSource(
+      File dexSource, int api_version, Comparator<DexContainer<? extends DexFile>> prioritizer)
+      throws IOException {
     ArrayList<DexContainer<? extends DexFile>> resultList = new ArrayList<>();
     List<File> allSources = allSourcesFromFile(dexSource);
-    updateIndex(allSources);
+    updateIndex(allSources, api_version);
     for (File theSource : allSources) {
       resultList.addAll(dexMap.get(theSource.getCanonicalPath()).values());
     }
@@ -100,17 +124,12 @@ public class DexFileProvider {
     return resultList;
   }
 
-  private void updateIndex(List<File> dexSources) throws IOException {
+  private void updateIndex(List<File> dexSources, int api_version) throws IOException {
     for (File theSource : dexSources) {
       String key = theSource.getCanonicalPath();
-      Map<String, DexContainer<? extends DexFile>> dexFiles = dexMap.get(key);
-      if (dexFiles == null) {
-        try {
-          dexFiles = mappingForFile(theSource);
-          dexMap.put(key, dexFiles);
-        } catch (IOException e) {
-          throw new IllegalStateException("Error parsing dex source", e);
-        }
+      if (!dexMap.containsKey(key)) {
+        // parsed outside of the map, so the parsing does not block the updates of other sources
+        dexMap.putIfAbsent(key, mappingForFile(theSource, api_version));
       }
     }
   }
@@ -121,8 +140,8 @@ public class DexFileProvider {
    * @return
    * @throws IOException
    */
-  private Map<String, DexContainer<? extends DexFile>> mappingForFile(File dexSourceFile)
-      throws IOException {
+  private Map<String, DexContainer<? extends DexFile>> mappingForFile(
+      File dexSourceFile, int api_version) throws IOException {
     // load dex files from apk/folder/file
     boolean multiple_dex = true;
     MultiDexContainer<? extends DexBackedDexFile> dexContainer =
@@ -171,6 +190,14 @@ public class DexFileProvider {
     return Collections.unmodifiableMap(dexMap);
   }
 
+  /**
+   * Releases the parsed dex files, so they can be garbage collected once no class source refers to
+   * them anymore.
+   */
+  public void clear() {
+    dexMap.clear();
+  }
+
   public List<File> allSourcesFromFile(File dexSource) {
     if (dexSource.isDirectory()) {
       List<File> dexFiles = getAllDexFilesInDirectory(dexSource);
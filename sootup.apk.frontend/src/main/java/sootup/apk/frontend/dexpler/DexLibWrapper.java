@@ -61,10 +61,20 @@ public class DexLibWrapper {
    * @param dexSource the dex file from which the classes are taken for jimplification
    */
   public DexLibWrapper(File dexSource) {
+    this(dexSource, DexFileProvider.getInstance(), DexResolver.sharedApiVersion());
+  }
+
+  /**
+   * Construct a DexlibWrapper from a dex file which is parsed by the given provider.
+   *
+   * @param dexSource the dex file from which the classes are taken for jimplification
+   * @param dexFileProvider the provider that parses and caches the dex file
+   * @param apiVersion the api version the dex file is parsed for
+   */
+  public DexLibWrapper(File dexSource, DexFileProvider dexFileProvider, int apiVersion) {
     try {
       List<DexFileProvider.DexContainer<? extends DexFile>> containers =
-          DexFileProvider.getInstance()
-              .getDexFromSource(dexSource, DexUtil.getAndroidVersionInfo().getApi_version());
+          dexFileProvider.getDexFromSource(dexSource, apiVersion);
       this.dexFiles = new ArrayList<>(containers.size());
       for (DexFileProvider.DexContainer<? extends DexFile> container : containers) {
         this.dexFiles.add(container.getBase());
@@ -23,28 +23,90 @@ package sootup.apk.frontend.dexpler;
  */
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import javax.annotation.Nonnull;
+import sootup.apk.frontend.Util.DexUtil;
+import sootup.apk.frontend.main.AndroidVersionInfo;
 
+/**
+ * Resolves dex files to their wrappers. It is safe to be used by multiple threads.
+ *
+ * <p>The shared {@link #getInstance() instance} keeps every dex file it has parsed. An analysis of
+ * many apks in one JVM should rather use a resolver per apk, as the {@link
+ * sootup.apk.frontend.ApkAnalysisInputLocation} does, which releases its dex files once it is
+ * cleared or no longer referenced.
+ */
 public class DexResolver {
-  protected Map<File, DexLibWrapper> cache = new HashMap<>();
+  protected Map<File, DexLibWrapper> cache = new ConcurrentHashMap<>();
+
+  private static final DexResolver instance =
+      new DexResolver(DexFileProvider.getInstance(), DexResolver::sharedApiVersion);
+
+  @Nonnull private final DexFileProvider dexFileProvider;
 
-  private static DexResolver instance;
+  @Nonnull private final IntSupplier apiVersion;
+
+  /**
+   * Creates a resolver with its own cache of dex files.
+   *
+   * @param apiVersion the api version the dex files are parsed for
+   */
+  public DexResolver(int apiVersion) {
+    this(new DexFileProvider(), () -> apiVersion);
+  }
+
+  private DexResolver(@Nonnull DexFileProvider dexFileProvider, @Nonnull IntSupplier apiVersion) {
+    this.dexFileProvider = dexFileProvider;
+    this.apiVersion = apiVersion;
+  }
+
+  /**
+   * Returns the api version the shared {@link #getInstance() instance} parses dex files for. It is
+   * the {@link DexFileProvider#DEFAULT_API_VERSION} unless a version was set via {@link
+   * DexUtil#setAndroidVersionInfo}.
+   */
+  @SuppressWarnings("deprecation")
+  static int sharedApiVersion() {
+    AndroidVersionInfo androidVersionInfo = DexUtil.getAndroidVersionInfo();
+    return androidVersionInfo == null
+        ? DexFileProvider.DEFAULT_API_VERSION
+        : androidVersionInfo.getApi_version();
+  }
 
   public static DexResolver getInstance() {
-    if (instance == null) {
-      instance = new DexResolver();
-    }
     return instance;
   }
 
+  /** Returns the provider that parses the dex files of this resolver. */
+  @Nonnull
+  public DexFileProvider getDexFileProvider() {
+    return dexFileProvider;
+  }
+
+  /**
+   * Returns the wrapper of the given dex source. The dex source is parsed outside of the cache, so
+   * threads resolving other dex sources are not blocked meanwhile. Threads that ask for the same
+   * dex source at the same time may parse it twice, but all of them get the same wrapper.
+   */
   public DexLibWrapper initializeDexFile(File file) {
     DexLibWrapper wrapper = cache.get(file);
-    if (wrapper == null) {
-      wrapper = new DexLibWrapper(file);
-      cache.put(file, wrapper);
-      wrapper.initialize();
+    if (wrapper != null) {
+      return wrapper;
     }
-    return wrapper;
+    wrapper = new DexLibWrapper(file, dexFileProvider, apiVersion.getAsInt());
+    wrapper.initialize();
+    DexLibWrapper existingWrapper = cache.putIfAbsent(file, wrapper);
+    return existingWrapper != null ? existingWrapper : wrapper;
+  }
+
+  /**
+   * Releases the wrappers and the parsed dex files, so they can be garbage collected once no class
+   * source refers to them anymore. A dex source that is resolved again is parsed again.
+   */
+  public void clear() {
+    cache.clear();
+    dexFileProvider.clear();
   }
 }
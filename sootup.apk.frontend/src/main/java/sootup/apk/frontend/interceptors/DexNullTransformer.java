@@ -43,7 +43,6 @@ import sootup.core.model.MethodModifier;
 import sootup.core.types.ArrayType;
 import sootup.core.types.Type;
 import sootup.core.types.UnknownType;
-import sootup.core.views.View;
 
 /**
  * BodyTransformer to find and change IntConstant(0) to NullConstant where locals are used as
@@ -58,8 +57,14 @@ public class DexNullTransformer extends AbstractNullTransformer {
 
   private Local l = null;
 
+  @Nonnull
   @Override
-  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+  protected DexTransformer newInstance() {
+    return new DexNullTransformer();
+  }
+
+  @Override
+  protected void transformBody(@Nonnull Body.BodyBuilder builder) {
     final DexDefUseAnalysis localDefs = new DexDefUseAnalysis(builder);
 
     AbstractStmtVisitor checkDef =
@@ -38,7 +38,6 @@ import sootup.core.jimple.visitor.AbstractStmtVisitor;
 import sootup.core.model.Body;
 import sootup.core.types.Type;
 import sootup.core.types.UnknownType;
-import sootup.core.views.View;
 
 public class DexNumberTranformer extends DexTransformer {
 
@@ -53,8 +52,14 @@ public class DexNumberTranformer extends DexTransformer {
 
   private boolean doBreak = false;
 
+  @Nonnull
   @Override
-  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+  protected DexTransformer newInstance() {
+    return new DexNumberTranformer();
+  }
+
+  @Override
+  protected void transformBody(@Nonnull Body.BodyBuilder builder) {
 
     final DexDefUseAnalysis localDefs = new DexDefUseAnalysis(builder);
 
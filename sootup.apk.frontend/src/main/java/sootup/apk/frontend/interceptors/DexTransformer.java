@@ -25,6 +25,7 @@ package sootup.apk.frontend.interceptors;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
@@ -38,13 +39,29 @@ import sootup.core.jimple.common.ref.JFieldRef;
 import sootup.core.jimple.common.stmt.JAssignStmt;
 import sootup.core.jimple.common.stmt.JIdentityStmt;
 import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ArrayType;
 import sootup.core.types.NullType;
 import sootup.core.types.PrimitiveType;
 import sootup.core.types.Type;
+import sootup.core.views.View;
 
 public abstract class DexTransformer implements BodyInterceptor {
+
+  @Override
+  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+    // the transformations keep the state of the examined local in fields, so every body is
+    // transformed by a new instance and the interceptor can be shared by concurrent resolutions
+    newInstance().transformBody(builder);
+  }
+
+  /** Creates a transformer with a fresh state, which transforms a single body. */
+  @Nonnull
+  protected abstract DexTransformer newInstance();
+
+  protected abstract void transformBody(@Nonnull Body.BodyBuilder builder);
+
   protected Type findArrayType(
       DexDefUseAnalysis dexDefUseAnalysis,
       Stmt arrayStmt,
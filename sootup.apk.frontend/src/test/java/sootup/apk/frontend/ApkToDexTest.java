@@ -1,13 +1,19 @@
 package sootup.apk.frontend;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.apk.frontend.Util.DexUtil;
+import sootup.apk.frontend.dexpler.DexClassProvider;
+import sootup.core.cache.provider.ConcurrentCacheProvider;
 import sootup.core.model.ClassModifier;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
@@ -74,6 +80,72 @@ public class ApkToDexTest {
     assertEquals(740, classes.size());
   }
 
+  @Test
+  public void loadAnApkInParallel() {
+    String apk_path = "resources/FlowSensitivity1.apk";
+    ApkAnalysisInputLocation sootClassApkAnalysisInputLocation =
+        new ApkAnalysisInputLocation(
+            Paths.get(apk_path), "", DexBodyInterceptors.Default.bodyInterceptors());
+    JavaView view =
+        new JavaView(
+            Collections.singletonList(sootClassApkAnalysisInputLocation),
+            new ConcurrentCacheProvider());
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<JavaSootClass> classes;
+    try {
+      classes = sootClassApkAnalysisInputLocation.resolveClassesInParallel(view, pool);
+    } finally {
+      pool.shutdown();
+    }
+    int methodsSize = 0;
+    for (JavaSootClass javaSootClass : classes) {
+      methodsSize += javaSootClass.getMethods().size();
+    }
+    // the same classes and methods as if they are loaded sequentially
+    assertEquals(6220, methodsSize);
+    assertEquals(740, classes.size());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void loadAnApkWithoutTheSharedVersion() {
+    String apk_path = "resources/FlowSensitivity1.apk";
+    ApkAnalysisInputLocation sootClassApkAnalysisInputLocation =
+        new ApkAnalysisInputLocation(
+            Paths.get(apk_path), "", DexBodyInterceptors.Default.bodyInterceptors());
+    // the input location parses its dex files for its own version
+    assertNull(DexUtil.getAndroidVersionInfo());
+
+    // the shared resolver falls back to the default version
+    JavaView view = new JavaView(sootClassApkAnalysisInputLocation);
+    ClassType classType =
+        view.getIdentifierFactory().getClassType("android.support.v4.app.FragmentState$1");
+    DexClassProvider sharedClassProvider = new DexClassProvider(view);
+    assertTrue(
+        sharedClassProvider
+            .createClassSource(sootClassApkAnalysisInputLocation, Paths.get(apk_path), classType)
+            .isPresent());
+  }
+
+  @Test
+  public void resolveClassAfterClose() {
+    String apk_path = "resources/FlowSensitivity1.apk";
+    ApkAnalysisInputLocation sootClassApkAnalysisInputLocation =
+        new ApkAnalysisInputLocation(
+            Paths.get(apk_path), "", DexBodyInterceptors.Default.bodyInterceptors());
+    JavaView view = new JavaView(sootClassApkAnalysisInputLocation);
+    ClassType classType =
+        view.getIdentifierFactory().getClassType("android.support.v4.app.FragmentState$1");
+    JavaSootClass sootClass = view.getClass(classType).get();
+
+    // the resolved class stays valid and other classes parse the dex files again
+    sootClassApkAnalysisInputLocation.close();
+    assertFalse(sootClass.getMethods().isEmpty());
+    ClassType otherClassType =
+        view.getIdentifierFactory().getClassType("android.support.v7.widget.PopupMenu");
+    assertTrue(view.getClass(otherClassType).isPresent());
+  }
+
   @Test
   public void loadOneClass() {
     String apk_path = "resources/FlowSensitivity1.apk";
@@ -0,0 +1,73 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the conversion of bytecode to Jimple, i.e. <code>AsmMethodSource.resolveBody</code>,
+ * without any body interceptors. As a method source can only be resolved once, the classes are
+ * rebuilt from a fresh view before each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AsmMethodSourceBenchmark {
+
+  @Param({BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH})
+  public String jar;
+
+  private List<SootMethod> methods;
+
+  @Setup(Level.Invocation)
+  public void loadClasses() {
+    JavaView view =
+        new JavaView(Collections.singletonList(BenchmarkInputs.jar(jar, Collections.emptyList())));
+    methods =
+        view.getClasses()
+            .map(JavaSootClass.class::cast)
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::isConcrete)
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public void resolveBody(Blackhole blackhole) throws Exception {
+    for (SootMethod method : methods) {
+      Body body = method.getBodySource().resolveBody(method.getModifiers());
+      blackhole.consume(body);
+    }
+  }
+}
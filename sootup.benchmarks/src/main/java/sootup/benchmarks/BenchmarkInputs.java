@@ -0,0 +1,126 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.inputlocation.DefaultRuntimeAnalysisInputLocation;
+import sootup.java.bytecode.frontend.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Locates the inputs of the benchmarks in the bundled <code>shared-test-resources</code>. The
+ * directory can be overridden via the system property <code>sootup.benchmarks.resources</code>;
+ * otherwise it is looked up relative to the working directory (repository root or module
+ * directory).
+ */
+final class BenchmarkInputs {
+
+  static final String RESOURCES_PROPERTY = "sootup.benchmarks.resources";
+
+  /** a small application with a main method, used as entry point for call graphs and PTA */
+  static final String MINI_APP = "java-miniapps/MiniApp.jar";
+
+  static final String MINI_APP_MAIN = "<MiniApp: void main(java.lang.String[])>";
+
+  /** a small class hierarchy with a main method; contains only well-formed class files */
+  static final String MINI_HIERARCHY =
+      "TypeResolverTestSuite/ByteCodeHierarchyTest/MiniHierarchy.jar";
+
+  static final String MINI_HIERARCHY_MAIN_CLASS = "Runner";
+
+  /** larger third party libraries, used as input for the bytecode conversion */
+  static final String JAVAX_JSON = "jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar";
+
+  static final String JPUSH = "soot-1580/jpush-android_v3.0.5.jar";
+
+  /** the facade of javax.json; its static methods are the entry points into the library */
+  static final String JAVAX_JSON_FACADE = "javax.json.Json";
+
+  private BenchmarkInputs() {}
+
+  @Nonnull
+  static Path resource(@Nonnull String relativePath) {
+    String configured = System.getProperty(RESOURCES_PROPERTY);
+    List<Path> candidates = new ArrayList<>();
+    if (configured != null) {
+      candidates.add(Paths.get(configured));
+    }
+    candidates.add(Paths.get("shared-test-resources"));
+    candidates.add(Paths.get("../shared-test-resources"));
+
+    for (Path candidate : candidates) {
+      Path path = candidate.resolve(relativePath);
+      if (Files.exists(path)) {
+        return path;
+      }
+    }
+    throw new IllegalStateException(
+        "Could not find '"
+            + relativePath
+            + "' in the shared-test-resources. Set -D"
+            + RESOURCES_PROPERTY
+            + "=<path> to point to the directory.");
+  }
+
+  @Nonnull
+  static AnalysisInputLocation jar(
+      @Nonnull String relativePath, @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    return PathBasedAnalysisInputLocation.create(
+        resource(relativePath), SourceType.Application, bodyInterceptors);
+  }
+
+  /**
+   * Creates a view of the given bundled jars, converted with the default body interceptors. Unlike
+   * {@link #viewWithRuntime(String)}, the view does not depend on the JVM that runs the benchmark,
+   * so the results of different JVMs can be compared.
+   */
+  @Nonnull
+  static JavaView view(@Nonnull String... relativePaths) {
+    List<AnalysisInputLocation> inputLocations = new ArrayList<>();
+    for (String relativePath : relativePaths) {
+      inputLocations.add(jar(relativePath, BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    }
+    return new JavaView(inputLocations);
+  }
+
+  /**
+   * Creates a view of the given application jar together with the runtime of the current JVM, both
+   * converted with the default body interceptors.
+   */
+  @Nonnull
+  static JavaView viewWithRuntime(@Nonnull String relativePath) {
+    List<AnalysisInputLocation> inputLocations = new ArrayList<>();
+    inputLocations.add(jar(relativePath, BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    inputLocations.add(new DefaultRuntimeAnalysisInputLocation());
+    return new JavaView(inputLocations);
+  }
+}
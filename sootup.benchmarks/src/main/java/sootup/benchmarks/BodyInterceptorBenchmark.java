@@ -0,0 +1,112 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.transform.BodyInterceptor;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures each interceptor of {@link BytecodeBodyInterceptors#Default} in isolation. The input of
+ * an interceptor are the bodies as they are produced by all interceptors that precede it in the
+ * default chain, so every stage sees realistic input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BodyInterceptorBenchmark {
+
+  @Param({
+    "NopEliminator",
+    "EmptySwitchEliminator",
+    "CastAndReturnInliner",
+    "LocalSplitter",
+    "Aggregator",
+    "CopyPropagator",
+    "ConstantPropagatorAndFolder",
+    "TypeAssigner"
+  })
+  public String interceptor;
+
+  @Param({BenchmarkInputs.JAVAX_JSON})
+  public String jar;
+
+  private JavaView view;
+  private BodyInterceptor bodyInterceptor;
+  private List<SootMethod> methods;
+  private List<Body.BodyBuilder> builders;
+
+  @Setup(Level.Trial)
+  public void convertBodies() {
+    List<BodyInterceptor> defaultInterceptors =
+        BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    List<BodyInterceptor> precedingInterceptors = new ArrayList<>();
+    for (BodyInterceptor candidate : defaultInterceptors) {
+      if (candidate.getClass().getSimpleName().equals(interceptor)) {
+        bodyInterceptor = candidate;
+        break;
+      }
+      precedingInterceptors.add(candidate);
+    }
+    if (bodyInterceptor == null) {
+      throw new IllegalArgumentException(
+          interceptor + " is not part of the default interceptor chain.");
+    }
+
+    view = new JavaView(Collections.singletonList(BenchmarkInputs.jar(jar, precedingInterceptors)));
+    methods =
+        view.getClasses()
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::isConcrete)
+            .collect(Collectors.toList());
+    methods.forEach(SootMethod::getBody);
+  }
+
+  @Setup(Level.Invocation)
+  public void copyBodies() {
+    builders = new ArrayList<>(methods.size());
+    for (SootMethod method : methods) {
+      builders.add(Body.builder(method.getBody(), method.getModifiers()));
+    }
+  }
+
+  @Benchmark
+  public void interceptBody(Blackhole blackhole) {
+    for (Body.BodyBuilder builder : builders) {
+      bodyInterceptor.interceptBody(builder, view);
+      blackhole.consume(builder);
+    }
+  }
+}
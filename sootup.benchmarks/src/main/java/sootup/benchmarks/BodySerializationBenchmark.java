@@ -0,0 +1,127 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.EagerInputLocation;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.util.printer.JimplePrinter;
+import sootup.core.util.serialization.BinaryBodyReader;
+import sootup.core.util.serialization.BinaryBodyWriter;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.interceptors.LocalNameStandardizer;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+import sootup.jimple.frontend.JimpleConverter;
+
+/**
+ * Compares loading previously converted bodies from the binary format of {@link BinaryBodyReader}
+ * with parsing them from Jimple text via the {@link JimpleConverter}. The bodies are converted with
+ * the default interceptors and standardized local names, so that their Jimple can be parsed again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BodySerializationBenchmark {
+
+  @Param({BenchmarkInputs.JAVAX_JSON})
+  public String jar;
+
+  private JavaView view;
+  private byte[] binaryBodies;
+  private List<String> jimpleClasses;
+
+  @Setup(Level.Trial)
+  public void serializeBodies() throws IOException {
+    List<BodyInterceptor> interceptors =
+        new ArrayList<>(BytecodeBodyInterceptors.Default.getBodyInterceptors());
+    interceptors.add(new LocalNameStandardizer());
+    view = new JavaView(Collections.singletonList(BenchmarkInputs.jar(jar, interceptors)));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    jimpleClasses = new ArrayList<>();
+    try (BinaryBodyWriter writer = new BinaryBodyWriter(bytes)) {
+      for (JavaSootClass sootClass : (Iterable<JavaSootClass>) view.getClasses()::iterator) {
+        for (SootMethod method : sootClass.getMethods()) {
+          if (method.hasBody()) {
+            writer.write(method.getBody());
+          }
+        }
+        StringWriter jimple = new StringWriter();
+        new JimplePrinter().printTo(sootClass, new PrintWriter(jimple));
+        jimpleClasses.add(jimple.toString());
+      }
+    }
+    binaryBodies = bytes.toByteArray();
+  }
+
+  @Benchmark
+  public void readBinary(Blackhole blackhole) throws IOException {
+    try (BinaryBodyReader reader =
+        new BinaryBodyReader(ByteBuffer.wrap(binaryBodies), view.getIdentifierFactory())) {
+      for (Body body = reader.read(); body != null; body = reader.read()) {
+        blackhole.consume(body);
+      }
+    }
+  }
+
+  @Benchmark
+  public void parseJimple(Blackhole blackhole) {
+    EagerInputLocation inputLocation = new EagerInputLocation();
+    Path sourcePath = Paths.get("benchmark.jimple");
+    for (String jimple : jimpleClasses) {
+      SootClassSource classSource =
+          new JimpleConverter()
+              .run(
+                  CharStreams.fromString(jimple),
+                  inputLocation,
+                  sourcePath,
+                  Collections.emptyList(),
+                  view);
+      for (SootMethod method : classSource.resolveMethods()) {
+        if (method.isConcrete()) {
+          blackhole.consume(method.getBody());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.CallGraphAlgorithm;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.RapidTypeAnalysisAlgorithm;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the call graph construction of {@link ClassHierarchyAnalysisAlgorithm} and {@link
+ * RapidTypeAnalysisAlgorithm} on the bundled jars, starting from the main method of the MiniApp or
+ * from the static methods of the javax.json facade. Calls into the runtime are not followed, as it
+ * is not part of the view. The bodies of the view are converted during warmup, so the measurement
+ * focuses on the call graph algorithms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CallGraphBenchmark {
+
+  @Param({BenchmarkInputs.MINI_APP, BenchmarkInputs.JAVAX_JSON})
+  public String jar;
+
+  @Param({"CHA", "RTA"})
+  public String algorithm;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private JavaView view;
+  private List<MethodSignature> entryPoints;
+
+  @Setup(Level.Trial)
+  public void createView() {
+    view = BenchmarkInputs.view(jar);
+    if (jar.equals(BenchmarkInputs.MINI_APP)) {
+      entryPoints =
+          Collections.singletonList(
+              view.getIdentifierFactory().parseMethodSignature(BenchmarkInputs.MINI_APP_MAIN));
+    } else {
+      ClassType facade =
+          view.getIdentifierFactory().getClassType(BenchmarkInputs.JAVAX_JSON_FACADE);
+      entryPoints =
+          view.getClassOrThrow(facade).getMethods().stream()
+              .filter(SootMethod::isStatic)
+              .map(SootMethod::getSignature)
+              .collect(Collectors.toList());
+    }
+  }
+
+  @Benchmark
+  public CallGraph initialize() {
+    CallGraphAlgorithm callGraphAlgorithm =
+        algorithm.equals("CHA")
+            ? new ClassHierarchyAnalysisAlgorithm(view, parallel)
+            : new RapidTypeAnalysisAlgorithm(view, parallel);
+    return callGraphAlgorithm.initialize(entryPoints);
+  }
+}
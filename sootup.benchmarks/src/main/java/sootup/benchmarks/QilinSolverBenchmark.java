@@ -0,0 +1,76 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import qilin.core.PTA;
+import qilin.driver.PTAFactory;
+import qilin.driver.PTAPattern;
+import qilin.pta.PTAConfig;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the propagation of the qilin points-to analysis (<code>Solver.propagate</code>) for the
+ * MiniHierarchy. The view is shared across invocations so the bodies are converted only once, while
+ * the analysis itself is recreated before each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QilinSolverBenchmark {
+
+  @Param({"insens", "1c", "2o"})
+  public String ptaPattern;
+
+  private JavaView view;
+  private PTA pta;
+
+  @Setup(Level.Trial)
+  public void createView() {
+    PTAConfig config = PTAConfig.v();
+    config.getAppConfig().MAIN_CLASS = BenchmarkInputs.MINI_HIERARCHY_MAIN_CLASS;
+    config.getPtaConfig().singleentry = true;
+    config.getPtaConfig().ptaPattern = new PTAPattern(ptaPattern);
+    config.getPtaConfig().ptaName = config.getPtaConfig().ptaPattern.toString();
+    view = BenchmarkInputs.viewWithRuntime(BenchmarkInputs.MINI_HIERARCHY);
+  }
+
+  @Setup(Level.Invocation)
+  public void createPta() {
+    pta =
+        PTAFactory.createPTA(
+            PTAConfig.v().getPtaConfig().ptaPattern,
+            view,
+            BenchmarkInputs.MINI_HIERARCHY_MAIN_CLASS);
+  }
+
+  @Benchmark
+  public PTA propagate() {
+    pta.pureRun();
+    return pta;
+  }
+}
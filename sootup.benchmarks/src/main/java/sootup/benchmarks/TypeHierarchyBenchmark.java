@@ -0,0 +1,88 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.typehierarchy.IndexedTypeHierarchy;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures {@link ViewTypeHierarchy} and {@link IndexedTypeHierarchy} on the hierarchy of the
+ * bundled javax.json, jpush and MiniApp jars. The types of the runtime are only known as supertypes
+ * of these classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypeHierarchyBenchmark {
+
+  @Param({"java.lang.Object", "javax.json.JsonValue", "org.glassfish.json.JsonNumberImpl"})
+  public String type;
+
+  @Param({"view", "indexed"})
+  public String implementation;
+
+  private TypeHierarchy typeHierarchy;
+  private ClassType classType;
+  private ClassType jsonNumberType;
+
+  @Setup(Level.Trial)
+  public void buildHierarchy() {
+    JavaView view =
+        BenchmarkInputs.view(
+            BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH, BenchmarkInputs.MINI_APP);
+    typeHierarchy =
+        implementation.equals("indexed")
+            ? new IndexedTypeHierarchy(view)
+            : new ViewTypeHierarchy(view);
+    classType = view.getIdentifierFactory().getClassType(type);
+    jsonNumberType =
+        view.getIdentifierFactory().getClassType("org.glassfish.json.JsonNumberImpl$JsonIntNumber");
+    // trigger the scan of the view outside of the measurement
+    typeHierarchy.contains(classType);
+  }
+
+  @Benchmark
+  public void subtypesOf(Blackhole blackhole) {
+    // consume every element, count() may skip the traversal of sized streams
+    typeHierarchy.subtypesOf(classType).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public boolean isSubtype() {
+    return typeHierarchy.isSubtype(classType, jsonNumberType);
+  }
+
+  @Benchmark
+  public int getLowestCommonAncestors() {
+    return typeHierarchy.getLowestCommonAncestors(classType, jsonNumberType).size();
+  }
+}
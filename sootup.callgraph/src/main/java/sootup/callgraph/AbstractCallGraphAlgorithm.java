@@ -23,9 +23,13 @@ package sootup.callgraph;
  */
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sootup.callgraph.CallGraph.Call;
@@ -59,8 +63,48 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
 
   @Nonnull protected final View view;
 
+  /**
+   * resolves bodies and, if supported, dispatches calls of a work list round concurrently, or null
+   * if the work list is processed sequentially
+   */
+  @Nullable private final ForkJoinPool pool;
+
   protected AbstractCallGraphAlgorithm(@Nonnull View view) {
+    this(view, null);
+  }
+
+  /**
+   * @param view it contains the data of the classes and methods
+   * @param parallel if true, the work list is processed in rounds on the {@link
+   *     ForkJoinPool#commonPool()}, see {@link #AbstractCallGraphAlgorithm(View, ForkJoinPool)}
+   */
+  protected AbstractCallGraphAlgorithm(@Nonnull View view, boolean parallel) {
+    this(view, parallel ? ForkJoinPool.commonPool() : null);
+  }
+
+  /**
+   * @param view it contains the data of the classes and methods
+   * @param pool if not null, the work list is processed in rounds on this pool. The method bodies
+   *     of a round are resolved concurrently and, if {@link #isResolveCallThreadSafe()} holds,
+   *     their calls are dispatched concurrently as well. The results are merged into the call graph
+   *     in work list order, so the constructed call graph does not depend on the thread scheduling.
+   */
+  protected AbstractCallGraphAlgorithm(@Nonnull View view, @Nullable ForkJoinPool pool) {
     this.view = view;
+    this.pool = pool;
+  }
+
+  public boolean isParallel() {
+    return pool != null;
+  }
+
+  /**
+   * Returns true if {@link #resolveCall(SootMethod, InvokableStmt)} neither reads nor writes state
+   * that is changed while the work list is processed. Only then calls are dispatched concurrently
+   * in parallel mode.
+   */
+  protected boolean isResolveCallThreadSafe() {
+    return false;
   }
 
   /**
@@ -134,6 +178,10 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
    */
   final void processWorkList(
       Deque<MethodSignature> workList, Set<MethodSignature> processed, MutableCallGraph cg) {
+    if (pool != null) {
+      processWorkListInParallel(pool, workList, processed, cg);
+      return;
+    }
     while (!workList.isEmpty()) {
       MethodSignature currentMethodSignature = workList.pop();
       // skip if already processed
@@ -148,29 +196,161 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
         continue;
       }
 
-      // perform pre-processing if needed
-      preProcessingMethod(currentMethodSignature, workList, cg);
-
-      // process the method
-      if (!cg.containsMethod(currentMethodSignature)) {
-        cg.addMethod(currentMethodSignature);
-      }
-
       // transform the method signature to the actual SootMethod
       SootMethod currentMethod =
           currentClass.getMethod(currentMethodSignature.getSubSignature()).orElse(null);
 
-      // get all call targets of invocations in the method body
+      processMethod(currentMethodSignature, currentMethod, null, workList, processed, cg);
+    }
+  }
+
+  /**
+   * Processes the <code>workList</code> in rounds. Each round takes all unprocessed entries of the
+   * <code>workList</code>, resolves their classes and bodies on the given pool and, if
+   * {@link #isResolveCallThreadSafe()} holds, dispatches their calls. Afterwards, the methods of
+   * the round are added to <code>cg</code> one after another in work list order, which fills the
+   * <code>workList</code> for the next round.
+   */
+  private void processWorkListInParallel(
+      @Nonnull ForkJoinPool pool,
+      Deque<MethodSignature> workList,
+      Set<MethodSignature> processed,
+      MutableCallGraph cg) {
+    boolean dispatchInParallel = isResolveCallThreadSafe();
+    while (!workList.isEmpty()) {
+      Set<MethodSignature> round = new LinkedHashSet<>();
+      while (!workList.isEmpty()) {
+        MethodSignature methodSignature = workList.pop();
+        if (!processed.contains(methodSignature)) {
+          round.add(methodSignature);
+        }
+      }
+
+      ForkJoinTask<List<ResolvedMethod>> task =
+          pool.submit(
+              () ->
+                  round
+                      .parallelStream()
+                      .map(methodSignature -> resolveMethod(methodSignature, dispatchInParallel))
+                      .collect(Collectors.toList()));
+      List<ResolvedMethod> resolvedMethods;
+      try {
+        resolvedMethods = task.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while constructing the call graph.", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException("Could not resolve the methods of a round.", e);
+      }
+
+      for (ResolvedMethod resolvedMethod : resolvedMethods) {
+        // skip if library class
+        if (resolvedMethod.isSkipped()) {
+          continue;
+        }
+        processMethod(
+            resolvedMethod.signature,
+            resolvedMethod.method,
+            resolvedMethod.dispatchedCalls,
+            workList,
+            processed,
+            cg);
+      }
+    }
+  }
+
+  /**
+   * Resolves the class and the body of the given method and, if requested, the call targets of all
+   * its invokable statements. Called concurrently in parallel mode.
+   */
+  @Nonnull
+  private ResolvedMethod resolveMethod(
+      @Nonnull MethodSignature methodSignature, boolean dispatchCalls) {
+    SootClass clazz = view.getClass(methodSignature.getDeclClassType()).orElse(null);
+    if (clazz == null || clazz.isLibraryClass()) {
+      return new ResolvedMethod(methodSignature, true, null, null);
+    }
+    SootMethod method = clazz.getMethod(methodSignature.getSubSignature()).orElse(null);
+    if (method == null || !method.hasBody()) {
+      return new ResolvedMethod(methodSignature, false, method, null);
+    }
+    // resolves the body
+    List<Stmt> stmts = method.getBody().getStmts();
+    if (!dispatchCalls) {
+      return new ResolvedMethod(methodSignature, false, method, null);
+    }
+    Map<InvokableStmt, List<MethodSignature>> calls = new IdentityHashMap<>();
+    for (Stmt stmt : stmts) {
+      if (stmt.isInvokableStmt()) {
+        InvokableStmt invokableStmt = stmt.asInvokableStmt();
+        calls.put(invokableStmt, resolveCall(method, invokableStmt).collect(Collectors.toList()));
+      }
+    }
+    return new ResolvedMethod(methodSignature, false, method, calls);
+  }
+
+  /**
+   * Adds the given method to <code>cg</code> together with its calls and implicit calls. Newly
+   * discovered methods are added to the <code>workList</code>.
+   *
+   * @param dispatchedCalls the call targets of the method which have been dispatched in advance by
+   *     a parallel round, or null if its calls are resolved now
+   */
+  private void processMethod(
+      @Nonnull MethodSignature currentMethodSignature,
+      @Nullable SootMethod currentMethod,
+      @Nullable Map<InvokableStmt, List<MethodSignature>> dispatchedCalls,
+      Deque<MethodSignature> workList,
+      Set<MethodSignature> processed,
+      MutableCallGraph cg) {
+    // perform pre-processing if needed
+    preProcessingMethod(currentMethodSignature, workList, cg);
+
+    // process the method
+    if (!cg.containsMethod(currentMethodSignature)) {
+      cg.addMethod(currentMethodSignature);
+    }
+
+    // get all call targets of invocations in the method body
+    if (dispatchedCalls == null) {
       resolveAllCallsFromSourceMethod(currentMethod, cg, workList);
+    } else {
+      addDispatchedCalls(currentMethod, dispatchedCalls, cg, workList);
+    }
 
-      // get all call targets of implicit edges in the method body
-      resolveAllImplicitCallsFromSourceMethod(currentMethod, cg, workList);
+    // get all call targets of implicit edges in the method body
+    resolveAllImplicitCallsFromSourceMethod(currentMethod, cg, workList);
 
-      // set method as processed
-      processed.add(currentMethodSignature);
+    // set method as processed
+    processed.add(currentMethodSignature);
+
+    // perform post-processing if needed
+    postProcessingMethod(currentMethodSignature, workList, cg);
+  }
 
-      // perform post-processing if needed
-      postProcessingMethod(currentMethodSignature, workList, cg);
+  /** A method of a parallel round together with the data that has been resolved concurrently. */
+  private static final class ResolvedMethod {
+    @Nonnull private final MethodSignature signature;
+    private final boolean skipped;
+    @Nullable private final SootMethod method;
+    @Nullable private final Map<InvokableStmt, List<MethodSignature>> dispatchedCalls;
+
+    private ResolvedMethod(
+        @Nonnull MethodSignature signature,
+        boolean skipped,
+        @Nullable SootMethod method,
+        @Nullable Map<InvokableStmt, List<MethodSignature>> dispatchedCalls) {
+      this.signature = signature;
+      this.skipped = skipped;
+      this.method = method;
+      this.dispatchedCalls = dispatchedCalls;
+    }
+
+    private boolean isSkipped() {
+      return skipped;
     }
   }
 
@@ -233,6 +413,34 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
                                 sourceMethod.getSignature(), targetMethod, stmt, cg, workList)));
   }
 
+  /**
+   * Like {@link #resolveAllCallsFromSourceMethod(SootMethod, MutableCallGraph, Deque)}, but takes
+   * the call targets which have been dispatched in advance by a parallel round. Statements without
+   * dispatched targets are resolved by {@link #resolveCall(SootMethod, InvokableStmt)}.
+   */
+  private void addDispatchedCalls(
+      SootMethod sourceMethod,
+      @Nonnull Map<InvokableStmt, List<MethodSignature>> dispatchedCalls,
+      MutableCallGraph cg,
+      Deque<MethodSignature> workList) {
+    if (sourceMethod == null || !sourceMethod.hasBody()) {
+      return;
+    }
+
+    sourceMethod.getBody().getStmts().stream()
+        .filter(Stmt::isInvokableStmt)
+        .map(Stmt::asInvokableStmt)
+        .forEach(
+            stmt -> {
+              List<MethodSignature> targets = dispatchedCalls.get(stmt);
+              Stream<MethodSignature> targetMethods =
+                  targets != null ? targets.stream() : resolveCall(sourceMethod, stmt);
+              targetMethods.forEach(
+                  targetMethod ->
+                      addCallToCG(sourceMethod.getSignature(), targetMethod, stmt, cg, workList));
+            });
+  }
+
   /**
    * It resolves all implicit calls caused by the given source method
    *
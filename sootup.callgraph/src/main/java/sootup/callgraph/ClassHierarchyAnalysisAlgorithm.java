@@ -23,8 +23,10 @@ package sootup.callgraph;
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import sootup.core.IdentifierFactory;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JDynamicInvokeExpr;
@@ -54,6 +56,27 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
     super(view);
   }
 
+  /**
+   * The constructor of the CHA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param parallel if true, method bodies are resolved and calls are dispatched concurrently
+   */
+  public ClassHierarchyAnalysisAlgorithm(@Nonnull View view, boolean parallel) {
+    super(view, parallel);
+  }
+
+  /**
+   * The constructor of the CHA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param pool if not null, method bodies are resolved and calls are dispatched concurrently on
+   *     this pool
+   */
+  public ClassHierarchyAnalysisAlgorithm(@Nonnull View view, @Nullable ForkJoinPool pool) {
+    super(view, pool);
+  }
+
   @Nonnull
   @Override
   public CallGraph initialize() {
@@ -66,6 +89,12 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
     return constructCompleteCallGraph(entryPoints);
   }
 
+  /** CHA dispatches calls only by the hierarchy, which does not change during the construction. */
+  @Override
+  protected boolean isResolveCallThreadSafe() {
+    return true;
+  }
+
   /**
    * In the CHA algorithm, every virtual call is resolved by only using the hierarchy. Every
    * subclass of the class is considered as target if it contains an implementation of the methods
@@ -0,0 +1,483 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.common.stmt.InvokableStmt;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * An immutable call graph that stores its edges in int arrays. Methods are numbered from 0 to
+ * {@link #getMethodCount()} - 1 and call sites, i.e. the invokable statements of a method, are
+ * numbered per call graph. The calls are kept sorted by their source method in compressed sparse
+ * row arrays, and a second index sorts them by their target method. Additionally, the distinct
+ * targets and sources of every method are stored as sorted id arrays, so {@link
+ * #callTargetsFrom(MethodSignature)} and {@link #callSourcesTo(MethodSignature)} return views
+ * instead of new sets.
+ *
+ * <p>Use {@link #of(CallGraph)} to freeze a call graph after its construction.
+ */
+public class CompactCallGraph implements CallGraph {
+
+  @Nonnull private final MethodSignature[] methods;
+  @Nonnull private final Map<MethodSignature, Integer> methodIds;
+  @Nonnull private final InvokableStmt[] callSites;
+
+  /** calls from method i are the indices callOffsets[i] to callOffsets[i+1] - 1 */
+  @Nonnull private final int[] callOffsets;
+
+  @Nonnull private final int[] callTargets;
+  @Nonnull private final int[] callCallSites;
+
+  /**
+   * calls to method i are callsByTarget[callerOffsets[i]] to callsByTarget[callerOffsets[i+1]-1]
+   */
+  @Nonnull private final int[] callerOffsets;
+
+  @Nonnull private final int[] callsByTarget;
+  @Nonnull private final int[] callSources;
+
+  /** the distinct call targets of method i, sorted by their id */
+  @Nonnull private final int[] targetOffsets;
+
+  @Nonnull private final int[] targets;
+
+  /** the distinct call sources of method i, sorted by their id */
+  @Nonnull private final int[] sourceOffsets;
+
+  @Nonnull private final int[] sources;
+
+  @Nonnull private final List<MethodSignature> entryMethods;
+
+  private CompactCallGraph(@Nonnull CallGraph callGraph) {
+    methods = callGraph.getMethodSignatures().toArray(new MethodSignature[0]);
+    methodIds = new HashMap<>(methods.length * 2);
+    for (int i = 0; i < methods.length; i++) {
+      methodIds.put(methods[i], i);
+    }
+    entryMethods = Collections.unmodifiableList(new ArrayList<>(callGraph.getEntryMethods()));
+
+    // number the call sites per source method and sort the calls by their source method
+    List<InvokableStmt> sites = new ArrayList<>();
+    IntArrayBuilder targetIds = new IntArrayBuilder();
+    IntArrayBuilder siteIds = new IntArrayBuilder();
+    callOffsets = new int[methods.length + 1];
+    for (int source = 0; source < methods.length; source++) {
+      callOffsets[source] = targetIds.size();
+      Map<InvokableStmt, Integer> sitesOfMethod = new IdentityHashMap<>();
+      for (Call call : callGraph.callsFrom(methods[source])) {
+        Integer site = sitesOfMethod.get(call.getInvokableStmt());
+        if (site == null) {
+          site = sites.size();
+          sites.add(call.getInvokableStmt());
+          sitesOfMethod.put(call.getInvokableStmt(), site);
+        }
+        targetIds.add(idOf(call.getTargetMethodSignature()));
+        siteIds.add(site);
+      }
+    }
+    callOffsets[methods.length] = targetIds.size();
+    callSites = sites.toArray(new InvokableStmt[0]);
+    callTargets = targetIds.toArray();
+    callCallSites = siteIds.toArray();
+
+    // the inverse index, sorted by the target method with a counting sort
+    int callCount = callTargets.length;
+    callSources = new int[callCount];
+    callerOffsets = new int[methods.length + 1];
+    for (int source = 0; source < methods.length; source++) {
+      for (int call = callOffsets[source]; call < callOffsets[source + 1]; call++) {
+        callSources[call] = source;
+        callerOffsets[callTargets[call] + 1]++;
+      }
+    }
+    for (int i = 0; i < methods.length; i++) {
+      callerOffsets[i + 1] += callerOffsets[i];
+    }
+    callsByTarget = new int[callCount];
+    int[] next = Arrays.copyOf(callerOffsets, methods.length);
+    for (int call = 0; call < callCount; call++) {
+      callsByTarget[next[callTargets[call]]++] = call;
+    }
+
+    targetOffsets = new int[methods.length + 1];
+    targets = distinctNeighbors(callOffsets, call -> callTargets[call], targetOffsets);
+    sourceOffsets = new int[methods.length + 1];
+    sources =
+        distinctNeighbors(callerOffsets, index -> callSources[callsByTarget[index]], sourceOffsets);
+  }
+
+  /** Creates a compact, immutable copy of the given call graph. */
+  @Nonnull
+  public static CompactCallGraph of(@Nonnull CallGraph callGraph) {
+    if (callGraph instanceof CompactCallGraph) {
+      return (CompactCallGraph) callGraph;
+    }
+    return new CompactCallGraph(callGraph);
+  }
+
+  /**
+   * Collects the distinct neighbors of every method into one sorted id array per method.
+   *
+   * @param offsets the ranges of the calls of each method
+   * @param neighborOf maps an index of a range to the neighboring method id
+   * @param neighborOffsets receives the ranges of the returned array
+   */
+  @Nonnull
+  private int[] distinctNeighbors(
+      @Nonnull int[] offsets,
+      @Nonnull IntUnaryOperator neighborOf,
+      @Nonnull int[] neighborOffsets) {
+    IntArrayBuilder result = new IntArrayBuilder();
+    for (int method = 0; method < methods.length; method++) {
+      neighborOffsets[method] = result.size();
+      int[] neighbors =
+          IntStream.range(offsets[method], offsets[method + 1])
+              .map(neighborOf)
+              .sorted()
+              .distinct()
+              .toArray();
+      for (int neighbor : neighbors) {
+        result.add(neighbor);
+      }
+    }
+    neighborOffsets[methods.length] = result.size();
+    return result.toArray();
+  }
+
+  /** Returns the number of methods in this call graph. */
+  public int getMethodCount() {
+    return methods.length;
+  }
+
+  /**
+   * Returns the id of the given method.
+   *
+   * @throws IllegalArgumentException if the method is not contained in this call graph
+   */
+  public int idOf(@Nonnull MethodSignature method) {
+    Integer id = methodIds.get(method);
+    if (id == null) {
+      throw new IllegalArgumentException("Method signature " + method + " not found");
+    }
+    return id;
+  }
+
+  /** Returns the method with the given id. */
+  @Nonnull
+  public MethodSignature methodOf(int id) {
+    return methods[id];
+  }
+
+  /** Returns the ids of the distinct methods called by the method with the given id. */
+  @Nonnull
+  public IntStream callTargetIdsFrom(int sourceId) {
+    return Arrays.stream(targets, targetOffsets[sourceId], targetOffsets[sourceId + 1]);
+  }
+
+  /** Returns the ids of the distinct methods calling the method with the given id. */
+  @Nonnull
+  public IntStream callSourceIdsTo(int targetId) {
+    return Arrays.stream(sources, sourceOffsets[targetId], sourceOffsets[targetId + 1]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> getMethodSignatures() {
+    return Collections.unmodifiableSet(methodIds.keySet());
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callTargetsFrom(@Nonnull MethodSignature sourceMethod) {
+    int source = idOf(sourceMethod);
+    return new MethodIdSet(targets, targetOffsets[source], targetOffsets[source + 1]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callSourcesTo(@Nonnull MethodSignature targetMethod) {
+    int target = idOf(targetMethod);
+    return new MethodIdSet(sources, sourceOffsets[target], sourceOffsets[target + 1]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<Call> callsFrom(@Nonnull MethodSignature sourceMethod) {
+    int source = idOf(sourceMethod);
+    return new CallSet(null, callOffsets[source], callOffsets[source + 1]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<Call> callsTo(@Nonnull MethodSignature targetMethod) {
+    int target = idOf(targetMethod);
+    return new CallSet(callsByTarget, callerOffsets[target], callerOffsets[target + 1]);
+  }
+
+  @Override
+  public boolean containsMethod(@Nonnull MethodSignature method) {
+    return methodIds.containsKey(method);
+  }
+
+  @Override
+  public boolean containsCall(
+      @Nonnull MethodSignature sourceMethod,
+      @Nonnull MethodSignature targetMethod,
+      InvokableStmt invokableStmt) {
+    Integer source = methodIds.get(sourceMethod);
+    Integer target = methodIds.get(targetMethod);
+    if (source == null || target == null) {
+      return false;
+    }
+    for (int call = callOffsets[source]; call < callOffsets[source + 1]; call++) {
+      if (callTargets[call] == target && callSites[callCallSites[call]].equals(invokableStmt)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean containsCall(@Nonnull Call call) {
+    return containsCall(
+        call.getSourceMethodSignature(), call.getTargetMethodSignature(), call.getInvokableStmt());
+  }
+
+  @Override
+  public int callCount() {
+    return callTargets.length;
+  }
+
+  @Override
+  public String exportAsDot() {
+    return "strict digraph ObjectGraph {\n"
+        + IntStream.range(0, callTargets.length)
+            .mapToObj(this::callOf)
+            .sorted(
+                Comparator.comparing(
+                        (Call call) ->
+                            call.getSourceMethodSignature()
+                                .getDeclClassType()
+                                .getFullyQualifiedName())
+                    .thenComparing(call -> call.getSourceMethodSignature().getName())
+                    .thenComparing(
+                        call -> call.getSourceMethodSignature().getParameterTypes().toString())
+                    .thenComparing(
+                        call -> call.getTargetMethodSignature().getDeclClassType().getClassName())
+                    .thenComparing(call -> call.getTargetMethodSignature().getName())
+                    .thenComparing(
+                        call -> call.getTargetMethodSignature().getParameterTypes().toString()))
+            .map(
+                call ->
+                    "\t\""
+                        + call.getSourceMethodSignature()
+                        + "\" -> \""
+                        + call.getTargetMethodSignature()
+                        + "\";\n")
+            .collect(Collectors.joining())
+        + "}";
+  }
+
+  /**
+   * Returns a mutable {@link GraphBasedCallGraph} containing the methods and calls of this graph.
+   */
+  @Nonnull
+  @Override
+  public MutableCallGraph copy() {
+    GraphBasedCallGraph copy = new GraphBasedCallGraph(new ArrayList<>(entryMethods));
+    for (MethodSignature method : methods) {
+      copy.addMethod(method);
+    }
+    for (int call = 0; call < callTargets.length; call++) {
+      copy.addCall(callOf(call));
+    }
+    return copy;
+  }
+
+  @Nonnull
+  @Override
+  public List<MethodSignature> getEntryMethods() {
+    return entryMethods;
+  }
+
+  @Nonnull
+  @Override
+  public CallGraphDifference diff(@Nonnull CallGraph callGraph) {
+    return new CallGraphDifference(this, callGraph);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+        + "("
+        + methods.length
+        + " methods, "
+        + callTargets.length
+        + " calls)";
+  }
+
+  @Nonnull
+  private Call callOf(int call) {
+    return new Call(
+        methods[callSources[call]], methods[callTargets[call]], callSites[callCallSites[call]]);
+  }
+
+  /** An unmodifiable view of a slice of a sorted method id array. */
+  private class MethodIdSet extends AbstractSet<MethodSignature> {
+    @Nonnull private final int[] ids;
+    private final int from;
+    private final int to;
+
+    private MethodIdSet(@Nonnull int[] ids, int from, int to) {
+      this.ids = ids;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<MethodSignature> iterator() {
+      return new Iterator<MethodSignature>() {
+        private int next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        public MethodSignature next() {
+          if (next >= to) {
+            throw new NoSuchElementException();
+          }
+          return methods[ids[next++]];
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer id = methodIds.get(o);
+      return id != null && Arrays.binarySearch(ids, from, to, id) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  /**
+   * An unmodifiable view of a range of calls. The calls are created on demand while iterating.
+   * Indices of the range are call ids if <code>index</code> is null, otherwise they are resolved
+   * via <code>index</code>.
+   */
+  private class CallSet extends AbstractSet<Call> {
+    private final int[] index;
+    private final int from;
+    private final int to;
+
+    private CallSet(int[] index, int from, int to) {
+      this.index = index;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Call> iterator() {
+      return new Iterator<Call>() {
+        private int next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        public Call next() {
+          if (next >= to) {
+            throw new NoSuchElementException();
+          }
+          int call = index == null ? next : index[next];
+          next++;
+          return callOf(call);
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Call)) {
+        return false;
+      }
+      Call call = (Call) o;
+      Integer source = methodIds.get(call.getSourceMethodSignature());
+      Integer target = methodIds.get(call.getTargetMethodSignature());
+      if (source == null || target == null) {
+        return false;
+      }
+      for (int i = from; i < to; i++) {
+        int candidate = index == null ? i : index[i];
+        if (callSources[candidate] == source
+            && callTargets[candidate] == target
+            && callSites[callCallSites[candidate]].equals(call.getInvokableStmt())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  /** A growable int array. */
+  private static final class IntArrayBuilder {
+    private int[] values = new int[16];
+    private int size = 0;
+
+    private void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    @Nonnull
+    private int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
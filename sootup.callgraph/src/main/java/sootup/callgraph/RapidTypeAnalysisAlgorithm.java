@@ -24,9 +24,11 @@ package sootup.callgraph;
 
 import com.google.common.collect.ArrayListMultimap;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import sootup.callgraph.CallGraph.Call;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JNewExpr;
@@ -61,6 +63,27 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
     super(view);
   }
 
+  /**
+   * The constructor of the RTA algorithm. Since the dispatch depends on the classes instantiated so
+   * far, only the method bodies are resolved concurrently in parallel mode.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param parallel if true, method bodies are resolved concurrently
+   */
+  public RapidTypeAnalysisAlgorithm(@Nonnull View view, boolean parallel) {
+    super(view, parallel);
+  }
+
+  /**
+   * The constructor of the RTA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param pool if not null, method bodies are resolved concurrently on this pool
+   */
+  public RapidTypeAnalysisAlgorithm(@Nonnull View view, @Nullable ForkJoinPool pool) {
+    super(view, pool);
+  }
+
   @Nonnull
   @Override
   public CallGraph initialize() {
@@ -0,0 +1,116 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * Cache that stores any class that has been resolved and that can be accessed by multiple threads
+ * without a global lock. Every {@link ClassType} is mapped to a future of its {@link SootClass}, so
+ * a class is built exactly once via {@link #getOrCreateClass(ClassType, Supplier)} while lookups
+ * and builds of other types proceed in parallel.
+ */
+public class ConcurrentCache implements ClassCache {
+
+  protected final ConcurrentHashMap<ClassType, CompletableFuture<SootClass>> cache =
+      new ConcurrentHashMap<>();
+
+  @Override
+  public SootClass getClass(ClassType classType) {
+    CompletableFuture<SootClass> future = cache.get(classType);
+    if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+      return null;
+    }
+    return future.join();
+  }
+
+  /**
+   * Returns the cached class of the given type or builds it with the given builder. If several
+   * threads request the same type concurrently, only one of them executes the builder while the
+   * others wait for its result. If the builder fails, the entry is discarded so that a later call
+   * can retry and the exception is rethrown to all waiting threads.
+   */
+  @Nonnull
+  public SootClass getOrCreateClass(
+      @Nonnull ClassType classType, @Nonnull Supplier<? extends SootClass> builder) {
+    CompletableFuture<SootClass> future = cache.get(classType);
+    if (future == null) {
+      CompletableFuture<SootClass> newFuture = new CompletableFuture<>();
+      future = cache.putIfAbsent(classType, newFuture);
+      if (future == null) {
+        future = newFuture;
+        try {
+          newFuture.complete(builder.get());
+        } catch (RuntimeException | Error e) {
+          cache.remove(classType, newFuture);
+          newFuture.completeExceptionally(e);
+          throw e;
+        }
+      }
+    }
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Collection<SootClass> getClasses() {
+    return cache.values().stream()
+        .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+        .map(CompletableFuture::join)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void putClass(ClassType classType, SootClass sootClass) {
+    cache.putIfAbsent(classType, CompletableFuture.completedFuture(sootClass));
+  }
+
+  @Override
+  public boolean hasClass(ClassType classType) {
+    return getClass(classType) != null;
+  }
+
+  /** Counts only the classes that are built, not the ones that are still being built. */
+  @Override
+  public int size() {
+    return (int)
+        cache.values().stream()
+            .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+            .count();
+  }
+}
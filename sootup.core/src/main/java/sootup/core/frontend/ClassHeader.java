@@ -0,0 +1,124 @@
+package sootup.core.frontend;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * The header of a class, i.e. its kind and its direct supertypes. This is everything that is needed
+ * to place a class in a {@link sootup.core.typehierarchy.TypeHierarchy}, and it can usually be read
+ * without resolving fields, methods or bodies of the class.
+ */
+public final class ClassHeader {
+
+  @Nonnull private final ClassType type;
+  @Nullable private final ClassType superclass;
+  @Nonnull private final Set<ClassType> interfaces;
+  private final boolean isInterface;
+
+  public ClassHeader(
+      @Nonnull ClassType type,
+      @Nullable ClassType superclass,
+      @Nonnull Iterable<? extends ClassType> interfaces,
+      boolean isInterface) {
+    this.type = type;
+    this.superclass = superclass;
+    this.interfaces = ImmutableSet.copyOf(interfaces);
+    this.isInterface = isInterface;
+  }
+
+  /** Reads the header of the class described by the given class source. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClassSource classSource) {
+    return new ClassHeader(
+        classSource.getClassType(),
+        classSource.resolveSuperclass().orElse(null),
+        classSource.resolveInterfaces(),
+        ClassModifier.isInterface(classSource.resolveModifiers()));
+  }
+
+  /** Returns the header of an already resolved class. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClass sootClass) {
+    return new ClassHeader(
+        sootClass.getType(),
+        sootClass.getSuperclass().orElse(null),
+        sootClass.getInterfaces(),
+        sootClass.isInterface());
+  }
+
+  @Nonnull
+  public ClassType getType() {
+    return type;
+  }
+
+  @Nonnull
+  public Optional<ClassType> getSuperclass() {
+    return Optional.ofNullable(superclass);
+  }
+
+  @Nonnull
+  public Set<ClassType> getInterfaces() {
+    return interfaces;
+  }
+
+  public boolean isInterface() {
+    return isInterface;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ClassHeader)) {
+      return false;
+    }
+    ClassHeader that = (ClassHeader) o;
+    return isInterface == that.isInterface
+        && type.equals(that.type)
+        && Objects.equals(superclass, that.superclass)
+        && interfaces.equals(that.interfaces);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, superclass, interfaces, isInterface);
+  }
+
+  @Override
+  public String toString() {
+    return (isInterface ? "interface " : "class ")
+        + type
+        + (superclass == null ? "" : " extends " + superclass)
+        + (interfaces.isEmpty() ? "" : " implements " + interfaces);
+  }
+}
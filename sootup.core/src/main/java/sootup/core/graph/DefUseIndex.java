@@ -0,0 +1,105 @@
+package sootup.core.graph;
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.LinkedHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multisets;
+import java.util.*;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.basic.LValue;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * Maps each Local of a {@link MutableStmtGraph} to the Stmts which define it and to the Stmts which
+ * use it. {@link MutableBlockStmtGraph} keeps the index up to date while Stmts are added, replaced
+ * or removed, so its queries take constant time instead of scanning the whole graph.
+ *
+ * <p>Stmts are immutable, so the defs and uses of a Stmt do not change while it is in the graph.
+ * The order of the returned Stmts is the order in which they were added to the graph, not the order
+ * of the control flow.
+ *
+ * @see MutableStmtGraph#getDefUseIndex()
+ */
+public class DefUseIndex {
+
+  @Nonnull private final Map<Local, Set<Stmt>> defs = new HashMap<>();
+  @Nonnull private final Map<Local, Multiset<Stmt>> uses = new HashMap<>();
+
+  DefUseIndex(@Nonnull Collection<Stmt> stmts) {
+    stmts.forEach(this::addStmt);
+  }
+
+  void addStmt(@Nonnull Stmt stmt) {
+    Optional<LValue> def = stmt.getDef();
+    if (def.isPresent() && def.get() instanceof Local) {
+      defs.computeIfAbsent((Local) def.get(), local -> new LinkedHashSet<>()).add(stmt);
+    }
+    for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
+      Value use = iterator.next();
+      if (use instanceof Local) {
+        uses.computeIfAbsent((Local) use, local -> LinkedHashMultiset.create()).add(stmt);
+      }
+    }
+  }
+
+  void removeStmt(@Nonnull Stmt stmt) {
+    Optional<LValue> def = stmt.getDef();
+    if (def.isPresent() && def.get() instanceof Local) {
+      Set<Stmt> defsOfLocal = defs.get(def.get());
+      if (defsOfLocal != null) {
+        defsOfLocal.remove(stmt);
+      }
+    }
+    for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
+      Value use = iterator.next();
+      if (use instanceof Local) {
+        Multiset<Stmt> usesOfLocal = uses.get(use);
+        if (usesOfLocal != null) {
+          usesOfLocal.remove(stmt);
+        }
+      }
+    }
+  }
+
+  /** Returns the Stmts which assign the given Local. */
+  @Nonnull
+  public Set<Stmt> getDefs(@Nonnull Local local) {
+    Set<Stmt> defsOfLocal = defs.get(local);
+    return defsOfLocal == null ? Collections.emptySet() : Collections.unmodifiableSet(defsOfLocal);
+  }
+
+  /**
+   * Returns the Stmts which use the given Local. A Stmt which uses the Local more than once, e.g.
+   * <code>a = b + b</code>, is contained once per use.
+   */
+  @Nonnull
+  public Multiset<Stmt> getUses(@Nonnull Local local) {
+    Multiset<Stmt> usesOfLocal = uses.get(local);
+    return usesOfLocal == null
+        ? ImmutableMultiset.of()
+        : Multisets.unmodifiableMultiset(usesOfLocal);
+  }
+}
@@ -24,6 +24,7 @@ package sootup.core.graph;
 
 import com.google.common.collect.Lists;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -55,6 +56,15 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Nonnull private final Set<MutableBasicBlock> blocks = new LinkedHashSet<>();
 
+  /** is created on the first request and updated from then on */
+  @Nullable private DefUseIndex defUseIndex = null;
+
+  /** results of {@link #getAnalysis}; valid until the next modification */
+  @Nonnull private final Map<Class<?>, Object> analyses = new HashMap<>();
+
+  /** the result of {@link #getStmts()}; valid until the next modification */
+  @Nullable private List<Stmt> stmtOrder = null;
+
   public MutableBlockStmtGraph() {}
 
   public MutableBlockStmtGraph(boolean isStatic, MethodSignature sig, LocalGenerator localgen) {
@@ -130,6 +140,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       @Nonnull List<List<Stmt>> blocks,
       @Nonnull Map<BranchingStmt, List<Stmt>> successorMap,
       @Nonnull List<Trap> traps) {
+    invalidateAnalyses();
 
     if (blocks.isEmpty()) {
       return;
@@ -441,6 +452,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   @Override
   public void addExceptionalEdge(
       @Nonnull Stmt stmt, @Nonnull ClassType exceptionType, @Nonnull Stmt traphandlerStmt) {
+    invalidateAnalyses();
 
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(stmt);
     if (blockPair == null) {
@@ -463,6 +475,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void removeExceptionalEdge(@Nonnull Stmt node, @Nonnull ClassType exceptionType) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(node);
     if (blockPair == null) {
       throw new IllegalArgumentException(
@@ -475,6 +488,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void clearExceptionalEdges(@Nonnull Stmt node) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(node);
     if (blockPair == null) {
       throw new IllegalArgumentException(
@@ -504,6 +518,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
    */
   @Override
   public void addBlock(@Nonnull List<Stmt> stmts, @Nonnull Map<ClassType, Stmt> trapMap) {
+    invalidateAnalyses();
     if (stmts.isEmpty()) {
       return;
     }
@@ -547,7 +562,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
             // last stmt is head of another block
 
             // cleanup started add action
-            stmtToBlock.put(stmt, overwrittenBlockPair);
+            putStmtToBlock(stmt, overwrittenBlockPair);
             block.removeStmt(overwrittenBlockPair.getLeft());
 
             // try to merge
@@ -573,6 +588,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void removeBlock(BasicBlock<?> block) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockOfPair = stmtToBlock.get(block.getHead());
     if (blockOfPair.getRight() != block) {
       throw new IllegalArgumentException(
@@ -581,7 +597,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     MutableBasicBlock blockOf = blockOfPair.getRight();
 
     List<Stmt> stmts = block.getStmts();
-    stmts.forEach(stmtToBlock::remove);
+    stmts.forEach(this::removeStmtToBlock);
 
     // unlink block from graph
     blockOf.clearPredecessorBlocks();
@@ -593,6 +609,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void addNode(@Nonnull Stmt stmt, @Nonnull Map<ClassType, Stmt> exceptions) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(stmt);
     if (blockPair == null) {
       // Stmt does not exist in the graph -> create
@@ -751,11 +768,12 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   protected void updateIndexRangeAfterMerge(
       @Nonnull MutableBasicBlock firstBlock, @Nonnull MutableBasicBlock secondBlock) {
+    invalidateAnalyses();
     int startIdx = firstBlock.getStmtCount() - secondBlock.getStmtCount();
     List<Stmt> stmts = firstBlock.getStmts();
     for (int i = startIdx, stmtsSize = stmts.size(); i < stmtsSize; i++) {
       Stmt stmt = stmts.get(i);
-      stmtToBlock.put(stmt, new MutablePair<>(i, firstBlock));
+      putStmtToBlock(stmt, new MutablePair<>(i, firstBlock));
       // TODO: reuse previous assigned Pairs/ shift offset
     }
   }
@@ -807,6 +825,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   /** trys to merge the second block into the first one if possible */
   protected boolean tryMergeBlocks(
       @Nonnull MutableBasicBlock firstBlock, @Nonnull MutableBasicBlock followingBlock) {
+    invalidateAnalyses();
     final boolean mergeable = isMergeable(firstBlock, followingBlock);
     if (mergeable) {
       for (Stmt stmt : followingBlock.getStmts()) {
@@ -841,6 +860,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
    */
   @Nonnull
   protected Pair<Integer, MutableBasicBlock> createStmtsBlock(@Nonnull Stmt stmt) {
+    invalidateAnalyses();
     // add Block to graph, add+register Stmt to Block
     MutableBasicBlock block = new MutableBasicBlockImpl();
     if (addNodeToBlock(block, stmt) != null) {
@@ -850,15 +870,37 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     return new MutablePair<>(0, block);
   }
 
+  /**
+   * Registers the position of a Stmt in the index of this graph. Adds the Stmt to the {@link
+   * DefUseIndex} if it is new to the graph.
+   */
+  private Pair<Integer, MutableBasicBlock> putStmtToBlock(
+      @Nonnull Stmt stmt, @Nonnull Pair<Integer, MutableBasicBlock> blockPair) {
+    Pair<Integer, MutableBasicBlock> previous = stmtToBlock.put(stmt, blockPair);
+    if (previous == null && defUseIndex != null) {
+      defUseIndex.addStmt(stmt);
+    }
+    return previous;
+  }
+
+  /** Removes a Stmt from the index of this graph and from the {@link DefUseIndex}. */
+  private void removeStmtToBlock(@Nonnull Stmt stmt) {
+    if (stmtToBlock.remove(stmt) != null && defUseIndex != null) {
+      defUseIndex.removeStmt(stmt);
+    }
+  }
+
   /** Adds a Stmt to the end of a block i.e. stmt will become the new tail. */
   protected Pair<Integer, MutableBasicBlock> addNodeToBlock(
       @Nonnull MutableBasicBlock block, @Nonnull Stmt stmt) {
+    invalidateAnalyses();
     int stmtIdx = block.getStmtCount();
     block.addStmt(stmt);
-    return stmtToBlock.put(stmt, new MutablePair<>(stmtIdx, block));
+    return putStmtToBlock(stmt, new MutablePair<>(stmtIdx, block));
   }
 
   public void removeNode(@Nonnull Stmt stmt) {
+    invalidateAnalyses();
     // TODO: [ms] whats intuitive? removing the flows to the block too? or is deleting a stmt
     // keeping the flows to it
     // is the answer different if its the tail? consistency vs intuitivity..
@@ -877,6 +919,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
    * @throws IllegalArgumentException if keepFlow is true but the stmt has multiple successors
    */
   public void removeNode(@Nonnull Stmt stmt, boolean keepFlow) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockOfRemovedStmtPair = stmtToBlock.get(stmt);
     if (blockOfRemovedStmtPair == null) {
       throw new IllegalArgumentException("stmt '" + stmt + "' is not contained in this StmtGraph!");
@@ -942,7 +985,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       List<Stmt> stmts = blockOfRemovedStmt.getStmts();
       for (int i = blockOfRemovedStmtPair.getLeft(), stmtsSize = stmts.size(); i < stmtsSize; i++) {
         Stmt s = stmts.get(i);
-        stmtToBlock.put(s, new MutablePair<>(i, blockOfRemovedStmt));
+        putStmtToBlock(s, new MutablePair<>(i, blockOfRemovedStmt));
       }
 
     } else {
@@ -970,7 +1013,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
           List<Stmt> stmts = blockOfRemovedStmt.getStmts();
           for (int i = startIdx, stmtsSize = stmts.size(); i < stmtsSize; i++) {
             Stmt s = stmts.get(i);
-            stmtToBlock.put(s, new MutablePair<>(i, blockOfRemovedStmt));
+            putStmtToBlock(s, new MutablePair<>(i, blockOfRemovedStmt));
           }
         } else {
           int splitIdx = blockOfRemovedStmtPair.getLeft();
@@ -981,15 +1024,16 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
           blocks.add(secondBlock);
           int idx = 0;
           for (Stmt s : secondBlock.getStmts()) {
-            stmtToBlock.put(s, new MutablePair<>(idx++, secondBlock));
+            putStmtToBlock(s, new MutablePair<>(idx++, secondBlock));
           }
         }
       }
     }
-    stmtToBlock.remove(stmt);
+    removeStmtToBlock(stmt);
   }
 
   public void clearBlockFromAllExceptionalBlocks(MutableBasicBlock blockOfRemovedStmt) {
+    invalidateAnalyses();
     // Remove blockOfRemovedStmt from all exceptionalBlocks in MutableBlockStmtGraph
     for (Iterator<MutableBasicBlock> iterator = blocks.iterator(); iterator.hasNext(); ) {
       MutableBasicBlock block = iterator.next();
@@ -1012,6 +1056,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void replaceNode(@Nonnull Stmt oldStmt, @Nonnull Stmt newStmt) {
+    invalidateAnalyses();
     if (oldStmt == newStmt) {
       return;
     }
@@ -1030,23 +1075,23 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     if (!oldStmt.branches() && !newStmt.branches()) {
       // nothing branches -> just replace actual Stmt inside oldStmts block
       blockOfOldStmt.replaceStmt(blockOfOldStmtPair.getLeft(), newStmt);
-      stmtToBlock.put(newStmt, blockOfOldStmtPair);
+      putStmtToBlock(newStmt, blockOfOldStmtPair);
 
     } else if (!oldStmt.branches() && newStmt.branches()) {
       // split block
       MutableBasicBlock newBlock = splitAndExcludeStmtFromBlock(oldStmt, blockOfOldStmt);
       blockOfOldStmt.replaceStmt(oldStmt, newStmt);
       // update index
-      stmtToBlock.put(newStmt, blockOfOldStmtPair);
+      putStmtToBlock(newStmt, blockOfOldStmtPair);
       int idx = 0;
       for (Stmt stmt : newBlock.getStmts()) {
-        stmtToBlock.put(stmt, new MutablePair<>(idx++, newBlock));
+        putStmtToBlock(stmt, new MutablePair<>(idx++, newBlock));
       }
 
     } else if (oldStmt.branches() && !newStmt.branches()) {
       blockOfOldStmt.replaceStmt(oldStmt, newStmt);
       blockOfOldStmtPair.setValue(blockOfOldStmt);
-      stmtToBlock.put(newStmt, blockOfOldStmtPair);
+      putStmtToBlock(newStmt, blockOfOldStmtPair);
       if (oldStmt.getExpectedSuccessorCount() > newStmt.getExpectedSuccessorCount()) {
         // throw new IllegalArgumentException("We can't keep the flows if we replace a Stmt ("+
         // oldStmt.getExpectedSuccessorCount() +") by another Stmt which expects a different amount
@@ -1065,7 +1110,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     } else /* ==> if(oldStmt.branches() && newStmt.branches()) */ {
 
       blockOfOldStmt.replaceStmt(oldStmt, newStmt);
-      stmtToBlock.put(newStmt, blockOfOldStmtPair);
+      putStmtToBlock(newStmt, blockOfOldStmtPair);
       if (oldStmt.getExpectedSuccessorCount() != newStmt.getExpectedSuccessorCount()) {
         // TODO: or should we just assume to use successorIdx:0
         throw new IllegalArgumentException(
@@ -1077,7 +1122,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       }
     }
 
-    stmtToBlock.remove(oldStmt);
+    removeStmtToBlock(oldStmt);
   }
 
   public void validateBlocks() {
@@ -1115,6 +1160,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       @Nonnull Stmt existingStmt,
       @Nonnull List<FallsThroughStmt> stmts,
       @Nonnull Map<ClassType, Stmt> exceptionMap) {
+    invalidateAnalyses();
     if (stmts.isEmpty()) {
       return stmtToBlock.get(existingStmt).getRight();
     }
@@ -1168,6 +1214,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       @Nonnull Stmt existingStmt,
       @Nonnull List<FallsThroughStmt> stmts,
       @Nonnull Map<ClassType, Stmt> exceptionMap) {
+    invalidateAnalyses();
     if (stmts.isEmpty()) {
       return stmtToBlock.get(existingStmt).getRight();
     }
@@ -1226,11 +1273,11 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       int idx = containerBlock.getStmtCount();
       tryMergeBlocks(containerBlock, innerBlock);
       for (Stmt stmt : innerBlock.getStmts()) {
-        stmtToBlock.put(stmt, new MutablePair<>(idx++, containerBlock));
+        putStmtToBlock(stmt, new MutablePair<>(idx++, containerBlock));
       }
       tryMergeBlocks(containerBlock, secondHalfBlock);
       for (Stmt stmt : secondHalfBlock.getStmts()) {
-        stmtToBlock.put(stmt, new MutablePair<>(idx++, containerBlock));
+        putStmtToBlock(stmt, new MutablePair<>(idx++, containerBlock));
       }
       return containerBlock;
     } else {
@@ -1238,7 +1285,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       // add secondHalfBlock into the graph and update its index
       int idx = 0;
       for (Stmt stmt : secondHalfBlock.getStmts()) {
-        stmtToBlock.put(stmt, new MutablePair<>(idx++, secondHalfBlock));
+        putStmtToBlock(stmt, new MutablePair<>(idx++, secondHalfBlock));
       }
       blocks.add(secondHalfBlock);
       return innerBlock;
@@ -1275,6 +1322,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   /** Replaces all SuccessorEdge(s) of from to oldTo by mewTo */
   @Override
   public boolean replaceSucessorEdge(@Nonnull Stmt from, @Nonnull Stmt oldTo, @Nonnull Stmt newTo) {
+    invalidateAnalyses();
     final Pair<Integer, MutableBasicBlock> mutableBasicBlockPair = stmtToBlock.get(from);
     if (mutableBasicBlockPair == null) {
       throw new IllegalArgumentException("stmt '" + from + "' does not exist in this StmtGraph!");
@@ -1305,6 +1353,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   }
 
   public void putEdge(@Nonnull BranchingStmt stmtA, int succesorIdx, @Nonnull Stmt stmtB) {
+    invalidateAnalyses();
     if (0 > succesorIdx || succesorIdx >= stmtA.getExpectedSuccessorCount()) {
       throw new IllegalArgumentException(
           "SuccessorIdx '"
@@ -1317,6 +1366,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   }
 
   protected void putEdge_internal(@Nonnull Stmt stmtA, int succesorIdx, @Nonnull Stmt stmtB) {
+    invalidateAnalyses();
 
     Pair<Integer, MutableBasicBlock> blockAPair = stmtToBlock.get(stmtA);
     Pair<Integer, MutableBasicBlock> blockBPair = stmtToBlock.get(stmtB);
@@ -1362,7 +1412,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
           blocks.add(newBlock);
           int idx = 0;
           for (Stmt stmt : newBlock.getStmts()) {
-            stmtToBlock.put(stmt, new MutablePair<>(idx++, newBlock));
+            putStmtToBlock(stmt, new MutablePair<>(idx++, newBlock));
           }
 
           if (blockA == blockB) {
@@ -1422,6 +1472,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public List<Integer> removeEdge(@Nonnull Stmt from, @Nonnull Stmt to) {
+    invalidateAnalyses();
     Pair<Integer, MutableBasicBlock> blockOfFromPair = stmtToBlock.get(from);
     if (blockOfFromPair == null) {
       // Stmt is not existing anymore in this graph - so neither a connection.
@@ -1477,7 +1528,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
         blocks.add(newBlock);
         int idx = 0;
         for (Stmt s : newBlock.getStmts()) {
-          stmtToBlock.put(s, new MutablePair<>(idx++, newBlock));
+          putStmtToBlock(s, new MutablePair<>(idx++, newBlock));
         }
         return Collections.singletonList(0);
       } else {
@@ -1494,6 +1545,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void setEdges(@Nonnull BranchingStmt fromStmt, @Nonnull List<Stmt> targets) {
+    invalidateAnalyses();
     if (fromStmt.getExpectedSuccessorCount() != targets.size()) {
       throw new IllegalArgumentException(
           "Size of Targets is not the amount of from's expected successors.");
@@ -1544,10 +1596,15 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   @Nonnull
   @Override
   public StmtGraph<?> unmodifiableStmtGraph() {
+    // the index and analyses are only needed while the graph is modified; a Body must not keep
+    // them alive
+    defUseIndex = null;
+    invalidateAnalyses();
     return new ForwardingStmtGraph<>(this);
   }
 
   public void setStartingStmt(@Nonnull Stmt startingStmt) {
+    invalidateAnalyses();
     if (stmtToBlock.get(startingStmt) == null) {
       Pair<Integer, MutableBasicBlock> block = stmtToBlock.get(startingStmt);
       if (block == null) {
@@ -1558,6 +1615,48 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     this.startingStmt = startingStmt;
   }
 
+  @Nonnull
+  @Override
+  public DefUseIndex getDefUseIndex() {
+    if (defUseIndex == null) {
+      defUseIndex = new DefUseIndex(stmtToBlock.keySet());
+    }
+    return defUseIndex;
+  }
+
+  @Nonnull
+  @Override
+  public <T> T getAnalysis(
+      @Nonnull Class<T> type, @Nonnull Function<? super StmtGraph<?>, ? extends T> factory) {
+    Object analysis = analyses.get(type);
+    if (analysis == null) {
+      analysis = factory.apply(this);
+      analyses.put(type, analysis);
+    }
+    return type.cast(analysis);
+  }
+
+  /** the linearization is computed once and reused until the next modification */
+  @Override
+  public List<Stmt> getStmts() {
+    if (stmtOrder == null) {
+      stmtOrder = super.getStmts();
+    }
+    return new ArrayList<>(stmtOrder);
+  }
+
+  private void invalidateAnalyses() {
+    if (!analyses.isEmpty()) {
+      analyses.clear();
+    }
+    stmtOrder = null;
+  }
+
+  /** whether the {@link DefUseIndex} has been created and is kept up to date */
+  boolean hasDefUseIndex() {
+    return defUseIndex != null;
+  }
+
   @Nonnull
   @Override
   public Set<Stmt> getNodes() {
@@ -1746,6 +1845,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   @Override
   public void removeExceptionalFlowFromAllBlocks(
       @Nonnull ClassType exceptionType, @Nonnull Stmt exceptionHandlerStmt) {
+    invalidateAnalyses();
     for (Iterator<BasicBlock<?>> it = getBlockIterator(); it.hasNext(); ) {
       MutableBasicBlock block = (MutableBasicBlock) it.next();
 
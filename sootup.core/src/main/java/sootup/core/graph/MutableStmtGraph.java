@@ -22,6 +22,7 @@ package sootup.core.graph;
  */
 
 import java.util.*;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.common.stmt.BranchingStmt;
 import sootup.core.jimple.common.stmt.FallsThroughStmt;
@@ -40,6 +41,31 @@ public abstract class MutableStmtGraph extends StmtGraph<MutableBasicBlock> {
 
   public abstract void setStartingStmt(@Nonnull Stmt firstStmt);
 
+  /**
+   * Returns the index of the defs and uses of the Locals in this StmtGraph. Callers keep the index
+   * while they modify the StmtGraph, so it always reflects the current Stmts. {@link
+   * MutableBlockStmtGraph} keeps its index up to date; the default implementation scans the Stmts
+   * of this StmtGraph on each query.
+   */
+  @Nonnull
+  public DefUseIndex getDefUseIndex() {
+    return new ScanningDefUseIndex(this);
+  }
+
+  /**
+   * Returns the result of an analysis of this StmtGraph, e.g. a {@link DominanceFinder}, so that
+   * consecutive BodyInterceptors can share it. The result is created by the given factory on the
+   * first request. {@link MutableBlockStmtGraph} keeps it until the StmtGraph is modified; the
+   * default implementation creates it on each call. Callers must not modify the result.
+   *
+   * @param type identifies the analysis
+   */
+  @Nonnull
+  public <T> T getAnalysis(
+      @Nonnull Class<T> type, @Nonnull Function<? super StmtGraph<?>, ? extends T> factory) {
+    return factory.apply(this);
+  }
+
   /** inserts a "stmt" into the StmtGraph */
   public void addNode(@Nonnull Stmt stmt) {
     addNode(stmt, Collections.emptyMap());
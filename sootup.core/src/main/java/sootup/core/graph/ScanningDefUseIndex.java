@@ -0,0 +1,77 @@
+package sootup.core.graph;
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.collect.LinkedHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multisets;
+import java.util.*;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * A {@link DefUseIndex} which scans the current Stmts of a StmtGraph on each query instead of being
+ * kept up to date. It serves the {@link MutableStmtGraph}s which do not maintain an index.
+ */
+class ScanningDefUseIndex extends DefUseIndex {
+
+  @Nonnull private final StmtGraph<?> graph;
+
+  ScanningDefUseIndex(@Nonnull StmtGraph<?> graph) {
+    super(Collections.emptyList());
+    this.graph = graph;
+  }
+
+  @Override
+  void addStmt(@Nonnull Stmt stmt) {}
+
+  @Override
+  void removeStmt(@Nonnull Stmt stmt) {}
+
+  @Nonnull
+  @Override
+  public Set<Stmt> getDefs(@Nonnull Local local) {
+    Set<Stmt> defs = new LinkedHashSet<>();
+    for (Stmt stmt : graph.getNodes()) {
+      if (stmt.getDef().filter(local::equals).isPresent()) {
+        defs.add(stmt);
+      }
+    }
+    return Collections.unmodifiableSet(defs);
+  }
+
+  @Nonnull
+  @Override
+  public Multiset<Stmt> getUses(@Nonnull Local local) {
+    Multiset<Stmt> uses = LinkedHashMultiset.create();
+    for (Stmt stmt : graph.getNodes()) {
+      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
+        if (local.equals(iterator.next())) {
+          uses.add(stmt);
+        }
+      }
+    }
+    return Multisets.unmodifiableMultiset(uses);
+  }
+}
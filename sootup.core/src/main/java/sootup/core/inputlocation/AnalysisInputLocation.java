@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.model.SootClass;
 import sootup.core.model.SourceType;
@@ -63,6 +64,18 @@ public interface AnalysisInputLocation {
   @Nonnull
   Stream<? extends SootClassSource> getClassSources(@Nonnull View view);
 
+  /**
+   * Scan the input location and read the {@link ClassHeader} of every class. Input locations that
+   * can read the supertypes of a class without creating its complete class source should override
+   * this.
+   *
+   * @return an Autocloseable resource that must be closed!
+   */
+  @Nonnull
+  default Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return getClassSources(view).map(ClassHeader::of);
+  }
+
   /**
    * If the AnalysisInputLocation is initialized with the SourceType then this method should return
    * that specific SourceType. This is the default implementation and it returns null when no source
@@ -73,6 +86,11 @@ public interface AnalysisInputLocation {
   @Nonnull
   SourceType getSourceType();
 
+  /**
+   * Returns the interceptors which are applied to the bodies of the methods from this location. The
+   * list is read when a class is loaded and its methods keep the interceptors of that moment, so a
+   * change of the list only applies to the classes which are loaded afterwards.
+   */
   @Nonnull
   List<BodyInterceptor> getBodyInterceptors();
 }
@@ -70,6 +70,11 @@ public class FullStmtPositionInfo extends SimpleStmtPositionInfo {
     }
   }
 
+  /** Returns the number of operands whose position is stored. */
+  public int getOperandPositionCount() {
+    return operandPositions.length;
+  }
+
   @Override
   public String toString() {
     StringBuilder s = new StringBuilder();
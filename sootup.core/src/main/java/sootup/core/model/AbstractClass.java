@@ -22,10 +22,15 @@ package sootup.core.model;
  * #L%
  */
 
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import sootup.core.frontend.ResolveException;
 import sootup.core.frontend.SootClassSource;
@@ -68,6 +73,49 @@ public abstract class AbstractClass {
   @Nonnull
   public abstract Set<? extends SootMethod> getMethods();
 
+  @Nonnull
+  private final Supplier<Map<MethodSubSignature, SootMethod>> _lazyMethodsBySubSignature =
+      Suppliers.memoize(
+          () -> indexBySubSignature(getMethods(), m -> m.getSignature().getSubSignature()));
+
+  @Nonnull
+  private final Supplier<ImmutableSetMultimap<String, SootMethod>> _lazyMethodsByName =
+      Suppliers.memoize(() -> indexByName(getMethods(), m -> m.getSignature().getName()));
+
+  @Nonnull
+  private final Supplier<Map<FieldSubSignature, SootField>> _lazyFieldsBySubSignature =
+      Suppliers.memoize(
+          () -> indexBySubSignature(getFields(), f -> f.getSignature().getSubSignature()));
+
+  @Nonnull
+  private final Supplier<ImmutableSetMultimap<String, SootField>> _lazyFieldsByName =
+      Suppliers.memoize(() -> indexByName(getFields(), f -> f.getSignature().getName()));
+
+  /**
+   * Indexes the given members by their subsignature. If several members share a subsignature, the
+   * first one encountered is kept.
+   */
+  @Nonnull
+  private static <K, M> Map<K, M> indexBySubSignature(
+      @Nonnull Set<? extends M> members, @Nonnull Function<M, K> subSignature) {
+    Map<K, M> index = new HashMap<>(members.size() * 2);
+    for (M member : members) {
+      index.putIfAbsent(subSignature.apply(member), member);
+    }
+    return index;
+  }
+
+  /** Indexes the given members by their name. */
+  @Nonnull
+  private static <M> ImmutableSetMultimap<String, M> indexByName(
+      @Nonnull Set<? extends M> members, @Nonnull Function<M, String> name) {
+    ImmutableSetMultimap.Builder<String, M> index = ImmutableSetMultimap.builder();
+    for (M member : members) {
+      index.put(name.apply(member), member);
+    }
+    return index.build();
+  }
+
   /**
    * Attempts to retrieve the method with the given subSignature. This method may throw an
    * AmbiguousStateException if there are more than one method with the given subSignature. If no
@@ -75,17 +123,13 @@ public abstract class AbstractClass {
    */
   @Nonnull
   public Optional<? extends SootMethod> getMethod(@Nonnull MethodSubSignature subSignature) {
-    return getMethods().stream()
-        .filter(method -> method.getSignature().getSubSignature().equals(subSignature))
-        .findAny();
+    return Optional.ofNullable(_lazyMethodsBySubSignature.get().get(subSignature));
   }
 
   /** Attemtps to retrieve the field with the given FieldSubSignature. */
   @Nonnull
   public Optional<? extends SootField> getField(@Nonnull FieldSubSignature subSignature) {
-    return getFields().stream()
-        .filter(f -> f.getSignature().getSubSignature().equals(subSignature))
-        .findAny();
+    return Optional.ofNullable(_lazyFieldsBySubSignature.get().get(subSignature));
   }
 
   /**
@@ -94,8 +138,7 @@ public abstract class AbstractClass {
    */
   @Nonnull
   public Optional<? extends SootField> getField(@Nonnull String name) {
-    return getFields().stream()
-        .filter(field -> field.getSignature().getName().equals(name))
+    return _lazyFieldsByName.get().get(name).stream()
         .reduce(
             (l, r) -> {
               throw new ResolveException(
@@ -111,11 +154,8 @@ public abstract class AbstractClass {
   @Nonnull
   public Optional<? extends SootMethod> getMethod(
       @Nonnull String name, @Nonnull Iterable<? extends Type> parameterTypes) {
-    return this.getMethods().stream()
-        .filter(
-            method ->
-                method.getSignature().getName().equals(name)
-                    && Iterables.elementsEqual(parameterTypes, method.getParameterTypes()))
+    return _lazyMethodsByName.get().get(name).stream()
+        .filter(method -> Iterables.elementsEqual(parameterTypes, method.getParameterTypes()))
         .reduce(
             (l, r) -> {
               throw new ResolveException(
@@ -133,8 +173,6 @@ public abstract class AbstractClass {
    */
   @Nonnull
   public Set<? extends SootMethod> getMethodsByName(@Nonnull String name) {
-    return this.getMethods().stream()
-        .filter(m -> m.getSignature().getName().equals(name))
-        .collect(Collectors.toSet());
+    return _lazyMethodsByName.get().get(name);
   }
 }
@@ -31,6 +31,7 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.Pair;
+import sootup.core.graph.DefUseIndex;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.graph.StmtGraph;
@@ -327,6 +328,15 @@ public class Body implements HasPosition {
       return graph;
     }
 
+    /**
+     * Gets the index of the defs and uses of the Locals in the StmtGraph, which is kept up to date
+     * while the StmtGraph is modified.
+     */
+    @Nonnull
+    public DefUseIndex getDefUseIndex() {
+      return graph.getDefUseIndex();
+    }
+
     /* Gets an ordered copy of the Stmts in the StmtGraph */
     @Nonnull
     public List<Stmt> getStmts() {
@@ -455,11 +465,15 @@ public class Body implements HasPosition {
           .ifPresent(
               def -> {
                 if (def instanceof Local) {
-                  List<Stmt> localOccurrences =
-                      ((Local) def).getStmtsUsingOrDefiningthisLocal(this.graph.getStmts(), stmt);
+                  DefUseIndex defUseIndex = graph.getDefUseIndex();
+                  boolean occursElsewhere =
+                      Stream.concat(
+                              defUseIndex.getDefs((Local) def).stream(),
+                              defUseIndex.getUses((Local) def).stream())
+                          .anyMatch(s -> !s.equivTo(stmt));
                   // after removing stmt, if the local variable doesn't occur anywhere else then
                   // safely remove
-                  if (localOccurrences.isEmpty()) {
+                  if (!occursElsewhere) {
                     locals.remove(def);
                   }
                 }
@@ -22,6 +22,7 @@ package sootup.core.transform;
  * #L%
  */
 
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.model.Body;
 import sootup.core.views.View;
@@ -37,4 +38,26 @@ public interface BodyInterceptor {
    * @param view
    */
   void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view);
+
+  /**
+   * Identifies the transformation of this interceptor including its configuration, e.g. to persist
+   * intercepted bodies across runs. Interceptors with the same fingerprint have to transform every
+   * body in the same way, so subclasses that add configuration have to override it.
+   *
+   * @return the fingerprint or an empty Optional if the results of this interceptor must not be
+   *     reused
+   */
+  @Nonnull
+  default Optional<String> getCacheFingerprint() {
+    return Optional.empty();
+  }
+
+  /**
+   * Whether the transformation depends on other classes than the one of the body, e.g. on the type
+   * hierarchy of the view. Persisted results of such an interceptor are only reused for the same
+   * class path. Subclasses that use the view have to override it.
+   */
+  default boolean dependsOnClassPath() {
+    return true;
+  }
 }
@@ -22,29 +22,262 @@ package sootup.core.transform;
  * #L%
  */
 
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * The measurements of a {@link BodyInterceptor}, aggregated over all bodies it intercepted. The
+ * metric may be updated by multiple threads at once.
+ *
+ * <p>Besides the totals, it keeps a histogram of the durations, the durations grouped by the size
+ * of the intercepted bodies, and the slowest bodies with their method signatures.
+ */
 public class BodyInterceptorMetric {
 
-  private long runtime;
-  private long memoryUsage;
+  /** the exclusive upper bounds of the body size groups, in Stmts; the last group is unbounded */
+  private static final int[] BODY_SIZE_BOUNDS = {10, 100, 1_000, 10_000};
+
+  /** the number of slowest bodies which are kept */
+  private static final int SLOWEST_BODY_COUNT = 10;
+
+  @Nonnull private final LongAdder invocations = new LongAdder();
+  @Nonnull private final LongAdder totalNanos = new LongAdder();
+  @Nonnull private final AtomicLong maxNanos = new AtomicLong();
+
+  @Nonnull private final LongAdder allocatedBytes = new LongAdder();
+
+  /** stays false if the JVM does not measure the allocations per thread */
+  private volatile boolean allocationsMeasured = false;
+
+  /** bucket i counts the durations in [2^i, 2^(i+1)) nanoseconds, bucket 0 also contains 0 */
+  @Nonnull private final AtomicLongArray durationHistogram = new AtomicLongArray(Long.SIZE);
+
+  @Nonnull
+  private final AtomicLongArray invocationsByBodySize =
+      new AtomicLongArray(BODY_SIZE_BOUNDS.length + 1);
+
+  @Nonnull
+  private final AtomicLongArray nanosByBodySize = new AtomicLongArray(BODY_SIZE_BOUNDS.length + 1);
+
+  /** ordered by duration, the fastest first */
+  @Nonnull
+  private final PriorityQueue<BodyMeasurement> slowestBodies =
+      new PriorityQueue<>(Comparator.comparingLong(BodyMeasurement::getNanos));
+
+  public BodyInterceptorMetric() {}
 
+  /**
+   * Creates a metric whose totals start at the given values, without counting an interception.
+   *
+   * @param runtime the total duration in milliseconds
+   * @param memoryUsage the allocated megabytes
+   * @deprecated the metric is updated via {@link #record(MethodSignature, int, long, long)}
+   */
+  @Deprecated
   public BodyInterceptorMetric(long runtime, long memoryUsage) {
-    this.runtime = runtime;
-    this.memoryUsage = memoryUsage;
+    setRuntime(runtime);
+    setMemoryUsage(memoryUsage);
+  }
+
+  /**
+   * Adds the measurement of a single interception.
+   *
+   * @param method the method of the intercepted body, if known
+   * @param stmtCount the number of Stmts of the body before the interception
+   * @param nanos the duration of the interception
+   * @param allocatedBytes the bytes allocated by the interception, or a negative value if they were
+   *     not measured
+   */
+  public void record(
+      @Nullable MethodSignature method, int stmtCount, long nanos, long allocatedBytes) {
+    invocations.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+    if (allocatedBytes >= 0) {
+      this.allocatedBytes.add(allocatedBytes);
+      allocationsMeasured = true;
+    }
+
+    durationHistogram.incrementAndGet(getDurationBucket(nanos));
+    int sizeGroup = getBodySizeGroup(stmtCount);
+    invocationsByBodySize.incrementAndGet(sizeGroup);
+    nanosByBodySize.addAndGet(sizeGroup, nanos);
+
+    synchronized (slowestBodies) {
+      if (slowestBodies.size() < SLOWEST_BODY_COUNT || slowestBodies.peek().getNanos() < nanos) {
+        slowestBodies.add(new BodyMeasurement(method, stmtCount, nanos, allocatedBytes));
+        if (slowestBodies.size() > SLOWEST_BODY_COUNT) {
+          slowestBodies.poll();
+        }
+      }
+    }
+  }
+
+  private static int getDurationBucket(long nanos) {
+    return nanos <= 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+  }
+
+  private static int getBodySizeGroup(int stmtCount) {
+    int group = 0;
+    while (group < BODY_SIZE_BOUNDS.length && stmtCount >= BODY_SIZE_BOUNDS[group]) {
+      group++;
+    }
+    return group;
+  }
+
+  /** Returns the number of intercepted bodies. */
+  public long getInvocationCount() {
+    return invocations.sum();
+  }
+
+  /** Returns the total duration in nanoseconds. */
+  public long getTotalNanos() {
+    return totalNanos.sum();
   }
 
+  /** Returns the longest duration of a single interception in nanoseconds. */
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  /** Returns the total duration in milliseconds. */
   public long getRuntime() {
-    return runtime;
+    return getTotalNanos() / 1_000_000;
   }
 
+  /**
+   * Replaces the total duration. The histograms and the slowest bodies are not changed.
+   *
+   * @param runtime the total duration in milliseconds
+   * @deprecated the metric is updated via {@link #record(MethodSignature, int, long, long)}
+   */
+  @Deprecated
   public void setRuntime(long runtime) {
-    this.runtime = runtime;
+    totalNanos.reset();
+    totalNanos.add(runtime * 1_000_000);
+  }
+
+  /**
+   * Returns the bytes allocated by the interceptions, or -1 if the JVM does not measure the
+   * allocations per thread.
+   */
+  public long getAllocatedBytes() {
+    return allocationsMeasured ? allocatedBytes.sum() : -1;
   }
 
+  /**
+   * Returns the megabytes allocated by the interceptions, or -1 if the JVM does not measure the
+   * allocations per thread.
+   */
   public long getMemoryUsage() {
-    return memoryUsage;
+    long bytes = getAllocatedBytes();
+    return bytes < 0 ? -1 : bytes / (1024 * 1024);
   }
 
+  /**
+   * Replaces the allocated bytes. The slowest bodies are not changed.
+   *
+   * @param memoryUsage the allocated megabytes
+   * @deprecated the metric is updated via {@link #record(MethodSignature, int, long, long)}
+   */
+  @Deprecated
   public void setMemoryUsage(long memoryUsage) {
-    this.memoryUsage = memoryUsage;
+    allocatedBytes.reset();
+    allocatedBytes.add(memoryUsage * 1024 * 1024);
+    allocationsMeasured = true;
+  }
+
+  /**
+   * Returns the histogram of the durations. Element i is the number of interceptions which took at
+   * least 2^i and less than 2^(i+1) nanoseconds.
+   */
+  @Nonnull
+  public long[] getDurationHistogram() {
+    return toArray(durationHistogram);
+  }
+
+  /**
+   * Returns the exclusive upper bounds of the groups of {@link #getInvocationsByBodySize()} and
+   * {@link #getNanosByBodySize()}, in Stmts. The last group has no upper bound.
+   */
+  @Nonnull
+  public static int[] getBodySizeBounds() {
+    return BODY_SIZE_BOUNDS.clone();
+  }
+
+  /** Returns the number of intercepted bodies per group of body sizes. */
+  @Nonnull
+  public long[] getInvocationsByBodySize() {
+    return toArray(invocationsByBodySize);
+  }
+
+  /** Returns the total duration in nanoseconds per group of body sizes. */
+  @Nonnull
+  public long[] getNanosByBodySize() {
+    return toArray(nanosByBodySize);
+  }
+
+  /** Returns the slowest interceptions, the slowest first. */
+  @Nonnull
+  public List<BodyMeasurement> getSlowestBodies() {
+    List<BodyMeasurement> slowest;
+    synchronized (slowestBodies) {
+      slowest = new ArrayList<>(slowestBodies);
+    }
+    slowest.sort(Comparator.comparingLong(BodyMeasurement::getNanos).reversed());
+    return slowest;
+  }
+
+  @Nonnull
+  private static long[] toArray(@Nonnull AtomicLongArray array) {
+    long[] values = new long[array.length()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = array.get(i);
+    }
+    return values;
+  }
+
+  /** The measurement of a single interception. */
+  public static class BodyMeasurement {
+    @Nullable private final MethodSignature method;
+    private final int stmtCount;
+    private final long nanos;
+    private final long allocatedBytes;
+
+    public BodyMeasurement(
+        @Nullable MethodSignature method, int stmtCount, long nanos, long allocatedBytes) {
+      this.method = method;
+      this.stmtCount = stmtCount;
+      this.nanos = nanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    @Nullable
+    public MethodSignature getMethod() {
+      return method;
+    }
+
+    public int getStmtCount() {
+      return stmtCount;
+    }
+
+    public long getNanos() {
+      return nanos;
+    }
+
+    /** Returns the allocated bytes, or a negative value if they were not measured. */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+      return method + " (" + stmtCount + " Stmts): " + nanos + " ns";
+    }
   }
 }
@@ -0,0 +1,210 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import sootup.core.graph.MutableStmtGraph;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.core.views.View;
+
+/**
+ * Applies a list of {@link BodyInterceptor}s in their order. Consecutive {@link
+ * PeepholeInterceptor}s are fused: their candidates are collected in a single traversal of the
+ * StmtGraph, and Stmts added by one of them are handed to the following ones. The result is the
+ * same as applying the interceptors one after another.
+ *
+ * <p>Def/use information is shared between all interceptors through {@link
+ * MutableStmtGraph#getDefUseIndex()}, which is kept up to date while the StmtGraph changes.
+ */
+public class BodyInterceptorPipeline implements BodyInterceptor {
+
+  /** the number of distinct interceptor lists whose pipelines are kept */
+  private static final int MAX_CACHED_PIPELINES = 64;
+
+  /**
+   * the pipelines of the interceptor lists of the input locations, keyed by copies of the lists, so
+   * that a list which is modified later gets a new pipeline
+   */
+  private static final LoadingCache<List<BodyInterceptor>, BodyInterceptorPipeline> pipelines =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_PIPELINES)
+          .build(CacheLoader.from(BodyInterceptorPipeline::new));
+
+  @Nonnull private final List<BodyInterceptor> bodyInterceptors;
+
+  /** the interceptors grouped into stages; a stage is a single interceptor or fused peepholes */
+  @Nonnull private final List<List<BodyInterceptor>> stages = new ArrayList<>();
+
+  public BodyInterceptorPipeline(@Nonnull List<? extends BodyInterceptor> bodyInterceptors) {
+    this.bodyInterceptors = Collections.unmodifiableList(new ArrayList<>(bodyInterceptors));
+
+    List<BodyInterceptor> peepholes = new ArrayList<>();
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      if (bodyInterceptor instanceof PeepholeInterceptor) {
+        peepholes.add(bodyInterceptor);
+        continue;
+      }
+      if (!peepholes.isEmpty()) {
+        stages.add(peepholes);
+        peepholes = new ArrayList<>();
+      }
+      stages.add(Collections.singletonList(bodyInterceptor));
+    }
+    if (!peepholes.isEmpty()) {
+      stages.add(peepholes);
+    }
+  }
+
+  /**
+   * Returns the pipeline of the current content of the given list of interceptors, e.g. the one of
+   * an {@link sootup.core.inputlocation.AnalysisInputLocation}, and creates it on the first
+   * request. The pipeline is shared by all callers with lists of the same interceptors in the same
+   * order.
+   */
+  @Nonnull
+  public static BodyInterceptorPipeline of(
+      @Nonnull List<? extends BodyInterceptor> bodyInterceptors) {
+    return pipelines.getUnchecked(ImmutableList.copyOf(bodyInterceptors));
+  }
+
+  @Nonnull
+  public List<BodyInterceptor> getBodyInterceptors() {
+    return bodyInterceptors;
+  }
+
+  @Override
+  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+    interceptBody(builder, view, bodyInterceptor -> {});
+  }
+
+  /** fusing does not change the result, so the pipeline is identified by its interceptors */
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    StringBuilder sb = new StringBuilder("pipeline[");
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      Optional<String> fingerprint = bodyInterceptor.getCacheFingerprint();
+      if (!fingerprint.isPresent()) {
+        return Optional.empty();
+      }
+      sb.append(fingerprint.get()).append(';');
+    }
+    return Optional.of(sb.append(']').toString());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return bodyInterceptors.stream().anyMatch(BodyInterceptor::dependsOnClassPath);
+  }
+
+  /**
+   * Applies the interceptors to the builder.
+   *
+   * @param afterEach is called after each interceptor, e.g. to validate the StmtGraph
+   * @throws IllegalStateException if an interceptor fails
+   */
+  public void interceptBody(
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull View view,
+      @Nonnull Consumer<BodyInterceptor> afterEach) {
+    for (List<BodyInterceptor> stage : stages) {
+      if (stage.get(0) instanceof PeepholeInterceptor) {
+        interceptFused(builder, view, stage, afterEach);
+      } else {
+        BodyInterceptor bodyInterceptor = stage.get(0);
+        try {
+          bodyInterceptor.interceptBody(builder, view);
+          afterEach.accept(bodyInterceptor);
+        } catch (Exception e) {
+          throw failed(bodyInterceptor, builder, e);
+        }
+      }
+    }
+  }
+
+  private static void interceptFused(
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull View view,
+      @Nonnull List<BodyInterceptor> peepholes,
+      @Nonnull Consumer<BodyInterceptor> afterEach) {
+    MutableStmtGraph graph = builder.getStmtGraph();
+
+    List<List<Stmt>> candidates = new ArrayList<>(peepholes.size());
+    for (int i = 0; i < peepholes.size(); i++) {
+      candidates.add(new ArrayList<>());
+    }
+    for (Stmt stmt : graph.getNodes()) {
+      addCandidate(peepholes, candidates, 0, stmt);
+    }
+
+    for (int i = 0; i < peepholes.size(); i++) {
+      PeepholeInterceptor peephole = (PeepholeInterceptor) peepholes.get(i);
+      // a former interceptor may have removed or replaced a candidate
+      List<Stmt> remainingCandidates = new ArrayList<>(candidates.get(i).size());
+      for (Stmt stmt : candidates.get(i)) {
+        if (graph.containsNode(stmt)) {
+          remainingCandidates.add(stmt);
+        }
+      }
+      try {
+        for (Stmt stmt : peephole.interceptStmts(builder, remainingCandidates, view)) {
+          addCandidate(peepholes, candidates, i + 1, stmt);
+        }
+        afterEach.accept(peephole);
+      } catch (Exception e) {
+        throw failed(peephole, builder, e);
+      }
+    }
+  }
+
+  private static void addCandidate(
+      @Nonnull List<BodyInterceptor> peepholes,
+      @Nonnull List<List<Stmt>> candidates,
+      int from,
+      @Nonnull Stmt stmt) {
+    for (int i = from; i < peepholes.size(); i++) {
+      if (((PeepholeInterceptor) peepholes.get(i)).isCandidate(stmt)) {
+        candidates.get(i).add(stmt);
+      }
+    }
+  }
+
+  @Nonnull
+  private static IllegalStateException failed(
+      @Nonnull BodyInterceptor bodyInterceptor,
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull Exception e) {
+    return new IllegalStateException(
+        "Failed to apply " + bodyInterceptor + " to " + builder.getMethodSignature(), e);
+  }
+}
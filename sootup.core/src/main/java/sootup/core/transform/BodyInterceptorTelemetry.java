@@ -0,0 +1,138 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Sahil Agichani and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.*;
+import javax.annotation.Nonnull;
+
+/**
+ * Measures a list of {@link BodyInterceptor}s, e.g. the interceptors of an input location, and
+ * exports their {@link BodyInterceptorMetric}s. Pass {@link #getBodyInterceptors()} instead of the
+ * original interceptors to the input location:
+ *
+ * <pre>
+ * BodyInterceptorTelemetry telemetry =
+ *     new BodyInterceptorTelemetry(BytecodeBodyInterceptors.Default.getBodyInterceptors());
+ * AnalysisInputLocation inputLocation =
+ *     new JavaClassPathAnalysisInputLocation(
+ *         path, SourceType.Library, telemetry.getBodyInterceptors());
+ * ...
+ * telemetry.exportCsv(System.out);
+ * </pre>
+ *
+ * <p>The measured interceptors are applied one after another, i.e. {@link PeepholeInterceptor}s are
+ * not fused by a {@link BodyInterceptorPipeline}.
+ */
+public class BodyInterceptorTelemetry {
+
+  @Nonnull private final List<RunTimeBodyInterceptor> measuredInterceptors;
+
+  public BodyInterceptorTelemetry(@Nonnull List<? extends BodyInterceptor> bodyInterceptors) {
+    List<RunTimeBodyInterceptor> measured = new ArrayList<>(bodyInterceptors.size());
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      measured.add(new RunTimeBodyInterceptor(bodyInterceptor));
+    }
+    this.measuredInterceptors = Collections.unmodifiableList(measured);
+  }
+
+  /** Returns the measuring interceptors, in the order of the original interceptors. */
+  @Nonnull
+  public List<BodyInterceptor> getBodyInterceptors() {
+    return Collections.unmodifiableList(measuredInterceptors);
+  }
+
+  /** Returns the metric of each original interceptor, in the order of the interceptors. */
+  @Nonnull
+  public Map<BodyInterceptor, BodyInterceptorMetric> getMetrics() {
+    Map<BodyInterceptor, BodyInterceptorMetric> metrics = new LinkedHashMap<>();
+    for (RunTimeBodyInterceptor measured : measuredInterceptors) {
+      metrics.put(measured.getBodyInterceptor(), measured.getBiMetric());
+    }
+    return metrics;
+  }
+
+  /**
+   * Writes one CSV line per interceptor: the number of bodies, the total and maximal duration in
+   * nanoseconds, the allocated bytes (-1 if not measured), and the number of bodies and the total
+   * duration per group of body sizes.
+   */
+  public void exportCsv(@Nonnull Appendable out) throws IOException {
+    int[] bounds = BodyInterceptorMetric.getBodySizeBounds();
+    out.append("interceptor,bodies,totalNanos,maxNanos,allocatedBytes");
+    for (int i = 0; i <= bounds.length; i++) {
+      String group = i < bounds.length ? "<" + bounds[i] : ">=" + bounds[bounds.length - 1];
+      out.append(",bodies").append(group).append(",nanos").append(group);
+    }
+    out.append('\n');
+
+    for (Map.Entry<BodyInterceptor, BodyInterceptorMetric> entry : getMetrics().entrySet()) {
+      BodyInterceptorMetric metric = entry.getValue();
+      out.append(getName(entry.getKey()))
+          .append(',')
+          .append(Long.toString(metric.getInvocationCount()))
+          .append(',')
+          .append(Long.toString(metric.getTotalNanos()))
+          .append(',')
+          .append(Long.toString(metric.getMaxNanos()))
+          .append(',')
+          .append(Long.toString(metric.getAllocatedBytes()));
+      long[] bodies = metric.getInvocationsByBodySize();
+      long[] nanos = metric.getNanosByBodySize();
+      for (int i = 0; i < bodies.length; i++) {
+        out.append(',')
+            .append(Long.toString(bodies[i]))
+            .append(',')
+            .append(Long.toString(nanos[i]));
+      }
+      out.append('\n');
+    }
+  }
+
+  /**
+   * Writes one CSV line per slowest body of each interceptor: the interceptor, the method, the
+   * number of Stmts, the duration in nanoseconds and the allocated bytes (-1 if not measured).
+   */
+  public void exportSlowestBodiesCsv(@Nonnull Appendable out) throws IOException {
+    out.append("interceptor,method,stmts,nanos,allocatedBytes\n");
+    for (Map.Entry<BodyInterceptor, BodyInterceptorMetric> entry : getMetrics().entrySet()) {
+      for (BodyInterceptorMetric.BodyMeasurement body : entry.getValue().getSlowestBodies()) {
+        out.append(getName(entry.getKey()))
+            .append(",\"")
+            .append(String.valueOf(body.getMethod()))
+            .append("\",")
+            .append(Integer.toString(body.getStmtCount()))
+            .append(',')
+            .append(Long.toString(body.getNanos()))
+            .append(',')
+            .append(Long.toString(body.getAllocatedBytes()))
+            .append('\n');
+      }
+    }
+  }
+
+  @Nonnull
+  private static String getName(@Nonnull BodyInterceptor bodyInterceptor) {
+    return bodyInterceptor.getClass().getSimpleName();
+  }
+}
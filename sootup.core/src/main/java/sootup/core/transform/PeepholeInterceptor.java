@@ -0,0 +1,67 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.core.views.View;
+
+/**
+ * A {@link BodyInterceptor} which rewrites single Stmts of a certain kind, e.g. removes every
+ * JNopStmt. A {@link BodyInterceptorPipeline} collects the candidates of consecutive
+ * PeepholeInterceptors in a single traversal of the StmtGraph instead of one traversal per
+ * interceptor.
+ */
+public interface PeepholeInterceptor extends BodyInterceptor {
+
+  /**
+   * Returns whether the interceptor may rewrite the given Stmt. The decision must only depend on
+   * the Stmt itself, since the StmtGraph may still change before the Stmt is intercepted.
+   */
+  boolean isCandidate(@Nonnull Stmt stmt);
+
+  /**
+   * Rewrites the given candidates. Each of them is contained in the StmtGraph of the builder.
+   *
+   * @return the Stmts which were added to the StmtGraph, so that the following interceptors of a
+   *     pipeline can intercept them as well
+   */
+  @Nonnull
+  Collection<Stmt> interceptStmts(
+      @Nonnull Body.BodyBuilder builder, @Nonnull List<Stmt> candidates, @Nonnull View view);
+
+  @Override
+  default void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+    List<Stmt> candidates = new ArrayList<>();
+    for (Stmt stmt : builder.getStmtGraph().getNodes()) {
+      if (isCandidate(stmt)) {
+        candidates.add(stmt);
+      }
+    }
+    interceptStmts(builder, candidates, view);
+  }
+}
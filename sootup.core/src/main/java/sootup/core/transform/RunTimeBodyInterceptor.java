@@ -22,43 +22,90 @@ package sootup.core.transform;
  * #L%
  */
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import sootup.core.model.Body;
 import sootup.core.views.View;
 
+/**
+ * Measures the {@link BodyInterceptor} it wraps: the duration of each interception in nanoseconds,
+ * the bytes allocated by the intercepting thread and the size of the intercepted body. The
+ * measurements are aggregated in a {@link BodyInterceptorMetric}, so the interceptor can be used by
+ * multiple threads at once.
+ *
+ * <p>The allocated bytes are only measured if the JVM supports it, see {@link
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ */
 public class RunTimeBodyInterceptor implements BodyInterceptor {
 
-  private BodyInterceptorMetric biMetric = new BodyInterceptorMetric(0L, 0L);
+  /** null if the JVM does not measure the allocations per thread */
+  @Nullable private static final com.sun.management.ThreadMXBean allocationBean = allocationBean();
+
+  @Nonnull private final BodyInterceptorMetric biMetric = new BodyInterceptorMetric();
 
-  private final BodyInterceptor bodyInterceptor;
+  @Nonnull private final BodyInterceptor bodyInterceptor;
 
-  public RunTimeBodyInterceptor(BodyInterceptor bodyInterceptor) {
+  public RunTimeBodyInterceptor(@Nonnull BodyInterceptor bodyInterceptor) {
     this.bodyInterceptor = bodyInterceptor;
   }
 
+  @Nullable
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (sunBean.isThreadAllocatedMemorySupported()
+            && sunBean.isThreadAllocatedMemoryEnabled()) {
+          return sunBean;
+        }
+      }
+    } catch (LinkageError e) {
+      // the com.sun.management API is not available on this JVM
+    }
+    return null;
+  }
+
+  @Nonnull
   public BodyInterceptorMetric getBiMetric() {
     return biMetric;
   }
 
+  @Nonnull
   public BodyInterceptor getBodyInterceptor() {
     return bodyInterceptor;
   }
 
+  /** the measurement does not change the body, so the result is that of the wrapped interceptor */
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return bodyInterceptor.getCacheFingerprint();
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return bodyInterceptor.dependsOnClassPath();
+  }
+
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
-    long startTime = System.currentTimeMillis(); // Start time
-    final int MB = 1024 * 1024;
-    Runtime runtime = Runtime.getRuntime();
-    long usedMemoryBefore = runtime.totalMemory() - runtime.freeMemory();
+    int stmtCount = builder.getStmtGraph().getNodes().size();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore =
+        allocationBean == null ? -1 : allocationBean.getThreadAllocatedBytes(threadId);
+    long startTime = System.nanoTime();
 
     bodyInterceptor.interceptBody(builder, view);
 
-    long endTime = System.currentTimeMillis(); // End time
-    long duration = endTime - startTime;
-    long usedMemoryAfter = runtime.totalMemory() - runtime.freeMemory();
-    long memoryUsed = (usedMemoryAfter - usedMemoryBefore) / MB;
-
-    biMetric.setRuntime(biMetric.getRuntime() + duration);
-    biMetric.setMemoryUsage(biMetric.getMemoryUsage() + memoryUsed);
+    long duration = System.nanoTime() - startTime;
+    long allocated = -1;
+    if (allocatedBefore >= 0) {
+      allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    }
+    biMetric.record(builder.getMethodSignature(), stmtCount, duration, allocated);
   }
 }
@@ -0,0 +1,641 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Suppliers;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+
+/**
+ * A {@link TypeHierarchy} that numbers every {@link ClassType} of the view with a dense int id and
+ * keeps the edges of the hierarchy in int arrays.
+ *
+ * <p>The class tree is labelled with preorder intervals, so the transitive subclasses of a class
+ * are a contiguous range of the preorder. The subtypes of interfaces and the supertypes of every
+ * type are computed once per type, without recursion, and cached as sorted id arrays. This makes
+ * {@link #isSubtype(Type, Type)}, {@link #subtypesOf(ClassType)} and {@link
+ * #getLowestCommonAncestors(ClassType, ClassType)} cheap enough to be called in the inner loops of
+ * call graph algorithms.
+ *
+ * <p>The hierarchy answers the same queries as {@link ViewTypeHierarchy}, except that the subtype
+ * streams do not contain duplicates and are not ordered by the structure of the hierarchy.
+ */
+public class IndexedTypeHierarchy implements MutableTypeHierarchy {
+
+  @Nonnull private final ClassType objectClassType;
+  @Nonnull private volatile Supplier<Index> lazyIndex;
+
+  public IndexedTypeHierarchy(@Nonnull View view) {
+    objectClassType = view.getIdentifierFactory().getClassType("java.lang.Object");
+    lazyIndex =
+        Suppliers.memoize(
+            () -> {
+              Builder builder = new Builder();
+              view.getClassHeaders().forEach(builder::add);
+              return builder.build();
+            });
+  }
+
+  @Nonnull
+  private Index index() {
+    return lazyIndex.get();
+  }
+
+  /** Returns the id of the given type or throws an {@link IllegalArgumentException}. */
+  private static int idOf(@Nonnull Index index, @Nonnull ClassType type) {
+    Integer id = index.ids.get(type);
+    if (id == null) {
+      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+    }
+    return id;
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> implementersOf(@Nonnull ClassType interfaceType) {
+    Index index = index();
+    int id = idOf(index, interfaceType);
+    if (!index.interfaces.get(id)) {
+      throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
+    }
+    return index.typesOf(index.interfaceSubtypes(id));
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> subclassesOf(@Nonnull ClassType classType) {
+    Index index = index();
+    int id = idOf(index, classType);
+    if (index.interfaces.get(id)) {
+      throw new IllegalArgumentException("'" + classType + "' is not a class.");
+    }
+    return index.subclasses(id);
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> subtypesOf(@Nonnull ClassType type) {
+    Index index = index();
+    int id = idOf(index, type);
+    return index.interfaces.get(id)
+        ? index.typesOf(index.interfaceSubtypes(id))
+        : index.subclasses(id);
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> directSubtypesOf(@Nonnull ClassType type) {
+    Index index = index();
+    int id = idOf(index, type);
+    return index.interfaces.get(id)
+        ? index.typesOf(index.implementers, id).distinct()
+        : index.typesOf(index.subclasses, id);
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> implementedInterfacesOf(@Nonnull ClassType type) {
+    Index index = index();
+    int[] ancestors = index.ancestors(idOf(index, type));
+    return Arrays.stream(ancestors).filter(index.interfaces::get).mapToObj(i -> index.types[i]);
+  }
+
+  @Override
+  public Stream<ClassType> directlyImplementedInterfacesOf(@Nonnull ClassType classType) {
+    Index index = index();
+    int id = idOf(index, classType);
+    if (index.interfaces.get(id)) {
+      throw new IllegalArgumentException(classType + " is not a class.");
+    }
+    return index.typesOf(index.superInterfaces, id);
+  }
+
+  @Override
+  public Stream<ClassType> directlyExtendedInterfacesOf(@Nonnull ClassType interfaceType) {
+    Index index = index();
+    int id = idOf(index, interfaceType);
+    if (!index.interfaces.get(id)) {
+      throw new IllegalArgumentException(interfaceType + " is not an interface.");
+    }
+    return index.typesOf(index.superInterfaces, id);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<ClassType> superClassOf(@Nonnull ClassType classType) {
+    Index index = index();
+    int id = idOf(index, classType);
+    if (objectClassType.equals(classType)) {
+      return Optional.empty();
+    }
+    int superclass = index.superclass[id];
+    if (superclass >= 0) {
+      return Optional.of(index.types[superclass]);
+    }
+    return index.interfaces.get(id) ? Optional.of(objectClassType) : Optional.empty();
+  }
+
+  @Override
+  public boolean isSubtype(@Nonnull Type supertype, @Nonnull Type potentialSubtype) {
+    if (supertype instanceof ClassType && potentialSubtype instanceof ClassType) {
+      Index index = index();
+      Integer subtypeId = index.ids.get(potentialSubtype);
+      if (subtypeId != null) {
+        if (objectClassType.equals(supertype)) {
+          return !objectClassType.equals(potentialSubtype);
+        }
+        Integer supertypeId = index.ids.get(supertype);
+        return supertypeId != null && index.isAncestor(supertypeId, subtypeId);
+      }
+    }
+    return MutableTypeHierarchy.super.isSubtype(supertype, potentialSubtype);
+  }
+
+  @Override
+  public boolean isInterface(@Nonnull ClassType type) {
+    Index index = index();
+    return index.interfaces.get(idOf(index, type));
+  }
+
+  public boolean isClass(@Nonnull ClassType type) {
+    return !isInterface(type);
+  }
+
+  @Override
+  public boolean contains(ClassType type) {
+    return index().ids.containsKey(type);
+  }
+
+  /**
+   * Returns the common ancestors of <code>a</code> and <code>b</code> that are not a supertype of
+   * another common ancestor. Falls back to <code>java.lang.Object</code>.
+   */
+  @Override
+  public Collection<ClassType> getLowestCommonAncestors(ClassType a, ClassType b) {
+    Index index = index();
+    Integer idA = index.ids.get(a);
+    Integer idB = index.ids.get(b);
+    if (idA == null || idB == null) {
+      return Collections.singleton(objectClassType);
+    }
+
+    long key = idA < idB ? ((long) idA << 32) | idB : ((long) idB << 32) | idA;
+    Collection<ClassType> lcas = index.lcaCache.get(key);
+    if (lcas == null) {
+      lcas = index.lowestCommonAncestors(idA, idB, objectClassType);
+      index.lcaCache.put(key, lcas);
+    }
+    return lcas;
+  }
+
+  @Override
+  public synchronized void addType(@Nonnull SootClass sootClass) {
+    Builder builder = new Builder(index());
+    builder.add(ClassHeader.of(sootClass));
+    Index updated = builder.build();
+    lazyIndex = () -> updated;
+  }
+
+  /** The immutable, int-indexed representation of the hierarchy and the caches derived from it. */
+  private static final class Index {
+    @Nonnull final Map<ClassType, Integer> ids;
+    @Nonnull final ClassType[] types;
+    /** the ids of the interface types */
+    @Nonnull final BitSet interfaces;
+    /** the ids of the types whose header has been added, i.e. that are not only referenced */
+    @Nonnull final BitSet defined;
+    /** the id of the direct superclass of each type, or -1 */
+    @Nonnull final int[] superclass;
+
+    /** the interfaces a type directly implements or extends */
+    @Nonnull final Adjacency superInterfaces;
+    /** the classes directly extending a type */
+    @Nonnull final Adjacency subclasses;
+    /** the classes directly implementing and the interfaces directly extending a type */
+    @Nonnull final Adjacency implementers;
+
+    /** the ids of all types in preorder of the class tree spanned by {@link #subclasses} */
+    @Nonnull final int[] preorder;
+    /** the position of each type in {@link #preorder} */
+    @Nonnull final int[] preorderStart;
+    /** the exclusive end of the range of transitive subclasses of each type in {@link #preorder} */
+    @Nonnull final int[] preorderEnd;
+
+    @Nonnull final AtomicReferenceArray<int[]> ancestorsCache;
+    @Nonnull final AtomicReferenceArray<int[]> interfaceSubtypesCache;
+    @Nonnull final Map<Long, Collection<ClassType>> lcaCache = new ConcurrentHashMap<>();
+
+    Index(
+        @Nonnull Map<ClassType, Integer> ids,
+        @Nonnull ClassType[] types,
+        @Nonnull BitSet interfaces,
+        @Nonnull BitSet defined,
+        @Nonnull int[] superclass,
+        @Nonnull Adjacency superInterfaces) {
+      int size = types.length;
+      this.ids = ids;
+      this.types = types;
+      this.interfaces = interfaces;
+      this.defined = defined;
+      this.superclass = superclass;
+      this.superInterfaces = superInterfaces;
+      this.subclasses = Adjacency.of(size, superclass);
+      this.implementers = superInterfaces.inverse(size);
+      this.ancestorsCache = new AtomicReferenceArray<>(size);
+      this.interfaceSubtypesCache = new AtomicReferenceArray<>(size);
+
+      preorder = new int[size];
+      preorderStart = new int[size];
+      preorderEnd = new int[size];
+      Arrays.fill(preorderStart, -1);
+      int position = 0;
+      for (int root = 0; root < size; root++) {
+        if (superclass[root] < 0) {
+          position = labelSubtree(root, position);
+        }
+      }
+      // classes on a cycle of superclasses (i.e. broken input) have no root
+      for (int id = 0; id < size; id++) {
+        if (preorderStart[id] < 0) {
+          position = labelSubtree(id, position);
+        }
+      }
+    }
+
+    /** Labels the class tree below <code>root</code> in preorder, iteratively. */
+    private int labelSubtree(int root, int position) {
+      int[] stack = new int[] {root};
+      int[] cursor = new int[1];
+      int depth = 0;
+      preorderStart[root] = position;
+      preorder[position++] = root;
+      while (depth >= 0) {
+        int node = stack[depth];
+        int child = subclasses.next(node, cursor[depth]++);
+        if (child == -2) {
+          preorderEnd[node] = position;
+          depth--;
+        } else if (child >= 0 && preorderStart[child] < 0) {
+          if (++depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+            cursor = Arrays.copyOf(cursor, depth * 2);
+          }
+          stack[depth] = child;
+          cursor[depth] = 0;
+          preorderStart[child] = position;
+          preorder[position++] = child;
+        }
+      }
+      return position;
+    }
+
+    @Nonnull
+    Stream<ClassType> subclasses(int id) {
+      return IntStream.range(preorderStart[id] + 1, preorderEnd[id])
+          .mapToObj(i -> types[preorder[i]]);
+    }
+
+    @Nonnull
+    Stream<ClassType> typesOf(@Nonnull int[] typeIds) {
+      return Arrays.stream(typeIds).mapToObj(i -> types[i]);
+    }
+
+    @Nonnull
+    Stream<ClassType> typesOf(@Nonnull Adjacency adjacency, int id) {
+      return IntStream.range(adjacency.offsets[id], adjacency.offsets[id + 1])
+          .mapToObj(i -> types[adjacency.targets[i]]);
+    }
+
+    /** Returns the sorted ids of all direct and indirect supertypes of the type. */
+    @Nonnull
+    int[] ancestors(int id) {
+      int[] ancestors = ancestorsCache.get(id);
+      if (ancestors == null) {
+        BitSet visited = new BitSet();
+        int[] worklist = new int[16];
+        int size = 0;
+        worklist[size++] = id;
+        while (size > 0) {
+          int node = worklist[--size];
+          int[] directSupertypes = directSupertypes(node);
+          for (int supertype : directSupertypes) {
+            if (!visited.get(supertype)) {
+              visited.set(supertype);
+              if (size == worklist.length) {
+                worklist = Arrays.copyOf(worklist, size * 2);
+              }
+              worklist[size++] = supertype;
+            }
+          }
+        }
+        ancestors = visited.stream().toArray();
+        ancestorsCache.set(id, ancestors);
+      }
+      return ancestors;
+    }
+
+    boolean isAncestor(int ancestor, int id) {
+      return Arrays.binarySearch(ancestors(id), ancestor) >= 0;
+    }
+
+    @Nonnull
+    private int[] directSupertypes(int id) {
+      int from = superInterfaces.offsets[id];
+      int to = superInterfaces.offsets[id + 1];
+      int superclassId = superclass[id];
+      int[] supertypes = new int[to - from + (superclassId >= 0 ? 1 : 0)];
+      System.arraycopy(superInterfaces.targets, from, supertypes, 0, to - from);
+      if (superclassId >= 0) {
+        supertypes[supertypes.length - 1] = superclassId;
+      }
+      return supertypes;
+    }
+
+    /**
+     * Returns the sorted ids of all interfaces transitively extending the interface and of all
+     * classes transitively implementing it.
+     */
+    @Nonnull
+    int[] interfaceSubtypes(int id) {
+      int[] subtypes = interfaceSubtypesCache.get(id);
+      if (subtypes == null) {
+        BitSet visited = new BitSet();
+        int[] worklist = new int[16];
+        int size = 0;
+        worklist[size++] = id;
+        while (size > 0) {
+          int node = worklist[--size];
+          for (int i = implementers.offsets[node]; i < implementers.offsets[node + 1]; i++) {
+            int subtype = implementers.targets[i];
+            if (visited.get(subtype)) {
+              continue;
+            }
+            if (interfaces.get(subtype)) {
+              visited.set(subtype);
+              if (size == worklist.length) {
+                worklist = Arrays.copyOf(worklist, size * 2);
+              }
+              worklist[size++] = subtype;
+            } else {
+              // a class: all of its transitive subclasses are subtypes as well
+              for (int j = preorderStart[subtype]; j < preorderEnd[subtype]; j++) {
+                visited.set(preorder[j]);
+              }
+            }
+          }
+        }
+        subtypes = visited.stream().toArray();
+        interfaceSubtypesCache.set(id, subtypes);
+      }
+      return subtypes;
+    }
+
+    @Nonnull
+    Collection<ClassType> lowestCommonAncestors(int a, int b, @Nonnull ClassType objectClassType) {
+      int[] ancestorsOfA = ancestors(a);
+      int[] ancestorsOfB = ancestors(b);
+      if (ancestorsOfA.length == 0 || ancestorsOfB.length == 0) {
+        return Collections.singleton(objectClassType);
+      }
+
+      // intersect the sorted ancestor arrays
+      int[] common = new int[Math.min(ancestorsOfA.length, ancestorsOfB.length)];
+      int count = 0;
+      for (int i = 0, j = 0; i < ancestorsOfA.length && j < ancestorsOfB.length; ) {
+        if (ancestorsOfA[i] < ancestorsOfB[j]) {
+          i++;
+        } else if (ancestorsOfA[i] > ancestorsOfB[j]) {
+          j++;
+        } else {
+          common[count++] = ancestorsOfA[i];
+          i++;
+          j++;
+        }
+      }
+
+      // a common ancestor is lowest if no other common ancestor is its direct subtype
+      Set<ClassType> lcas = new HashSet<>();
+      for (int i = 0; i < count; i++) {
+        boolean isLowest = true;
+        for (int j = 0; j < count && isLowest; j++) {
+          isLowest = !isDirectSupertype(common[i], common[j]);
+        }
+        if (isLowest) {
+          lcas.add(types[common[i]]);
+        }
+      }
+      // the result is cached and shared by all callers, so it must not be modifiable
+      return lcas.isEmpty()
+          ? Collections.singleton(objectClassType)
+          : Collections.unmodifiableSet(lcas);
+    }
+
+    private boolean isDirectSupertype(int supertype, int id) {
+      if (superclass[id] == supertype) {
+        return true;
+      }
+      for (int i = superInterfaces.offsets[id]; i < superInterfaces.offsets[id + 1]; i++) {
+        if (superInterfaces.targets[i] == supertype) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** Adjacency lists of all types in compressed sparse row format. */
+  private static final class Adjacency {
+    /** the neighbours of type <code>i</code> are stored at targets[offsets[i]..offsets[i+1]) */
+    @Nonnull final int[] offsets;
+
+    @Nonnull final int[] targets;
+
+    private Adjacency(@Nonnull int[] offsets, @Nonnull int[] targets) {
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    /** Groups the given edges by their source. */
+    @Nonnull
+    static Adjacency of(int size, @Nonnull int[] sources, @Nonnull int[] targets, int edgeCount) {
+      int[] offsets = new int[size + 1];
+      for (int i = 0; i < edgeCount; i++) {
+        offsets[sources[i] + 1]++;
+      }
+      for (int i = 0; i < size; i++) {
+        offsets[i + 1] += offsets[i];
+      }
+      int[] grouped = new int[edgeCount];
+      int[] fill = Arrays.copyOf(offsets, size);
+      for (int i = 0; i < edgeCount; i++) {
+        grouped[fill[sources[i]]++] = targets[i];
+      }
+      return new Adjacency(offsets, grouped);
+    }
+
+    /** Groups the ids by their parent, e.g. the types by their superclass. */
+    @Nonnull
+    static Adjacency of(int size, @Nonnull int[] parents) {
+      int[] sources = new int[size];
+      int[] targets = new int[size];
+      int edgeCount = 0;
+      for (int id = 0; id < size; id++) {
+        if (parents[id] >= 0) {
+          sources[edgeCount] = parents[id];
+          targets[edgeCount++] = id;
+        }
+      }
+      return of(size, sources, targets, edgeCount);
+    }
+
+    /** Returns the adjacency with all edges reversed. */
+    @Nonnull
+    Adjacency inverse(int size) {
+      int[] sources = new int[targets.length];
+      for (int id = 0; id < size; id++) {
+        Arrays.fill(sources, offsets[id], offsets[id + 1], id);
+      }
+      return of(size, targets, sources, targets.length);
+    }
+
+    /**
+     * Returns the <code>n</code>th neighbour of the type, or -2 if the type has less than <code>
+     * n + 1</code> neighbours.
+     */
+    int next(int id, int n) {
+      int i = offsets[id] + n;
+      return i < offsets[id + 1] ? targets[i] : -2;
+    }
+  }
+
+  /** Numbers the types of the added class headers and collects their edges. */
+  private static final class Builder {
+    @Nonnull private final Map<ClassType, Integer> ids;
+    @Nonnull private final List<ClassType> types;
+    @Nonnull private final BitSet interfaces;
+    @Nonnull private final BitSet defined;
+    @Nonnull private int[] superclass;
+    @Nonnull private int[] edgeSources;
+    @Nonnull private int[] edgeTargets;
+    private int edgeCount;
+
+    Builder() {
+      ids = new HashMap<>();
+      types = new ArrayList<>();
+      interfaces = new BitSet();
+      defined = new BitSet();
+      superclass = new int[64];
+      edgeSources = new int[64];
+      edgeTargets = new int[64];
+    }
+
+    /** Continues building from the types and edges of an existing index. */
+    Builder(@Nonnull Index index) {
+      ids = new HashMap<>(index.ids);
+      types = new ArrayList<>(Arrays.asList(index.types));
+      interfaces = (BitSet) index.interfaces.clone();
+      defined = (BitSet) index.defined.clone();
+      superclass = Arrays.copyOf(index.superclass, Math.max(64, index.superclass.length * 2));
+      edgeCount = index.superInterfaces.targets.length;
+      edgeSources = new int[Math.max(64, edgeCount * 2)];
+      edgeTargets = Arrays.copyOf(index.superInterfaces.targets, edgeSources.length);
+      for (int id = 0; id < index.types.length; id++) {
+        Arrays.fill(
+            edgeSources,
+            index.superInterfaces.offsets[id],
+            index.superInterfaces.offsets[id + 1],
+            id);
+      }
+    }
+
+    /**
+     * Adds the type of the header and the edges to its direct supertypes. If the type has already
+     * been added through another header, the first header wins.
+     */
+    void add(@Nonnull ClassHeader header) {
+      int id = idOf(header.getType(), header.isInterface());
+      if (defined.get(id)) {
+        return;
+      }
+      defined.set(id);
+      for (ClassType implementedInterface : header.getInterfaces()) {
+        addEdge(id, idOf(implementedInterface, true));
+      }
+      if (!header.isInterface()) {
+        @Nullable ClassType superClass = header.getSuperclass().orElse(null);
+        if (superClass != null) {
+          superclass[id] = idOf(superClass, false);
+        }
+      }
+    }
+
+    /** Returns the id of the type. A new type is numbered and classified as interface or class. */
+    private int idOf(@Nonnull ClassType type, boolean isInterface) {
+      Integer id = ids.get(type);
+      if (id != null) {
+        return id;
+      }
+      int newId = types.size();
+      ids.put(type, newId);
+      types.add(type);
+      interfaces.set(newId, isInterface);
+      if (newId == superclass.length) {
+        superclass = Arrays.copyOf(superclass, newId * 2);
+      }
+      superclass[newId] = -1;
+      return newId;
+    }
+
+    private void addEdge(int source, int target) {
+      if (edgeCount == edgeSources.length) {
+        edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+        edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+      }
+      edgeSources[edgeCount] = source;
+      edgeTargets[edgeCount++] = target;
+    }
+
+    @Nonnull
+    Index build() {
+      int size = types.size();
+      return new Index(
+          ids,
+          types.toArray(new ClassType[0]),
+          interfaces,
+          defined,
+          Arrays.copyOf(superclass, size),
+          Adjacency.of(size, edgeSources, edgeTargets, edgeCount));
+    }
+  }
+}
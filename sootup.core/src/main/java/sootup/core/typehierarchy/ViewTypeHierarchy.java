@@ -23,6 +23,7 @@ package sootup.core.typehierarchy;
 
 import com.google.common.base.Suppliers;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -33,6 +34,7 @@ import org.jgrapht.Graph;
 import org.jgrapht.graph.SimpleDirectedGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SootClass;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Edge;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
@@ -52,7 +54,7 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   private final Supplier<ScanResult> lazyScanResult;
   private final ClassType objectClassType;
-  private final Map<SymmetricKey, Set<ClassType>> lcaCache = new HashMap<>();
+  private final Map<SymmetricKey, Set<ClassType>> lcaCache = new ConcurrentHashMap<>();
 
   /** to allow caching use Typehierarchy.fromView() to get/create the Typehierarchy. */
   public ViewTypeHierarchy(@Nonnull View view) {
@@ -211,7 +213,7 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     lcas = new HashSet<>();
 
     if (ancestorsOfA.isEmpty() || ancestorsOfB.isEmpty()) {
-      lcas.add(objectClassType);
+      lcas = Collections.singleton(objectClassType);
       lcaCache.put(pair, lcas);
       return lcas;
     }
@@ -232,9 +234,9 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
         lcas.add(ca.javaClassType);
       }
     }
-    if (lcas.isEmpty()) {
-      lcas = Collections.singleton(objectClassType);
-    }
+    // the cached set is shared by all callers, so it must not be modifiable
+    lcas =
+        lcas.isEmpty() ? Collections.singleton(objectClassType) : Collections.unmodifiableSet(lcas);
     lcaCache.put(pair, lcas);
     return lcas;
   }
@@ -353,10 +355,11 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   /**
-   * This method scans the view by iterating over its classes and creating a graph vertex for each
-   * one. When a class is encountered that extends another one or implements an interface, the graph
-   * vertex of the extended class or implemented interface is connected to the vertex of the
-   * subtype.
+   * This method scans the view by iterating over the headers of its classes and creating a graph
+   * vertex for each one. When a class is encountered that extends another one or implements an
+   * interface, the graph vertex of the extended class or implemented interface is connected to the
+   * vertex of the subtype. Only the class headers are read, so the classes themselves are resolved
+   * lazily when they are requested from the view.
    *
    * <p>We distinguish between interface and class vertices, as interfaces may have direct
    * implementers as well as other interfaces that extend them.
@@ -367,17 +370,17 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     Map<ClassType, Vertex> typeToVertex = new HashMap<>();
     Graph<Vertex, Edge> graph = new SimpleDirectedGraph<>(null, null, false);
 
-    view.getClasses().forEach(sootClass -> addSootClassToGraph(sootClass, typeToVertex, graph));
+    view.getClassHeaders().forEach(header -> addClassHeaderToGraph(header, typeToVertex, graph));
     return new ScanResult(typeToVertex, graph);
   }
 
-  private static void addSootClassToGraph(
-      SootClass sootClass, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
-    if (sootClass.isInterface()) {
+  private static void addClassHeaderToGraph(
+      ClassHeader header, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
+    if (header.isInterface()) {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddInterfaceVertex(graph, type));
-      for (ClassType extendedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddInterfaceVertex(graph, type));
+      for (ClassType extendedInterface : header.getInterfaces()) {
         Vertex extendedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 extendedInterface, type -> createAndAddInterfaceVertex(graph, type));
@@ -386,15 +389,15 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     } else {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddClassVertex(graph, type));
-      for (ClassType implementedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddClassVertex(graph, type));
+      for (ClassType implementedInterface : header.getInterfaces()) {
         Vertex implementedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 implementedInterface, type -> createAndAddInterfaceVertex(graph, type));
         graph.addEdge(
             vertex, implementedInterfaceVertex, new Edge(EdgeType.ClassDirectlyImplements));
       }
-      sootClass
+      header
           .getSuperclass()
           .ifPresent(
               superClass -> {
@@ -423,7 +426,7 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Override
   public void addType(@Nonnull SootClass sootClass) {
     ScanResult scanResult = lazyScanResult.get();
-    addSootClassToGraph(sootClass, scanResult.typeToVertex, scanResult.graph);
+    addClassHeaderToGraph(ClassHeader.of(sootClass), scanResult.typeToVertex, scanResult.graph);
   }
 
   /** Holds a vertex for each {@link ClassType} encountered during the scan. */
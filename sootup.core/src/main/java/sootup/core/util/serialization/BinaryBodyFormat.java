@@ -0,0 +1,231 @@
+package sootup.core.util.serialization;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Constants and primitive encodings of the binary Body format that is written by {@link
+ * BinaryBodyWriter} and read by {@link BinaryBodyReader}.
+ *
+ * <p>A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by a sequence of bodies.
+ * Strings, types and signatures are interned in constant pools that are shared by all bodies of a
+ * stream: an entry is referenced by its index in the pool, and the index that equals the current
+ * size of the pool is followed by the definition of a new entry. Hence, neither side has to know
+ * the pool in advance, and a stream can be written and read incrementally.
+ */
+final class BinaryBodyFormat {
+
+  static final int MAGIC = 0x534f4f42; // "SOOB"
+
+  /** increase whenever the encoding changes incompatibly */
+  static final int VERSION = 2;
+
+  static final byte BODY = 1;
+
+  // types
+  static final byte TYPE_BOOLEAN = 1;
+  static final byte TYPE_BYTE = 2;
+  static final byte TYPE_CHAR = 3;
+  static final byte TYPE_SHORT = 4;
+  static final byte TYPE_INT = 5;
+  static final byte TYPE_LONG = 6;
+  static final byte TYPE_FLOAT = 7;
+  static final byte TYPE_DOUBLE = 8;
+  static final byte TYPE_VOID = 9;
+  static final byte TYPE_NULL = 10;
+  static final byte TYPE_UNKNOWN = 11;
+  static final byte TYPE_ARRAY = 12;
+  static final byte TYPE_CLASS = 13;
+
+  // positions
+  static final byte POSITION_NULL = 0;
+  static final byte POSITION_NONE = 1;
+  static final byte POSITION_LINE = 2;
+  static final byte POSITION_FULL = 3;
+
+  static final byte STMT_POSITION_NONE = 0;
+  static final byte STMT_POSITION_SIMPLE = 1;
+  static final byte STMT_POSITION_FULL = 2;
+
+  // stmts
+  static final byte STMT_ASSIGN = 1;
+  static final byte STMT_IDENTITY = 2;
+  static final byte STMT_INVOKE = 3;
+  static final byte STMT_IF = 4;
+  static final byte STMT_GOTO = 5;
+  static final byte STMT_NOP = 6;
+  static final byte STMT_RETURN = 7;
+  static final byte STMT_RETURN_VOID = 8;
+  static final byte STMT_THROW = 9;
+  static final byte STMT_ENTER_MONITOR = 10;
+  static final byte STMT_EXIT_MONITOR = 11;
+  static final byte STMT_BREAKPOINT = 12;
+  static final byte STMT_RET = 13;
+  static final byte STMT_TABLE_SWITCH = 14;
+  static final byte STMT_LOOKUP_SWITCH = 15;
+
+  // values
+  static final byte LOCAL = 1;
+  static final byte CONST_INT = 2;
+  static final byte CONST_LONG = 3;
+  static final byte CONST_FLOAT = 4;
+  static final byte CONST_DOUBLE = 5;
+  static final byte CONST_BOOLEAN = 6;
+  static final byte CONST_NULL = 7;
+  static final byte CONST_STRING = 8;
+  static final byte CONST_CLASS = 9;
+  static final byte CONST_ENUM = 10;
+  static final byte CONST_METHOD_HANDLE = 11;
+  static final byte CONST_METHOD_TYPE = 12;
+
+  static final byte EXPR_ADD = 20;
+  static final byte EXPR_AND = 21;
+  static final byte EXPR_CMP = 22;
+  static final byte EXPR_CMPG = 23;
+  static final byte EXPR_CMPL = 24;
+  static final byte EXPR_DIV = 25;
+  static final byte EXPR_EQ = 26;
+  static final byte EXPR_NE = 27;
+  static final byte EXPR_GE = 28;
+  static final byte EXPR_GT = 29;
+  static final byte EXPR_LE = 30;
+  static final byte EXPR_LT = 31;
+  static final byte EXPR_MUL = 32;
+  static final byte EXPR_OR = 33;
+  static final byte EXPR_REM = 34;
+  static final byte EXPR_SHL = 35;
+  static final byte EXPR_SHR = 36;
+  static final byte EXPR_USHR = 37;
+  static final byte EXPR_SUB = 38;
+  static final byte EXPR_XOR = 39;
+  static final byte EXPR_NEG = 40;
+  static final byte EXPR_LENGTH = 41;
+  static final byte EXPR_CAST = 42;
+  static final byte EXPR_INSTANCEOF = 43;
+  static final byte EXPR_NEW = 44;
+  static final byte EXPR_NEW_ARRAY = 45;
+  static final byte EXPR_NEW_MULTI_ARRAY = 46;
+  static final byte EXPR_STATIC_INVOKE = 47;
+  static final byte EXPR_SPECIAL_INVOKE = 48;
+  static final byte EXPR_VIRTUAL_INVOKE = 49;
+  static final byte EXPR_INTERFACE_INVOKE = 50;
+  static final byte EXPR_DYNAMIC_INVOKE = 51;
+
+  static final byte REF_STATIC_FIELD = 60;
+  static final byte REF_INSTANCE_FIELD = 61;
+  static final byte REF_ARRAY = 62;
+  static final byte REF_PARAMETER = 63;
+  static final byte REF_THIS = 64;
+  static final byte REF_CAUGHT_EXCEPTION = 65;
+
+  private BinaryBodyFormat() {}
+
+  /** writes a non-negative int in 1-5 bytes (LEB128) */
+  static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      if (shift > 28) {
+        throw new IOException("Malformed variable length int.");
+      }
+      b = in.readByte();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  /** writes a (possibly negative) int zigzag encoded, so that small absolute values stay short */
+  static void writeSignedVarInt(DataOutput out, int value) throws IOException {
+    writeVarInt(out, (value << 1) ^ (value >> 31));
+  }
+
+  static int readSignedVarInt(DataInput in) throws IOException {
+    int value = readVarInt(in);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * writes the chars of the String in the modified UTF-8 encoding of {@link
+   * DataOutput#writeUTF(String)}, which keeps unpaired surrogates intact, but without its length
+   * limit of 64KiB
+   */
+  static void writeString(DataOutput out, String str) throws IOException {
+    int length = 0;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      length += (c >= 0x01 && c <= 0x7F) ? 1 : (c <= 0x7FF ? 2 : 3);
+    }
+    byte[] bytes = new byte[length];
+    int pos = 0;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      if (c >= 0x01 && c <= 0x7F) {
+        bytes[pos++] = (byte) c;
+      } else if (c <= 0x7FF) {
+        bytes[pos++] = (byte) (0xC0 | (c >> 6));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else {
+        bytes[pos++] = (byte) (0xE0 | (c >> 12));
+        bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    writeVarInt(out, length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    char[] chars = new char[bytes.length];
+    int length = 0;
+    int pos = 0;
+    while (pos < bytes.length) {
+      int b = bytes[pos++] & 0xFF;
+      if (b < 0x80) {
+        chars[length++] = (char) b;
+      } else if ((b & 0xE0) == 0xC0 && pos < bytes.length) {
+        chars[length++] = (char) (((b & 0x1F) << 6) | (bytes[pos++] & 0x3F));
+      } else if ((b & 0xF0) == 0xE0 && pos + 1 < bytes.length) {
+        chars[length++] =
+            (char) (((b & 0x0F) << 12) | ((bytes[pos++] & 0x3F) << 6) | (bytes[pos++] & 0x3F));
+      } else {
+        throw new IOException("Malformed modified UTF-8 string.");
+      }
+    }
+    return new String(chars, 0, length);
+  }
+}
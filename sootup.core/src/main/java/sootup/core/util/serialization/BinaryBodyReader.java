@@ -0,0 +1,641 @@
+package sootup.core.util.serialization;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.core.util.serialization.BinaryBodyFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.IdentifierFactory;
+import sootup.core.graph.MutableBlockStmtGraph;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.FullStmtPositionInfo;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.LValue;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.*;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.jimple.javabytecode.stmt.*;
+import sootup.core.model.Body;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.SootClassMemberSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+
+/**
+ * Reads {@link Body}s that were written by a {@link BinaryBodyWriter}. Types and signatures are
+ * created via the given {@link IdentifierFactory}; every type and signature is created only once
+ * per stream.
+ *
+ * <pre>{@code
+ * try (BinaryBodyReader reader = new BinaryBodyReader(Files.newInputStream(path), identifierFactory)) {
+ *   for (Body body = reader.read(); body != null; body = reader.read()) {
+ *     // ...
+ *   }
+ * }
+ * }</pre>
+ */
+public class BinaryBodyReader implements Closeable {
+
+  @Nonnull private final DataInputStream in;
+  @Nonnull private final IdentifierFactory identifierFactory;
+
+  // constant pools shared by all bodies of the stream
+  @Nonnull private final List<String> strings = new ArrayList<>();
+  @Nonnull private final List<Type> types = new ArrayList<>();
+  @Nonnull private final List<MethodSignature> methodSignatures = new ArrayList<>();
+  @Nonnull private final List<FieldSignature> fieldSignatures = new ArrayList<>();
+
+  // state of the body that is currently read
+  @Nonnull private final List<Local> locals = new ArrayList<>();
+
+  public BinaryBodyReader(@Nonnull InputStream in, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(in));
+    this.identifierFactory = identifierFactory;
+    if (this.in.readInt() != MAGIC) {
+      throw new IOException("The stream does not contain serialized bodies.");
+    }
+    int version = readVarInt(this.in);
+    if (version != VERSION) {
+      throw new IOException(
+          "Unsupported version " + version + " of the body format, expected " + VERSION + ".");
+    }
+  }
+
+  /**
+   * Reads the bodies from the given buffer, e.g. a {@link java.nio.MappedByteBuffer} of a file that
+   * was written by a {@link BinaryBodyWriter}.
+   */
+  public BinaryBodyReader(@Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    this(new ByteBufferInputStream(buffer), identifierFactory);
+  }
+
+  /**
+   * Reads the next body of the stream.
+   *
+   * @return the body or null if the end of the stream is reached
+   */
+  @Nullable
+  public Body read() throws IOException {
+    int marker = in.read();
+    if (marker < 0) {
+      return null;
+    }
+    if (marker != BODY) {
+      throw new IOException("Malformed stream: expected a body but found " + marker + ".");
+    }
+
+    MethodSignature methodSignature = readMethodSignature();
+    Position position = readPosition();
+
+    locals.clear();
+    int localCount = readVarInt(in);
+    Set<Local> declaredLocals = new LinkedHashSet<>(localCount * 2);
+    for (int i = 0; i < localCount; i++) {
+      declaredLocals.add(readLocal());
+    }
+
+    boolean hasStartingStmt = in.readBoolean();
+    int blockCount = readVarInt(in);
+    List<List<Stmt>> blocks = new ArrayList<>(blockCount);
+    for (int i = 0; i < blockCount; i++) {
+      int stmtCount = readVarInt(in);
+      List<Stmt> stmts = new ArrayList<>(stmtCount);
+      for (int j = 0; j < stmtCount; j++) {
+        stmts.add(readStmt());
+      }
+      blocks.add(stmts);
+    }
+
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    List<int[]> successors = new ArrayList<>(blockCount);
+    for (List<Stmt> stmts : blocks) {
+      int[] successorIndices = new int[readVarInt(in)];
+      for (int j = 0; j < successorIndices.length; j++) {
+        successorIndices[j] = readVarInt(in);
+      }
+      successors.add(successorIndices);
+
+      int exceptionalSuccessorCount = readVarInt(in);
+      Map<ClassType, Stmt> exceptionalSuccessors =
+          exceptionalSuccessorCount == 0
+              ? Collections.emptyMap()
+              : new HashMap<>(exceptionalSuccessorCount * 2);
+      for (int j = 0; j < exceptionalSuccessorCount; j++) {
+        ClassType exceptionType = (ClassType) readType();
+        exceptionalSuccessors.put(exceptionType, blocks.get(readVarInt(in)).get(0));
+      }
+      graph.addBlock(stmts, exceptionalSuccessors);
+    }
+
+    // link branching Stmts first, so that fallsthrough edges can not merge a block into its
+    // predecessor that is the target of another branch
+    for (int i = 0; i < blockCount; i++) {
+      Stmt tail = getTail(blocks.get(i));
+      if (tail instanceof BranchingStmt) {
+        int[] successorIndices = successors.get(i);
+        for (int j = 0; j < successorIndices.length; j++) {
+          graph.putEdge((BranchingStmt) tail, j, blocks.get(successorIndices[j]).get(0));
+        }
+      }
+    }
+    for (int i = 0; i < blockCount; i++) {
+      Stmt tail = getTail(blocks.get(i));
+      if (!(tail instanceof BranchingStmt) && successors.get(i).length > 0) {
+        graph.putEdge((FallsThroughStmt) tail, blocks.get(successors.get(i)[0]).get(0));
+      }
+    }
+    if (hasStartingStmt) {
+      graph.setStartingStmt(blocks.get(0).get(0));
+    }
+
+    return Body.builder(graph)
+        .setMethodSignature(methodSignature)
+        .setPosition(position)
+        .setLocals(declaredLocals)
+        .build();
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  @Nonnull
+  private static Stmt getTail(@Nonnull List<Stmt> block) {
+    return block.get(block.size() - 1);
+  }
+
+  /**
+   * reads the index of a pool entry
+   *
+   * @return the index or -1 if the entry is new and its definition follows
+   */
+  private int readPoolIndex(@Nonnull List<?> pool) throws IOException {
+    int idx = readVarInt(in);
+    if (idx < pool.size()) {
+      return idx;
+    }
+    if (idx == pool.size()) {
+      return -1;
+    }
+    throw new IOException("Malformed stream: unknown pool index " + idx + ".");
+  }
+
+  @Nonnull
+  private String readStringRef() throws IOException {
+    int idx = readPoolIndex(strings);
+    if (idx >= 0) {
+      return strings.get(idx);
+    }
+    String str = readString(in);
+    strings.add(str);
+    return str;
+  }
+
+  @Nonnull
+  private Type readType() throws IOException {
+    int idx = readPoolIndex(types);
+    if (idx >= 0) {
+      return types.get(idx);
+    }
+    // reserve the index, as the definition of an ArrayType contains its base type
+    idx = types.size();
+    types.add(null);
+    Type type;
+    byte tag = in.readByte();
+    switch (tag) {
+      case TYPE_BOOLEAN:
+        type = PrimitiveType.getBoolean();
+        break;
+      case TYPE_BYTE:
+        type = PrimitiveType.getByte();
+        break;
+      case TYPE_CHAR:
+        type = PrimitiveType.getChar();
+        break;
+      case TYPE_SHORT:
+        type = PrimitiveType.getShort();
+        break;
+      case TYPE_INT:
+        type = PrimitiveType.getInt();
+        break;
+      case TYPE_LONG:
+        type = PrimitiveType.getLong();
+        break;
+      case TYPE_FLOAT:
+        type = PrimitiveType.getFloat();
+        break;
+      case TYPE_DOUBLE:
+        type = PrimitiveType.getDouble();
+        break;
+      case TYPE_VOID:
+        type = VoidType.getInstance();
+        break;
+      case TYPE_NULL:
+        type = NullType.getInstance();
+        break;
+      case TYPE_UNKNOWN:
+        type = UnknownType.getInstance();
+        break;
+      case TYPE_ARRAY:
+        Type baseType = readType();
+        type = identifierFactory.getArrayType(baseType, readVarInt(in));
+        break;
+      case TYPE_CLASS:
+        type = identifierFactory.getClassType(readStringRef());
+        break;
+      default:
+        throw new IOException("Malformed stream: unknown type tag " + tag + ".");
+    }
+    types.set(idx, type);
+    return type;
+  }
+
+  @Nonnull
+  private List<Type> readTypes() throws IOException {
+    int count = readVarInt(in);
+    List<Type> list = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      list.add(readType());
+    }
+    return list;
+  }
+
+  @Nonnull
+  private MethodSignature readMethodSignature() throws IOException {
+    int idx = readPoolIndex(methodSignatures);
+    if (idx >= 0) {
+      return methodSignatures.get(idx);
+    }
+    // reserve the index, as the signature is defined by the (pooled) types it consists of
+    idx = methodSignatures.size();
+    methodSignatures.add(null);
+    ClassType declClassType = (ClassType) readType();
+    String name = readStringRef();
+    Type returnType = readType();
+    List<Type> parameterTypes = readTypes();
+    MethodSignature signature =
+        identifierFactory.getMethodSignature(declClassType, name, returnType, parameterTypes);
+    methodSignatures.set(idx, signature);
+    return signature;
+  }
+
+  @Nonnull
+  private FieldSignature readFieldSignature() throws IOException {
+    int idx = readPoolIndex(fieldSignatures);
+    if (idx >= 0) {
+      return fieldSignatures.get(idx);
+    }
+    idx = fieldSignatures.size();
+    fieldSignatures.add(null);
+    ClassType declClassType = (ClassType) readType();
+    String name = readStringRef();
+    Type type = readType();
+    FieldSignature signature = identifierFactory.getFieldSignature(name, declClassType, type);
+    fieldSignatures.set(idx, signature);
+    return signature;
+  }
+
+  @Nonnull
+  private Local readLocal() throws IOException {
+    int idx = readPoolIndex(locals);
+    if (idx >= 0) {
+      return locals.get(idx);
+    }
+    idx = locals.size();
+    locals.add(null);
+    String name = readStringRef();
+    Local local = Jimple.newLocal(name, readType());
+    locals.set(idx, local);
+    return local;
+  }
+
+  @Nullable
+  private Position readPosition() throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case POSITION_NULL:
+        return null;
+      case POSITION_NONE:
+        return NoPositionInformation.getInstance();
+      case POSITION_LINE:
+        return new LinePosition(readSignedVarInt(in));
+      case POSITION_FULL:
+        int firstLine = readSignedVarInt(in);
+        int firstCol = readSignedVarInt(in);
+        int lastLine = readSignedVarInt(in);
+        int lastCol = readSignedVarInt(in);
+        return new FullPosition(firstLine, firstCol, lastLine, lastCol);
+      default:
+        throw new IOException("Malformed stream: unknown position tag " + tag + ".");
+    }
+  }
+
+  @Nonnull
+  private StmtPositionInfo readStmtPositionInfo() throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case STMT_POSITION_NONE:
+        return StmtPositionInfo.getNoStmtPositionInfo();
+      case STMT_POSITION_SIMPLE:
+        return new SimpleStmtPositionInfo(readPosition());
+      case STMT_POSITION_FULL:
+        Position stmtPosition = readPosition();
+        Position[] operandPositions = new Position[readVarInt(in)];
+        for (int i = 0; i < operandPositions.length; i++) {
+          operandPositions[i] = readPosition();
+        }
+        return new FullStmtPositionInfo(stmtPosition, operandPositions);
+      default:
+        throw new IOException("Malformed stream: unknown position info tag " + tag + ".");
+    }
+  }
+
+  @Nonnull
+  private Stmt readStmt() throws IOException {
+    byte tag = in.readByte();
+    StmtPositionInfo positionInfo = readStmtPositionInfo();
+    switch (tag) {
+      case STMT_ASSIGN:
+        LValue leftOp = (LValue) readValue();
+        return Jimple.newAssignStmt(leftOp, readValue(), positionInfo);
+      case STMT_IDENTITY:
+        Local local = (Local) readValue();
+        return Jimple.newIdentityStmt(local, (IdentityRef) readValue(), positionInfo);
+      case STMT_INVOKE:
+        return Jimple.newInvokeStmt((AbstractInvokeExpr) readValue(), positionInfo);
+      case STMT_IF:
+        return Jimple.newIfStmt((AbstractConditionExpr) readValue(), positionInfo);
+      case STMT_GOTO:
+        return Jimple.newGotoStmt(positionInfo);
+      case STMT_NOP:
+        return Jimple.newNopStmt(positionInfo);
+      case STMT_RETURN:
+        return Jimple.newReturnStmt(readImmediate(), positionInfo);
+      case STMT_RETURN_VOID:
+        return Jimple.newReturnVoidStmt(positionInfo);
+      case STMT_THROW:
+        return Jimple.newThrowStmt(readImmediate(), positionInfo);
+      case STMT_ENTER_MONITOR:
+        return Jimple.newEnterMonitorStmt(readImmediate(), positionInfo);
+      case STMT_EXIT_MONITOR:
+        return Jimple.newExitMonitorStmt(readImmediate(), positionInfo);
+      case STMT_BREAKPOINT:
+        return Jimple.newBreakpointStmt(positionInfo);
+      case STMT_RET:
+        return Jimple.newRetStmt(readImmediate(), positionInfo);
+      case STMT_TABLE_SWITCH:
+        Immediate tableKey = readImmediate();
+        int lowIndex = readSignedVarInt(in);
+        int highIndex = readSignedVarInt(in);
+        return Jimple.newTableSwitchStmt(tableKey, lowIndex, highIndex, positionInfo);
+      case STMT_LOOKUP_SWITCH:
+        Immediate lookupKey = readImmediate();
+        int valueCount = readVarInt(in);
+        List<IntConstant> values = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+          values.add(IntConstant.getInstance(readSignedVarInt(in)));
+        }
+        return Jimple.newLookupSwitchStmt(lookupKey, values, positionInfo);
+      default:
+        throw new IOException("Malformed stream: unknown stmt tag " + tag + ".");
+    }
+  }
+
+  @Nonnull
+  private Immediate readImmediate() throws IOException {
+    return (Immediate) readValue();
+  }
+
+  @Nonnull
+  private List<Immediate> readImmediates() throws IOException {
+    int count = readVarInt(in);
+    List<Immediate> list = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      list.add(readImmediate());
+    }
+    return list;
+  }
+
+  @Nonnull
+  private Value readValue() throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case LOCAL:
+        return readLocal();
+      case CONST_INT:
+        return IntConstant.getInstance(readSignedVarInt(in));
+      case CONST_LONG:
+        return LongConstant.getInstance(in.readLong());
+      case CONST_FLOAT:
+        return FloatConstant.getInstance(in.readFloat());
+      case CONST_DOUBLE:
+        return DoubleConstant.getInstance(in.readDouble());
+      case CONST_BOOLEAN:
+        return BooleanConstant.getInstance(in.readBoolean());
+      case CONST_NULL:
+        return NullConstant.getInstance();
+      case CONST_STRING:
+        String str = readString(in);
+        return new StringConstant(str, readType());
+      case CONST_CLASS:
+        String className = readStringRef();
+        return new ClassConstant(className, readType());
+      case CONST_ENUM:
+        String enumValue = readStringRef();
+        return new EnumConstant(enumValue, (ClassType) readType());
+      case CONST_METHOD_HANDLE:
+        int kind = readVarInt(in);
+        SootClassMemberSignature<?> referenceSignature =
+            MethodHandle.isMethodRef(kind) ? readMethodSignature() : readFieldSignature();
+        return new MethodHandle(referenceSignature, kind, readType());
+      case CONST_METHOD_TYPE:
+        String name = readStringRef();
+        Type returnType = readType();
+        List<Type> parameterTypes = readTypes();
+        return new MethodType(
+            identifierFactory.getMethodSubSignature(name, returnType, parameterTypes),
+            (ClassType) readType());
+
+      case EXPR_ADD:
+        return Jimple.newAddExpr(readImmediate(), readImmediate());
+      case EXPR_AND:
+        return Jimple.newAndExpr(readImmediate(), readImmediate());
+      case EXPR_CMP:
+        return Jimple.newCmpExpr(readImmediate(), readImmediate());
+      case EXPR_CMPG:
+        return Jimple.newCmpgExpr(readImmediate(), readImmediate());
+      case EXPR_CMPL:
+        return Jimple.newCmplExpr(readImmediate(), readImmediate());
+      case EXPR_DIV:
+        return Jimple.newDivExpr(readImmediate(), readImmediate());
+      case EXPR_EQ:
+        return Jimple.newEqExpr(readImmediate(), readImmediate());
+      case EXPR_NE:
+        return Jimple.newNeExpr(readImmediate(), readImmediate());
+      case EXPR_GE:
+        return Jimple.newGeExpr(readImmediate(), readImmediate());
+      case EXPR_GT:
+        return Jimple.newGtExpr(readImmediate(), readImmediate());
+      case EXPR_LE:
+        return Jimple.newLeExpr(readImmediate(), readImmediate());
+      case EXPR_LT:
+        return Jimple.newLtExpr(readImmediate(), readImmediate());
+      case EXPR_MUL:
+        return Jimple.newMulExpr(readImmediate(), readImmediate());
+      case EXPR_OR:
+        return Jimple.newOrExpr(readImmediate(), readImmediate());
+      case EXPR_REM:
+        return Jimple.newRemExpr(readImmediate(), readImmediate());
+      case EXPR_SHL:
+        return Jimple.newShlExpr(readImmediate(), readImmediate());
+      case EXPR_SHR:
+        return Jimple.newShrExpr(readImmediate(), readImmediate());
+      case EXPR_USHR:
+        return Jimple.newUshrExpr(readImmediate(), readImmediate());
+      case EXPR_SUB:
+        return Jimple.newSubExpr(readImmediate(), readImmediate());
+      case EXPR_XOR:
+        return Jimple.newXorExpr(readImmediate(), readImmediate());
+      case EXPR_NEG:
+        return Jimple.newNegExpr(readImmediate());
+      case EXPR_LENGTH:
+        return Jimple.newLengthExpr(readImmediate());
+      case EXPR_CAST:
+        Immediate castOp = readImmediate();
+        return Jimple.newCastExpr(castOp, readType());
+      case EXPR_INSTANCEOF:
+        Immediate instanceOfOp = readImmediate();
+        return Jimple.newInstanceOfExpr(instanceOfOp, readType());
+      case EXPR_NEW:
+        return Jimple.newNewExpr((ClassType) readType());
+      case EXPR_NEW_ARRAY:
+        Type baseType = readType();
+        return new JNewArrayExpr(baseType, readImmediate(), identifierFactory);
+      case EXPR_NEW_MULTI_ARRAY:
+        ArrayType arrayType = (ArrayType) readType();
+        return Jimple.newNewMultiArrayExpr(arrayType, readImmediates());
+      case EXPR_STATIC_INVOKE:
+        MethodSignature staticSignature = readMethodSignature();
+        return Jimple.newStaticInvokeExpr(staticSignature, readImmediates());
+      case EXPR_SPECIAL_INVOKE:
+        Local specialBase = readLocal();
+        MethodSignature specialSignature = readMethodSignature();
+        return Jimple.newSpecialInvokeExpr(specialBase, specialSignature, readImmediates());
+      case EXPR_VIRTUAL_INVOKE:
+        Local virtualBase = readLocal();
+        MethodSignature virtualSignature = readMethodSignature();
+        return Jimple.newVirtualInvokeExpr(virtualBase, virtualSignature, readImmediates());
+      case EXPR_INTERFACE_INVOKE:
+        Local interfaceBase = readLocal();
+        MethodSignature interfaceSignature = readMethodSignature();
+        return Jimple.newInterfaceInvokeExpr(interfaceBase, interfaceSignature, readImmediates());
+      case EXPR_DYNAMIC_INVOKE:
+        MethodSignature bootstrapSignature = readMethodSignature();
+        List<Immediate> bootstrapArgs = readImmediates();
+        MethodSignature dynamicSignature = readMethodSignature();
+        int handleTag = readSignedVarInt(in);
+        return Jimple.newDynamicInvokeExpr(
+            bootstrapSignature, bootstrapArgs, dynamicSignature, handleTag, readImmediates());
+
+      case REF_STATIC_FIELD:
+        return Jimple.newStaticFieldRef(readFieldSignature());
+      case REF_INSTANCE_FIELD:
+        Local fieldBase = readLocal();
+        return Jimple.newInstanceFieldRef(fieldBase, readFieldSignature());
+      case REF_ARRAY:
+        Local arrayBase = readLocal();
+        return new JArrayRef(arrayBase, readImmediate());
+      case REF_PARAMETER:
+        Type parameterType = readType();
+        return Jimple.newParameterRef(parameterType, readVarInt(in));
+      case REF_THIS:
+        return Jimple.newThisRef((ClassType) readType());
+      case REF_CAUGHT_EXCEPTION:
+        return new JCaughtExceptionRef(readType());
+      default:
+        throw new IOException("Malformed stream: unknown value tag " + tag + ".");
+    }
+  }
+
+  /** Provides the remaining content of a ByteBuffer without copying it into a byte[] first. */
+  private static class ByteBufferInputStream extends InputStream {
+
+    @Nonnull private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(@Nonnull ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(@Nonnull byte[] bytes, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      len = Math.min(len, buffer.remaining());
+      buffer.get(bytes, off, len);
+      return len;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
@@ -0,0 +1,874 @@
+package sootup.core.util.serialization;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.core.util.serialization.BinaryBodyFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.graph.BasicBlock;
+import sootup.core.graph.StmtGraph;
+import sootup.core.jimple.basic.FullStmtPositionInfo;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.*;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.jimple.javabytecode.stmt.*;
+import sootup.core.jimple.visitor.AbstractValueVisitor;
+import sootup.core.jimple.visitor.StmtVisitor;
+import sootup.core.model.Body;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+
+/**
+ * Writes {@link Body}s in a compact binary format that can be read by a {@link BinaryBodyReader}.
+ * The format contains the locals, the blocks of the StmtGraph including their (exceptional) flow,
+ * and the position information of the Body and its Stmts. Strings, types and signatures are stored
+ * once per stream, so writing many bodies into the same stream is considerably more compact than
+ * writing each body into its own stream.
+ *
+ * <pre>{@code
+ * try (BinaryBodyWriter writer = new BinaryBodyWriter(Files.newOutputStream(path))) {
+ *   for (SootMethod method : methods) {
+ *     writer.write(method.getBody());
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Not supported are SSA bodies (i.e. {@link JPhiExpr}s) and annotations of Locals.
+ */
+public class BinaryBodyWriter implements Flushable, Closeable {
+
+  @Nonnull private final DataOutputStream out;
+
+  // constant pools shared by all bodies of the stream
+  @Nonnull private final Map<String, Integer> strings = new HashMap<>();
+  @Nonnull private final Map<Type, Integer> types = new HashMap<>();
+  @Nonnull private final Map<MethodSignature, Integer> methodSignatures = new HashMap<>();
+  @Nonnull private final Map<FieldSignature, Integer> fieldSignatures = new HashMap<>();
+
+  // state of the body that is currently written
+  @Nonnull private final Map<Local, Integer> locals = new HashMap<>();
+  @Nonnull private final ValueWriter valueWriter = new ValueWriter();
+  @Nonnull private final StmtWriter stmtWriter = new StmtWriter();
+
+  public BinaryBodyWriter(@Nonnull OutputStream out) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+    this.out.writeInt(MAGIC);
+    writeVarInt(this.out, VERSION);
+  }
+
+  /**
+   * Appends the given body to the stream.
+   *
+   * @throws IllegalArgumentException if the body contains constructs that are not supported by the
+   *     format.
+   */
+  public void write(@Nonnull Body body) throws IOException {
+    try {
+      out.writeByte(BODY);
+      writeMethodSignature(body.getMethodSignature());
+      writePosition(body.getPosition());
+
+      locals.clear();
+      writeVarInt(out, body.getLocals().size());
+      for (Local local : body.getLocals()) {
+        writeLocal(local);
+      }
+
+      StmtGraph<?> graph = body.getStmtGraph();
+      List<BasicBlock<?>> blocks = new ArrayList<>(graph.getBlocks().size());
+      Map<BasicBlock<?>, Integer> blockIndices = new IdentityHashMap<>();
+      if (graph.getStartingStmt() != null) {
+        // the first block is the one of the starting Stmt
+        for (BasicBlock<?> block : graph.getBlocksSorted()) {
+          blockIndices.put(block, blocks.size());
+          blocks.add(block);
+        }
+      }
+      // blocks which are not reachable from the starting Stmt
+      for (BasicBlock<?> block : graph.getBlocks()) {
+        if (!blockIndices.containsKey(block)) {
+          blockIndices.put(block, blocks.size());
+          blocks.add(block);
+        }
+      }
+
+      out.writeBoolean(graph.getStartingStmt() != null);
+      writeVarInt(out, blocks.size());
+      for (BasicBlock<?> block : blocks) {
+        List<Stmt> stmts = block.getStmts();
+        writeVarInt(out, stmts.size());
+        for (Stmt stmt : stmts) {
+          stmt.accept(stmtWriter);
+        }
+      }
+      for (BasicBlock<?> block : blocks) {
+        List<? extends BasicBlock<?>> successors = block.getSuccessors();
+        writeVarInt(out, successors.size());
+        for (BasicBlock<?> successor : successors) {
+          writeVarInt(out, blockIndices.get(successor));
+        }
+        Map<? extends ClassType, ? extends BasicBlock<?>> exceptionalSuccessors =
+            block.getExceptionalSuccessors();
+        writeVarInt(out, exceptionalSuccessors.size());
+        for (Map.Entry<? extends ClassType, ? extends BasicBlock<?>> entry :
+            exceptionalSuccessors.entrySet()) {
+          writeType(entry.getKey());
+          writeVarInt(out, blockIndices.get(entry.getValue()));
+        }
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /** writes the index of the given entry and defines it if it is new to the pool */
+  private <T> boolean writePoolIndex(@Nonnull Map<T, Integer> pool, @Nonnull T entry)
+      throws IOException {
+    Integer idx = pool.get(entry);
+    if (idx != null) {
+      writeVarInt(out, idx);
+      return false;
+    }
+    idx = pool.size();
+    pool.put(entry, idx);
+    writeVarInt(out, idx);
+    return true;
+  }
+
+  private void writeStringRef(@Nonnull String str) throws IOException {
+    if (writePoolIndex(strings, str)) {
+      writeString(out, str);
+    }
+  }
+
+  private void writeType(@Nonnull Type type) throws IOException {
+    if (!writePoolIndex(types, type)) {
+      return;
+    }
+    if (type instanceof PrimitiveType.BooleanType) {
+      out.writeByte(TYPE_BOOLEAN);
+    } else if (type instanceof PrimitiveType.ByteType) {
+      out.writeByte(TYPE_BYTE);
+    } else if (type instanceof PrimitiveType.CharType) {
+      out.writeByte(TYPE_CHAR);
+    } else if (type instanceof PrimitiveType.ShortType) {
+      out.writeByte(TYPE_SHORT);
+    } else if (type == PrimitiveType.getInt()) {
+      out.writeByte(TYPE_INT);
+    } else if (type == PrimitiveType.getLong()) {
+      out.writeByte(TYPE_LONG);
+    } else if (type == PrimitiveType.getFloat()) {
+      out.writeByte(TYPE_FLOAT);
+    } else if (type == PrimitiveType.getDouble()) {
+      out.writeByte(TYPE_DOUBLE);
+    } else if (type == VoidType.getInstance()) {
+      out.writeByte(TYPE_VOID);
+    } else if (type == NullType.getInstance()) {
+      out.writeByte(TYPE_NULL);
+    } else if (type == UnknownType.getInstance()) {
+      out.writeByte(TYPE_UNKNOWN);
+    } else if (type instanceof ArrayType) {
+      out.writeByte(TYPE_ARRAY);
+      writeType(((ArrayType) type).getBaseType());
+      writeVarInt(out, ((ArrayType) type).getDimension());
+    } else if (type instanceof ClassType) {
+      out.writeByte(TYPE_CLASS);
+      writeStringRef(((ClassType) type).getFullyQualifiedName());
+    } else {
+      throw new IllegalArgumentException("Type '" + type + "' is not supported.");
+    }
+  }
+
+  private void writeMethodSignature(@Nonnull MethodSignature signature) throws IOException {
+    if (!writePoolIndex(methodSignatures, signature)) {
+      return;
+    }
+    writeType(signature.getDeclClassType());
+    writeStringRef(signature.getName());
+    writeType(signature.getType());
+    writeVarInt(out, signature.getParameterTypes().size());
+    for (Type parameterType : signature.getParameterTypes()) {
+      writeType(parameterType);
+    }
+  }
+
+  private void writeFieldSignature(@Nonnull FieldSignature signature) throws IOException {
+    if (!writePoolIndex(fieldSignatures, signature)) {
+      return;
+    }
+    writeType(signature.getDeclClassType());
+    writeStringRef(signature.getName());
+    writeType(signature.getType());
+  }
+
+  private void writeLocal(@Nonnull Local local) throws IOException {
+    // Locals are interned per body; a Local which is not declared in the Body is defined on use
+    if (writePoolIndex(locals, local)) {
+      writeStringRef(local.getName());
+      writeType(local.getType());
+    }
+  }
+
+  private void writePosition(@Nullable Position position) throws IOException {
+    if (position == null) {
+      out.writeByte(POSITION_NULL);
+    } else if (position instanceof NoPositionInformation) {
+      out.writeByte(POSITION_NONE);
+    } else if (position instanceof LinePosition) {
+      out.writeByte(POSITION_LINE);
+      writeSignedVarInt(out, position.getFirstLine());
+    } else if (position instanceof FullPosition) {
+      out.writeByte(POSITION_FULL);
+      writeSignedVarInt(out, position.getFirstLine());
+      writeSignedVarInt(out, position.getFirstCol());
+      writeSignedVarInt(out, position.getLastLine());
+      writeSignedVarInt(out, position.getLastCol());
+    } else {
+      throw new IllegalArgumentException("Position '" + position + "' is not supported.");
+    }
+  }
+
+  private void writeStmtPositionInfo(@Nonnull StmtPositionInfo positionInfo) throws IOException {
+    if (positionInfo == StmtPositionInfo.getNoStmtPositionInfo()) {
+      out.writeByte(STMT_POSITION_NONE);
+    } else if (positionInfo instanceof FullStmtPositionInfo) {
+      FullStmtPositionInfo fullPositionInfo = (FullStmtPositionInfo) positionInfo;
+      out.writeByte(STMT_POSITION_FULL);
+      writePosition(fullPositionInfo.getStmtPosition());
+      int count = fullPositionInfo.getOperandPositionCount();
+      writeVarInt(out, count);
+      for (int i = 0; i < count; i++) {
+        writePosition(fullPositionInfo.getOperandPosition(i));
+      }
+    } else {
+      out.writeByte(STMT_POSITION_SIMPLE);
+      writePosition(positionInfo.getStmtPosition());
+    }
+  }
+
+  private void writeValue(@Nonnull Value value) {
+    value.accept(valueWriter);
+  }
+
+  private void writeValues(@Nonnull List<? extends Value> values) throws IOException {
+    writeVarInt(out, values.size());
+    for (Value value : values) {
+      writeValue(value);
+    }
+  }
+
+  private class StmtWriter implements StmtVisitor {
+
+    private void header(byte tag, @Nonnull Stmt stmt) {
+      try {
+        out.writeByte(tag);
+        writeStmtPositionInfo(stmt.getPositionInfo());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseBreakpointStmt(@Nonnull JBreakpointStmt stmt) {
+      header(STMT_BREAKPOINT, stmt);
+    }
+
+    @Override
+    public void caseInvokeStmt(@Nonnull JInvokeStmt stmt) {
+      header(STMT_INVOKE, stmt);
+      writeValue(stmt.getInvokeExpr().get());
+    }
+
+    @Override
+    public void caseAssignStmt(@Nonnull JAssignStmt stmt) {
+      header(STMT_ASSIGN, stmt);
+      writeValue(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseIdentityStmt(@Nonnull JIdentityStmt stmt) {
+      header(STMT_IDENTITY, stmt);
+      writeValue(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseEnterMonitorStmt(@Nonnull JEnterMonitorStmt stmt) {
+      header(STMT_ENTER_MONITOR, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseExitMonitorStmt(@Nonnull JExitMonitorStmt stmt) {
+      header(STMT_EXIT_MONITOR, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseGotoStmt(@Nonnull JGotoStmt stmt) {
+      header(STMT_GOTO, stmt);
+    }
+
+    @Override
+    public void caseIfStmt(@Nonnull JIfStmt stmt) {
+      header(STMT_IF, stmt);
+      writeValue(stmt.getCondition());
+    }
+
+    @Override
+    public void caseNopStmt(@Nonnull JNopStmt stmt) {
+      header(STMT_NOP, stmt);
+    }
+
+    @Override
+    public void caseRetStmt(@Nonnull JRetStmt stmt) {
+      header(STMT_RET, stmt);
+      writeValue(stmt.getStmtAddress());
+    }
+
+    @Override
+    public void caseReturnStmt(@Nonnull JReturnStmt stmt) {
+      header(STMT_RETURN, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseReturnVoidStmt(@Nonnull JReturnVoidStmt stmt) {
+      header(STMT_RETURN_VOID, stmt);
+    }
+
+    @Override
+    public void caseSwitchStmt(@Nonnull JSwitchStmt stmt) {
+      try {
+        List<IntConstant> values = stmt.getValues();
+        if (stmt.isTableSwitch()) {
+          header(STMT_TABLE_SWITCH, stmt);
+          writeValue(stmt.getKey());
+          writeSignedVarInt(out, values.get(0).getValue());
+          writeSignedVarInt(out, values.get(values.size() - 1).getValue());
+        } else {
+          header(STMT_LOOKUP_SWITCH, stmt);
+          writeValue(stmt.getKey());
+          writeVarInt(out, values.size());
+          for (IntConstant value : values) {
+            writeSignedVarInt(out, value.getValue());
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseThrowStmt(@Nonnull JThrowStmt stmt) {
+      header(STMT_THROW, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void defaultCaseStmt(@Nonnull Stmt stmt) {
+      throw new IllegalArgumentException("Stmt '" + stmt + "' is not supported.");
+    }
+  }
+
+  private class ValueWriter extends AbstractValueVisitor {
+
+    private void tag(byte tag) throws IOException {
+      out.writeByte(tag);
+    }
+
+    private void binop(byte tag, @Nonnull AbstractBinopExpr expr) {
+      try {
+        tag(tag);
+        writeValue(expr.getOp1());
+        writeValue(expr.getOp2());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void invoke(byte tag, @Nonnull AbstractInvokeExpr expr) {
+      try {
+        tag(tag);
+        if (expr instanceof AbstractInstanceInvokeExpr) {
+          writeLocal(((AbstractInstanceInvokeExpr) expr).getBase());
+        }
+        writeMethodSignature(expr.getMethodSignature());
+        writeValues(expr.getArgs());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseLocal(@Nonnull Local local) {
+      try {
+        tag(LOCAL);
+        writeLocal(local);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseBooleanConstant(@Nonnull BooleanConstant constant) {
+      try {
+        tag(CONST_BOOLEAN);
+        out.writeBoolean(constant == BooleanConstant.getTrue());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseDoubleConstant(@Nonnull DoubleConstant constant) {
+      try {
+        tag(CONST_DOUBLE);
+        out.writeDouble(constant.getValue());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseFloatConstant(@Nonnull FloatConstant constant) {
+      try {
+        tag(CONST_FLOAT);
+        out.writeFloat(constant.getValue());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseIntConstant(@Nonnull IntConstant constant) {
+      try {
+        tag(CONST_INT);
+        writeSignedVarInt(out, constant.getValue());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseLongConstant(@Nonnull LongConstant constant) {
+      try {
+        tag(CONST_LONG);
+        out.writeLong(constant.getValue());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseNullConstant(@Nonnull NullConstant constant) {
+      try {
+        tag(CONST_NULL);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseStringConstant(@Nonnull StringConstant constant) {
+      try {
+        tag(CONST_STRING);
+        writeString(out, constant.getValue());
+        writeType(constant.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseEnumConstant(@Nonnull EnumConstant constant) {
+      try {
+        tag(CONST_ENUM);
+        writeStringRef(constant.getValue());
+        writeType(constant.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseClassConstant(@Nonnull ClassConstant constant) {
+      try {
+        tag(CONST_CLASS);
+        writeStringRef(constant.getValue());
+        writeType(constant.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseMethodHandle(@Nonnull MethodHandle handle) {
+      try {
+        tag(CONST_METHOD_HANDLE);
+        writeVarInt(out, handle.getKind().getValue());
+        if (handle.isMethodRef()) {
+          writeMethodSignature((MethodSignature) handle.getReferenceSignature());
+        } else {
+          writeFieldSignature((FieldSignature) handle.getReferenceSignature());
+        }
+        writeType(handle.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseMethodType(@Nonnull MethodType methodType) {
+      try {
+        tag(CONST_METHOD_TYPE);
+        MethodSubSignature subSignature = methodType.getSubSignature();
+        writeStringRef(subSignature.getName());
+        writeType(subSignature.getType());
+        writeVarInt(out, subSignature.getParameterTypes().size());
+        for (Type parameterType : subSignature.getParameterTypes()) {
+          writeType(parameterType);
+        }
+        writeType(methodType.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseAddExpr(@Nonnull JAddExpr expr) {
+      binop(EXPR_ADD, expr);
+    }
+
+    @Override
+    public void caseAndExpr(@Nonnull JAndExpr expr) {
+      binop(EXPR_AND, expr);
+    }
+
+    @Override
+    public void caseCmpExpr(@Nonnull JCmpExpr expr) {
+      binop(EXPR_CMP, expr);
+    }
+
+    @Override
+    public void caseCmpgExpr(@Nonnull JCmpgExpr expr) {
+      binop(EXPR_CMPG, expr);
+    }
+
+    @Override
+    public void caseCmplExpr(@Nonnull JCmplExpr expr) {
+      binop(EXPR_CMPL, expr);
+    }
+
+    @Override
+    public void caseDivExpr(@Nonnull JDivExpr expr) {
+      binop(EXPR_DIV, expr);
+    }
+
+    @Override
+    public void caseEqExpr(@Nonnull JEqExpr expr) {
+      binop(EXPR_EQ, expr);
+    }
+
+    @Override
+    public void caseNeExpr(@Nonnull JNeExpr expr) {
+      binop(EXPR_NE, expr);
+    }
+
+    @Override
+    public void caseGeExpr(@Nonnull JGeExpr expr) {
+      binop(EXPR_GE, expr);
+    }
+
+    @Override
+    public void caseGtExpr(@Nonnull JGtExpr expr) {
+      binop(EXPR_GT, expr);
+    }
+
+    @Override
+    public void caseLeExpr(@Nonnull JLeExpr expr) {
+      binop(EXPR_LE, expr);
+    }
+
+    @Override
+    public void caseLtExpr(@Nonnull JLtExpr expr) {
+      binop(EXPR_LT, expr);
+    }
+
+    @Override
+    public void caseMulExpr(@Nonnull JMulExpr expr) {
+      binop(EXPR_MUL, expr);
+    }
+
+    @Override
+    public void caseOrExpr(@Nonnull JOrExpr expr) {
+      binop(EXPR_OR, expr);
+    }
+
+    @Override
+    public void caseRemExpr(@Nonnull JRemExpr expr) {
+      binop(EXPR_REM, expr);
+    }
+
+    @Override
+    public void caseShlExpr(@Nonnull JShlExpr expr) {
+      binop(EXPR_SHL, expr);
+    }
+
+    @Override
+    public void caseShrExpr(@Nonnull JShrExpr expr) {
+      binop(EXPR_SHR, expr);
+    }
+
+    @Override
+    public void caseUshrExpr(@Nonnull JUshrExpr expr) {
+      binop(EXPR_USHR, expr);
+    }
+
+    @Override
+    public void caseSubExpr(@Nonnull JSubExpr expr) {
+      binop(EXPR_SUB, expr);
+    }
+
+    @Override
+    public void caseXorExpr(@Nonnull JXorExpr expr) {
+      binop(EXPR_XOR, expr);
+    }
+
+    @Override
+    public void caseSpecialInvokeExpr(@Nonnull JSpecialInvokeExpr expr) {
+      invoke(EXPR_SPECIAL_INVOKE, expr);
+    }
+
+    @Override
+    public void caseVirtualInvokeExpr(@Nonnull JVirtualInvokeExpr expr) {
+      invoke(EXPR_VIRTUAL_INVOKE, expr);
+    }
+
+    @Override
+    public void caseInterfaceInvokeExpr(@Nonnull JInterfaceInvokeExpr expr) {
+      invoke(EXPR_INTERFACE_INVOKE, expr);
+    }
+
+    @Override
+    public void caseStaticInvokeExpr(@Nonnull JStaticInvokeExpr expr) {
+      invoke(EXPR_STATIC_INVOKE, expr);
+    }
+
+    @Override
+    public void caseDynamicInvokeExpr(@Nonnull JDynamicInvokeExpr expr) {
+      try {
+        tag(EXPR_DYNAMIC_INVOKE);
+        writeMethodSignature(expr.getBootstrapMethodSignature());
+        writeValues(expr.getBootstrapArgs());
+        writeMethodSignature(expr.getMethodSignature());
+        writeSignedVarInt(out, expr.getHandleTag());
+        writeValues(expr.getArgs());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseCastExpr(@Nonnull JCastExpr expr) {
+      try {
+        tag(EXPR_CAST);
+        writeValue(expr.getOp());
+        writeType(expr.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseInstanceOfExpr(@Nonnull JInstanceOfExpr expr) {
+      try {
+        tag(EXPR_INSTANCEOF);
+        writeValue(expr.getOp());
+        writeType(expr.getCheckType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseNewArrayExpr(@Nonnull JNewArrayExpr expr) {
+      try {
+        tag(EXPR_NEW_ARRAY);
+        writeType(expr.getBaseType());
+        writeValue(expr.getSize());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseNewMultiArrayExpr(@Nonnull JNewMultiArrayExpr expr) {
+      try {
+        tag(EXPR_NEW_MULTI_ARRAY);
+        writeType(expr.getBaseType());
+        writeValues(expr.getSizes());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseNewExpr(@Nonnull JNewExpr expr) {
+      try {
+        tag(EXPR_NEW);
+        writeType(expr.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseLengthExpr(@Nonnull JLengthExpr expr) {
+      try {
+        tag(EXPR_LENGTH);
+        writeValue(expr.getOp());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseNegExpr(@Nonnull JNegExpr expr) {
+      try {
+        tag(EXPR_NEG);
+        writeValue(expr.getOp());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseStaticFieldRef(@Nonnull JStaticFieldRef ref) {
+      try {
+        tag(REF_STATIC_FIELD);
+        writeFieldSignature(ref.getFieldSignature());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseInstanceFieldRef(@Nonnull JInstanceFieldRef ref) {
+      try {
+        tag(REF_INSTANCE_FIELD);
+        writeLocal(ref.getBase());
+        writeFieldSignature(ref.getFieldSignature());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseArrayRef(@Nonnull JArrayRef ref) {
+      try {
+        tag(REF_ARRAY);
+        writeLocal(ref.getBase());
+        writeValue(ref.getIndex());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseParameterRef(@Nonnull JParameterRef ref) {
+      try {
+        tag(REF_PARAMETER);
+        writeType(ref.getType());
+        writeVarInt(out, ref.getIndex());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseCaughtExceptionRef(@Nonnull JCaughtExceptionRef ref) {
+      try {
+        tag(REF_CAUGHT_EXCEPTION);
+        writeType(ref.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void caseThisRef(@Nonnull JThisRef ref) {
+      try {
+        tag(REF_THIS);
+        writeType(ref.getType());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void defaultCaseValue(@Nonnull Value v) {
+      throw new IllegalArgumentException("Value '" + v + "' is not supported.");
+    }
+  }
+}
@@ -22,7 +22,10 @@ package sootup.core.views;
  * #L%
  */
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.model.SootClass;
@@ -39,17 +42,41 @@ import sootup.core.typehierarchy.ViewTypeHierarchy;
  * @author Linghui Luo
  */
 public abstract class AbstractView implements View {
-  @Nullable private TypeHierarchy typeHierarchy;
+  @Nullable private volatile TypeHierarchy typeHierarchy;
+  @Nonnull private final Map<Class<?>, Object> attachments = new ConcurrentHashMap<>();
 
   public AbstractView() {}
 
   @Override
   @Nonnull
   public TypeHierarchy getTypeHierarchy() {
-    if (this.typeHierarchy == null) {
-      typeHierarchy = new ViewTypeHierarchy(this);
+    TypeHierarchy hierarchy = this.typeHierarchy;
+    if (hierarchy == null) {
+      synchronized (this) {
+        hierarchy = this.typeHierarchy;
+        if (hierarchy == null) {
+          hierarchy = createTypeHierarchy();
+          this.typeHierarchy = hierarchy;
+        }
+      }
     }
-    return typeHierarchy;
+    return hierarchy;
+  }
+
+  /**
+   * Creates the {@link TypeHierarchy} of this view. Views can override this to use another
+   * implementation, e.g. an {@link sootup.core.typehierarchy.IndexedTypeHierarchy}.
+   */
+  @Nonnull
+  protected TypeHierarchy createTypeHierarchy() {
+    return new ViewTypeHierarchy(this);
+  }
+
+  @Override
+  @Nonnull
+  public <T> T getAttachment(
+      @Nonnull Class<T> type, @Nonnull Function<? super View, ? extends T> factory) {
+    return type.cast(attachments.computeIfAbsent(type, t -> factory.apply(this)));
   }
 
   /**
@@ -0,0 +1,211 @@
+package sootup.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * Resolves the bodies of all concrete methods of a set of classes concurrently, e.g. to jimplify a
+ * whole program upfront. The conversion of each method is submitted as a separate task to the given
+ * {@link ExecutorService} (e.g. a {@link java.util.concurrent.ForkJoinPool}), while at most {@link
+ * #getMaxMethodsInFlight()} conversions are pending or running at the same time. This bounds the
+ * amount of intermediate frontend state (e.g. instruction lists) that is alive at once.
+ *
+ * <p>A failing method does not abort the resolution: its exception is recorded in the returned
+ * {@link Result}.
+ *
+ * <pre>{@code
+ * ForkJoinPool pool = new ForkJoinPool(8);
+ * BulkBodyResolver.Result result =
+ *     new BulkBodyResolver(pool)
+ *         .withProgressListener((resolved, failed) -> ...)
+ *         .resolve(view.getClasses());
+ * }</pre>
+ *
+ * <p>The view should be able to resolve classes concurrently, e.g. a JavaView created with a {@link
+ * sootup.core.cache.provider.ConcurrentCacheProvider}.
+ *
+ * <p>{@link #resolve(Stream)} blocks the calling thread until conversions have finished, so it must
+ * not be called from a thread of the given executor: if every thread of a bounded executor waits
+ * there, the queued conversions can not run and the resolution deadlocks.
+ */
+public class BulkBodyResolver {
+
+  /** Gets notified after each method whose body resolution has finished. */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * Called after a body has been resolved or has failed. It can be called concurrently from
+     * multiple worker threads.
+     *
+     * @param resolved the number of successfully resolved bodies so far
+     * @param failed the number of methods whose body could not be resolved so far
+     */
+    void onProgress(long resolved, long failed);
+  }
+
+  /** Summary of a bulk resolution. */
+  public static class Result {
+    private final long resolvedCount;
+    @Nonnull private final Map<MethodSignature, Throwable> failures;
+
+    Result(long resolvedCount, @Nonnull Map<MethodSignature, Throwable> failures) {
+      this.resolvedCount = resolvedCount;
+      this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /** Returns the number of successfully resolved bodies. */
+    public long getResolvedCount() {
+      return resolvedCount;
+    }
+
+    /** Returns the number of methods whose body could not be resolved. */
+    public long getFailedCount() {
+      return failures.size();
+    }
+
+    /** Returns the exception of each method whose body could not be resolved. */
+    @Nonnull
+    public Map<MethodSignature, Throwable> getFailures() {
+      return failures;
+    }
+
+    public boolean isSuccessful() {
+      return failures.isEmpty();
+    }
+  }
+
+  public static final int DEFAULT_MAX_METHODS_IN_FLIGHT = 1024;
+
+  @Nonnull private final ExecutorService executor;
+  private final int maxMethodsInFlight;
+  @Nonnull private final ProgressListener progressListener;
+
+  public BulkBodyResolver(@Nonnull ExecutorService executor) {
+    this(executor, DEFAULT_MAX_METHODS_IN_FLIGHT, (resolved, failed) -> {});
+  }
+
+  public BulkBodyResolver(
+      @Nonnull ExecutorService executor,
+      int maxMethodsInFlight,
+      @Nonnull ProgressListener progressListener) {
+    if (maxMethodsInFlight < 1) {
+      throw new IllegalArgumentException("maxMethodsInFlight has to be at least 1");
+    }
+    this.executor = executor;
+    this.maxMethodsInFlight = maxMethodsInFlight;
+    this.progressListener = progressListener;
+  }
+
+  @Nonnull
+  public BulkBodyResolver withMaxMethodsInFlight(int maxMethodsInFlight) {
+    return new BulkBodyResolver(executor, maxMethodsInFlight, progressListener);
+  }
+
+  @Nonnull
+  public BulkBodyResolver withProgressListener(@Nonnull ProgressListener progressListener) {
+    return new BulkBodyResolver(executor, maxMethodsInFlight, progressListener);
+  }
+
+  public int getMaxMethodsInFlight() {
+    return maxMethodsInFlight;
+  }
+
+  /**
+   * Resolves the bodies of all concrete methods of the given classes and blocks until every
+   * submitted conversion has finished. The classes are enumerated on the calling thread, and the
+   * next class is only taken from the stream once the methods of the previous class have been
+   * submitted. A lazy stream thus keeps only the classes whose conversions are in flight in memory.
+   *
+   * @throws IllegalStateException if called from a worker thread of the executor, in case the
+   *     executor is a {@link ForkJoinPool}. Other executors can not be checked, but must not call
+   *     this method from their threads either.
+   */
+  @Nonnull
+  public Result resolve(@Nonnull Stream<? extends SootClass> classes) {
+    if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == executor) {
+      throw new IllegalStateException(
+          "Bodies can not be resolved from a worker thread of the pool that resolves them.");
+    }
+    Semaphore inFlight = new Semaphore(maxMethodsInFlight);
+    AtomicLong resolved = new AtomicLong();
+    Map<MethodSignature, Throwable> failures = new ConcurrentHashMap<>();
+
+    try {
+      classes
+          .flatMap(sootClass -> sootClass.getMethods().stream())
+          .filter(SootMethod::isConcrete)
+          .forEach(
+              method -> {
+                acquire(inFlight, 1);
+                try {
+                  executor.execute(
+                      () -> {
+                        try {
+                          try {
+                            method.getBody();
+                            resolved.incrementAndGet();
+                          } catch (Throwable e) {
+                            failures.put(method.getSignature(), e);
+                          }
+                          progressListener.onProgress(resolved.get(), failures.size());
+                        } finally {
+                          inFlight.release();
+                        }
+                      });
+                } catch (RejectedExecutionException e) {
+                  inFlight.release();
+                  throw e;
+                }
+              });
+    } finally {
+      // wait for all submitted conversions to finish
+      acquire(inFlight, maxMethodsInFlight);
+      inFlight.release(maxMethodsInFlight);
+    }
+
+    return new Result(resolved.get(), failures);
+  }
+
+  private static void acquire(@Nonnull Semaphore semaphore, int permits) {
+    try {
+      semaphore.acquire(permits);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving bodies.", e);
+    }
+  }
+}
@@ -23,9 +23,12 @@ package sootup.core.views;
  */
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootField;
 import sootup.core.model.SootMethod;
@@ -46,6 +49,16 @@ public interface View {
   @Nonnull
   Stream<? extends SootClass> getClasses();
 
+  /**
+   * Return the {@link ClassHeader} of every class in the view. This is used to build the {@link
+   * TypeHierarchy}; views should override it if they can provide the headers without resolving all
+   * classes.
+   */
+  @Nonnull
+  default Stream<ClassHeader> getClassHeaders() {
+    return getClasses().map(ClassHeader::of);
+  }
+
   /**
    * Return a class with given signature.
    *
@@ -65,10 +78,42 @@ public interface View {
   @Nonnull
   IdentifierFactory getIdentifierFactory();
 
+  /**
+   * Returns the data of the given type that is attached to this view, e.g. caches of an analysis
+   * that are shared by all its runs on this view. The data is created by the given factory on the
+   * first request and lives as long as the view. The default implementation does not attach
+   * anything and creates the data on every request.
+   */
+  @Nonnull
+  default <T> T getAttachment(
+      @Nonnull Class<T> type, @Nonnull Function<? super View, ? extends T> factory) {
+    return factory.apply(this);
+  }
+
   @Nonnull
   default SootClass getClassOrThrow(@Nonnull ClassType classType) {
     return getClass(classType)
         .orElseThrow(
             () -> new IllegalArgumentException("Could not find " + classType + " in View."));
   }
+
+  /**
+   * Resolves the bodies of all concrete methods of all classes in the view in parallel on the given
+   * executor and blocks until all conversions have finished.
+   *
+   * @see BulkBodyResolver
+   */
+  @Nonnull
+  default BulkBodyResolver.Result resolveBodies(@Nonnull ExecutorService executor) {
+    return resolveBodies(new BulkBodyResolver(executor));
+  }
+
+  /**
+   * Resolves the bodies of all concrete methods of all classes in the view with the given resolver
+   * and blocks until all conversions have finished.
+   */
+  @Nonnull
+  default BulkBodyResolver.Result resolveBodies(@Nonnull BulkBodyResolver resolver) {
+    return resolver.resolve(getClasses());
+  }
 }
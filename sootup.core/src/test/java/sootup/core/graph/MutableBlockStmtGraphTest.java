@@ -3,6 +3,7 @@ package sootup.core.graph;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.*;
+import javax.annotation.Nonnull;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -11,10 +12,13 @@ import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Trap;
 import sootup.core.jimple.common.constant.BooleanConstant;
 import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.expr.JAddExpr;
 import sootup.core.jimple.common.expr.JLeExpr;
 import sootup.core.jimple.common.expr.JNeExpr;
 import sootup.core.jimple.common.ref.JCaughtExceptionRef;
 import sootup.core.jimple.common.stmt.*;
+import sootup.core.model.Body;
+import sootup.core.signatures.MethodSignature;
 import sootup.core.signatures.PackageName;
 import sootup.core.types.ClassType;
 import sootup.core.types.PrimitiveType;
@@ -1161,4 +1165,145 @@ public class MutableBlockStmtGraphTest {
     assertTrue(entrypoints.contains(handlerStmt1));
     assertTrue(entrypoints.contains(handlerStmt2));
   }
+
+  @Test
+  public void testDefUseIndexFollowsModifications() {
+    Local a = new Local("a", PrimitiveType.getInt());
+    Local b = new Local("b", PrimitiveType.getInt());
+    StmtPositionInfo noPos = StmtPositionInfo.getNoStmtPositionInfo();
+    FallsThroughStmt defA = new JAssignStmt(a, IntConstant.getInstance(1), noPos);
+    FallsThroughStmt defB = new JAssignStmt(b, new JAddExpr(a, a), noPos);
+    Stmt ret = new JReturnStmt(b, noPos);
+
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(defA);
+    graph.putEdge(defA, defB);
+    graph.putEdge(defB, ret);
+
+    DefUseIndex index = graph.getDefUseIndex();
+    assertEquals(Collections.singleton(defA), index.getDefs(a));
+    assertEquals(2, index.getUses(a).count(defB));
+    assertEquals(Collections.singleton(ret), index.getUses(b).elementSet());
+
+    // replacing a stmt updates the index
+    FallsThroughStmt newDefB =
+        new JAssignStmt(b, new JAddExpr(a, IntConstant.getInstance(2)), noPos);
+    graph.replaceNode(defB, newDefB);
+    assertEquals(Collections.singleton(newDefB), index.getDefs(b));
+    assertEquals(1, index.getUses(a).size());
+
+    // inserting a stmt updates the index
+    FallsThroughStmt redefA = new JAssignStmt(a, IntConstant.getInstance(3), noPos);
+    graph.insertBefore(newDefB, Collections.singletonList(redefA), Collections.emptyMap());
+    assertEquals(new HashSet<>(Arrays.asList(defA, redefA)), index.getDefs(a));
+
+    // removing a stmt updates the index
+    graph.removeNode(defA);
+    assertEquals(Collections.singleton(redefA), index.getDefs(a));
+    assertTrue(index.getUses(new Local("c", PrimitiveType.getInt())).isEmpty());
+  }
+
+  @Test
+  public void testDefUseIndexFollowsModificationsOfSubclass() {
+    Local a = new Local("a", PrimitiveType.getInt());
+    StmtPositionInfo noPos = StmtPositionInfo.getNoStmtPositionInfo();
+    FallsThroughStmt defA = new JAssignStmt(a, IntConstant.getInstance(1), noPos);
+    Stmt ret = new JReturnStmt(a, noPos);
+
+    List<Stmt> removedStmts = new ArrayList<>();
+    MutableBlockStmtGraph graph =
+        new MutableBlockStmtGraph() {
+          @Override
+          public void removeNode(@Nonnull Stmt stmt, boolean keepFlow) {
+            removedStmts.add(stmt);
+            super.removeNode(stmt, keepFlow);
+          }
+        };
+    graph.setStartingStmt(defA);
+    graph.putEdge(defA, ret);
+
+    DefUseIndex index = graph.getDefUseIndex();
+    assertEquals(Collections.singleton(defA), index.getDefs(a));
+
+    FallsThroughStmt redefA = new JAssignStmt(a, IntConstant.getInstance(2), noPos);
+    graph.insertBefore(ret, redefA);
+    graph.removeNode(defA);
+    assertEquals(Collections.singletonList(defA), removedStmts);
+    assertSame(index, graph.getDefUseIndex());
+    assertEquals(Collections.singleton(redefA), index.getDefs(a));
+    assertEquals(Collections.singleton(ret), index.getUses(a).elementSet());
+  }
+
+  @Test
+  public void testScanningDefUseIndexFollowsModifications() {
+    Local a = new Local("a", PrimitiveType.getInt());
+    StmtPositionInfo noPos = StmtPositionInfo.getNoStmtPositionInfo();
+    FallsThroughStmt defA = new JAssignStmt(a, IntConstant.getInstance(1), noPos);
+    FallsThroughStmt useA = new JAssignStmt(a, new JAddExpr(a, a), noPos);
+    Stmt ret = new JReturnStmt(a, noPos);
+
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(defA);
+    graph.putEdge(defA, useA);
+    graph.putEdge(useA, ret);
+
+    DefUseIndex index = new ScanningDefUseIndex(graph);
+    assertEquals(graph.getDefUseIndex().getDefs(a), index.getDefs(a));
+    assertEquals(graph.getDefUseIndex().getUses(a), index.getUses(a));
+    assertEquals(2, index.getUses(a).count(useA));
+
+    graph.removeNode(useA);
+    assertEquals(Collections.singleton(defA), index.getDefs(a));
+    assertEquals(Collections.singleton(ret), index.getUses(a).elementSet());
+  }
+
+  @Test
+  public void testBuiltBodyDoesNotKeepDefUseIndex() {
+    Local a = new Local("a", PrimitiveType.getInt());
+    StmtPositionInfo noPos = StmtPositionInfo.getNoStmtPositionInfo();
+    FallsThroughStmt defA = new JAssignStmt(a, IntConstant.getInstance(1), noPos);
+    Stmt ret = new JReturnStmt(a, noPos);
+
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(defA);
+    graph.putEdge(defA, ret);
+    assertEquals(Collections.singleton(defA), graph.getDefUseIndex().getDefs(a));
+    assertTrue(graph.hasDefUseIndex());
+
+    Body body =
+        Body.builder(graph)
+            .setMethodSignature(
+                new MethodSignature(
+                    throwableSig, "m", Collections.emptyList(), PrimitiveType.getInt()))
+            .setLocals(Collections.singleton(a))
+            .build();
+    assertSame(graph, ((ForwardingStmtGraph<?>) body.getStmtGraph()).backingGraph);
+    assertFalse(graph.hasDefUseIndex());
+  }
+
+  @Test
+  public void testAnalysesAreKeptUntilModification() {
+    Local a = new Local("a", PrimitiveType.getInt());
+    StmtPositionInfo noPos = StmtPositionInfo.getNoStmtPositionInfo();
+    FallsThroughStmt defA = new JAssignStmt(a, IntConstant.getInstance(1), noPos);
+    Stmt ret = new JReturnStmt(a, noPos);
+
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(defA);
+    graph.putEdge(defA, ret);
+
+    DominanceFinder dominanceFinder =
+        graph.getAnalysis(DominanceFinder.class, DominanceFinder::new);
+    assertSame(dominanceFinder, graph.getAnalysis(DominanceFinder.class, DominanceFinder::new));
+    assertEquals(Arrays.asList(defA, ret), graph.getStmts());
+
+    FallsThroughStmt redefA = new JAssignStmt(a, IntConstant.getInstance(2), noPos);
+    graph.insertBefore(ret, redefA);
+    assertNotSame(dominanceFinder, graph.getAnalysis(DominanceFinder.class, DominanceFinder::new));
+    assertEquals(Arrays.asList(defA, redefA, ret), graph.getStmts());
+
+    // the order is a copy, i.e. modifying it does not affect the graph
+    graph.getStmts().clear();
+    assertEquals(3, graph.getStmts().size());
+  }
 }
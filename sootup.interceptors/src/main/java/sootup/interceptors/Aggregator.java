@@ -24,6 +24,7 @@ package sootup.interceptors;
 import java.util.*;
 import javax.annotation.Nonnull;
 import sootup.core.graph.BasicBlock;
+import sootup.core.graph.DefUseIndex;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
@@ -69,7 +70,7 @@ public class Aggregator implements BodyInterceptor {
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph graph = builder.getStmtGraph();
     List<Stmt> stmts = builder.getStmts();
-    Map<Value, List<Stmt>> usesMap = Body.collectUses(stmts);
+    DefUseIndex defUseIndex = builder.getDefUseIndex();
 
     for (Stmt stmt : stmts) {
       if (!(stmt instanceof JAssignStmt)) {
@@ -89,16 +90,16 @@ public class Aggregator implements BodyInterceptor {
         if (!(val instanceof Local)) {
           continue;
         }
-        final Collection<Stmt> usesOfVal = usesMap.get(val);
+        final Collection<Stmt> usesOfVal = defUseIndex.getUses((Local) val);
         if (usesOfVal.size() > 1) {
           // there are other uses, so it can't be aggregated
           continue;
         }
-        List<AbstractDefinitionStmt> defs = ((Local) val).getDefs(stmts);
+        Set<Stmt> defs = defUseIndex.getDefs((Local) val);
         if (defs.size() != 1) {
           continue;
         }
-        Stmt relevantDef = defs.get(0);
+        Stmt relevantDef = defs.iterator().next();
         if (!graph.containsNode(relevantDef) || !graph.containsNode(stmt)) {
           continue;
         }
@@ -240,4 +241,15 @@ public class Aggregator implements BodyInterceptor {
       }
     }
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName() + "(" + dontAggregateFieldLocals + ")");
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -20,7 +20,10 @@ package sootup.interceptors;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
-import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
@@ -32,7 +35,7 @@ import sootup.core.jimple.common.stmt.JGotoStmt;
 import sootup.core.jimple.common.stmt.JReturnStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.Body;
-import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.PeepholeInterceptor;
 import sootup.core.views.View;
 
 /**
@@ -62,18 +65,23 @@ import sootup.core.views.View;
  * @author Marcus Nachtigall
  * @author Markus Schmidt
  */
-public class CastAndReturnInliner implements BodyInterceptor {
+public class CastAndReturnInliner implements PeepholeInterceptor {
 
   @Override
-  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+  public boolean isCandidate(@Nonnull Stmt stmt) {
+    return stmt instanceof JGotoStmt;
+  }
+
+  @Nonnull
+  @Override
+  public Collection<Stmt> interceptStmts(
+      @Nonnull Body.BodyBuilder builder, @Nonnull List<Stmt> candidates, @Nonnull View view) {
 
     MutableStmtGraph graph = builder.getStmtGraph();
     Set<Local> locals = builder.getLocals();
+    List<Stmt> addedStmts = new ArrayList<>();
 
-    for (Stmt stmt : Lists.newArrayList(graph.getNodes())) {
-      if (!(stmt instanceof JGotoStmt)) {
-        continue;
-      }
+    for (Stmt stmt : candidates) {
       JGotoStmt gotoStmt = (JGotoStmt) stmt;
 
       Stmt successorOfGoto = graph.successors(gotoStmt).get(0);
@@ -114,6 +122,8 @@ public class CastAndReturnInliner implements BodyInterceptor {
       graph.replaceNode(gotoStmt, newReturnStmt);
       graph.insertBefore(newReturnStmt, newAssignStmt);
       builder.addLocal(localCandidate);
+      addedStmts.add(newAssignStmt);
+      addedStmts.add(newReturnStmt);
 
       boolean removeExistingCastReturn = graph.predecessors(assign).isEmpty();
       if (removeExistingCastReturn) {
@@ -124,5 +134,17 @@ public class CastAndReturnInliner implements BodyInterceptor {
         }
       }
     }
+    return addedStmts;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
   }
 }
@@ -200,4 +200,15 @@ public class ConditionalBranchFolder implements BodyInterceptor {
     }
     return amount == 0;
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
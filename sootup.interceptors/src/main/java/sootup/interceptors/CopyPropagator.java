@@ -22,11 +22,14 @@ package sootup.interceptors;
  */
 
 import com.google.common.collect.Lists;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import sootup.core.graph.DefUseIndex;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
@@ -61,6 +64,7 @@ public class CopyPropagator implements BodyInterceptor {
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
+    DefUseIndex defUseIndex = builder.getDefUseIndex();
     for (Stmt stmt : Lists.newArrayList(stmtGraph)) {
       Stmt newStmt = stmt;
       Set<Value> valueList = newStmt.getUses().collect(Collectors.toSet());
@@ -69,7 +73,12 @@ public class CopyPropagator implements BodyInterceptor {
           continue;
         }
 
-        List<Stmt> defsOfUse = ((Local) use).getDefsForLocalUse(stmtGraph, newStmt);
+        // the only def of a local is the def of each of its uses - no need to search for it
+        Set<Stmt> defsOfLocal = defUseIndex.getDefs((Local) use);
+        List<Stmt> defsOfUse =
+            defsOfLocal.size() == 1
+                ? new ArrayList<>(defsOfLocal)
+                : ((Local) use).getDefsForLocalUse(stmtGraph, newStmt);
         if (!isPropatabable(defsOfUse)) {
           continue;
         }
@@ -94,7 +103,7 @@ public class CopyPropagator implements BodyInterceptor {
         else if (rhs instanceof Local && !rhs.equivTo(use)) {
           Local m = (Local) rhs;
           if (use != m) {
-            Integer defCount = m.getDefs(stmtGraph.getStmts()).size();
+            int defCount = defUseIndex.getDefs(m).size();
             if (defCount == 0) {
               throw new IllegalStateException("Local `" + m + "' is used without a definition!");
             } else if (defCount == 1) {
@@ -183,4 +192,15 @@ public class CopyPropagator implements BodyInterceptor {
     }
     return isPropagateable;
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
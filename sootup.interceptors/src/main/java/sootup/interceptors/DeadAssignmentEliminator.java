@@ -22,9 +22,9 @@ package sootup.interceptors;
  */
 
 import java.util.*;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import sootup.analysis.intraprocedural.reachingdefs.ReachingDefs;
+import sootup.core.graph.DefUseIndex;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.LValue;
@@ -65,7 +65,8 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
-    Map<Stmt, List<Stmt>> reachingDefs = (new ReachingDefs(stmtGraph)).getReachingDefs();
+    Map<Stmt, List<Stmt>> reachingDefs =
+        stmtGraph.getAnalysis(ReachingDefs.class, ReachingDefs::new).getReachingDefs();
     // refactor.. why already here - getNodes as well
     List<Stmt> stmts = builder.getStmts();
     Deque<Stmt> deque = new ArrayDeque<>(stmts.size());
@@ -176,7 +177,7 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
 
     // Add all the statements which are used to compute values for the essential statements,
     // recursively
-    Map<LValue, Collection<Stmt>> allDefs = Body.collectDefs(stmtGraph.getNodes());
+    DefUseIndex defUseIndex = builder.getDefUseIndex();
 
     Set<Stmt> essentialStmts = new HashSet<>(stmts.size());
     while (!deque.isEmpty()) {
@@ -186,12 +187,8 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
           Value value = iterator.next();
           if (value instanceof Local) {
             Local local = (Local) value;
-            Collection<Stmt> defs = allDefs.get(local);
             List<Stmt> reachableDefs = reachingDefs.get(stmt);
-            defs = defs.stream().filter(reachableDefs::contains).collect(Collectors.toList());
-            if (defs != null) {
-              deque.addAll(defs);
-            }
+            defUseIndex.getDefs(local).stream().filter(reachableDefs::contains).forEach(deque::add);
           }
         }
       }
@@ -249,4 +246,15 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
       builder.removeDefLocalsOf(assignStmt);
     }
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName() + "(" + eliminateOnlyStackLocals + ")");
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
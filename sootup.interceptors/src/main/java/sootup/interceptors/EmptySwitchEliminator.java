@@ -21,6 +21,9 @@ package sootup.interceptors;
  * #L%
  */
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.Jimple;
@@ -28,7 +31,7 @@ import sootup.core.jimple.common.stmt.JGotoStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.jimple.javabytecode.stmt.JSwitchStmt;
 import sootup.core.model.Body;
-import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.PeepholeInterceptor;
 import sootup.core.views.View;
 
 /**
@@ -38,22 +41,37 @@ import sootup.core.views.View;
  *
  * @author Steven Arzt, Zun Wang
  */
-public class EmptySwitchEliminator implements BodyInterceptor {
+public class EmptySwitchEliminator implements PeepholeInterceptor {
 
   @Override
-  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
-    // Iterate all stmts in the body
+  public boolean isCandidate(@Nonnull Stmt stmt) {
+    // if there's only default case
+    return stmt instanceof JSwitchStmt && ((JSwitchStmt) stmt).getValueCount() == 1;
+  }
+
+  @Nonnull
+  @Override
+  public Collection<Stmt> interceptStmts(
+      @Nonnull Body.BodyBuilder builder, @Nonnull List<Stmt> candidates, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
-    for (Stmt stmt : new ArrayList<>(stmtGraph.getNodes())) {
-      // If the observed stmt an instance of JSwitchStmt
-      if (stmt instanceof JSwitchStmt) {
-        JSwitchStmt sw = (JSwitchStmt) stmt;
-        // if there's only default case
-        if (sw.getValueCount() == 1) {
-          JGotoStmt gotoStmt = Jimple.newGotoStmt(sw.getPositionInfo());
-          stmtGraph.replaceNode(sw, gotoStmt);
-        }
-      }
+    List<Stmt> gotoStmts = new ArrayList<>(candidates.size());
+    for (Stmt stmt : candidates) {
+      JSwitchStmt sw = (JSwitchStmt) stmt;
+      JGotoStmt gotoStmt = Jimple.newGotoStmt(sw.getPositionInfo());
+      stmtGraph.replaceNode(sw, gotoStmt);
+      gotoStmts.add(gotoStmt);
     }
+    return gotoStmts;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
   }
 }
@@ -87,4 +87,15 @@ public class LocalNameStandardizer implements BodyInterceptor {
       return result;
     }
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -24,7 +24,6 @@ import com.google.common.collect.Lists;
 import java.util.*;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
-import sootup.core.graph.StmtGraph;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
@@ -220,8 +219,9 @@ public class LocalPacker implements BodyInterceptor {
   private Map<Local, Set<Local>> buildLocalInterferenceMap(Body.BodyBuilder builder) {
     // Maps local to its interfering locals
     Map<Local, Set<Local>> localToLocals = new HashMap<>();
-    StmtGraph<?> graph = builder.getStmtGraph();
-    LocalLivenessAnalyser analyser = new LocalLivenessAnalyser(graph);
+    MutableStmtGraph graph = builder.getStmtGraph();
+    LocalLivenessAnalyser analyser =
+        graph.getAnalysis(LocalLivenessAnalyser.class, LocalLivenessAnalyser::new);
 
     // TODO: check if sorted Stmts are necessary
     for (Stmt stmt : builder.getStmts()) {
@@ -299,4 +299,15 @@ public class LocalPacker implements BodyInterceptor {
       }
     }
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -25,7 +25,9 @@ package sootup.interceptors;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.graph.DefUseIndex;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
@@ -198,6 +200,12 @@ public class LocalSplitter implements BodyInterceptor {
     // Maps every local to its assignment stmts.
     // Contains indices to the above list to reduce bookkeeping when modifying stmts.
     Map<Local, List<Integer>> assignmentsByLocal = groupAssignmentsByLocal(stmts);
+    // Maps every stmt to its position in the above list, to visit the stmts of a local in order.
+    Map<Stmt, Integer> positions = new IdentityHashMap<>(stmts.size());
+    for (int i = 0; i < stmts.size(); i++) {
+      positions.put(stmts.get(i), i);
+    }
+    DefUseIndex defUseIndex = builder.getDefUseIndex();
 
     Set<Local> newLocals = new HashSet<>();
 
@@ -273,7 +281,18 @@ public class LocalSplitter implements BodyInterceptor {
                     return newLocal;
                   });
 
-      for (int i = 0; i < stmts.size(); i++) {
+      // only the stmts which define or use the local need to be rewritten
+      List<Integer> occurrences =
+          Stream.concat(
+                  defUseIndex.getDefs(local).stream(),
+                  defUseIndex.getUses(local).elementSet().stream())
+              .map(positions::get)
+              .filter(Objects::nonNull)
+              .distinct()
+              .sorted()
+              .collect(Collectors.toList());
+
+      for (int i : occurrences) {
         Stmt stmt = stmts.get(i);
 
         Optional<LValue> stmtDef = stmt.getDef();
@@ -304,6 +323,8 @@ public class LocalSplitter implements BodyInterceptor {
 
         graph.replaceNode(oldStmt, stmt);
         stmts.set(i, stmt);
+        positions.remove(oldStmt);
+        positions.put(stmt, i);
       }
     }
 
@@ -331,4 +352,15 @@ public class LocalSplitter implements BodyInterceptor {
 
     return groupings;
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -27,7 +27,7 @@ import sootup.core.graph.MutableStmtGraph;
 import sootup.core.jimple.common.stmt.JNopStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.Body;
-import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.PeepholeInterceptor;
 import sootup.core.views.View;
 
 /**
@@ -36,27 +36,38 @@ import sootup.core.views.View;
  * @author Marcus Nachtigall
  * @author Markus Schmidt
  */
-public class NopEliminator implements BodyInterceptor {
+public class NopEliminator implements PeepholeInterceptor {
+
+  @Override
+  public boolean isCandidate(@Nonnull Stmt stmt) {
+    return stmt instanceof JNopStmt;
+  }
 
   /**
-   * Removes {@link JNopStmt}s from the given {@link Body}. Complexity is linear with respect to the
-   * statements.
+   * Removes the given {@link JNopStmt}s from the given {@link Body}. Complexity is linear with
+   * respect to the statements.
    *
    * @param builder The current body before interception.
    */
+  @Nonnull
   @Override
-  public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
+  public Collection<Stmt> interceptStmts(
+      @Nonnull Body.BodyBuilder builder, @Nonnull List<Stmt> candidates, @Nonnull View view) {
     MutableStmtGraph graph = builder.getStmtGraph();
-
-    Queue<Stmt> q = new ArrayDeque<>();
-    for (Stmt stmt : graph.getNodes()) {
-      if (stmt instanceof JNopStmt) {
-        q.add(stmt);
-      }
-    }
-
-    for (Stmt stmt : q) {
+    for (Stmt stmt : candidates) {
       graph.removeNode(stmt);
     }
+    return Collections.emptyList();
+  }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
   }
 }
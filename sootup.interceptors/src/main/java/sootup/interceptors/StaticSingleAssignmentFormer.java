@@ -88,7 +88,8 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
       blockToDefs.put(block, defs);
     }
 
-    DominanceFinder dominanceFinder = new DominanceFinder(stmtGraph);
+    DominanceFinder dominanceFinder =
+        stmtGraph.getAnalysis(DominanceFinder.class, DominanceFinder::new);
 
     // decide which block should be added a phi assignStmt, and store such info in a map
     // key: Block which contains phiStmts. Values : a set of phiStmts which contained by
@@ -100,7 +101,8 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
     addPhiStmts(blockToPhiStmts, stmtGraph, blockToDefs);
 
     // some blocks are modified, so DominanceFinder must be updated for building dominance tree
-    DominanceTree tree = new DominanceTree(new DominanceFinder(stmtGraph));
+    DominanceTree tree =
+        new DominanceTree(stmtGraph.getAnalysis(DominanceFinder.class, DominanceFinder::new));
 
     Map<Local, Stack<Local>> localToNameStack = new HashMap<>();
     for (Local local : builder.getLocals()) {
@@ -386,4 +388,15 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
     }
     return newPhiStmt;
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
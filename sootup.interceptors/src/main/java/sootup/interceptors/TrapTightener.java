@@ -167,4 +167,15 @@ public class TrapTightener implements BodyInterceptor {
     }
     return false;
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -21,6 +21,7 @@ package sootup.interceptors;
  * #L%
  */
 
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.model.Body;
 import sootup.core.transform.BodyInterceptor;
@@ -35,10 +36,34 @@ import sootup.java.core.views.JavaView;
  */
 public class TypeAssigner implements BodyInterceptor {
 
-  public TypeAssigner() {}
+  private final int maxTypings;
+
+  /** Explores every typing of a body. */
+  public TypeAssigner() {
+    this(TypeResolver.UNBOUNDED_TYPINGS);
+  }
+
+  /**
+   * Bounds the typings which are explored for a body. Bodies with more candidate typings than the
+   * bound may get a typing with more casts than the one an unbounded search would find.
+   *
+   * @param maxTypings the upper bound of the typings which are explored for a body
+   */
+  public TypeAssigner(int maxTypings) {
+    this.maxTypings = maxTypings;
+  }
 
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
-    new TypeResolver((JavaView) view).resolve(builder);
+    new TypeResolver((JavaView) view, maxTypings).resolve(builder);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    if (maxTypings == TypeResolver.UNBOUNDED_TYPINGS) {
+      return Optional.of(getClass().getName());
+    }
+    return Optional.of(getClass().getName() + "(" + maxTypings + ")");
   }
 }
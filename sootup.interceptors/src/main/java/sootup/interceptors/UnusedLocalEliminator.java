@@ -22,6 +22,7 @@ package sootup.interceptors;
  *
  */
 import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Local;
@@ -66,4 +67,15 @@ public class UnusedLocalEliminator implements BodyInterceptor {
 
     builder.setLocals(locals);
   }
+
+  @Nonnull
+  @Override
+  public Optional<String> getCacheFingerprint() {
+    return Optional.of(getClass().getName());
+  }
+
+  @Override
+  public boolean dependsOnClassPath() {
+    return false;
+  }
 }
@@ -21,8 +21,11 @@ package sootup.interceptors.typeresolving;
  * #L%
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.*;
 import javax.annotation.Nonnull;
+import org.apache.commons.lang3.tuple.Pair;
 import sootup.core.IdentifierFactory;
 import sootup.core.typehierarchy.TypeHierarchy;
 import sootup.core.types.*;
@@ -30,10 +33,23 @@ import sootup.core.views.View;
 import sootup.interceptors.typeresolving.types.BottomType;
 import sootup.interceptors.typeresolving.types.TopType;
 
-/** @author Zun Wang */
+/**
+ * The hierarchy of the (augmented) bytecode types which is used by the {@link TypeResolver}. The
+ * results of the subtype checks between class types are memoized, so an instance should be shared
+ * by all bodies of a view, see {@link TypingContext}. Instances are thread-safe.
+ *
+ * @author Zun Wang
+ */
 public class BytecodeHierarchy {
 
+  /** the maximal number of memoized subtype checks, so that the cache of a large view is bounded */
+  static final int MAX_CACHED_SUBTYPE_CHECKS = 1 << 16;
+
   private final TypeHierarchy typeHierarchy;
+  /** (ancestor, child) -> whether a child can be stored in a variable of the ancestor type */
+  private final Cache<Pair<ClassType, ClassType>, Boolean> canStoreTypeCache =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SUBTYPE_CHECKS).build();
+
   public final ClassType objectClassType;
   public final ClassType throwableClassType;
   private final ClassType serializableClassType;
@@ -182,8 +198,17 @@ public class BytecodeHierarchy {
   }
 
   private boolean canStoreType(ClassType ancestor, ClassType child) {
-    return ancestor == objectClassType
-        || (typeHierarchy.contains(ancestor)
-            && typeHierarchy.subtypesOf(ancestor).anyMatch(t -> t == child));
+    if (ancestor == objectClassType) {
+      return true;
+    }
+    Pair<ClassType, ClassType> key = Pair.of(ancestor, child);
+    Boolean canStore = canStoreTypeCache.getIfPresent(key);
+    if (canStore == null) {
+      canStore =
+          typeHierarchy.contains(ancestor)
+              && typeHierarchy.subtypesOf(ancestor).anyMatch(t -> t == child);
+      canStoreTypeCache.put(key, canStore);
+    }
+    return canStore;
   }
 }
@@ -22,8 +22,8 @@ package sootup.interceptors.typeresolving;
  * #L%
  */
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -52,9 +52,10 @@ import sootup.core.types.Type;
  * locals into the typing as well.
  */
 public class CastCounter extends TypeChecker {
-  private final Map<Stmt, Set<JAssignStmt>> tempAssignments = new HashMap<>();
-  private final Map<Stmt, Stmt> stmt2NewStmt = new HashMap<>();
-  private final Map<Local, Type> tempLocalTypes = new HashMap<>();
+  // linked, so that the casts and their locals are created in the order of the Stmts
+  private final Map<Stmt, Set<JAssignStmt>> tempAssignments = new LinkedHashMap<>();
+  private final Map<Stmt, Stmt> stmt2NewStmt = new LinkedHashMap<>();
+  private final Map<Local, Type> tempLocalTypes = new LinkedHashMap<>();
 
   private int castCount = 0;
   private int newLocalsCount = 0;
@@ -64,11 +65,30 @@ public class CastCounter extends TypeChecker {
       @Nonnull AugEvalFunction evalFunction,
       @Nonnull BytecodeHierarchy hierarchy,
       @Nonnull Typing typing) {
+    this(builder, evalFunction, hierarchy, typing, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Stops counting as soon as more than <code>maxCastCount</code> casts are necessary, i.e. when
+   * the typing can not beat a typing that needs <code>maxCastCount</code> casts. In that case
+   * {@link #getCastCount()} is <code>maxCastCount + 1</code> and the modifications of the body are
+   * incomplete, so {@link #insertCastStmts()} must not be called.
+   */
+  public CastCounter(
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull AugEvalFunction evalFunction,
+      @Nonnull BytecodeHierarchy hierarchy,
+      @Nonnull Typing typing,
+      int maxCastCount) {
     super(builder, evalFunction, hierarchy);
     setTyping(typing);
 
-    for (Stmt stmt : graph.getNodes()) {
+    for (Stmt stmt : graph.getStmts()) {
       stmt.accept(this);
+      if (castCount > maxCastCount) {
+        castCount = maxCastCount + 1;
+        break;
+      }
     }
   }
 
@@ -121,7 +141,7 @@ public class CastCounter extends TypeChecker {
       tempLocalTypes.put(tempLocal, stdType);
 
       JAssignStmt assignStmt = Jimple.newAssignStmt(tempLocal, cast, stmt.getPositionInfo());
-      tempAssignments.computeIfAbsent(stmt, _x -> new HashSet<>()).add(assignStmt);
+      tempAssignments.computeIfAbsent(stmt, _x -> new LinkedHashSet<>()).add(assignStmt);
 
       newStmt = currentStmt.withNewUse(value, tempLocal);
     }
@@ -52,27 +52,57 @@ import sootup.java.core.views.JavaView;
 
 /** @author Zun Wang Algorithm: see 'Efficient Local Type Inference' at OOPSLA 08 */
 public class TypeResolver {
+
+  /** Explores every typing of a body, i.e. the search is not bounded. */
+  public static final int UNBOUNDED_TYPINGS = Integer.MAX_VALUE;
+
   private final ArrayList<AbstractDefinitionStmt> assignments = new ArrayList<>();
   private final Map<Local, BitSet> depends = new HashMap<>();
   private final JavaView view;
+  private final int maxTypings;
+  private boolean searchTruncated = false;
 
   private final Type objectType;
 
   private static final Logger logger = LoggerFactory.getLogger(TypeResolver.class);
 
   public TypeResolver(@Nonnull JavaView view) {
+    this(view, UNBOUNDED_TYPINGS);
+  }
+
+  /**
+   * @param maxTypings the upper bound of the typings which are explored at once. Each ambiguous
+   *     least common ancestor forks the current typing, so the number of typings can grow
+   *     exponentially with the number of locals. When the bound is hit, ambiguous ancestors are no
+   *     longer forked but resolved greedily to the first one, i.e. the search becomes a beam search
+   *     of that width. {@link #UNBOUNDED_TYPINGS} explores every typing.
+   */
+  public TypeResolver(@Nonnull JavaView view, int maxTypings) {
+    if (maxTypings < 1) {
+      throw new IllegalArgumentException("maxTypings must be at least 1, but is " + maxTypings);
+    }
     this.view = view;
+    this.maxTypings = maxTypings;
     objectType = view.getIdentifierFactory().getClassType("java.lang.Object");
   }
 
   public boolean resolve(@Nonnull Body.BodyBuilder builder) {
+    searchTruncated = false;
     init(builder);
-    BytecodeHierarchy hierarchy = new BytecodeHierarchy(view);
-    AugEvalFunction evalFunction = new AugEvalFunction(view);
+    TypingContext context = TypingContext.of(view);
+    BytecodeHierarchy hierarchy = context.getHierarchy();
+    AugEvalFunction evalFunction = context.getEvalFunction();
     final Collection<Local> locals = Lists.newArrayList(builder.getLocals());
     Typing iniTyping = new Typing(locals);
     Collection<Typing> typings =
         applyAssignmentConstraint(builder.getStmtGraph(), iniTyping, evalFunction, hierarchy);
+    if (searchTruncated) {
+      context.recordTruncatedSearch();
+      logger.debug(
+          "Explored the maximum of {} typings for {}, remaining ambiguities are resolved greedily.",
+          maxTypings,
+          builder.getMethodSignature());
+    }
     if (typings.isEmpty()) {
       return false;
     }
@@ -268,6 +298,10 @@ public class TypeResolver {
           // Up to now there's no ambiguity of types
           if (isFirstType) {
             isFirstType = false;
+          } else if (workQueue.size() + ret.size() >= maxTypings) {
+            // bound is hit: keep the first ancestor instead of forking
+            searchTruncated = true;
+            break;
           } else {
             // Ambiguity handling: create new Typing and add it into workQueue
             actualTyping = new Typing(actualTyping, (BitSet) actualSL.clone());
@@ -333,10 +367,28 @@ public class TypeResolver {
       @Nonnull Collection<Typing> typings,
       @Nonnull AugEvalFunction evalFunction,
       @Nonnull BytecodeHierarchy hierarchy) {
-    return typings.stream()
-        .map(typing -> new CastCounter(builder, evalFunction, hierarchy, typing))
-        .min(Comparator.comparingInt(CastCounter::getCastCount))
-        .get();
+    CastCounter minCastsCounter = null;
+    for (Typing typing : typings) {
+      if (minCastsCounter == null) {
+        minCastsCounter = new CastCounter(builder, evalFunction, hierarchy, typing);
+        continue;
+      }
+      // stop counting the casts of a typing as soon as it can not beat the current minimum
+      final int minCastCount = minCastsCounter.getCastCount();
+      CastCounter counter = new CastCounter(builder, evalFunction, hierarchy, typing, minCastCount);
+      if (counter.getCastCount() < minCastCount) {
+        minCastsCounter = counter;
+      }
+    }
+    return minCastsCounter;
+  }
+
+  /**
+   * Returns whether the number of typings hit the bound during the last {@link #resolve} call, i.e.
+   * whether some ambiguities were resolved greedily.
+   */
+  public boolean isSearchTruncated() {
+    return searchTruncated;
   }
 
   private Type convertUnderspecifiedType(@Nonnull Type type) {
@@ -28,7 +28,13 @@ import sootup.core.types.Type;
 import sootup.interceptors.typeresolving.types.BottomType;
 
 public class Typing {
-  @Nonnull private final Map<Local, Type> local2Type;
+  @Nonnull private Map<Local, Type> local2Type;
+  /**
+   * whether local2Type may be referenced by another Typing, i.e. it has to be copied before it is
+   * modified.
+   */
+  private boolean sharesMap = false;
+
   @Nonnull private BitSet stmtsIDList;
 
   public Typing(@Nonnull Collection<Local> locals) {
@@ -40,8 +46,14 @@ public class Typing {
     stmtsIDList = new BitSet();
   }
 
+  /**
+   * Creates a copy of the given typing. The types of the locals are shared copy-on-write, i.e. the
+   * map is only copied when one of the typings is modified.
+   */
   public Typing(@Nonnull Typing typing, @Nonnull BitSet stmtsIDList) {
-    this.local2Type = new HashMap<>(typing.local2Type);
+    this.local2Type = typing.local2Type;
+    this.sharesMap = true;
+    typing.sharesMap = true;
     this.stmtsIDList = stmtsIDList;
   }
 
@@ -51,6 +63,13 @@ public class Typing {
   }
 
   public void set(@Nonnull Local local, @Nonnull Type type) {
+    if (sharesMap) {
+      if (local2Type.get(local) == type) {
+        return;
+      }
+      this.local2Type = new HashMap<>(local2Type);
+      this.sharesMap = false;
+    }
     this.local2Type.put(local, type);
   }
 
@@ -59,7 +78,7 @@ public class Typing {
   }
 
   public Map<Local, Type> getMap() {
-    return this.local2Type;
+    return Collections.unmodifiableMap(this.local2Type);
   }
 
   public void setStmtsIDList(@Nonnull BitSet bitSet) {
@@ -0,0 +1,78 @@
+package sootup.interceptors.typeresolving;
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2024 Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import sootup.core.views.View;
+
+/**
+ * Holds the view-dependent parts of the type assignment, i.e. the {@link BytecodeHierarchy} and the
+ * {@link AugEvalFunction}, so that their setup and the memoized subtype checks are shared by all
+ * bodies of a view instead of being rebuilt for each body. The lowest common ancestors of class
+ * types are memoized by the {@link sootup.core.typehierarchy.TypeHierarchy} of the view itself,
+ * which hands out unmodifiable sets, and the memoized subtype checks are bounded in number.
+ *
+ * <p>A context is thread-safe, so bodies of the same view can be typed concurrently.
+ */
+public class TypingContext {
+
+  @Nonnull private final BytecodeHierarchy hierarchy;
+  @Nonnull private final AugEvalFunction evalFunction;
+  @Nonnull private final LongAdder truncatedSearches = new LongAdder();
+
+  public TypingContext(@Nonnull View view) {
+    this.hierarchy = new BytecodeHierarchy(view);
+    this.evalFunction = new AugEvalFunction(view);
+  }
+
+  /**
+   * Returns the shared context of the given view and creates it on the first request. The context
+   * is attached to the view, so it is released together with the view.
+   */
+  @Nonnull
+  public static TypingContext of(@Nonnull View view) {
+    return view.getAttachment(TypingContext.class, TypingContext::new);
+  }
+
+  @Nonnull
+  public BytecodeHierarchy getHierarchy() {
+    return hierarchy;
+  }
+
+  @Nonnull
+  public AugEvalFunction getEvalFunction() {
+    return evalFunction;
+  }
+
+  void recordTruncatedSearch() {
+    truncatedSearches.increment();
+  }
+
+  /**
+   * Returns the number of bodies of the view whose typing search hit the bound of the {@link
+   * TypeResolver}, i.e. whose ambiguous types were partly resolved greedily.
+   */
+  public long getTruncatedSearchCount() {
+    return truncatedSearches.sum();
+  }
+}
@@ -0,0 +1,178 @@
+package sootup.java.bytecode.frontend.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Suppliers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ResolveException;
+import sootup.core.model.Body;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.views.View;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.OverridingJavaClassSource;
+
+/**
+ * Class source whose method bodies are served from a {@link JimpleBodyCache}. The cache works at
+ * class granularity: when the first body of a class is requested, either all bodies of the class
+ * are loaded from its cache entry or all of them are converted by the underlying class source and
+ * written to a new entry.
+ */
+public class BodyCachingClassSource extends OverridingJavaClassSource {
+
+  private static final @Nonnull Logger logger =
+      LoggerFactory.getLogger(BodyCachingClassSource.class);
+
+  @Nonnull private final JavaSootClassSource delegate;
+  @Nonnull private final JimpleBodyCache cache;
+  @Nonnull private final View view;
+
+  /**
+   * null if the class path can not be identified, i.e. bodies that depend on it must not be cached
+   */
+  @Nullable private final String classPathFingerprint;
+
+  @Nonnull
+  private final Supplier<ClassBodies> lazyBodies = Suppliers.memoize(this::loadOrConvertBodies);
+
+  public BodyCachingClassSource(
+      @Nonnull JavaSootClassSource delegate,
+      @Nonnull JimpleBodyCache cache,
+      @Nonnull View view,
+      @Nullable String classPathFingerprint) {
+    super(delegate);
+    this.delegate = delegate;
+    this.cache = cache;
+    this.view = view;
+    this.classPathFingerprint = classPathFingerprint;
+  }
+
+  @Nonnull
+  @Override
+  public Collection<JavaSootMethod> resolveMethods() throws ResolveException {
+    return super.resolveMethods().stream()
+        .map(
+            method ->
+                method.isConcrete()
+                    ? method.withSource(new CachedBodySource(method.getBodySource(), this))
+                    : method)
+        .collect(Collectors.toList());
+  }
+
+  @Nonnull
+  Body getBody(@Nonnull MethodSubSignature subSignature) throws IOException {
+    ClassBodies classBodies = lazyBodies.get();
+    Body body = classBodies.bodies.get(subSignature);
+    if (body != null) {
+      return body;
+    }
+    Exception failure = classBodies.failures.get(subSignature);
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof IOException) {
+      throw (IOException) failure;
+    }
+    throw new ResolveException(
+        "There is no body for " + subSignature + " in " + getClassType(), getSourcePath(), failure);
+  }
+
+  @Nonnull
+  private ClassBodies loadOrConvertBodies() {
+    String key = computeKey();
+    if (key != null) {
+      Optional<Map<MethodSubSignature, Body>> cachedBodies =
+          cache.load(key, getAnalysisInputLocation(), view);
+      if (cachedBodies.isPresent()) {
+        return new ClassBodies(cachedBodies.get(), new HashMap<>());
+      }
+    }
+
+    // every method source of the delegate is resolved exactly once - here
+    Map<MethodSubSignature, Body> bodies = new HashMap<>();
+    Map<MethodSubSignature, Exception> failures = new HashMap<>();
+    List<JavaSootMethod> methodsWithBodies = new ArrayList<>();
+    for (JavaSootMethod method : super.resolveMethods()) {
+      if (!method.isConcrete()) {
+        methodsWithBodies.add(method);
+        continue;
+      }
+      MethodSubSignature subSignature = method.getSignature().getSubSignature();
+      try {
+        Body body = method.getBodySource().resolveBody(method.getModifiers());
+        bodies.put(subSignature, body);
+        methodsWithBodies.add(method.withBody(body));
+      } catch (Exception e) {
+        failures.put(subSignature, e);
+      }
+    }
+
+    if (key != null && failures.isEmpty()) {
+      JavaSootClass sootClass =
+          new JavaSootClass(
+              new OverridingJavaClassSource(delegate).withMethods(methodsWithBodies),
+              getAnalysisInputLocation().getSourceType());
+      cache.store(key, sootClass);
+    }
+    return new ClassBodies(bodies, failures);
+  }
+
+  @Nullable
+  private String computeKey() {
+    try {
+      byte[] classBytes = Files.readAllBytes(getSourcePath());
+      return cache
+          .computeKey(
+              classBytes, getAnalysisInputLocation().getBodyInterceptors(), classPathFingerprint)
+          .orElse(null);
+    } catch (IOException | RuntimeException e) {
+      logger.debug("Can not compute the body cache key of " + getSourcePath(), e);
+      return null;
+    }
+  }
+
+  private static class ClassBodies {
+    @Nonnull final Map<MethodSubSignature, Body> bodies;
+    @Nonnull final Map<MethodSubSignature, Exception> failures;
+
+    private ClassBodies(
+        @Nonnull Map<MethodSubSignature, Body> bodies,
+        @Nonnull Map<MethodSubSignature, Exception> failures) {
+      this.bodies = bodies;
+      this.failures = failures;
+    }
+  }
+}
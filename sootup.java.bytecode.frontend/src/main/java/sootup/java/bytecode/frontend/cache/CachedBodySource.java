@@ -0,0 +1,59 @@
+package sootup.java.bytecode.frontend.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.BodySource;
+import sootup.core.model.Body;
+import sootup.core.model.MethodModifier;
+import sootup.core.signatures.MethodSignature;
+
+/** Resolves the body of a method via the {@link JimpleBodyCache} of its declaring class source. */
+class CachedBodySource implements BodySource {
+
+  @Nonnull private final BodySource delegate;
+  @Nonnull private final BodyCachingClassSource classSource;
+
+  CachedBodySource(@Nonnull BodySource delegate, @Nonnull BodyCachingClassSource classSource) {
+    this.delegate = delegate;
+    this.classSource = classSource;
+  }
+
+  @Nonnull
+  @Override
+  public Body resolveBody(@Nonnull Iterable<MethodModifier> modifiers) throws IOException {
+    return classSource.getBody(getSignature().getSubSignature());
+  }
+
+  @Override
+  public Object resolveAnnotationsDefaultValue() {
+    return delegate.resolveAnnotationsDefaultValue();
+  }
+
+  @Nonnull
+  @Override
+  public MethodSignature getSignature() {
+    return delegate.getSignature();
+  }
+}
@@ -0,0 +1,345 @@
+package sootup.java.bytecode.frontend.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.antlr.v4.runtime.CharStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.Local;
+import sootup.core.model.Body;
+import sootup.core.model.MethodModifier;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.util.printer.JimplePrinter;
+import sootup.core.views.View;
+import sootup.java.core.JavaSootClass;
+import sootup.jimple.frontend.JimpleConverter;
+
+/**
+ * Stores the converted bodies of a class as Jimple in a local directory, so that later runs can
+ * parse them with the {@link JimpleConverter} instead of converting the bytecode again. An entry is
+ * identified by a key that is derived from the bytes of the class file and the {@link
+ * BodyInterceptor#getCacheFingerprint() fingerprints} of the interceptors that were applied to the
+ * bodies, i.e. a changed class file or a different interceptor configuration never hits a stale
+ * entry. If an interceptor {@link BodyInterceptor#dependsOnClassPath() depends on the class path},
+ * e.g. the TypeAssigner on the type hierarchy, the key also contains a fingerprint of the classes
+ * that are visible to the class.
+ *
+ * <p>Entries are written atomically, so a directory can be shared by concurrently running analyses.
+ * Entries that can not be parsed anymore are deleted and treated as a miss.
+ */
+public class JimpleBodyCache {
+
+  private static final @Nonnull Logger logger = LoggerFactory.getLogger(JimpleBodyCache.class);
+
+  /** increase whenever the content of the entries changes incompatibly */
+  private static final String FORMAT_VERSION = "jimple-1";
+
+  private static final String FILE_EXTENSION = ".jimple";
+
+  /**
+   * The JimplePrinter does not escape the names of Locals, so names that the Jimple grammar does
+   * not accept as an identifier (e.g. the "#l0" Locals of the TypeAssigner) are stored as this
+   * prefix followed by the hex encoded UTF-8 bytes of the name.
+   */
+  private static final String ENCODED_LOCAL_PREFIX = "$$";
+
+  private static final Pattern PLAIN_LOCAL_NAME = Pattern.compile("[\\p{L}$_][\\p{L}0-9$_]*");
+
+  private static final Pattern ENCODED_LOCAL_NAME =
+      Pattern.compile(Pattern.quote(ENCODED_LOCAL_PREFIX) + "([0-9a-f]{2})+");
+
+  @Nonnull private final Path directory;
+
+  public JimpleBodyCache(@Nonnull Path directory) {
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Can not create the cache directory " + directory, e);
+    }
+    this.directory = directory;
+  }
+
+  @Nonnull
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Computes the key of the cache entry of a class.
+   *
+   * @param classBytes the content of the class file
+   * @param bodyInterceptors the interceptors that are applied to the bodies of the class
+   * @param classPathFingerprint identifies the classes that are visible while the bodies are
+   *     converted; it is only used if an interceptor {@link BodyInterceptor#dependsOnClassPath()
+   *     depends on the class path}, and null if the class path can not be identified
+   * @return the key or an empty Optional if one of the interceptors has no {@link
+   *     BodyInterceptor#getCacheFingerprint() fingerprint} or depends on a class path that can not
+   *     be identified, i.e. its results must not be cached
+   */
+  @Nonnull
+  public Optional<String> computeKey(
+      @Nonnull byte[] classBytes,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nullable String classPathFingerprint) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+    for (BodyInterceptor interceptor : bodyInterceptors) {
+      Optional<String> fingerprint = interceptor.getCacheFingerprint();
+      if (!fingerprint.isPresent()) {
+        return Optional.empty();
+      }
+      digest.update((byte) 0);
+      digest.update(fingerprint.get().getBytes(StandardCharsets.UTF_8));
+    }
+    if (bodyInterceptors.stream().anyMatch(BodyInterceptor::dependsOnClassPath)) {
+      if (classPathFingerprint == null) {
+        return Optional.empty();
+      }
+      digest.update((byte) 0);
+      digest.update(classPathFingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+    digest.update((byte) 0);
+    digest.update(classBytes);
+    return Optional.of(toHex(digest.digest()));
+  }
+
+  /**
+   * Computes a fingerprint of the state of the given files, i.e. of their paths, sizes and
+   * modification times. Directories are fingerprinted by the files they contain.
+   */
+  @Nonnull
+  public static String fingerprintFiles(@Nonnull Collection<Path> paths) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    for (Path path : paths) {
+      List<Path> files;
+      if (Files.isDirectory(path)) {
+        try (Stream<Path> walk = Files.walk(path)) {
+          files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+      } else {
+        files = Collections.singletonList(path);
+      }
+      for (Path file : files) {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String state =
+            file.toAbsolutePath()
+                + "|"
+                + attributes.size()
+                + "|"
+                + attributes.lastModifiedTime().toMillis();
+        digest.update(state.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  @Nonnull
+  private static String toHex(@Nonnull byte[] bytes) {
+    StringBuilder sb = new StringBuilder();
+    for (byte b : bytes) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+
+  @Nonnull
+  private Path entryPath(@Nonnull String key) {
+    // spread the entries over subdirectories to keep the directories small
+    return directory.resolve(key.substring(0, 2)).resolve(key + FILE_EXTENSION);
+  }
+
+  public boolean contains(@Nonnull String key) {
+    return Files.exists(entryPath(key));
+  }
+
+  /**
+   * Loads the bodies of the cache entry with the given key.
+   *
+   * @return the bodies of all concrete methods of the class or an empty Optional if there is no
+   *     (valid) entry for the key
+   */
+  @Nonnull
+  public Optional<Map<MethodSubSignature, Body>> load(
+      @Nonnull String key, @Nonnull AnalysisInputLocation inputLocation, @Nonnull View view) {
+    Path entry = entryPath(key);
+    if (!Files.exists(entry)) {
+      return Optional.empty();
+    }
+
+    try {
+      SootClassSource classSource =
+          new JimpleConverter()
+              .run(
+                  CharStreams.fromPath(entry), inputLocation, entry, Collections.emptyList(), view);
+      Map<MethodSubSignature, Body> bodies = new HashMap<>();
+      for (SootMethod method : classSource.resolveMethods()) {
+        if (method.isConcrete()) {
+          bodies.put(
+              method.getSignature().getSubSignature(),
+              renameLocals(
+                  method.getBody(), method.getModifiers(), JimpleBodyCache::decodeLocalName));
+        }
+      }
+      return Optional.of(bodies);
+    } catch (Exception e) {
+      logger.warn("Discarding unreadable body cache entry " + entry, e);
+      try {
+        Files.deleteIfExists(entry);
+      } catch (IOException ignored) {
+        // another process may have replaced it in the meantime
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the given class including the bodies of its concrete methods under the given key.
+   * Failures are logged, as the cache is only an optimization.
+   */
+  public void store(@Nonnull String key, @Nonnull JavaSootClass sootClass) {
+    JavaSootClass encodedClass =
+        sootClass.withMethods(
+            sootClass.getMethods().stream()
+                .map(
+                    method ->
+                        method.hasBody()
+                            ? method.withBody(
+                                renameLocals(
+                                    method.getBody(),
+                                    method.getModifiers(),
+                                    JimpleBodyCache::encodeLocalName))
+                            : method)
+                .collect(Collectors.toList()));
+
+    Path entry = entryPath(key);
+    Path tmpFile = null;
+    try {
+      Files.createDirectories(entry.getParent());
+      tmpFile = Files.createTempFile(entry.getParent(), key, ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8);
+          PrintWriter printWriter = new PrintWriter(writer)) {
+        new JimplePrinter().printTo(encodedClass, printWriter);
+      }
+      try {
+        Files.move(tmpFile, entry, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not write body cache entry " + entry, e);
+      if (tmpFile != null) {
+        try {
+          Files.deleteIfExists(tmpFile);
+        } catch (IOException ignored) {
+          // nothing left to do
+        }
+      }
+    }
+  }
+
+  @Nonnull
+  private static Body renameLocals(
+      @Nonnull Body body,
+      @Nonnull Set<MethodModifier> modifiers,
+      @Nonnull UnaryOperator<String> renaming) {
+    List<Local> renamedLocals =
+        body.getLocals().stream()
+            .filter(local -> !renaming.apply(local.getName()).equals(local.getName()))
+            .collect(Collectors.toList());
+    if (renamedLocals.isEmpty()) {
+      return body;
+    }
+    Body.BodyBuilder builder = Body.builder(body, modifiers);
+    for (Local local : renamedLocals) {
+      builder.replaceLocal(local, local.withName(renaming.apply(local.getName())));
+    }
+    return builder.build();
+  }
+
+  @Nonnull
+  private static String encodeLocalName(@Nonnull String name) {
+    if (PLAIN_LOCAL_NAME.matcher(name).matches()
+        && !name.startsWith(ENCODED_LOCAL_PREFIX)
+        && !Jimple.jimpleKeywordList().contains(name)) {
+      return name;
+    }
+    StringBuilder sb = new StringBuilder(ENCODED_LOCAL_PREFIX);
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+
+  @Nonnull
+  private static String decodeLocalName(@Nonnull String name) {
+    if (!ENCODED_LOCAL_NAME.matcher(name).matches()) {
+      return name;
+    }
+    String hex = name.substring(ENCODED_LOCAL_PREFIX.length());
+    byte[] bytes = new byte[hex.length() / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
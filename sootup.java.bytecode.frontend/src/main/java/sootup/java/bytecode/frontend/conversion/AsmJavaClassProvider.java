@@ -21,18 +21,27 @@ package sootup.java.bytecode.frontend.conversion;
  * #L%
  */
 import java.io.IOException;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
+import sootup.core.frontend.ResolveException;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.core.JavaModuleIdentifierFactory;
@@ -45,8 +54,58 @@ public class AsmJavaClassProvider implements ClassProvider {
   @Nonnull private final View view;
   private static final @Nonnull Logger logger = LoggerFactory.getLogger(AsmJavaClassProvider.class);
 
+  /** Determines when the code of the methods of a class is read from its class file. */
+  public enum MethodCodeMode {
+    /** The code is read together with the class. */
+    EAGER,
+    /**
+     * The class file is read without the code of its methods. A method reads its code from the
+     * retained class file when its body is resolved, so no ASM instruction lists are kept in memory
+     * for methods whose body is never resolved.
+     */
+    LAZY,
+    /**
+     * Only the signatures are read, i.e. the class file is read without the code of its methods and
+     * is not retained. A method reads its class file again when its body is resolved. This suits
+     * tools that mostly query the hierarchy, signatures and modifiers of many classes.
+     */
+    SIGNATURES_ONLY
+  }
+
+  @Nonnull private final MethodCodeMode methodCodeMode;
+
+  /** true if the methods drop their code once their body is resolved */
+  private final boolean releaseMethodCode;
+
   public AsmJavaClassProvider(@Nonnull View view) {
+    this(view, MethodCodeMode.LAZY);
+  }
+
+  /**
+   * @param view the view the classes are created for
+   * @param lazyMethodBodies if true, the code of the methods is read {@link MethodCodeMode#LAZY
+   *     lazily}, otherwise {@link MethodCodeMode#EAGER eagerly}
+   */
+  public AsmJavaClassProvider(@Nonnull View view, boolean lazyMethodBodies) {
+    this(view, lazyMethodBodies ? MethodCodeMode.LAZY : MethodCodeMode.EAGER);
+  }
+
+  public AsmJavaClassProvider(@Nonnull View view, @Nonnull MethodCodeMode methodCodeMode) {
+    this(view, methodCodeMode, false);
+  }
+
+  /**
+   * @param view the view the classes are created for
+   * @param methodCodeMode determines when the code of the methods is read
+   * @param releaseMethodCode if true, a method drops its code once its body is resolved and reads
+   *     the class file again if the body is resolved another time, e.g. by a copy of the method.
+   *     The code read in {@link MethodCodeMode#EAGER} mode is always kept.
+   */
+  public AsmJavaClassProvider(
+      @Nonnull View view, @Nonnull MethodCodeMode methodCodeMode, boolean releaseMethodCode) {
     this.view = view;
+    this.methodCodeMode = methodCodeMode;
+    this.releaseMethodCode = releaseMethodCode;
   }
 
   @Override
@@ -54,27 +113,80 @@ public class AsmJavaClassProvider implements ClassProvider {
       @Nonnull AnalysisInputLocation analysisInputLocation,
       @Nonnull Path sourcePath,
       @Nonnull ClassType classType) {
-
-    SootClassNode classNode;
-    final String actualClassSignature;
+    final byte[] classBytes;
     try {
-      classNode = new SootClassNode(analysisInputLocation);
-      actualClassSignature = AsmUtil.initAsmClassSource(sourcePath, classNode);
+      classBytes = Files.readAllBytes(sourcePath);
     } catch (IOException exception) {
       logger.warn("ioe: " + sourcePath, exception);
       return Optional.empty();
+    }
+    return createClassSource(
+        analysisInputLocation, sourcePath, classType, classBytes, () -> readClassFile(sourcePath));
+  }
+
+  /**
+   * Creates the class source from the content of a class file that has already been read, e.g. from
+   * an archive that is not accessed through a file system.
+   *
+   * @param sourcePath identifies the class file, it does not need to exist in a file system
+   * @param classBytes the content of the class file
+   * @param classFileReader reads the content of the class file again, if the code of the methods
+   *     is not retained, i.e. in {@link MethodCodeMode#SIGNATURES_ONLY} mode or if the code is
+   *     released once a body is resolved. It is not used in {@link MethodCodeMode#EAGER} mode.
+   */
+  @Nonnull
+  public Optional<SootClassSource> createClassSource(
+      @Nonnull AnalysisInputLocation analysisInputLocation,
+      @Nonnull Path sourcePath,
+      @Nonnull ClassType classType,
+      @Nonnull byte[] classBytes,
+      @Nonnull Supplier<byte[]> classFileReader) {
+
+    SootClassNode classNode;
+    final String actualClassSignature;
+    try {
+      switch (methodCodeMode) {
+        case EAGER:
+          classNode =
+              new SootClassNode(analysisInputLocation, sourcePath, null, null, false, false);
+          actualClassSignature =
+              AsmUtil.initAsmClassSource(classBytes, classNode, ClassReader.SKIP_FRAMES);
+          break;
+        case LAZY:
+          classNode =
+              new SootClassNode(
+                  analysisInputLocation,
+                  sourcePath,
+                  classBytes,
+                  releaseMethodCode ? classFileReader : null,
+                  false,
+                  releaseMethodCode);
+          actualClassSignature =
+              AsmUtil.initAsmClassSource(
+                  classBytes, classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+          break;
+        case SIGNATURES_ONLY:
+          classNode =
+              new SootClassNode(
+                  analysisInputLocation,
+                  sourcePath,
+                  null,
+                  classFileReader,
+                  true,
+                  releaseMethodCode);
+          actualClassSignature =
+              AsmUtil.initAsmClassSource(
+                  classBytes, classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+          break;
+        default:
+          throw new IllegalStateException("Unknown method code mode " + methodCodeMode);
+      }
     } catch (IllegalArgumentException exception) {
       logger.warn("iae: " + sourcePath, exception);
       return Optional.empty();
     }
 
-    String requestedName = classType.getPackageName().getName();
-    String requestedFQClassName =
-        classType.getPackageName().getName()
-            + (requestedName.isEmpty() ? "" : ".")
-            + classType.getClassName();
-    String actualFQClassName = actualClassSignature.replace('/', '.');
-    if (!actualFQClassName.equals(requestedFQClassName)) {
+    if (!isRequestedClass(classType, actualClassSignature)) {
       return Optional.empty();
     }
 
@@ -95,6 +207,78 @@ public class AsmJavaClassProvider implements ClassProvider {
     }
   }
 
+  /**
+   * Reads the class file again to restore the code of a method that has been released. The file
+   * system of the class file may have been closed in the meantime, e.g. the one of an archive.
+   */
+  @Nonnull
+  private static byte[] readClassFile(@Nonnull Path sourcePath) {
+    try {
+      return Files.readAllBytes(sourcePath);
+    } catch (IOException | ClosedFileSystemException exception) {
+      throw new ResolveException("Could not read the class file again", sourcePath, exception);
+    }
+  }
+
+  /**
+   * Reads only the header of the class file at the given path, i.e. its access flags and direct
+   * supertypes, without visiting its fields, methods or code. Returns an empty Optional in the same
+   * cases in which {@link #createClassSource} does.
+   */
+  @Nonnull
+  public Optional<ClassHeader> createClassHeader(
+      @Nonnull Path sourcePath, @Nonnull ClassType classType) {
+    final byte[] classBytes;
+    try {
+      classBytes = Files.readAllBytes(sourcePath);
+    } catch (IOException exception) {
+      logger.warn("ioe: " + sourcePath, exception);
+      return Optional.empty();
+    }
+    return createClassHeader(sourcePath, classType, classBytes);
+  }
+
+  /**
+   * Like {@link #createClassHeader(Path, ClassType)}, but reads the header from the content of a
+   * class file that has already been read.
+   */
+  @Nonnull
+  public Optional<ClassHeader> createClassHeader(
+      @Nonnull Path sourcePath, @Nonnull ClassType classType, @Nonnull byte[] classBytes) {
+    final ClassReader classReader;
+    try {
+      classReader = new ClassReader(classBytes);
+    } catch (IllegalArgumentException exception) {
+      logger.warn("iae: " + sourcePath, exception);
+      return Optional.empty();
+    }
+
+    if (!isRequestedClass(classType, classReader.getClassName())
+        || (classType instanceof ModuleJavaClassType
+            && classType.getClassName().equals(JavaModuleIdentifierFactory.MODULE_INFO_FILE))) {
+      return Optional.empty();
+    }
+
+    String superName = classReader.getSuperName();
+    return Optional.of(
+        new ClassHeader(
+            classType,
+            superName == null ? null : AsmUtil.toJimpleClassType(superName),
+            AsmUtil.asmIdToSignature(Arrays.asList(classReader.getInterfaces())),
+            (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0));
+  }
+
+  private static boolean isRequestedClass(
+      @Nonnull ClassType classType, @Nonnull String actualClassSignature) {
+    String requestedName = classType.getPackageName().getName();
+    String requestedFQClassName =
+        classType.getPackageName().getName()
+            + (requestedName.isEmpty() ? "" : ".")
+            + classType.getClassName();
+    String actualFQClassName = actualClassSignature.replace('/', '.');
+    return actualFQClassName.equals(requestedFQClassName);
+  }
+
   @Override
   @Nonnull
   public FileType getHandledFileType() {
@@ -105,9 +289,40 @@ public class AsmJavaClassProvider implements ClassProvider {
 
     private final AnalysisInputLocation analysisInputLocation;
 
-    SootClassNode(AnalysisInputLocation analysisInputLocation) {
+    /** the interceptors of the input location, shared by all methods */
+    @Nonnull private final BodyInterceptorPipeline bodyInterceptorPipeline;
+
+    /** the class file to read the code of the methods from, if it is skipped */
+    @Nullable private final byte[] lazyClassBytes;
+
+    /** identifies the class file, it does not need to exist in a file system */
+    @Nonnull private final Path sourcePath;
+
+    /** reads the class file again if the code of the methods is not retained */
+    @Nullable private final Supplier<byte[]> classFileReader;
+
+    /** true if the methods read their code from the class file reader, as it is not retained */
+    private final boolean signaturesOnly;
+
+    /** true if the methods drop their code once their body is resolved */
+    private final boolean releaseCode;
+
+    SootClassNode(
+        AnalysisInputLocation analysisInputLocation,
+        @Nonnull Path sourcePath,
+        @Nullable byte[] lazyClassBytes,
+        @Nullable Supplier<byte[]> classFileReader,
+        boolean signaturesOnly,
+        boolean releaseCode) {
       super(AsmUtil.SUPPORTED_ASM_OPCODE);
       this.analysisInputLocation = analysisInputLocation;
+      this.bodyInterceptorPipeline =
+          BodyInterceptorPipeline.of(analysisInputLocation.getBodyInterceptors());
+      this.sourcePath = sourcePath;
+      this.lazyClassBytes = lazyClassBytes;
+      this.classFileReader = classFileReader;
+      this.signaturesOnly = signaturesOnly;
+      this.releaseCode = releaseCode;
     }
 
     @Override
@@ -127,7 +342,19 @@ public class AsmJavaClassProvider implements ClassProvider {
               signature,
               exceptions,
               view,
-              analysisInputLocation.getBodyInterceptors());
+              bodyInterceptorPipeline);
+      if (lazyClassBytes != null) {
+        mn.setLazyClassBytes(lazyClassBytes);
+      }
+      if (classFileReader != null) {
+        mn.setClassFileReader(sourcePath, classFileReader);
+        if (signaturesOnly) {
+          mn.readCodeFromClassFileReader();
+        }
+        if (releaseCode) {
+          mn.releaseCodeAfterResolution();
+        }
+      }
       methods.add(mn);
       return mn;
     }
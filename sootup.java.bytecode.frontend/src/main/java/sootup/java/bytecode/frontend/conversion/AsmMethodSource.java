@@ -27,6 +27,7 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Table;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
@@ -35,11 +36,19 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ConstantDynamic;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.TypePath;
 import org.objectweb.asm.commons.JSRInlinerAdapter;
 import org.objectweb.asm.tree.*;
 import sootup.core.frontend.BodySource;
+import sootup.core.frontend.ResolveException;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.*;
@@ -51,7 +60,7 @@ import sootup.core.jimple.javabytecode.stmt.JSwitchStmt;
 import sootup.core.model.*;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
-import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.*;
 import sootup.core.util.Modifiers;
 import sootup.core.views.View;
@@ -79,25 +88,25 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   // + "altMetafactory(java.lang.invoke.MethodHandles$Lookup,"
   // + "java.lang.String,java.lang.invoke.MethodType,java.lang.Object[])>";
 
-  /* -state fields- */
+  /* -state fields- only set while the body is resolved */
   private int nextLocal;
   private List<JavaLocal> locals;
   private LinkedListMultimap<BranchingStmt, LabelNode> stmtsThatBranchToLabel;
   private Map<AbstractInsnNode, Stmt> insnToStmt;
 
-  @Nonnull private final Map<Stmt, Stmt> replacedStmt = new HashMap<>();
+  private Map<Stmt, Stmt> replacedStmt;
 
   private OperandStack operandStack;
   private Map<LabelNode, Stmt> trapHandler;
 
   /** Labels at which a trap handler range (try block) begins */
-  private final Map<LabelNode, TryCatchBlockNode> startTrapHandler = new HashMap<>();
+  private Map<LabelNode, TryCatchBlockNode> startTrapHandler;
 
   /** Labels at which a trap handler range (try block) ends */
-  private final Map<LabelNode, TryCatchBlockNode> endTrapHandler = new HashMap<>();
+  private Map<LabelNode, TryCatchBlockNode> endTrapHandler;
 
   /** Keeps track of all trap handlers that are active at the current instruction */
-  Set<TryCatchBlockNode> activeTrapHandlers = new HashSet<>();
+  Set<TryCatchBlockNode> activeTrapHandlers;
 
   private int currentLineNumber = -1;
   private int maxLineNumber = 0;
@@ -105,17 +114,44 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   @Nullable private JavaClassType declaringClass;
 
   private final View view;
-  private final List<BodyInterceptor> bodyInterceptors;
+  @Nonnull private final BodyInterceptorPipeline bodyInterceptorPipeline;
 
-  @Nonnull private final Set<LabelNode> inlineExceptionLabels = new HashSet<>();
+  private Set<LabelNode> inlineExceptionLabels;
 
-  @Nonnull private final Map<LabelNode, JIdentityStmt> inlineExceptionHandlers = new HashMap<>();
+  private Map<LabelNode, JIdentityStmt> inlineExceptionHandlers;
 
-  @Nonnull private final Map<LabelNode, Stmt> labelsToStmt = new HashMap<>();
+  private Map<LabelNode, Stmt> labelsToStmt;
 
   private final JavaIdentifierFactory identifierFactory;
   private final Supplier<MethodSignature> lazyMethodSignature;
 
+  /**
+   * the class file to read the code of this method from when the body is resolved, or null if the
+   * code has been read together with the class or has already been read
+   */
+  @Nullable private byte[] lazyClassBytes;
+
+  /**
+   * reads the class file again if the code of this method has not been retained, or null if the
+   * code is kept together with this method source
+   */
+  @Nullable private Supplier<byte[]> classFileReader;
+
+  /** identifies the class file which is read again by the {@link #classFileReader} */
+  @Nullable private Path classFilePath;
+
+  /** true if the code is dropped once the body is resolved, as it can be read again */
+  private boolean releaseCode;
+
+  /** true if the code has not been read yet or has been released after the body was resolved */
+  private boolean codeReleased;
+
+  /**
+   * true if the code contains subroutines. They are inlined while the code is read and the inliner
+   * keeps its state, so such code can not be read a second time.
+   */
+  private boolean hasSubroutines;
+
   AsmMethodSource(
       int access,
       @Nonnull String name,
@@ -123,9 +159,9 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
       @Nonnull String signature,
       @Nonnull String[] exceptions,
       View view,
-      @Nonnull List<BodyInterceptor> bodyInterceptors) {
+      @Nonnull BodyInterceptorPipeline bodyInterceptorPipeline) {
     super(AsmUtil.SUPPORTED_ASM_OPCODE, null, access, name, desc, signature, exceptions);
-    this.bodyInterceptors = bodyInterceptors;
+    this.bodyInterceptorPipeline = bodyInterceptorPipeline;
     this.view = view;
 
     identifierFactory = (JavaIdentifierFactory) view.getIdentifierFactory();
@@ -149,6 +185,131 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     this.declaringClass = (JavaClassType) declaringClass;
   }
 
+  /**
+   * Defers reading the code of this method. The class has been read without the code, which will be
+   * read from the given class file when the body is resolved.
+   */
+  void setLazyClassBytes(@Nonnull byte[] classBytes) {
+    this.lazyClassBytes = classBytes;
+  }
+
+  /**
+   * Sets the reader which returns the class file again, if the code of this method is not retained.
+   */
+  void setClassFileReader(@Nonnull Path classFilePath, @Nonnull Supplier<byte[]> classFileReader) {
+    this.classFilePath = classFilePath;
+    this.classFileReader = classFileReader;
+  }
+
+  /**
+   * Reads the code of this method from the class file reader when the body is resolved. The class
+   * has been read without the code and the class file has not been retained.
+   */
+  void readCodeFromClassFileReader() {
+    this.codeReleased = true;
+  }
+
+  /**
+   * Drops the code of this method once its body has been resolved. It is read again from the class
+   * file reader if the body is resolved another time.
+   */
+  void releaseCodeAfterResolution() {
+    this.releaseCode = true;
+  }
+
+  @Override
+  public void visitJumpInsn(int opcode, Label label) {
+    if (opcode == JSR) {
+      hasSubroutines = true;
+    }
+    super.visitJumpInsn(opcode, label);
+  }
+
+  /**
+   * Reads the code of this method from the class file if it has been deferred or released after a
+   * previous resolution of the body.
+   *
+   * @throws ResolveException if the class file has been changed and does not contain this method
+   *     anymore
+   */
+  private void readLazyCode() {
+    byte[] classBytes = lazyClassBytes;
+    if (classBytes == null) {
+      if (!codeReleased) {
+        return;
+      }
+      classBytes = classFileReader.get();
+      codeReleased = false;
+    }
+    lazyClassBytes = null;
+    boolean[] found = {false};
+    new ClassReader(classBytes)
+        .accept(
+            new ClassVisitor(AsmUtil.SUPPORTED_ASM_OPCODE) {
+              @Override
+              public MethodVisitor visitMethod(
+                  int access,
+                  String methodName,
+                  String methodDesc,
+                  String signature,
+                  String[] exceptions) {
+                if (name.equals(methodName) && desc.equals(methodDesc)) {
+                  found[0] = true;
+                  return new CodeVisitor();
+                }
+                return null;
+              }
+            },
+            ClassReader.SKIP_FRAMES);
+    if (!found[0]) {
+      throw new ResolveException(
+          "The method " + getSignature() + " is missing from the changed class file",
+          classFilePath);
+    }
+  }
+
+  /**
+   * Forwards only the code of a method to this method source, since the signature, parameters and
+   * annotations have already been read together with the class.
+   */
+  private class CodeVisitor extends MethodVisitor {
+
+    private CodeVisitor() {
+      super(AsmUtil.SUPPORTED_ASM_OPCODE, AsmMethodSource.this);
+    }
+
+    @Override
+    public void visitParameter(String name, int access) {}
+
+    @Override
+    public AnnotationVisitor visitAnnotationDefault() {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(
+        int typeRef, TypePath typePath, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitAnnotableParameterCount(int parameterCount, boolean visible) {}
+
+    @Override
+    public AnnotationVisitor visitParameterAnnotation(
+        int parameter, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitAttribute(Attribute attribute) {}
+  }
+
   StmtPositionInfo getStmtPositionInfo() {
     return currentLineNumber > 0
         ? new SimpleStmtPositionInfo(currentLineNumber)
@@ -158,6 +319,26 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   @Override
   @Nonnull
   public Body resolveBody(@Nonnull Iterable<MethodModifier> modifierIt) {
+    Body.BodyBuilder bodyBuilder = convertCode();
+    bodyInterceptorPipeline.interceptBody(
+        bodyBuilder,
+        view,
+        bodyInterceptor ->
+            bodyBuilder
+                .getStmtGraph()
+                .validateStmtConnectionsInGraph()); // TODO: remove in the future ;-)
+    return bodyBuilder.build();
+  }
+
+  /**
+   * Converts the code of this method into a body that has not been intercepted yet. The conversion
+   * keeps its state in this method source and may read the class file again, so it is synchronized:
+   * several SootMethods share this method source, e.g. the copies created by {@link
+   * sootup.core.model.SootMethod#withModifiers}, and resolve their bodies concurrently.
+   */
+  @Nonnull
+  private synchronized Body.BodyBuilder convertCode() {
+    readLazyCode();
 
     /* initialize */
     nextLocal = maxLocals;
@@ -169,6 +350,15 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     insnToStmt = new LinkedHashMap<>(instructions.size());
     operandStack = new OperandStack(this, instructions.size());
     trapHandler = new LinkedHashMap<>(tryCatchBlocks.size());
+    replacedStmt = new HashMap<>();
+    startTrapHandler = new HashMap<>();
+    endTrapHandler = new HashMap<>();
+    activeTrapHandlers = new HashSet<>();
+    inlineExceptionLabels = new HashSet<>();
+    inlineExceptionHandlers = new HashMap<>();
+    labelsToStmt = new HashMap<>();
+    currentLineNumber = -1;
+    maxLineNumber = 0;
 
     /* retrieve all trap handlers */
     for (TryCatchBlockNode tc : tryCatchBlocks) {
@@ -223,26 +413,39 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
       bodyBuilder.setPosition(NoPositionInformation.getInstance());
     }
 
-    /* clean up for gc */
+    releaseConversionState();
+
+    bodyBuilder.setMethodSignature(lazyMethodSignature.get());
+    return bodyBuilder;
+  }
+
+  /**
+   * Drops everything that is only needed to convert the code, so that a resolved method source only
+   * keeps what is needed to create its {@link sootup.core.model.SootMethod}. The ASM code is
+   * released as well if this has been requested and the code can be read again.
+   */
+  private void releaseConversionState() {
     locals = null;
     stmtsThatBranchToLabel = null;
     insnToStmt = null;
+    replacedStmt = null;
     operandStack = null;
-
-    bodyBuilder.setMethodSignature(lazyMethodSignature.get());
-
-    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
-      try {
-        bodyInterceptor.interceptBody(bodyBuilder, view);
-        bodyBuilder
-            .getStmtGraph()
-            .validateStmtConnectionsInGraph(); // TODO: remove in the future ;-)
-      } catch (Exception e) {
-        throw new IllegalStateException(
-            "Failed to apply " + bodyInterceptor + " to " + lazyMethodSignature.get(), e);
-      }
+    trapHandler = null;
+    startTrapHandler = null;
+    endTrapHandler = null;
+    activeTrapHandlers = null;
+    inlineExceptionLabels = null;
+    inlineExceptionHandlers = null;
+    labelsToStmt = null;
+
+    if (releaseCode && classFileReader != null && !hasSubroutines) {
+      instructions = new InsnList();
+      tryCatchBlocks = new ArrayList<>(0);
+      localVariables = null;
+      visibleLocalVariableAnnotations = null;
+      invisibleLocalVariableAnnotations = null;
+      codeReleased = true;
     }
-    return bodyBuilder.build();
   }
 
   @Override
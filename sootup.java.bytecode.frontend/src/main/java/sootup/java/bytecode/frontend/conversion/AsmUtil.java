@@ -75,6 +75,21 @@ public final class AsmUtil {
     }
   }
 
+  /**
+   * Initializes a class node.
+   *
+   * @param classBytes The content of the class file.
+   * @param classNode The node to initialize
+   * @param parsingOptions the options of {@link ClassReader#accept(ClassVisitor, int)}
+   * @return the actual class signature found in the compilation unit
+   */
+  protected static String initAsmClassSource(
+      @Nonnull byte[] classBytes, @Nonnull ClassVisitor classNode, int parsingOptions) {
+    ClassReader clsr = new ClassReader(classBytes);
+    clsr.accept(classNode, parsingOptions);
+    return clsr.getClassName();
+  }
+
   /**
    * Determines if a type is a dword type.
    *
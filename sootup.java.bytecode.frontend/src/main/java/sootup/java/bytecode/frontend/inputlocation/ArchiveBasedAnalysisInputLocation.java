@@ -34,12 +34,12 @@ import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.interceptors.BytecodeBodyInterceptors;
-import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.types.JavaClassType;
 
@@ -100,24 +100,31 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
     try {
       FileSystem fs = fileSystemCache.get(path);
       final Path archiveRoot = fs.getPath("/");
-      // TODO: dont create a new AsmJavaClassProvider all the time!
-      return getClassSourceInternal(
-          (JavaClassType) type, archiveRoot, new AsmJavaClassProvider(view));
+      return getClassSourceInternal((JavaClassType) type, archiveRoot, getClassProvider(view));
     } catch (ExecutionException e) {
       throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
     }
   }
 
-  /** returns a Autocloseable resource that must be closed! */
   @Override
   @Nonnull
   public Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
     try {
       FileSystem fs = fileSystemCache.get(path);
       final Path archiveRoot = fs.getPath("/");
-      // TODO: dont create a new AsmJavaClassProvider all the time!
-      return walkDirectory(
-          archiveRoot, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+      return walkDirectory(archiveRoot, view.getIdentifierFactory(), getClassProvider(view));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    try {
+      FileSystem fs = fileSystemCache.get(path);
+      final Path archiveRoot = fs.getPath("/");
+      return walkDirectoryHeaders(archiveRoot, view.getIdentifierFactory(), getClassProvider(view));
     } catch (ExecutionException e) {
       throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
     }
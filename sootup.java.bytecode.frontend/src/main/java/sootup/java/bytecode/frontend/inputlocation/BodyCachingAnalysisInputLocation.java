@@ -0,0 +1,233 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.bytecode.frontend.cache.BodyCachingClassSource;
+import sootup.java.bytecode.frontend.cache.JimpleBodyCache;
+import sootup.java.core.JavaAnnotationSootClassSource;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Wraps an {@link AnalysisInputLocation} and persists the converted (i.e. intercepted) bodies of
+ * its classes in a {@link JimpleBodyCache}. Later runs over unchanged class files load the bodies
+ * from the cache instead of converting the bytecode and applying the body interceptors again.
+ *
+ * <pre>{@code
+ * AnalysisInputLocation rt =
+ *     new BodyCachingAnalysisInputLocation(
+ *         new DefaultRuntimeAnalysisInputLocation(), Paths.get("/tmp/sootup-body-cache"));
+ * }</pre>
+ *
+ * <p>The bodies of a class are only cached if every body interceptor has a {@link
+ * BodyInterceptor#getCacheFingerprint() fingerprint}. If an interceptor {@link
+ * BodyInterceptor#dependsOnClassPath() depends on the class path}, like the TypeAssigner of the
+ * default interceptors, the entries are additionally bound to the classes that are visible:
+ *
+ * <ul>
+ *   <li>for the runtime of the JVM, these are the classes of the runtime itself, as they are loaded
+ *       by the bootstrap class loader. Their entries stay valid when the rest of the class path
+ *       changes.
+ *   <li>for any other location, these are all classes of the {@link JavaView}. A changed file on
+ *       the class path (by path, size and modification time) invalidates the entries of all such
+ *       locations of the view. Views with locations whose content can not be fingerprinted, i.e.
+ *       that are not made of class files, directories, archives and the runtime of the JVM, are not
+ *       cached.
+ * </ul>
+ *
+ * <p>Note: the Jimple representation does not contain the line numbers of the bytecode, so
+ * positions of statements that are loaded from the cache refer to the cached Jimple file.
+ */
+public class BodyCachingAnalysisInputLocation implements AnalysisInputLocation {
+
+  private static final @Nonnull Logger logger =
+      LoggerFactory.getLogger(BodyCachingAnalysisInputLocation.class);
+
+  @Nonnull private final AnalysisInputLocation delegate;
+  @Nonnull private final JimpleBodyCache cache;
+
+  /** the class path fingerprints of the views this location is used in; empty if unknown */
+  @Nonnull
+  private final Map<View, Optional<String>> classPathFingerprints =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  public BodyCachingAnalysisInputLocation(
+      @Nonnull AnalysisInputLocation delegate, @Nonnull Path cacheDirectory) {
+    this(delegate, new JimpleBodyCache(cacheDirectory));
+  }
+
+  public BodyCachingAnalysisInputLocation(
+      @Nonnull AnalysisInputLocation delegate, @Nonnull JimpleBodyCache cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<? extends SootClassSource> getClassSource(
+      @Nonnull ClassType type, @Nonnull View view) {
+    return delegate.getClassSource(type, view).map(classSource -> wrap(classSource, view));
+  }
+
+  @Nonnull
+  @Override
+  public Stream<? extends SootClassSource> getClassSources(@Nonnull View view) {
+    return delegate.getClassSources(view).map(classSource -> wrap(classSource, view));
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return delegate.getClassHeaders(view);
+  }
+
+  @Nonnull
+  private SootClassSource wrap(@Nonnull SootClassSource classSource, @Nonnull View view) {
+    // annotations have no bodies worth caching and need their specialized class source
+    if (!(classSource instanceof JavaSootClassSource)
+        || classSource instanceof JavaAnnotationSootClassSource) {
+      return classSource;
+    }
+    String classPathFingerprint = null;
+    if (getBodyInterceptors().stream().anyMatch(BodyInterceptor::dependsOnClassPath)) {
+      classPathFingerprint =
+          classPathFingerprints
+              .computeIfAbsent(view, this::computeClassPathFingerprint)
+              .orElse(null);
+    }
+    return new BodyCachingClassSource(
+        (JavaSootClassSource) classSource, cache, view, classPathFingerprint);
+  }
+
+  @Nonnull
+  private Optional<String> computeClassPathFingerprint(@Nonnull View view) {
+    if (isRuntime(delegate)) {
+      // the bootstrap class loader does not see the classes of the class path
+      return Optional.of(runtimeFingerprint());
+    }
+    if (!(view instanceof JavaView)) {
+      return Optional.empty();
+    }
+    List<Path> paths = new ArrayList<>();
+    StringBuilder runtimes = new StringBuilder();
+    for (AnalysisInputLocation location : ((JavaView) view).getInputLocations()) {
+      if (!collectFingerprintedContent(location, paths, runtimes)) {
+        return Optional.empty();
+      }
+    }
+    try {
+      return Optional.of(runtimes + JimpleBodyCache.fingerprintFiles(paths));
+    } catch (IOException e) {
+      logger.debug("Can not fingerprint the class path " + paths, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Collects what determines the classes of the given location.
+   *
+   * @return false if the content of the location can not be fingerprinted
+   */
+  private static boolean collectFingerprintedContent(
+      @Nonnull AnalysisInputLocation location,
+      @Nonnull List<Path> paths,
+      @Nonnull StringBuilder runtimes) {
+    if (location instanceof BodyCachingAnalysisInputLocation) {
+      return collectFingerprintedContent(
+          ((BodyCachingAnalysisInputLocation) location).delegate, paths, runtimes);
+    } else if (location instanceof JavaClassPathAnalysisInputLocation) {
+      for (AnalysisInputLocation entry :
+          ((JavaClassPathAnalysisInputLocation) location).getClassPathEntries()) {
+        if (!collectFingerprintedContent(entry, paths, runtimes)) {
+          return false;
+        }
+      }
+      return true;
+    } else if (location instanceof PathBasedAnalysisInputLocation) {
+      paths.add(((PathBasedAnalysisInputLocation) location).path);
+      return true;
+    } else if (isRuntime(location)) {
+      runtimes.append(runtimeFingerprint());
+      return true;
+    }
+    return false;
+  }
+
+  private static boolean isRuntime(@Nonnull AnalysisInputLocation location) {
+    return location instanceof DefaultRuntimeAnalysisInputLocation
+        || location instanceof JrtFileSystemAnalysisInputLocation;
+  }
+
+  @Nonnull
+  private static String runtimeFingerprint() {
+    return System.getProperty("java.home") + '|' + System.getProperty("java.runtime.version") + '|';
+  }
+
+  @Nonnull
+  @Override
+  public SourceType getSourceType() {
+    return delegate.getSourceType();
+  }
+
+  @Nonnull
+  @Override
+  public List<BodyInterceptor> getBodyInterceptors() {
+    return delegate.getBodyInterceptors();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BodyCachingAnalysisInputLocation)) {
+      return false;
+    }
+    BodyCachingAnalysisInputLocation that = (BodyCachingAnalysisInputLocation) o;
+    return delegate.equals(that.delegate) && cache.getDirectory().equals(that.cache.getDirectory());
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode() * 31 + cache.getDirectory().hashCode();
+  }
+}
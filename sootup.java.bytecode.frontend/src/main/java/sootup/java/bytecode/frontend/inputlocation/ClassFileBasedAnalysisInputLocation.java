@@ -30,9 +30,11 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FilenameUtils;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
+import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
 import sootup.interceptors.BytecodeBodyInterceptors;
 import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
@@ -79,13 +81,13 @@ public class ClassFileBasedAnalysisInputLocation extends PathBasedAnalysisInputL
       return Optional.empty();
     }
 
-    return getSingleClass((JavaClassType) type, path, new AsmJavaClassProvider(view));
+    return getSingleClass((JavaClassType) type, path, getClassProvider(view));
   }
 
   @Nonnull
   @Override
   public Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
-    AsmJavaClassProvider classProvider = new AsmJavaClassProvider(view);
+    AsmJavaClassProvider classProvider = getClassProvider(view);
     IdentifierFactory factory = view.getIdentifierFactory();
     Path dirPath = this.path.getParent();
 
@@ -99,6 +101,17 @@ public class ClassFileBasedAnalysisInputLocation extends PathBasedAnalysisInputL
     return Stream.of(javaSootClassSource.get());
   }
 
+  @Nonnull
+  @Override
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    AsmJavaClassProvider classProvider = getClassProvider(view);
+    IdentifierFactory factory = view.getIdentifierFactory();
+    final String fullyQualifiedName = fromPath(this.path.getParent(), path);
+
+    return StreamUtils.optionalToStream(
+        classProvider.createClassHeader(path, factory.getClassType(fullyQualifiedName)));
+  }
+
   @Nonnull
   protected String fromPath(@Nonnull Path baseDirPath, Path packageNamePathAndClass) {
     String str =
@@ -0,0 +1,270 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.inputlocation.AnalysisInputLocation;
+
+/**
+ * Maps package names to the class path entries that may contain classes of the package, so a lookup
+ * only has to ask those entries instead of every entry of the class path. The packages of plain jar
+ * archives are read from their central directories. Every other entry, e.g. a directory or a war
+ * archive, is asked for every package.
+ *
+ * <p>Optionally, the packages of the archives are persisted in an index file. An archive whose
+ * modification time and size did not change since the file was written is not opened again.
+ */
+final class ClassPathPackageIndex {
+
+  private static final @Nonnull Logger logger =
+      LoggerFactory.getLogger(ClassPathPackageIndex.class);
+
+  /** increase whenever the format of the index file changes incompatibly */
+  private static final String FORMAT_VERSION = "sootup-package-index-1";
+
+  /** the candidates of each package, in class path order */
+  @Nonnull private final Map<String, int[]> entriesByPackage;
+
+  /** the entries that are candidates for every package, in class path order */
+  @Nonnull private final int[] unindexedEntries;
+
+  /**
+   * @param cpEntries the entries of the class path
+   * @param indexFile the file the packages of the archives are persisted in, or null
+   */
+  ClassPathPackageIndex(
+      @Nonnull List<? extends AnalysisInputLocation> cpEntries, @Nullable Path indexFile) {
+    Map<String, ArchivePackages> persisted =
+        indexFile == null ? Collections.emptyMap() : read(indexFile);
+    Map<String, ArchivePackages> current = new LinkedHashMap<>();
+
+    Map<String, List<Integer>> candidates = new HashMap<>();
+    List<Integer> unindexed = new ArrayList<>();
+    for (int i = 0; i < cpEntries.size(); i++) {
+      ArchivePackages archive = packagesOf(cpEntries.get(i), persisted);
+      if (archive == null) {
+        // the entry is a candidate for every package, including those of other entries
+        unindexed.add(i);
+        for (List<Integer> entries : candidates.values()) {
+          entries.add(i);
+        }
+        continue;
+      }
+      current.put(archive.path, archive);
+      for (String packageName : archive.packages) {
+        int entry = i;
+        candidates.computeIfAbsent(packageName, p -> new ArrayList<>(unindexed)).add(entry);
+      }
+    }
+
+    entriesByPackage = new HashMap<>(candidates.size() * 2);
+    candidates.forEach(
+        (packageName, entries) -> entriesByPackage.put(packageName, toArray(entries)));
+    unindexedEntries = toArray(unindexed);
+
+    if (indexFile != null) {
+      // keep the archives of other class paths that share the index file
+      Map<String, ArchivePackages> updated = new LinkedHashMap<>(persisted);
+      updated.putAll(current);
+      if (!updated.equals(persisted)) {
+        write(indexFile, updated.values());
+      }
+    }
+  }
+
+  /** Returns the indices of the class path entries that may contain the given class. */
+  @Nonnull
+  int[] entriesOf(@Nonnull String fullyQualifiedClassName) {
+    int lastDot = fullyQualifiedClassName.lastIndexOf('.');
+    String packageName = lastDot < 0 ? "" : fullyQualifiedClassName.substring(0, lastDot);
+    return entriesByPackage.getOrDefault(packageName, unindexedEntries);
+  }
+
+  /**
+   * Returns the packages of the given entry, or null if the entry can not be indexed and needs to
+   * be asked for every package.
+   */
+  @Nullable
+  private static ArchivePackages packagesOf(
+      @Nonnull AnalysisInputLocation entry, @Nonnull Map<String, ArchivePackages> persisted) {
+    // subclasses like the war or multi release archives place classes in other directories
+    if (entry.getClass() != ArchiveBasedAnalysisInputLocation.class
+        && entry.getClass() != MappedJarAnalysisInputLocation.class) {
+      return null;
+    }
+    Path archivePath = ((PathBasedAnalysisInputLocation) entry).path;
+    try {
+      String path = archivePath.toAbsolutePath().normalize().toString();
+      long lastModified = Files.getLastModifiedTime(archivePath).toMillis();
+      long size = Files.size(archivePath);
+      ArchivePackages archive = persisted.get(path);
+      if (archive != null && archive.lastModified == lastModified && archive.size == size) {
+        return archive;
+      }
+      return new ArchivePackages(path, lastModified, size, readPackages(archivePath));
+    } catch (IOException e) {
+      logger.warn("Could not index the packages of " + archivePath, e);
+      return null;
+    }
+  }
+
+  /** Reads the packages of all class files from the central directory of the given archive. */
+  @Nonnull
+  private static Set<String> readPackages(@Nonnull Path archivePath) throws IOException {
+    Set<String> packages = new TreeSet<>();
+    try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (!name.endsWith(".class") || name.startsWith("META-INF/")) {
+          continue;
+        }
+        int lastSlash = name.lastIndexOf('/');
+        packages.add(lastSlash < 0 ? "" : name.substring(0, lastSlash).replace('/', '.'));
+      }
+    }
+    return packages;
+  }
+
+  /**
+   * Reads the persisted packages. An unreadable or outdated index file is ignored, as it is only an
+   * optimization.
+   */
+  @Nonnull
+  private static Map<String, ArchivePackages> read(@Nonnull Path indexFile) {
+    if (!Files.exists(indexFile)) {
+      return Collections.emptyMap();
+    }
+    Map<String, ArchivePackages> archives = new LinkedHashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+      if (!FORMAT_VERSION.equals(reader.readLine())) {
+        return Collections.emptyMap();
+      }
+      String line;
+      while ((line = reader.readLine()) != null) {
+        // path, modification time, size and the packages, separated by tabs
+        String[] columns = line.split("\t", -1);
+        Set<String> packages = new TreeSet<>(Arrays.asList(columns).subList(3, columns.length));
+        ArchivePackages archive =
+            new ArchivePackages(
+                columns[0], Long.parseLong(columns[1]), Long.parseLong(columns[2]), packages);
+        archives.put(archive.path, archive);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Ignoring the unreadable package index " + indexFile, e);
+      return Collections.emptyMap();
+    }
+    return archives;
+  }
+
+  /** Writes the index file atomically. Failures are logged, as the file is only an optimization. */
+  private static void write(
+      @Nonnull Path indexFile, @Nonnull Collection<ArchivePackages> archives) {
+    Path tmpFile = null;
+    try {
+      Path directory = indexFile.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      tmpFile = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+        writer.write(FORMAT_VERSION);
+        writer.newLine();
+        for (ArchivePackages archive : archives) {
+          writer.write(archive.path + "\t" + archive.lastModified + "\t" + archive.size);
+          for (String packageName : archive.packages) {
+            writer.write("\t" + packageName);
+          }
+          writer.newLine();
+        }
+      }
+      try {
+        Files.move(tmpFile, indexFile, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not write the package index " + indexFile, e);
+      if (tmpFile != null) {
+        try {
+          Files.deleteIfExists(tmpFile);
+        } catch (IOException ignored) {
+          // nothing left to do
+        }
+      }
+    }
+  }
+
+  @Nonnull
+  private static int[] toArray(@Nonnull List<Integer> list) {
+    return list.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /** The packages of an archive together with the attributes they were read at. */
+  private static final class ArchivePackages {
+    @Nonnull private final String path;
+    private final long lastModified;
+    private final long size;
+    @Nonnull private final Set<String> packages;
+
+    private ArchivePackages(
+        @Nonnull String path, long lastModified, long size, @Nonnull Set<String> packages) {
+      this.path = path;
+      this.lastModified = lastModified;
+      this.size = size;
+      this.packages = packages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ArchivePackages)) {
+        return false;
+      }
+      ArchivePackages that = (ArchivePackages) o;
+      return lastModified == that.lastModified
+          && size == that.size
+          && path.equals(that.path)
+          && packages.equals(that.packages);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, lastModified, size, packages);
+    }
+  }
+}
@@ -24,8 +24,10 @@ package sootup.java.bytecode.frontend.inputlocation;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
@@ -33,12 +35,18 @@ import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 
 /** AnalysisInputLocation that points to the shipped Java Runtime of the current JVM execution */
 public class DefaultRuntimeAnalysisInputLocation implements AnalysisInputLocation {
 
   @Nonnull private final AnalysisInputLocation backingInputLocation;
 
+  /** forwards the mode to the backing input location, whichever kind of runtime it is */
+  @Nonnull private final Consumer<AsmJavaClassProvider.MethodCodeMode> methodCodeModeSetter;
+
+  @Nonnull private AsmJavaClassProvider.MethodCodeMode methodCodeMode;
+
   public DefaultRuntimeAnalysisInputLocation() {
     this(SourceType.Library);
   }
@@ -53,12 +61,35 @@ public class DefaultRuntimeAnalysisInputLocation implements AnalysisInputLocatio
     String version = System.getProperty("java.version");
     // are we using Java 8 or lower in the current JVM execution?
     if (version.startsWith("1.")) {
-      backingInputLocation = new DefaultRTJarAnalysisInputLocation(srcType, bodyInterceptors);
+      DefaultRTJarAnalysisInputLocation rtJar =
+          new DefaultRTJarAnalysisInputLocation(srcType, bodyInterceptors);
+      backingInputLocation = rtJar;
+      methodCodeModeSetter = rtJar::setMethodCodeMode;
+      methodCodeMode = rtJar.getMethodCodeMode();
     } else {
-      backingInputLocation = new JrtFileSystemAnalysisInputLocation(srcType, bodyInterceptors);
+      JrtFileSystemAnalysisInputLocation jrt =
+          new JrtFileSystemAnalysisInputLocation(srcType, bodyInterceptors);
+      backingInputLocation = jrt;
+      methodCodeModeSetter = jrt::setMethodCodeMode;
+      methodCodeMode = jrt.getMethodCodeMode();
     }
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return methodCodeMode;
+  }
+
+  /**
+   * Sets when the code of the methods of the runtime classes is read.
+   *
+   * @see JrtFileSystemAnalysisInputLocation#setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode)
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    this.methodCodeMode = methodCodeMode;
+    methodCodeModeSetter.accept(methodCodeMode);
+  }
+
   @Nonnull
   @Override
   public Optional<? extends SootClassSource> getClassSource(
@@ -72,6 +103,12 @@ public class DefaultRuntimeAnalysisInputLocation implements AnalysisInputLocatio
     return backingInputLocation.getClassSources(view);
   }
 
+  @Nonnull
+  @Override
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return backingInputLocation.getClassHeaders(view);
+  }
+
   @Nonnull
   @Override
   public SourceType getSourceType() {
@@ -29,11 +29,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
-import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.types.JavaClassType;
 
@@ -59,12 +59,18 @@ class DirectoryBasedAnalysisInputLocation extends PathBasedAnalysisInputLocation
   public Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
     // FIXME: 1) store the classprovider reference as a field; 2) and above too; and 3) move view
     // which is only used in SootNode to be just there?
-    return walkDirectory(path, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+    return walkDirectory(path, view.getIdentifierFactory(), getClassProvider(view));
+  }
+
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return walkDirectoryHeaders(path, view.getIdentifierFactory(), getClassProvider(view));
   }
 
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
-    return getClassSourceInternal((JavaClassType) type, path, new AsmJavaClassProvider(view));
+    return getClassSourceInternal((JavaClassType) type, path, getClassProvider(view));
   }
 }
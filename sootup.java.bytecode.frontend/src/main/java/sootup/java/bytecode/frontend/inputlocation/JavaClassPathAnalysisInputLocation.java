@@ -22,16 +22,20 @@ package sootup.java.bytecode.frontend.inputlocation;
  * #L%
  */
 
+import com.google.common.base.Suppliers;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
@@ -41,6 +45,7 @@ import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
 import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.JavaSootClassSource;
 
 /**
@@ -56,13 +61,22 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
       LoggerFactory.getLogger(JavaClassPathAnalysisInputLocation.class);
   private static final @Nonnull String WILDCARD_CHAR = "*";
 
-  @Nonnull private final Collection<AnalysisInputLocation> cpEntries;
+  @Nonnull private final List<PathBasedAnalysisInputLocation> cpEntries;
+
+  /** finds the entries that may contain a class without asking every entry */
+  @Nonnull private final Supplier<ClassPathPackageIndex> packageIndex;
 
   /** Variable to track if user has specified the SourceType. By default, it will be set to null. */
   private final SourceType srcType;
 
   private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull
+  private AsmJavaClassProvider.MethodCodeMode methodCodeMode =
+      AsmJavaClassProvider.MethodCodeMode.LAZY;
+
+  private boolean releaseMethodCode = false;
+
   /**
    * Creates a {@link JavaClassPathAnalysisInputLocation} which locates classes in the given class
    * path.
@@ -89,6 +103,23 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
       @Nonnull String classPath,
       @Nonnull SourceType srcType,
       @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(classPath, srcType, bodyInterceptors, null);
+  }
+
+  /**
+   * Creates a {@link JavaClassPathAnalysisInputLocation} which locates classes in the given class
+   * path.
+   *
+   * @param classPath the class path to search in
+   * @param srcType the source type for the path can be Library, Application, Phantom.
+   * @param packageIndexFile the file in which the packages of the archives of the class path are
+   *     persisted, so that unchanged archives do not have to be indexed again, or null
+   */
+  public JavaClassPathAnalysisInputLocation(
+      @Nonnull String classPath,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nullable Path packageIndexFile) {
     this.srcType = srcType;
     this.bodyInterceptors = bodyInterceptors;
 
@@ -97,6 +128,7 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
       throw new IllegalArgumentException(
           "The given classpath does not point to any existing directory/directories.");
     }
+    packageIndex = Suppliers.memoize(() -> new ClassPathPackageIndex(cpEntries, packageIndexFile));
   }
 
   @Override
@@ -111,6 +143,45 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return bodyInterceptors;
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return methodCodeMode;
+  }
+
+  /**
+   * Sets when the code of the methods of the classes from all entries of the class path is read.
+   *
+   * @see PathBasedAnalysisInputLocation#setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode)
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    this.methodCodeMode = methodCodeMode;
+    for (PathBasedAnalysisInputLocation cpEntry : cpEntries) {
+      cpEntry.setMethodCodeMode(methodCodeMode);
+    }
+  }
+
+  public boolean isReleaseMethodCode() {
+    return releaseMethodCode;
+  }
+
+  /**
+   * Sets whether the methods of the classes from all entries of the class path drop their code once
+   * their body is resolved.
+   *
+   * @see PathBasedAnalysisInputLocation#setReleaseMethodCode(boolean)
+   */
+  public void setReleaseMethodCode(boolean releaseMethodCode) {
+    this.releaseMethodCode = releaseMethodCode;
+    for (PathBasedAnalysisInputLocation cpEntry : cpEntries) {
+      cpEntry.setReleaseMethodCode(releaseMethodCode);
+    }
+  }
+
+  @Nonnull
+  List<PathBasedAnalysisInputLocation> getClassPathEntries() {
+    return cpEntries;
+  }
+
   /**
    * Explode the class or modulepath entries, separated by {@link File#pathSeparator}.
    *
@@ -181,12 +252,19 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
         .map(src -> (JavaSootClassSource) src);
   }
 
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return cpEntries.stream().flatMap(inputLocation -> inputLocation.getClassHeaders(view));
+  }
+
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
-    for (AnalysisInputLocation inputLocation : cpEntries) {
+    // only the entries that can contain the package of the class are asked
+    for (int entry : packageIndex.get().entriesOf(type.getFullyQualifiedName())) {
       final Optional<? extends SootClassSource> classSource =
-          inputLocation.getClassSource(type, view);
+          cpEntries.get(entry).getClassSource(type, view);
       if (classSource.isPresent()) {
         return classSource.map(src -> (JavaSootClassSource) src);
       }
@@ -195,7 +273,7 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
   }
 
   @Nonnull
-  private Optional<AnalysisInputLocation> inputLocationForPath(@Nonnull Path path) {
+  private Optional<PathBasedAnalysisInputLocation> inputLocationForPath(@Nonnull Path path) {
     if (Files.exists(path) && (Files.isDirectory(path) || PathUtils.isArchive(path))) {
       return Optional.of(PathBasedAnalysisInputLocation.create(path, srcType, bodyInterceptors));
     } else {
@@ -210,7 +288,7 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
    * @param jarPath The jar path for which the classes need to be listed
    * @return list of classpath entries
    */
-  private List<AnalysisInputLocation> explodeClassPath(@Nonnull String jarPath) {
+  private List<PathBasedAnalysisInputLocation> explodeClassPath(@Nonnull String jarPath) {
     return explodeClassPath(jarPath, FileSystems.getDefault());
   }
 
@@ -221,7 +299,7 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
    * @param fileSystem the filesystem the path should be resolved for
    * @return list of classpath entries
    */
-  private List<AnalysisInputLocation> explodeClassPath(
+  private List<PathBasedAnalysisInputLocation> explodeClassPath(
       @Nonnull String jarPath, @Nonnull FileSystem fileSystem) {
     return explode(jarPath, fileSystem)
         .flatMap(cp -> StreamUtils.optionalToStream(inputLocationForPath(cp)))
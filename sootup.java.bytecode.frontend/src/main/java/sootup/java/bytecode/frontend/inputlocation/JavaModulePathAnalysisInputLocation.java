@@ -35,6 +35,7 @@ import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.*;
 import sootup.java.core.signatures.ModulePackageName;
 import sootup.java.core.signatures.ModuleSignature;
@@ -94,6 +95,20 @@ public class JavaModulePathAnalysisInputLocation implements ModuleInfoAnalysisIn
     moduleFinder = new ModuleFinder(modulePath, fileSystem, sourcetype, bodyInterceptors);
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return moduleFinder.getMethodCodeMode();
+  }
+
+  /**
+   * Sets when the code of the methods of the classes from all modules of the module path is read.
+   *
+   * @see PathBasedAnalysisInputLocation#setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode)
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    moduleFinder.setMethodCodeMode(methodCodeMode);
+  }
+
   @Nonnull
   public Optional<JavaModuleInfo> getModuleInfo(ModuleSignature sig, View view) {
     return moduleFinder.getModuleInfo(sig);
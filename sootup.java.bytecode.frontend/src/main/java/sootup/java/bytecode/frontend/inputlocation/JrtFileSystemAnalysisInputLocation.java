@@ -21,19 +21,20 @@ package sootup.java.bytecode.frontend.inputlocation;
  * #L%
  */
 
-import java.io.IOException;
 import java.net.URI;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FilenameUtils;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.ResolveException;
-import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.FileType;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
@@ -57,12 +58,16 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
   // FIXME: handle closing the filesystem resource
   private static final FileSystem theFileSystem = FileSystems.getFileSystem(URI.create("jrt:/"));
   private final Map<ModuleSignature, JavaModuleInfo> moduleInfoMap = new HashMap<>();
-  boolean isResolved = false;
+  volatile boolean isResolved = false;
 
   @Nonnull private final SourceType sourceType;
 
   @Nonnull private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull
+  private AsmJavaClassProvider.MethodCodeMode methodCodeMode =
+      AsmJavaClassProvider.MethodCodeMode.LAZY;
+
   public JrtFileSystemAnalysisInputLocation() {
     this(SourceType.Library);
   }
@@ -84,48 +89,26 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
     JavaClassType klassType = (JavaClassType) classType;
 
     ClassProvider classProvider = getClassProvider(view);
-    Path filepath =
-        theFileSystem.getPath(
-            klassType.getFullyQualifiedName().replace('.', '/')
-                + classProvider.getHandledFileType().getExtensionWithDot());
+    String classFile =
+        klassType.getFullyQualifiedName().replace('.', '/')
+            + classProvider.getHandledFileType().getExtensionWithDot();
 
+    String moduleName = JrtModuleIndex.getInstance(theFileSystem).getModule(classFile);
+    if (moduleName == null) {
+      return Optional.empty();
+    }
     // parse as module
     if (klassType.getPackageName() instanceof ModulePackageName) {
-
       ModulePackageName modulePackageSignature = (ModulePackageName) klassType.getPackageName();
-
-      final Path module =
-          theFileSystem.getPath(
-              "modules", modulePackageSignature.getModuleSignature().getModuleName());
-      Path foundClass = module.resolve(filepath);
-      if (Files.isRegularFile(foundClass)) {
-        return classProvider
-            .createClassSource(this, foundClass, klassType)
-            .map(src -> (JavaSootClassSource) src);
-      } else {
+      if (!moduleName.equals(modulePackageSignature.getModuleSignature().getModuleName())) {
         return Optional.empty();
       }
     }
 
-    // module information does not exist in Signature -> search for class
-    final Path moduleRoot = theFileSystem.getPath("modules");
-    try (DirectoryStream<Path> stream = Files.newDirectoryStream(moduleRoot)) {
-      {
-        for (Path entry : stream) {
-          // check each module folder for the class
-          Path foundfile = entry.resolve(filepath);
-          if (Files.isRegularFile(foundfile)) {
-            return classProvider
-                .createClassSource(this, foundfile, klassType)
-                .map(src -> (JavaSootClassSource) src);
-          }
-        }
-      }
-    } catch (IOException e) {
-      throw new ResolveException("Error loading a module", moduleRoot, e);
-    }
-
-    return Optional.empty();
+    Path foundClass = theFileSystem.getPath("modules", moduleName, classFile);
+    return classProvider
+        .createClassSource(this, foundClass, klassType)
+        .map(src -> (JavaSootClassSource) src);
   }
 
   /** Retreive CLassSources of a module specified by methodSignature */
@@ -143,49 +126,99 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
       @Nonnull View view) {
 
     ClassProvider classProvider = getClassProvider(view);
+    return walkModule(
+        moduleSignature,
+        identifierFactory,
+        classProvider.getHandledFileType(),
+        (p, type) ->
+            classProvider.createClassSource(this, p, type).map(src -> (JavaSootClassSource) src));
+  }
 
-    String moduleInfoFilename =
-        JavaModuleIdentifierFactory.MODULE_INFO_FILE
-            + classProvider.getHandledFileType().getExtensionWithDot();
+  @Nonnull
+  private <T> Stream<T> walkModule(
+      @Nonnull ModuleSignature moduleSignature,
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, JavaClassType, Optional<T>> reader) {
+    return walkClassFiles(
+        classFilesOf(moduleSignature), identifierFactory, handledFileType, reader);
+  }
+
+  /** Walks the class files of all modules, which are listed upfront to split evenly in parallel. */
+  @Nonnull
+  private <T> Stream<T> walkModules(
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, JavaClassType, Optional<T>> reader) {
+    List<Path> classFiles =
+        discoverModules().stream()
+            .flatMap(sig -> classFilesOf(sig).stream())
+            .collect(Collectors.toList());
+    return walkClassFiles(classFiles, identifierFactory, handledFileType, reader);
+  }
+
+  @Nonnull
+  private <T> Stream<T> walkClassFiles(
+      @Nonnull List<Path> classFiles,
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, JavaClassType, Optional<T>> reader) {
+    return classFiles.stream()
+        .filter(p -> p.toString().endsWith(handledFileType.getExtensionWithDot()))
+        .flatMap(
+            p -> StreamUtils.optionalToStream(reader.apply(p, fromPath(p, identifierFactory))));
+  }
 
+  /** Returns the paths of the class files of a module, as listed by the {@link JrtModuleIndex}. */
+  @Nonnull
+  private List<Path> classFilesOf(@Nonnull ModuleSignature moduleSignature) {
     final Path archiveRoot = theFileSystem.getPath("modules", moduleSignature.getModuleName());
-    try (Stream<Path> paths = Files.walk(archiveRoot)) {
-      // collect into a list and then return a stream, so we do not leak the Stream returned by
-      // Files.walk
-      List<JavaSootClassSource> javaSootClassSources =
-          paths
-              .filter(
-                  filePath -> {
-                    if (!Files.isDirectory(filePath)) {
-                      String pathStr = filePath.toString();
-                      return pathStr.endsWith(
-                              classProvider.getHandledFileType().getExtensionWithDot())
-                          && !pathStr.endsWith(moduleInfoFilename);
-                    }
-                    return false;
-                  })
-              .<SootClassSource>flatMap(
-                  p ->
-                      StreamUtils.optionalToStream(
-                          classProvider.createClassSource(this, p, fromPath(p, identifierFactory))))
-              .map(src -> (JavaSootClassSource) src)
-              .collect(Collectors.toList());
-      return javaSootClassSources.stream();
-    } catch (IOException e) {
-      throw new ResolveException("Error loading module " + moduleSignature, archiveRoot, e);
+    List<String> classFiles =
+        JrtModuleIndex.getInstance(theFileSystem).getClassFiles(moduleSignature.getModuleName());
+    if (classFiles == null) {
+      throw new ResolveException("Error loading module " + moduleSignature, archiveRoot);
     }
+    return classFiles.stream().map(archiveRoot::resolve).collect(Collectors.toList());
   }
 
-  protected ClassProvider getClassProvider(@Nonnull View view) {
-    return new AsmJavaClassProvider(view);
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return methodCodeMode;
+  }
+
+  /**
+   * Sets when the code of the methods of the runtime classes is read. As only few library methods
+   * are usually resolved, {@link AsmJavaClassProvider.MethodCodeMode#SIGNATURES_ONLY} keeps the
+   * memory footprint of the runtime small.
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    this.methodCodeMode = methodCodeMode;
+  }
+
+  @Nonnull
+  protected AsmJavaClassProvider getClassProvider(@Nonnull View view) {
+    return new AsmJavaClassProvider(view, methodCodeMode);
   }
 
   @Override
   public @Nonnull Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
 
-    Collection<ModuleSignature> moduleSignatures = discoverModules();
-    return moduleSignatures.stream()
-        .flatMap(sig -> getClassSourcesInternal(sig, view.getIdentifierFactory(), view));
+    ClassProvider classProvider = getClassProvider(view);
+    return walkModules(
+        view.getIdentifierFactory(),
+        classProvider.getHandledFileType(),
+        (p, type) ->
+            classProvider.createClassSource(this, p, type).map(src -> (JavaSootClassSource) src));
+  }
+
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    AsmJavaClassProvider classProvider = getClassProvider(view);
+    return walkModules(
+        view.getIdentifierFactory(),
+        classProvider.getHandledFileType(),
+        classProvider::createClassHeader);
   }
 
   /**
@@ -194,28 +227,19 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
    * @return Collection of found module names.
    */
   @Nonnull
-  public Collection<ModuleSignature> discoverModules() {
+  public synchronized Collection<ModuleSignature> discoverModules() {
     if (!isResolved) {
-      final Path moduleRoot = theFileSystem.getPath("modules");
       final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
-      try (DirectoryStream<Path> stream = Files.newDirectoryStream(moduleRoot)) {
-        {
-          for (Path entry : stream) {
-            if (Files.isDirectory(entry)) {
-              ModuleSignature moduleSignature =
-                  JavaModuleIdentifierFactory.getModuleSignature(entry.subpath(1, 2).toString());
-              Path moduleInfo = entry.resolve(moduleInfoFilename);
-              if (Files.exists(moduleInfo)) {
-                moduleInfoMap.put(moduleSignature, new AsmModuleSource(moduleInfo));
-              } else {
-                moduleInfoMap.put(
-                    moduleSignature, JavaModuleInfo.createAutomaticModuleInfo(moduleSignature));
-              }
-            }
-          }
+      for (String moduleName : JrtModuleIndex.getInstance(theFileSystem).getModuleNames()) {
+        ModuleSignature moduleSignature =
+            JavaModuleIdentifierFactory.getModuleSignature(moduleName);
+        Path moduleInfo = theFileSystem.getPath("modules", moduleName, moduleInfoFilename);
+        if (Files.exists(moduleInfo)) {
+          moduleInfoMap.put(moduleSignature, new AsmModuleSource(moduleInfo));
+        } else {
+          moduleInfoMap.put(
+              moduleSignature, JavaModuleInfo.createAutomaticModuleInfo(moduleSignature));
         }
-      } catch (IOException e) {
-        throw new ResolveException("Error while discovering modules", moduleRoot, e);
       }
       isResolved = true;
     }
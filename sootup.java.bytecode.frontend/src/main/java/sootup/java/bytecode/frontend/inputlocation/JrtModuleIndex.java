@@ -0,0 +1,158 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 2022 - 2024 Kadiray Karakaya, Markus Schmidt, Jonas Klauke, Stefan Schott, Palaniappan Muthuraman, Marcus Hüwe and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.ResolveException;
+import sootup.java.core.JavaModuleIdentifierFactory;
+
+/**
+ * Maps the class files of the runtime image, i.e. of the jrt file system, to the modules that
+ * contain them. The runtime image does not change while the JVM is running, so the index is built
+ * once, on the first access, and shared by all {@link JrtFileSystemAnalysisInputLocation}s and
+ * their views. The modules are walked in parallel while the index is built.
+ *
+ * <p>The class files are stored relative to the root of their module, e.g. <code>
+ * java/lang/Object.class</code>, and the file of the module descriptor is not included.
+ */
+final class JrtModuleIndex {
+
+  private static final String CLASS_FILE_EXTENSION = ".class";
+
+  @Nullable private static volatile JrtModuleIndex instance;
+
+  /** the modules of the runtime image in the order of the jrt file system */
+  @Nonnull private final List<String> moduleNames;
+
+  /** the class files of each module */
+  @Nonnull private final Map<String, List<String>> classFilesByModule;
+
+  /** the module of each class file; if a class file exists in multiple modules, the first one */
+  @Nonnull private final Map<String, String> moduleByClassFile;
+
+  private JrtModuleIndex(@Nonnull Path moduleRoot) {
+    List<Path> moduleDirs = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(moduleRoot)) {
+      for (Path entry : stream) {
+        if (Files.isDirectory(entry)) {
+          moduleDirs.add(entry);
+        }
+      }
+    } catch (IOException e) {
+      throw new ResolveException("Error while discovering modules", moduleRoot, e);
+    }
+
+    // the collector keeps the order of the modules although they are walked in parallel
+    List<List<String>> classFiles =
+        moduleDirs
+            .parallelStream()
+            .map(JrtModuleIndex::listClassFiles)
+            .collect(Collectors.toList());
+
+    List<String> names = new ArrayList<>(moduleDirs.size());
+    Map<String, List<String>> filesByModule = new HashMap<>();
+    Map<String, String> modules = new HashMap<>();
+    for (int i = 0; i < moduleDirs.size(); i++) {
+      String moduleName = moduleDirs.get(i).getFileName().toString();
+      names.add(moduleName);
+      filesByModule.put(moduleName, classFiles.get(i));
+      for (String classFile : classFiles.get(i)) {
+        modules.putIfAbsent(classFile, moduleName);
+      }
+    }
+    this.moduleNames = Collections.unmodifiableList(names);
+    this.classFilesByModule = filesByModule;
+    this.moduleByClassFile = modules;
+  }
+
+  /** Returns the index of the runtime image, which is built on the first call. */
+  @Nonnull
+  static JrtModuleIndex getInstance(@Nonnull FileSystem jrtFileSystem) {
+    JrtModuleIndex index = instance;
+    if (index == null) {
+      synchronized (JrtModuleIndex.class) {
+        index = instance;
+        if (index == null) {
+          index = new JrtModuleIndex(jrtFileSystem.getPath("modules"));
+          instance = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  @Nonnull
+  private static List<String> listClassFiles(@Nonnull Path moduleDir) {
+    String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + CLASS_FILE_EXTENSION;
+    try (Stream<Path> paths = Files.walk(moduleDir)) {
+      List<String> classFiles =
+          paths
+              .filter(
+                  p -> {
+                    String pathStr = p.toString();
+                    return pathStr.endsWith(CLASS_FILE_EXTENSION)
+                        && !pathStr.endsWith(moduleInfoFilename)
+                        && Files.isRegularFile(p);
+                  })
+              .map(p -> moduleDir.relativize(p).toString())
+              .collect(Collectors.toList());
+      return Collections.unmodifiableList(classFiles);
+    } catch (IOException | UncheckedIOException e) {
+      throw new ResolveException("Error loading module", moduleDir, e);
+    }
+  }
+
+  /** Returns the modules of the runtime image in the order of the jrt file system. */
+  @Nonnull
+  List<String> getModuleNames() {
+    return moduleNames;
+  }
+
+  /**
+   * Returns the class files of the given module, relative to the root of the module, or null if the
+   * runtime image does not contain the module.
+   */
+  @Nullable
+  List<String> getClassFiles(@Nonnull String moduleName) {
+    return classFilesByModule.get(moduleName);
+  }
+
+  /**
+   * Returns the module that contains the given class file, e.g. <code>java/lang/Object.class
+   * </code>, or null if no module contains it.
+   */
+  @Nullable
+  String getModule(@Nonnull String classFile) {
+    return moduleByClassFile.get(classFile);
+  }
+}
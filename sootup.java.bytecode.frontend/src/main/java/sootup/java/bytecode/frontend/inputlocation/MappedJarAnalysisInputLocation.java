@@ -0,0 +1,214 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * Soot
+ * %%
+ * Copyright (C) 2018-2024 Manuel Benz, Christian Brüggemann, Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.frontend.ResolveException;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.core.util.StreamUtils;
+import sootup.core.views.View;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
+import sootup.java.core.JavaModuleIdentifierFactory;
+import sootup.java.core.JavaSootClassSource;
+
+/**
+ * An alternative to the {@link ArchiveBasedAnalysisInputLocation} which reads the class files of a
+ * jar from a {@link MappedJarFile} instead of a zip file system. The jar is mapped into memory and
+ * its central directory is parsed once, on the first access. Afterwards, class files are handed to
+ * ASM as byte arrays, i.e. without creating a file system, paths or input streams for the entries.
+ * This makes scanning many jars cheaper and is not limited by the number of open file systems.
+ *
+ * <p>As the entries are not part of a file system, the source path of a class source is the path of
+ * the jar resolved against the name of the entry, e.g. <code>lib.jar/com/example/A.class</code>,
+ * which only identifies the class file.
+ */
+public class MappedJarAnalysisInputLocation extends PathBasedAnalysisInputLocation {
+
+  private static final @Nonnull Logger logger =
+      LoggerFactory.getLogger(MappedJarAnalysisInputLocation.class);
+
+  @Nullable private volatile MappedJarFile jarFile;
+
+  public MappedJarAnalysisInputLocation(@Nonnull Path path, @Nonnull SourceType srcType) {
+    this(path, srcType, BytecodeBodyInterceptors.Default.getBodyInterceptors());
+  }
+
+  public MappedJarAnalysisInputLocation(
+      @Nonnull Path path,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(path, srcType, bodyInterceptors, Collections.emptyList());
+  }
+
+  public MappedJarAnalysisInputLocation(
+      @Nonnull Path path,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull Collection<Path> ignoredPaths) {
+    super(path, srcType, bodyInterceptors, ignoredPaths);
+  }
+
+  @Override
+  @Nonnull
+  public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
+    return readClass(
+        getJarFile(),
+        toEntryName(type),
+        (entryName, classBytes) ->
+            createClassSource(entryName, type, classBytes, getClassProvider(view)));
+  }
+
+  @Override
+  @Nonnull
+  public Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
+    AsmJavaClassProvider classProvider = getClassProvider(view);
+    return readClasses(
+        view.getIdentifierFactory(),
+        (entryName, type, classBytes) ->
+            createClassSource(entryName, type, classBytes, classProvider));
+  }
+
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    AsmJavaClassProvider classProvider = getClassProvider(view);
+    return readClasses(
+        view.getIdentifierFactory(),
+        (entryName, type, classBytes) ->
+            classProvider.createClassHeader(path.resolve(entryName), type, classBytes));
+  }
+
+  @Nonnull
+  private Optional<JavaSootClassSource> createClassSource(
+      @Nonnull String entryName,
+      @Nonnull ClassType type,
+      @Nonnull byte[] classBytes,
+      @Nonnull AsmJavaClassProvider classProvider) {
+    Path sourcePath = path.resolve(entryName);
+    return classProvider
+        .createClassSource(
+            this, sourcePath, type, classBytes, () -> readClassFileAgain(entryName, sourcePath))
+        .map(src -> (JavaSootClassSource) src);
+  }
+
+  @Nonnull
+  private <T> Stream<T> readClasses(
+      @Nonnull IdentifierFactory factory, @Nonnull ClassFileReader<T> reader) {
+    MappedJarFile jar = getJarFile();
+    return jar.getEntryNames().stream()
+        .filter(this::isClassFile)
+        .flatMap(
+            entryName -> {
+              ClassType type = factory.getClassType(toClassName(entryName));
+              return StreamUtils.optionalToStream(
+                  readClass(
+                      jar, entryName, (name, classBytes) -> reader.read(name, type, classBytes)));
+            });
+  }
+
+  @Nonnull
+  private <T> Optional<T> readClass(
+      @Nonnull MappedJarFile jar,
+      @Nonnull String entryName,
+      @Nonnull BiFunction<String, byte[], Optional<T>> reader) {
+    final Optional<byte[]> classBytes;
+    try {
+      classBytes = jar.read(entryName);
+    } catch (IOException e) {
+      logger.warn("Could not read " + entryName + " from " + path, e);
+      return Optional.empty();
+    }
+    return classBytes.flatMap(bytes -> reader.apply(entryName, bytes));
+  }
+
+  /** Reads a class file again to restore the code of a method that has been released. */
+  @Nonnull
+  private byte[] readClassFileAgain(@Nonnull String entryName, @Nonnull Path sourcePath) {
+    try {
+      return getJarFile()
+          .read(entryName)
+          .orElseThrow(() -> new ResolveException("The class file has been removed", sourcePath));
+    } catch (IOException e) {
+      throw new ResolveException("Could not read the class file again", sourcePath, e);
+    }
+  }
+
+  private boolean isClassFile(@Nonnull String entryName) {
+    if (!entryName.endsWith(".class")
+        || entryName.endsWith(JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class")) {
+      return false;
+    }
+    // the ignored paths are matched like the paths of a zip file system, which start at its root
+    String entryPath = "/" + entryName;
+    return ignoredPaths.stream().noneMatch(p -> entryPath.startsWith(p.toString()));
+  }
+
+  @Nonnull
+  private static String toEntryName(@Nonnull ClassType type) {
+    return type.getFullyQualifiedName().replace('.', '/') + ".class";
+  }
+
+  @Nonnull
+  private static String toClassName(@Nonnull String entryName) {
+    return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+  }
+
+  /** Maps the jar on the first access, so that unused jars of a class path are never opened. */
+  @Nonnull
+  private MappedJarFile getJarFile() {
+    MappedJarFile jar = jarFile;
+    if (jar == null) {
+      synchronized (this) {
+        jar = jarFile;
+        if (jar == null) {
+          try {
+            jar = MappedJarFile.open(path);
+          } catch (IOException e) {
+            throw new ResolveException("Could not map the archive", path, e);
+          }
+          jarFile = jar;
+        }
+      }
+    }
+    return jar;
+  }
+
+  @FunctionalInterface
+  private interface ClassFileReader<T> {
+    @Nonnull
+    Optional<T> read(@Nonnull String entryName, @Nonnull ClassType type, @Nonnull byte[] bytes);
+  }
+}
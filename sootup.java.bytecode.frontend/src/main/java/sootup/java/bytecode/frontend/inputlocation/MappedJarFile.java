@@ -0,0 +1,345 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * Soot
+ * %%
+ * Copyright (C) 2018-2024 Manuel Benz, Christian Brüggemann, Markus Schmidt and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import javax.annotation.Nonnull;
+
+/**
+ * A jar file that is mapped into memory. Its central directory is parsed once when the file is
+ * opened, afterwards the entries are read directly from the mapped file, i.e. without a zip file
+ * system and without an input stream per entry.
+ *
+ * <p>Reading entries is thread-safe. Archives that are larger than 2 GB can not be mapped.
+ */
+final class MappedJarFile {
+
+  private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+  private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+  private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+  private static final int LOCAL_FILE_HEADER_SIZE = 30;
+  private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+  private static final int ZIP64_LOCATOR_SIZE = 20;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+  private static final int ZIP64_EXTRA_FIELD = 0x0001;
+  private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+  private static final int ENCRYPTED_FLAG = 0x1;
+
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+
+  @Nonnull private final Path path;
+  @Nonnull private final ByteBuffer buffer;
+  @Nonnull private final Map<String, Entry> entries;
+  @Nonnull private final List<String> entryNames;
+
+  private MappedJarFile(
+      @Nonnull Path path, @Nonnull ByteBuffer buffer, @Nonnull Map<String, Entry> entries) {
+    this.path = path;
+    this.buffer = buffer;
+    this.entries = entries;
+    this.entryNames = Collections.unmodifiableList(new ArrayList<>(entries.keySet()));
+  }
+
+  /** Maps the given jar file into memory and reads its central directory. */
+  @Nonnull
+  static MappedJarFile open(@Nonnull Path path) throws IOException {
+    ByteBuffer buffer;
+    // the mapping stays valid after the channel is closed
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new ZipException("The archive is too large to be mapped: " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return new MappedJarFile(path, buffer, readCentralDirectory(buffer, path));
+  }
+
+  @Nonnull
+  Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the names of all entries in the order of the central directory. The list can be split
+   * evenly for parallel processing.
+   */
+  @Nonnull
+  List<String> getEntryNames() {
+    return entryNames;
+  }
+
+  boolean contains(@Nonnull String entryName) {
+    return entries.containsKey(entryName);
+  }
+
+  /**
+   * Returns the uncompressed content of the entry with the given name, or an empty Optional if
+   * there is no such entry.
+   */
+  @Nonnull
+  Optional<byte[]> read(@Nonnull String entryName) throws IOException {
+    Entry entry = entries.get(entryName);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if ((entry.flags & ENCRYPTED_FLAG) != 0) {
+      throw new ZipException("Encrypted entries are not supported: " + entryName);
+    }
+
+    int localHeader = entry.localHeaderOffset;
+    if (localHeader + LOCAL_FILE_HEADER_SIZE > buffer.limit()
+        || buffer.getInt(localHeader) != LOCAL_FILE_HEADER_SIGNATURE) {
+      throw new ZipException("Invalid local file header of " + entryName + " in " + path);
+    }
+    int dataOffset =
+        localHeader
+            + LOCAL_FILE_HEADER_SIZE
+            + unsignedShort(buffer, localHeader + 26)
+            + unsignedShort(buffer, localHeader + 28);
+    if ((long) dataOffset + entry.compressedSize > buffer.limit()) {
+      throw new ZipException("Truncated entry " + entryName + " in " + path);
+    }
+
+    switch (entry.method) {
+      case STORED:
+        return Optional.of(copy(dataOffset, entry.size));
+      case DEFLATED:
+        return Optional.of(inflate(entryName, dataOffset, entry.compressedSize, entry.size));
+      default:
+        throw new ZipException(
+            "Unsupported compression method " + entry.method + " of " + entryName + " in " + path);
+    }
+  }
+
+  @Nonnull
+  private byte[] copy(int offset, int length) {
+    byte[] bytes = new byte[length];
+    duplicateAt(buffer, offset).get(bytes);
+    return bytes;
+  }
+
+  @Nonnull
+  private byte[] inflate(@Nonnull String entryName, int offset, int compressedSize, int size)
+      throws IOException {
+    // the inflater needs an additional dummy byte after the compressed data in the nowrap mode
+    byte[] compressed = new byte[compressedSize + 1];
+    duplicateAt(buffer, offset).get(compressed, 0, compressedSize);
+
+    byte[] bytes = new byte[size];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(compressed);
+      int inflated = 0;
+      while (inflated < size && !inflater.finished()) {
+        int count = inflater.inflate(bytes, inflated, size - inflated);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += count;
+      }
+      if (inflated != size) {
+        throw new ZipException("Corrupt compressed entry " + entryName + " in " + path);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt compressed entry " + entryName + " in " + path, e);
+    } finally {
+      inflater.end();
+    }
+    return bytes;
+  }
+
+  @Nonnull
+  private static Map<String, Entry> readCentralDirectory(
+      @Nonnull ByteBuffer buffer, @Nonnull Path path) throws IOException {
+    int end = findEndOfCentralDirectory(buffer, path);
+    long entryCount = unsignedShort(buffer, end + 10);
+    long directoryOffset = unsignedInt(buffer, end + 16);
+
+    int locator = end - ZIP64_LOCATOR_SIZE;
+    if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+      long zip64End = buffer.getLong(locator + 8);
+      if (zip64End < 0
+          || zip64End > locator
+          || buffer.getInt((int) zip64End) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+        throw new ZipException("Invalid zip64 end of central directory in " + path);
+      }
+      entryCount = buffer.getLong((int) zip64End + 32);
+      directoryOffset = buffer.getLong((int) zip64End + 48);
+    }
+    if (directoryOffset < 0 || directoryOffset > end || entryCount < 0 || entryCount > end) {
+      throw new ZipException("Invalid central directory in " + path);
+    }
+
+    Map<String, Entry> entries = new LinkedHashMap<>((int) (entryCount / 0.75f) + 1);
+    int position = (int) directoryOffset;
+    for (long i = 0; i < entryCount; i++) {
+      if (position + CENTRAL_DIRECTORY_HEADER_SIZE > end
+          || buffer.getInt(position) != CENTRAL_DIRECTORY_SIGNATURE) {
+        throw new ZipException("Invalid central directory entry in " + path);
+      }
+      int flags = unsignedShort(buffer, position + 8);
+      int method = unsignedShort(buffer, position + 10);
+      long compressedSize = unsignedInt(buffer, position + 20);
+      long size = unsignedInt(buffer, position + 24);
+      int nameLength = unsignedShort(buffer, position + 28);
+      int extraLength = unsignedShort(buffer, position + 30);
+      int commentLength = unsignedShort(buffer, position + 32);
+      long localHeaderOffset = unsignedInt(buffer, position + 42);
+
+      int nameOffset = position + CENTRAL_DIRECTORY_HEADER_SIZE;
+      int extraOffset = nameOffset + nameLength;
+      int next = extraOffset + extraLength + commentLength;
+      if (next > end) {
+        throw new ZipException("Invalid central directory entry in " + path);
+      }
+
+      // the zip64 extra field contains exactly the values that do not fit into their header field
+      if (size == ZIP64_MAGIC
+          || compressedSize == ZIP64_MAGIC
+          || localHeaderOffset == ZIP64_MAGIC) {
+        int field = findExtraField(buffer, extraOffset, extraLength, ZIP64_EXTRA_FIELD);
+        if (field < 0) {
+          throw new ZipException("Missing zip64 extra field in " + path);
+        }
+        if (size == ZIP64_MAGIC) {
+          size = buffer.getLong(field);
+          field += 8;
+        }
+        if (compressedSize == ZIP64_MAGIC) {
+          compressedSize = buffer.getLong(field);
+          field += 8;
+        }
+        if (localHeaderOffset == ZIP64_MAGIC) {
+          localHeaderOffset = buffer.getLong(field);
+        }
+      }
+      if (size > Integer.MAX_VALUE - 8
+          || compressedSize > Integer.MAX_VALUE - 8
+          || localHeaderOffset < 0
+          || localHeaderOffset > end) {
+        throw new ZipException("Invalid central directory entry in " + path);
+      }
+
+      byte[] name = new byte[nameLength];
+      duplicateAt(buffer, nameOffset).get(name);
+      // like java.util.zip.ZipFile, the first entry with a name wins
+      entries.putIfAbsent(
+          new String(name, StandardCharsets.UTF_8),
+          new Entry(flags, method, (int) compressedSize, (int) size, (int) localHeaderOffset));
+
+      position = next;
+    }
+    return entries;
+  }
+
+  /** Searches the end of central directory record backwards, as it is followed by a comment. */
+  private static int findEndOfCentralDirectory(@Nonnull ByteBuffer buffer, @Nonnull Path path)
+      throws ZipException {
+    int last = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+    int first = Math.max(0, last - MAX_COMMENT_SIZE);
+    for (int position = last; position >= first; position--) {
+      if (buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE
+          && position + END_OF_CENTRAL_DIRECTORY_SIZE + unsignedShort(buffer, position + 20)
+              <= buffer.limit()) {
+        return position;
+      }
+    }
+    throw new ZipException("Not a zip archive: " + path);
+  }
+
+  /** Returns the offset of the data of the given extra field, or -1 if there is no such field. */
+  private static int findExtraField(
+      @Nonnull ByteBuffer buffer, int offset, int length, int headerId) {
+    int position = offset;
+    while (position + 4 <= offset + length) {
+      int id = unsignedShort(buffer, position);
+      int size = unsignedShort(buffer, position + 2);
+      if (id == headerId) {
+        return position + 4;
+      }
+      position += 4 + size;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a duplicate of the buffer that is positioned at the given offset. A duplicate has its
+   * own position, so that concurrent reads do not interfere.
+   */
+  @Nonnull
+  private static ByteBuffer duplicateAt(@Nonnull ByteBuffer buffer, int offset) {
+    ByteBuffer view = buffer.duplicate();
+    // ByteBuffer#position(int) only exists since Java 9, so call the one of Buffer
+    ((Buffer) view).position(offset);
+    return view;
+  }
+
+  private static int unsignedShort(@Nonnull ByteBuffer buffer, int position) {
+    return buffer.getShort(position) & 0xFFFF;
+  }
+
+  private static long unsignedInt(@Nonnull ByteBuffer buffer, int position) {
+    return buffer.getInt(position) & 0xFFFFFFFFL;
+  }
+
+  /** The location of an entry as it is stored in the central directory. */
+  private static final class Entry {
+    private final int flags;
+    private final int method;
+    private final int compressedSize;
+    private final int size;
+    private final int localHeaderOffset;
+
+    private Entry(int flags, int method, int compressedSize, int size, int localHeaderOffset) {
+      this.flags = flags;
+      this.method = method;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.localHeaderOffset = localHeaderOffset;
+    }
+  }
+}
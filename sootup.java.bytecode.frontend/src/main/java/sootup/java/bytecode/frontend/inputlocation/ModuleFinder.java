@@ -41,6 +41,7 @@ import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.util.PathUtils;
 import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.bytecode.frontend.conversion.AsmModuleSource;
 import sootup.java.core.JavaModuleIdentifierFactory;
 import sootup.java.core.JavaModuleInfo;
@@ -59,7 +60,8 @@ public class ModuleFinder {
 
   // associate a module name with the input location, that represents the module
   @Nonnull
-  private final Map<ModuleSignature, AnalysisInputLocation> moduleInputLocation = new HashMap<>();
+  private final Map<ModuleSignature, PathBasedAnalysisInputLocation> moduleInputLocation =
+      new HashMap<>();
 
   @Nonnull private final Map<ModuleSignature, JavaModuleInfo> moduleInfoMap = new HashMap<>();
 
@@ -69,6 +71,10 @@ public class ModuleFinder {
   @Nonnull private final SourceType sourceType;
   @Nonnull private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull
+  private AsmJavaClassProvider.MethodCodeMode methodCodeMode =
+      AsmJavaClassProvider.MethodCodeMode.LAZY;
+
   public boolean hasMoreToResolve() {
     return next < modulePathEntries.size();
   }
@@ -116,6 +122,24 @@ public class ModuleFinder {
         BytecodeBodyInterceptors.Default.getBodyInterceptors());
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return methodCodeMode;
+  }
+
+  /**
+   * Sets when the code of the methods of the classes from the modules is read, both for the modules
+   * that are already discovered and for those that are discovered later.
+   *
+   * @see PathBasedAnalysisInputLocation#setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode)
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    this.methodCodeMode = methodCodeMode;
+    for (PathBasedAnalysisInputLocation inputLocation : moduleInputLocation.values()) {
+      inputLocation.setMethodCodeMode(methodCodeMode);
+    }
+  }
+
   @Nonnull
   public Optional<JavaModuleInfo> getModuleInfo(ModuleSignature sig) {
     if (hasMoreToResolve()) {
@@ -142,7 +166,7 @@ public class ModuleFinder {
   public AnalysisInputLocation getModule(@Nonnull ModuleSignature moduleName) {
 
     // check if module is cached
-    AnalysisInputLocation inputLocationForModule = moduleInputLocation.get(moduleName);
+    PathBasedAnalysisInputLocation inputLocationForModule = moduleInputLocation.get(moduleName);
     if (inputLocationForModule != null) {
       return inputLocationForModule;
     }
@@ -224,6 +248,7 @@ public class ModuleFinder {
     // create the input location for this module dir
     PathBasedAnalysisInputLocation inputLocation =
         PathBasedAnalysisInputLocation.create(dir, sourceType, bodyInterceptors);
+    inputLocation.setMethodCodeMode(methodCodeMode);
 
     Path moduleInfoFile = dir.resolve(JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class");
     if (!Files.exists(moduleInfoFile) && !Files.isRegularFile(moduleInfoFile)) {
@@ -247,6 +272,7 @@ public class ModuleFinder {
   private void buildModuleForJar(@Nonnull Path jar) {
     PathBasedAnalysisInputLocation inputLocation =
         PathBasedAnalysisInputLocation.create(jar, sourceType, bodyInterceptors);
+    inputLocation.setMethodCodeMode(methodCodeMode);
     Path mi;
     try (FileSystem zipFileSystem = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
       final Path archiveRoot = zipFileSystem.getPath("/");
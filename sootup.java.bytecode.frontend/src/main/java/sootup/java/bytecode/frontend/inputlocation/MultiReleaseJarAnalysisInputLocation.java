@@ -36,6 +36,7 @@ import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
@@ -196,6 +197,16 @@ public class MultiReleaseJarAnalysisInputLocation extends ArchiveBasedAnalysisIn
     return classSources.stream();
   }
 
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    // do not add duplicate classes, the first (i.e. best matching) version wins
+    Set<String> seenClassNames = new HashSet<>();
+    return inputLocations.values().stream()
+        .flatMap(location -> location.getClassHeaders(view))
+        .filter(header -> seenClassNames.add(header.getType().getFullyQualifiedName()));
+  }
+
   @Nonnull
   public int getVersion() {
     return version;
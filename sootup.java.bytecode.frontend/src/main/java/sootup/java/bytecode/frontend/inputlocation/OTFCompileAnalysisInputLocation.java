@@ -36,6 +36,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.tools.*;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
@@ -100,6 +101,12 @@ public class OTFCompileAnalysisInputLocation implements AnalysisInputLocation {
     return inputLocation.getClassSources(view);
   }
 
+  @Nonnull
+  @Override
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return inputLocation.getClassHeaders(view);
+  }
+
   @Nonnull
   @Override
   public SourceType getSourceType() {
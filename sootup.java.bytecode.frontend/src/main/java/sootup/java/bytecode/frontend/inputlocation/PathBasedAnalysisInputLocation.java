@@ -3,19 +3,24 @@ package sootup.java.bytecode.frontend.inputlocation;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FilenameUtils;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
 import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
+import sootup.core.views.View;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.*;
 import sootup.java.core.types.JavaClassType;
 
@@ -54,6 +59,12 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
   @Nonnull protected final SourceType sourceType;
   @Nonnull protected final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull
+  private AsmJavaClassProvider.MethodCodeMode methodCodeMode =
+      AsmJavaClassProvider.MethodCodeMode.LAZY;
+
+  private boolean releaseMethodCode = false;
+
   protected PathBasedAnalysisInputLocation(@Nonnull Path path, @Nonnull SourceType srcType) {
     this(path, srcType, Collections.emptyList());
   }
@@ -95,6 +106,39 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     return bodyInterceptors;
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.MethodCodeMode getMethodCodeMode() {
+    return methodCodeMode;
+  }
+
+  /**
+   * Sets when the code of the methods of the classes from this location is read. Use {@link
+   * AsmJavaClassProvider.MethodCodeMode#SIGNATURES_ONLY} for hierarchy and signature queries over
+   * many classes, where only few method bodies are resolved.
+   */
+  public void setMethodCodeMode(@Nonnull AsmJavaClassProvider.MethodCodeMode methodCodeMode) {
+    this.methodCodeMode = methodCodeMode;
+  }
+
+  public boolean isReleaseMethodCode() {
+    return releaseMethodCode;
+  }
+
+  /**
+   * Sets whether the methods of the classes from this location drop their code once their body is
+   * resolved. The code is then read again from the class file if a body is resolved another time,
+   * which fails if the class file has been changed or removed in the meantime. Disabled by default,
+   * and the code read in {@link AsmJavaClassProvider.MethodCodeMode#EAGER} mode is always kept.
+   */
+  public void setReleaseMethodCode(boolean releaseMethodCode) {
+    this.releaseMethodCode = releaseMethodCode;
+  }
+
+  @Nonnull
+  protected AsmJavaClassProvider getClassProvider(@Nonnull View view) {
+    return new AsmJavaClassProvider(view, methodCodeMode, releaseMethodCode);
+  }
+
   @Nonnull
   public static PathBasedAnalysisInputLocation create(
       @Nonnull Path path, @Nonnull SourceType sourceType) {
@@ -141,35 +185,69 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
             + "' has to be pointing to the root of a class container, e.g. directory, jar, zip, apk, war etc.");
   }
 
-  /** returns a Autocloseable resource that must be closed! */
+  /**
+   * Returns the class sources of all class files below the given directory. The directory is walked
+   * upfront, but the class files are read and parsed lazily while the stream is consumed. The
+   * stream splits evenly, so a parallel stream parses the class files concurrently.
+   */
   @Nonnull
   protected Stream<JavaSootClassSource> walkDirectory(
       @Nonnull Path dirPath,
       @Nonnull IdentifierFactory factory,
       @Nonnull ClassProvider classProvider) {
+    return walkClassFiles(
+        dirPath,
+        factory,
+        classProvider.getHandledFileType(),
+        (p, type) ->
+            classProvider.createClassSource(this, p, type).map(src -> (JavaSootClassSource) src));
+  }
 
-    final FileType handledFileType = classProvider.getHandledFileType();
+  /**
+   * Like {@link #walkDirectory(Path, IdentifierFactory, ClassProvider)}, but only reads the headers
+   * of the class files.
+   */
+  @Nonnull
+  protected Stream<ClassHeader> walkDirectoryHeaders(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull AsmJavaClassProvider classProvider) {
+    return walkClassFiles(
+        dirPath, factory, classProvider.getHandledFileType(), classProvider::createClassHeader);
+  }
+
+  @Nonnull
+  private <T> Stream<T> walkClassFiles(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, ClassType, Optional<T>> reader) {
     final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
-    try {
-      return Files.walk(dirPath)
-          .filter(
-              filePath ->
-                  PathUtils.hasExtension(filePath, handledFileType)
-                      && !filePath.toString().endsWith(moduleInfoFilename)
-                      && ignoredPaths.stream()
-                          .noneMatch(p -> filePath.toString().startsWith(p.toString())))
-          .flatMap(
-              p -> {
-                final String fullyQualifiedName = fromPath(dirPath, p);
-
-                return StreamUtils.optionalToStream(
-                    classProvider.createClassSource(
-                        this, p, factory.getClassType(fullyQualifiedName)));
-              })
-          .map(src -> (JavaSootClassSource) src);
-    } catch (IOException e) {
+    // only the paths are collected, so that the directory handles are closed before the class
+    // files are read and the stream of a list can be split for parallel processing
+    final List<Path> classFiles;
+    try (Stream<Path> files = Files.walk(dirPath)) {
+      classFiles =
+          files
+              .filter(
+                  filePath ->
+                      PathUtils.hasExtension(filePath, handledFileType)
+                          && !filePath.toString().endsWith(moduleInfoFilename)
+                          && ignoredPaths.stream()
+                              .noneMatch(p -> filePath.toString().startsWith(p.toString())))
+              .collect(Collectors.toList());
+    } catch (IOException | UncheckedIOException e) {
       throw new IllegalArgumentException(e);
     }
+
+    return classFiles.stream()
+        .flatMap(
+            p -> {
+              final String fullyQualifiedName = fromPath(dirPath, p);
+
+              return StreamUtils.optionalToStream(
+                  reader.apply(p, factory.getClassType(fullyQualifiedName)));
+            });
   }
 
   @Nonnull
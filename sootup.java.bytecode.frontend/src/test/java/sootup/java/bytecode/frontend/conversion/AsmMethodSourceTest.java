@@ -1,20 +1,46 @@
 package sootup.java.bytecode.frontend.conversion;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import categories.TestCategories;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sootup.core.frontend.ResolveException;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
 import sootup.core.model.SourceType;
 import sootup.core.signatures.MethodSignature;
 import sootup.java.bytecode.frontend.inputlocation.DefaultRuntimeAnalysisInputLocation;
 import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.bytecode.frontend.inputlocation.PathBasedAnalysisInputLocation;
 import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.JavaSootMethod;
 import sootup.java.core.types.JavaClassType;
@@ -96,4 +122,237 @@ public class AsmMethodSourceTest {
     assert !method.getBody().getStmts().stream()
         .anyMatch(s -> s.toString().contains(" append(java.lang.String)>(\"ghi\")"));
   }
+
+  @Test
+  public void testLazyMethodBodies() throws IOException {
+    Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            classDirectory.toString(), SourceType.Application, Collections.emptyList());
+    JavaView view = new JavaView(inputLocation);
+
+    List<Path> classFiles;
+    try (Stream<Path> files = Files.list(classDirectory)) {
+      classFiles = files.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList());
+    }
+    assertFalse(classFiles.isEmpty());
+
+    for (Path classFile : classFiles) {
+      JavaClassType type =
+          JavaIdentifierFactory.getInstance()
+              .getClassType(classFile.getFileName().toString().replace(".class", ""));
+      SootClassSource eager =
+          new AsmJavaClassProvider(view, false)
+              .createClassSource(inputLocation, classFile, type)
+              .get();
+      SootClassSource lazy =
+          new AsmJavaClassProvider(view, true)
+              .createClassSource(inputLocation, classFile, type)
+              .get();
+
+      Map<MethodSignature, SootMethod> eagerMethods =
+          eager.resolveMethods().stream()
+              .collect(Collectors.toMap(SootMethod::getSignature, Function.identity()));
+      for (SootMethod lazyMethod : lazy.resolveMethods()) {
+        // the code is not read until the body is resolved
+        assertEquals(0, ((AsmMethodSource) lazyMethod.getBodySource()).instructions.size());
+
+        SootMethod eagerMethod = eagerMethods.get(lazyMethod.getSignature());
+        assertEquals(eagerMethod.getModifiers(), lazyMethod.getModifiers());
+        assertEquals(eagerMethod.getExceptionSignatures(), lazyMethod.getExceptionSignatures());
+        if (eagerMethod.hasBody()) {
+          assertEquals(
+              eagerMethod.getBody().getStmtGraph().toString(),
+              lazyMethod.getBody().getStmtGraph().toString(),
+              lazyMethod.getSignature().toString());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testReleaseCodeAfterResolution() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/miniTestSuite/java6/binary",
+            SourceType.Application,
+            Collections.emptyList());
+    inputLocation.setReleaseMethodCode(true);
+    JavaView view = new JavaView(inputLocation);
+    view.getClasses()
+        .flatMap(c -> c.getMethods().stream())
+        .filter(SootMethod::isConcrete)
+        .forEach(
+            method -> {
+              AsmMethodSource source = (AsmMethodSource) method.getBodySource();
+              String body = method.getBody().getStmtGraph().toString();
+              // the code is dropped after the conversion ...
+              assertEquals(0, source.instructions.size());
+              assertTrue(source.tryCatchBlocks.isEmpty());
+              // ... and read again from the class file if the body is resolved again
+              assertEquals(
+                  body,
+                  method.withModifiers(method.getModifiers()).getBody().getStmtGraph().toString(),
+                  method.getSignature().toString());
+            });
+  }
+
+  @Test
+  public void testSignaturesOnlyMethodBodies() {
+    Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+    JavaView lazyView =
+        new JavaView(PathBasedAnalysisInputLocation.create(classDirectory, SourceType.Application));
+    PathBasedAnalysisInputLocation inputLocation =
+        PathBasedAnalysisInputLocation.create(classDirectory, SourceType.Application);
+    inputLocation.setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY);
+    JavaView view = new JavaView(inputLocation);
+
+    List<JavaSootMethod> methods =
+        view.getClasses()
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::isConcrete)
+            .collect(Collectors.toList());
+    assertFalse(methods.isEmpty());
+    for (JavaSootMethod method : methods) {
+      AsmMethodSource source = (AsmMethodSource) method.getBodySource();
+      // neither the code nor the class file is kept until the body is resolved
+      assertEquals(0, source.instructions.size());
+      assertTrue(source.tryCatchBlocks.isEmpty());
+
+      SootMethod lazyMethod = lazyView.getMethod(method.getSignature()).get();
+      assertEquals(
+          lazyMethod.getBody().getStmtGraph().toString(),
+          method.getBody().getStmtGraph().toString(),
+          method.getSignature().toString());
+      // the code is kept once it has been read
+      assertNotEquals(0, source.instructions.size());
+    }
+  }
+
+  @Test
+  public void testCodeIsKeptByDefault() {
+    Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+    for (AsmJavaClassProvider.MethodCodeMode mode : AsmJavaClassProvider.MethodCodeMode.values()) {
+      PathBasedAnalysisInputLocation inputLocation =
+          PathBasedAnalysisInputLocation.create(classDirectory, SourceType.Application);
+      inputLocation.setMethodCodeMode(mode);
+      JavaView view = new JavaView(inputLocation);
+      view.getClasses()
+          .flatMap(c -> c.getMethods().stream())
+          .filter(SootMethod::isConcrete)
+          .forEach(
+              method -> {
+                method.getBody();
+                assertNotEquals(
+                    0,
+                    ((AsmMethodSource) method.getBodySource()).instructions.size(),
+                    mode + " " + method.getSignature());
+              });
+    }
+  }
+
+  @Test
+  public void testEagerCodeIsNeverReleased() {
+    Path classFile =
+        Paths.get("../shared-test-resources/miniTestSuite/java6/binary/AccessArrays.class");
+    AnalysisInputLocation inputLocation =
+        PathBasedAnalysisInputLocation.create(classFile.getParent(), SourceType.Application);
+    JavaView view = new JavaView(inputLocation);
+    SootClassSource classSource =
+        new AsmJavaClassProvider(view, AsmJavaClassProvider.MethodCodeMode.EAGER, true)
+            .createClassSource(
+                inputLocation, classFile, view.getIdentifierFactory().getClassType("AccessArrays"))
+            .get();
+    for (SootMethod method : classSource.resolveMethods()) {
+      if (method.isConcrete()) {
+        method.getBody();
+        assertNotEquals(0, ((AsmMethodSource) method.getBodySource()).instructions.size());
+      }
+    }
+  }
+
+  @Test
+  public void testMethodMissingFromChangedClassFile(@TempDir Path tempDir) throws IOException {
+    Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+    Path classFile =
+        Files.copy(
+            classDirectory.resolve("AccessArrays.class"), tempDir.resolve("AccessArrays.class"));
+    PathBasedAnalysisInputLocation inputLocation =
+        PathBasedAnalysisInputLocation.create(tempDir, SourceType.Application);
+    inputLocation.setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY);
+    JavaView view = new JavaView(inputLocation);
+    SootMethod method =
+        view.getClass(view.getIdentifierFactory().getClassType("AccessArrays")).get().getMethods()
+            .stream()
+            .filter(m -> m.isConcrete() && !m.getName().equals("<init>"))
+            .findFirst()
+            .get();
+
+    // the class file is replaced before the code of the method is read
+    Files.copy(classDirectory.resolve("A.class"), classFile, StandardCopyOption.REPLACE_EXISTING);
+
+    // the method wraps the exception of its body source
+    Throwable exception = assertThrows(ResolveException.class, method::getBody).getCause();
+    assertTrue(exception instanceof ResolveException);
+    assertTrue(exception.getMessage().contains(method.getSignature().toString()));
+    assertTrue(exception.getMessage().contains(classFile.toAbsolutePath().toString()));
+  }
+
+  @Test
+  public void testClassFileOfClosedFileSystem(@TempDir Path tempDir) throws IOException {
+    Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+    URI jarUri = URI.create("jar:" + tempDir.resolve("AccessArrays.jar").toUri());
+    FileSystem jarFileSystem =
+        FileSystems.newFileSystem(jarUri, Collections.singletonMap("create", "true"));
+    Path classFile = jarFileSystem.getPath("/AccessArrays.class");
+    Files.copy(classDirectory.resolve("AccessArrays.class"), classFile);
+    PathBasedAnalysisInputLocation inputLocation =
+        PathBasedAnalysisInputLocation.create(jarFileSystem.getPath("/"), SourceType.Application);
+    inputLocation.setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY);
+    JavaView view = new JavaView(inputLocation);
+    SootMethod method =
+        view.getClass(view.getIdentifierFactory().getClassType("AccessArrays")).get().getMethods()
+            .stream()
+            .filter(m -> m.isConcrete() && !m.getName().equals("<init>"))
+            .findFirst()
+            .get();
+
+    // the file system is closed before the code of the method is read
+    jarFileSystem.close();
+
+    Throwable exception = assertThrows(ResolveException.class, method::getBody).getCause();
+    assertTrue(exception instanceof ResolveException);
+    assertTrue(exception.getCause() instanceof ClosedFileSystemException);
+  }
+
+  @Test
+  public void testConcurrentResolutionOfSharedMethodSource() throws Exception {
+    AnalysisInputLocation inputLocation =
+        PathBasedAnalysisInputLocation.create(
+            Paths.get("../shared-test-resources/miniTestSuite/java6/binary"),
+            SourceType.Application);
+    JavaView view = new JavaView(inputLocation);
+    SootMethod method =
+        view.getClass(view.getIdentifierFactory().getClassType("AccessArrays")).get().getMethods()
+            .stream()
+            .filter(m -> m.isConcrete() && !m.getName().equals("<init>"))
+            .findFirst()
+            .get();
+    String expectedBody = method.getBody().toString();
+
+    // the copies share the method source, but each resolves its body on its own
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> bodies = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        SootMethod copy = method.withModifiers(method.getModifiers());
+        bodies.add(executor.submit(() -> copy.getBody().toString()));
+      }
+      for (Future<String> body : bodies) {
+        assertEquals(expectedBody, body.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
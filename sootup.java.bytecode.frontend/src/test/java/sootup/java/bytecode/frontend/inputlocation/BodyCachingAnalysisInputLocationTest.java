@@ -0,0 +1,225 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.RunTimeBodyInterceptor;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.interceptors.NopEliminator;
+import sootup.interceptors.TypeAssigner;
+import sootup.java.bytecode.frontend.cache.JimpleBodyCache;
+import sootup.java.core.views.JavaView;
+
+@Tag("Java8")
+class BodyCachingAnalysisInputLocationTest {
+
+  final Path jar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+
+  @Test
+  void testColdAndWarmRunProduceSameBodies(@TempDir Path cacheDir) throws IOException {
+    JavaView plainView =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                jar.toString(),
+                SourceType.Application,
+                BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    Map<String, String> expected = bodiesOf(plainView);
+    assertFalse(expected.isEmpty());
+
+    // cold run: converts from bytecode and populates the cache
+    Map<String, String> cold = bodiesOf(new JavaView(cachingLocation(cacheDir)));
+    assertEquals(withoutCastLocalNames(expected), withoutCastLocalNames(cold));
+    long entries;
+    try (Stream<Path> files = Files.walk(cacheDir)) {
+      entries = files.filter(p -> p.toString().endsWith(".jimple")).count();
+    }
+    assertTrue(entries > 0);
+
+    // warm run: bodies are parsed from the cached Jimple files
+    Map<String, String> warm = bodiesOf(new JavaView(cachingLocation(cacheDir)));
+    assertEquals(cold, warm);
+  }
+
+  /** the numbering of cast locals introduced by the TypeAssigner is not stable across views */
+  private Map<String, String> withoutCastLocalNames(Map<String, String> bodies) {
+    return bodies.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().replaceAll("#l\\d+", "#l")));
+  }
+
+  @Test
+  void testUnreadableEntriesAreReplaced(@TempDir Path cacheDir) throws IOException {
+    Map<String, String> cold = bodiesOf(new JavaView(cachingLocation(cacheDir)));
+
+    List<Path> entries;
+    try (Stream<Path> files = Files.walk(cacheDir)) {
+      entries = files.filter(p -> p.toString().endsWith(".jimple")).collect(Collectors.toList());
+    }
+    assertFalse(entries.isEmpty());
+    for (Path entry : entries) {
+      Files.write(entry, "class {".getBytes(StandardCharsets.UTF_8));
+    }
+
+    Map<String, String> recovered = bodiesOf(new JavaView(cachingLocation(cacheDir)));
+    assertEquals(withoutCastLocalNames(cold), withoutCastLocalNames(recovered));
+    for (Path entry : entries) {
+      assertNotEquals("class {", new String(Files.readAllBytes(entry), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testInterceptorWithoutFingerprintIsNotCached(@TempDir Path cacheDir) throws IOException {
+    List<BodyInterceptor> interceptors =
+        new ArrayList<>(BytecodeBodyInterceptors.Default.getBodyInterceptors());
+    interceptors.add((builder, view) -> {});
+    bodiesOf(
+        new JavaView(
+            new BodyCachingAnalysisInputLocation(
+                new JavaClassPathAnalysisInputLocation(
+                    jar.toString(), SourceType.Application, interceptors),
+                cacheDir)));
+    assertEquals(0, countEntries(cacheDir));
+  }
+
+  @Test
+  void testKeyDependsOnConfigurationAndClassPath(@TempDir Path cacheDir) {
+    JimpleBodyCache cache = new JimpleBodyCache(cacheDir);
+    byte[] classBytes = {1, 2, 3};
+    List<BodyInterceptor> defaultTyping = Collections.singletonList(new TypeAssigner());
+    String key = cache.computeKey(classBytes, defaultTyping, "cp").get();
+
+    assertEquals(key, cache.computeKey(classBytes, defaultTyping, "cp").get());
+    assertEquals(
+        key,
+        cache
+            .computeKey(
+                classBytes,
+                Collections.singletonList(new RunTimeBodyInterceptor(new TypeAssigner())),
+                "cp")
+            .get());
+    assertNotEquals(
+        key,
+        cache.computeKey(classBytes, Collections.singletonList(new TypeAssigner(1)), "cp").get());
+    assertNotEquals(key, cache.computeKey(classBytes, defaultTyping, "other cp").get());
+  }
+
+  @Test
+  void testKeyOfClassPathIndependentInterceptors(@TempDir Path cacheDir) {
+    JimpleBodyCache cache = new JimpleBodyCache(cacheDir);
+    byte[] classBytes = {1, 2, 3};
+    List<BodyInterceptor> interceptors = Collections.singletonList(new NopEliminator());
+    String key = cache.computeKey(classBytes, interceptors, "cp").get();
+
+    assertEquals(key, cache.computeKey(classBytes, interceptors, "other cp").get());
+    assertEquals(key, cache.computeKey(classBytes, interceptors, null).get());
+    assertFalse(
+        cache
+            .computeKey(classBytes, Collections.singletonList(new TypeAssigner()), null)
+            .isPresent());
+  }
+
+  @Test
+  void testClassPathChangesTheKey(@TempDir Path cacheDir) throws IOException {
+    bodiesOf(new JavaView(cachingLocation(cacheDir)));
+    long entries = countEntries(cacheDir);
+    assertTrue(entries > 0);
+
+    // the same classes converted against a larger class path get entries of their own
+    bodiesOf(
+        new JavaView(
+            Arrays.asList(
+                cachingLocation(cacheDir),
+                new JavaClassPathAnalysisInputLocation(
+                    "../shared-test-resources/bugfixes/", SourceType.Library))));
+    assertEquals(2 * entries, countEntries(cacheDir));
+  }
+
+  @Test
+  void testClassPathIndependentEntriesAreReused(@TempDir Path cacheDir) throws IOException {
+    List<BodyInterceptor> interceptors =
+        BytecodeBodyInterceptors.Default.getBodyInterceptors().stream()
+            .filter(interceptor -> !(interceptor instanceof TypeAssigner))
+            .collect(Collectors.toList());
+    BodyCachingAnalysisInputLocation location =
+        new BodyCachingAnalysisInputLocation(
+            new JavaClassPathAnalysisInputLocation(
+                jar.toString(), SourceType.Application, interceptors),
+            cacheDir);
+    bodiesOf(new JavaView(location));
+    long entries = countEntries(cacheDir);
+    assertTrue(entries > 0);
+
+    bodiesOf(
+        new JavaView(
+            Arrays.asList(
+                location,
+                new JavaClassPathAnalysisInputLocation(
+                    "../shared-test-resources/bugfixes/", SourceType.Library))));
+    assertEquals(entries, countEntries(cacheDir));
+  }
+
+  @Test
+  void testRuntimeEntriesDoNotDependOnTheClassPath(@TempDir Path cacheDir) throws IOException {
+    BodyCachingAnalysisInputLocation runtime =
+        new BodyCachingAnalysisInputLocation(new DefaultRuntimeAnalysisInputLocation(), cacheDir);
+    JavaView view = new JavaView(Arrays.asList(runtime, cachingLocation(cacheDir)));
+    bodiesOf(view.getClassOrThrow(view.getIdentifierFactory().getClassType("java.lang.Boolean")));
+    assertEquals(1, countEntries(cacheDir));
+
+    JavaView largerView =
+        new JavaView(
+            Arrays.asList(
+                runtime,
+                new JavaClassPathAnalysisInputLocation(
+                    "../shared-test-resources/bugfixes/", SourceType.Library)));
+    bodiesOf(
+        largerView.getClassOrThrow(
+            largerView.getIdentifierFactory().getClassType("java.lang.Boolean")));
+    assertEquals(1, countEntries(cacheDir));
+  }
+
+  private long countEntries(Path cacheDir) throws IOException {
+    try (Stream<Path> files = Files.walk(cacheDir)) {
+      return files.filter(p -> p.toString().endsWith(".jimple")).count();
+    }
+  }
+
+  private BodyCachingAnalysisInputLocation cachingLocation(Path cacheDir) {
+    return new BodyCachingAnalysisInputLocation(
+        new JavaClassPathAnalysisInputLocation(
+            jar.toString(),
+            SourceType.Application,
+            BytecodeBodyInterceptors.Default.getBodyInterceptors()),
+        cacheDir);
+  }
+
+  private Map<String, String> bodiesOf(JavaView view) {
+    return bodiesOf(view.getClasses().toArray(SootClass[]::new));
+  }
+
+  private Map<String, String> bodiesOf(SootClass... classes) {
+    return Arrays.stream(classes)
+        .flatMap(c -> c.getMethods().stream())
+        .filter(SootMethod::hasBody)
+        .collect(
+            Collectors.toMap(
+                m -> m.getSignature().toString(), m -> m.getBody().getStmtGraph().toString()));
+  }
+}
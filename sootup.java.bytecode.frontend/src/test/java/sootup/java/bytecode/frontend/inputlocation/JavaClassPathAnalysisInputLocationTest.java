@@ -0,0 +1,104 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sootup.core.model.SourceType;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
+import sootup.java.core.views.JavaView;
+
+@Tag("Java8")
+class JavaClassPathAnalysisInputLocationTest {
+
+  final Path miniApp = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  final Path javaxJson =
+      Paths.get(
+          "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar");
+  final Path classDirectory = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+
+  @Test
+  void testLookupUsesPackageIndex() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            miniApp + File.pathSeparator + javaxJson + File.pathSeparator + classDirectory);
+    JavaView view = new JavaView(inputLocation);
+
+    // archives
+    assertTrue(view.getClass(view.getIdentifierFactory().getClassType("ds.Employee")).isPresent());
+    assertTrue(view.getClass(view.getIdentifierFactory().getClassType("MiniApp")).isPresent());
+    assertTrue(
+        view.getClass(view.getIdentifierFactory().getClassType("javax.json.Json")).isPresent());
+    // the directory is not indexed and shares the default package with the MiniApp
+    assertTrue(view.getClass(view.getIdentifierFactory().getClassType("A")).isPresent());
+    assertFalse(view.getClass(view.getIdentifierFactory().getClassType("ds.Missing")).isPresent());
+    assertFalse(
+        view.getClass(view.getIdentifierFactory().getClassType("javax.json.Missing")).isPresent());
+  }
+
+  @Test
+  void testPersistedPackageIndex(@TempDir Path tempDir) throws IOException {
+    Path jar = Files.copy(miniApp, tempDir.resolve("MiniApp.jar"));
+    Path indexFile = tempDir.resolve("index").resolve("packages.idx");
+
+    assertTrue(isEmployeeFound(jar, indexFile));
+    List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(1).startsWith(jar.toAbsolutePath().normalize() + "\t"));
+    assertTrue(lines.get(1).endsWith("\tds\tutils"));
+
+    // an unchanged archive is not indexed again, so the edited index file is used
+    lines.set(1, lines.get(1).replace("\tds\t", "\t"));
+    Files.write(indexFile, lines, StandardCharsets.UTF_8);
+    assertFalse(isEmployeeFound(jar, indexFile));
+
+    // a modified archive is indexed again
+    Files.setLastModifiedTime(
+        jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() - 10_000));
+    assertTrue(isEmployeeFound(jar, indexFile));
+    assertTrue(
+        Files.readAllLines(indexFile, StandardCharsets.UTF_8).get(1).endsWith("\tds\tutils"));
+
+    // an unreadable index file is ignored and replaced
+    Files.copy(jar, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    assertTrue(isEmployeeFound(jar, indexFile));
+    assertEquals(2, Files.readAllLines(indexFile, StandardCharsets.UTF_8).size());
+  }
+
+  @Test
+  void testMethodCodeModeIsForwardedToEntries() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(miniApp + File.pathSeparator + classDirectory);
+    assertEquals(AsmJavaClassProvider.MethodCodeMode.LAZY, inputLocation.getMethodCodeMode());
+
+    inputLocation.setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY);
+    assertEquals(
+        AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY, inputLocation.getMethodCodeMode());
+    assertEquals(2, inputLocation.getClassPathEntries().size());
+    for (PathBasedAnalysisInputLocation entry : inputLocation.getClassPathEntries()) {
+      assertEquals(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY, entry.getMethodCodeMode());
+    }
+  }
+
+  private boolean isEmployeeFound(Path jar, Path indexFile) {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                jar.toString(),
+                SourceType.Application,
+                BytecodeBodyInterceptors.Default.getBodyInterceptors(),
+                indexFile));
+    return view.getClass(view.getIdentifierFactory().getClassType("ds.Employee")).isPresent();
+  }
+}
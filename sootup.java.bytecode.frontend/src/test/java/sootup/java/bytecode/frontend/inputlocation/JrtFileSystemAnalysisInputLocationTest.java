@@ -1,6 +1,7 @@
 package sootup.java.bytecode.frontend.inputlocation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
@@ -10,11 +11,14 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.types.ClassType;
+import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.JavaModuleIdentifierFactory;
 import sootup.java.core.signatures.ModuleSignature;
 import sootup.java.core.views.JavaModuleView;
+import sootup.java.core.views.JavaView;
 
 /** @author Andreas Dann, Markus Schmidt */
 @Tag(TestCategories.JAVA_9_CATEGORY)
@@ -35,6 +39,33 @@ public class JrtFileSystemAnalysisInputLocationTest {
     assertEquals(sig, clazz.get().getClassType());
   }
 
+  @Test
+  public void getClassSourceWithoutModule() {
+    JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
+    JavaView view = new JavaView(inputLocation);
+
+    // the module of the class is looked up in the index
+    final ClassType sig = JavaIdentifierFactory.getInstance().getClassType("java.lang.String");
+    final Optional<? extends SootClassSource> clazz = inputLocation.getClassSource(sig, view);
+    assertTrue(clazz.isPresent());
+    assertEquals(sig, clazz.get().getClassType());
+
+    final ClassType unknown =
+        JavaIdentifierFactory.getInstance().getClassType("java.lang.DoesNotExist");
+    assertFalse(inputLocation.getClassSource(unknown, view).isPresent());
+  }
+
+  @Test
+  public void getClassSourceOfOtherModule() {
+    JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
+    JavaModuleView view =
+        new JavaModuleView(Collections.emptyList(), Collections.singletonList(inputLocation));
+
+    final ClassType sig =
+        JavaModuleIdentifierFactory.getInstance().getClassType("String", "java.lang", "java.xml");
+    assertFalse(inputLocation.getClassSource(sig, view).isPresent());
+  }
+
   @Test
   public void getClassSources() {
     // hint: quite expensive as it loads **all** Runtime modules!
@@ -61,6 +92,22 @@ public class JrtFileSystemAnalysisInputLocationTest {
     assertTrue(view.getClass(sig2).isPresent());
   }
 
+  @Test
+  public void getClassHeaders() {
+    JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
+    JavaModuleView view =
+        new JavaModuleView(Collections.emptyList(), Collections.singletonList(inputLocation));
+
+    final ClassType sig =
+        JavaModuleIdentifierFactory.getInstance().getClassType("String", "java.lang", "java.base");
+
+    final Collection<ClassHeader> headers =
+        inputLocation.getClassHeaders(view).collect(Collectors.toList());
+    assertTrue(headers.size() > 20000);
+    ClassHeader header = headers.stream().filter(h -> h.getType().equals(sig)).findFirst().get();
+    assertEquals(ClassHeader.of(inputLocation.getClassSource(sig, view).get()), header);
+  }
+
   @Test
   public void discoverModules() {
     JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
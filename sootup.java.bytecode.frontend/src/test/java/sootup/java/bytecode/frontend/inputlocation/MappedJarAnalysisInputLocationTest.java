@@ -0,0 +1,109 @@
+package sootup.java.bytecode.frontend.inputlocation;
+
+/*-
+ * #%L
+ * Soot
+ * %%
+ * Copyright (C) 06.06.2018 Manuel Benz
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import categories.TestCategories;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.Body;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.core.views.JavaView;
+
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class MappedJarAnalysisInputLocationTest extends AnalysisInputLocationTest {
+
+  @Test
+  public void testJar() {
+    MappedJarAnalysisInputLocation inputLocation =
+        new MappedJarAnalysisInputLocation(jar, SourceType.Application);
+    ArrayList<ClassType> sigs = new ArrayList<>();
+    sigs.add(getIdentifierFactory().getClassType("Employee", "ds"));
+    sigs.add(getIdentifierFactory().getClassType("MiniApp"));
+    testClassReceival(inputLocation, sigs, 6);
+
+    JavaView view = new JavaView(inputLocation);
+    assertFalse(
+        inputLocation
+            .getClassSource(getIdentifierFactory().getClassType("NonExisting"), view)
+            .isPresent());
+  }
+
+  @Test
+  public void testClassHeaders() {
+    AnalysisInputLocation inputLocation =
+        new MappedJarAnalysisInputLocation(jar, SourceType.Application);
+    JavaView view = new JavaView(inputLocation);
+    Set<ClassHeader> expected =
+        inputLocation.getClassSources(view).map(ClassHeader::of).collect(Collectors.toSet());
+    Set<ClassHeader> actual = inputLocation.getClassHeaders(view).collect(Collectors.toSet());
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testSameBodiesAsArchiveBasedInputLocation() {
+    Map<ClassType, SootClass> expected =
+        classesOf(new ArchiveBasedAnalysisInputLocation(jar, SourceType.Application));
+    Map<ClassType, SootClass> actual =
+        classesOf(new MappedJarAnalysisInputLocation(jar, SourceType.Application));
+    assertEquals(expected.keySet(), actual.keySet());
+
+    for (SootClass expectedClass : expected.values()) {
+      SootClass actualClass = actual.get(expectedClass.getType());
+      for (SootMethod expectedMethod : expectedClass.getMethods()) {
+        Optional<? extends SootMethod> actualMethod =
+            actualClass.getMethod(expectedMethod.getSubSignature());
+        assertTrue(actualMethod.isPresent(), expectedMethod.toString());
+        if (expectedMethod.isConcrete()) {
+          // the names of the locals are not stable between two conversions, so compare the sizes
+          Body expectedBody = expectedMethod.getBody();
+          Body actualBody = actualMethod.get().getBody();
+          assertEquals(
+              expectedBody.getStmts().size(),
+              actualBody.getStmts().size(),
+              expectedMethod.toString());
+          assertEquals(
+              expectedBody.getLocalCount(), actualBody.getLocalCount(), expectedMethod.toString());
+        }
+      }
+    }
+  }
+
+  private static Map<ClassType, SootClass> classesOf(AnalysisInputLocation inputLocation) {
+    return new JavaView(inputLocation)
+        .getClasses()
+        .collect(Collectors.toMap(SootClass::getType, Function.identity()));
+  }
+}
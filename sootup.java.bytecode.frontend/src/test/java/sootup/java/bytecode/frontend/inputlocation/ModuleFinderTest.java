@@ -6,11 +6,13 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
+import java.io.File;
 import java.nio.file.Paths;
 import java.util.Collection;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.java.bytecode.frontend.conversion.AsmJavaClassProvider;
 import sootup.java.core.JavaModuleIdentifierFactory;
 import sootup.java.core.signatures.ModuleSignature;
 
@@ -68,6 +70,28 @@ public class ModuleFinderTest extends AnalysisInputLocationTest {
         discoveredModules.contains(JavaModuleIdentifierFactory.getModuleSignature("fancyMod")));
   }
 
+  @Test
+  public void testMethodCodeModeOfDiscoveredAndLaterModules() {
+    String modules = "../shared-test-resources/jigsaw-examples/requires_exports/jar/";
+    ModuleFinder moduleFinder =
+        new ModuleFinder(
+            Paths.get(modules + "modb.jar" + File.pathSeparator + modules + "modmain.jar"));
+    PathBasedAnalysisInputLocation discovered =
+        (PathBasedAnalysisInputLocation)
+            moduleFinder.getModule(JavaModuleIdentifierFactory.getModuleSignature("modb"));
+    assertNotNull(discovered);
+    assertTrue(moduleFinder.hasMoreToResolve());
+
+    moduleFinder.setMethodCodeMode(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY);
+    assertEquals(
+        AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY, discovered.getMethodCodeMode());
+    PathBasedAnalysisInputLocation later =
+        (PathBasedAnalysisInputLocation)
+            moduleFinder.getModule(JavaModuleIdentifierFactory.getModuleSignature("modmain"));
+    assertNotNull(later);
+    assertEquals(AsmJavaClassProvider.MethodCodeMode.SIGNATURES_ONLY, later.getMethodCodeMode());
+  }
+
   @Test
   public void testAutomaticModuleNaming() {
     assertEquals(
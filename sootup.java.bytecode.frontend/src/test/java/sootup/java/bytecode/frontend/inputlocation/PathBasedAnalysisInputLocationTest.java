@@ -30,9 +30,11 @@ import categories.TestCategories;
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.EagerInputLocation;
 import sootup.core.jimple.basic.NoPositionInformation;
@@ -209,4 +211,39 @@ public class PathBasedAnalysisInputLocationTest extends AnalysisInputLocationTes
 
     assertEquals(0, classes.size(), "User Defined class found, expected none");
   }
+
+  @Test
+  public void testClassHeaders() {
+    assertClassHeadersMatchClassSources(
+        new ClassFileBasedAnalysisInputLocation(cls, "", SourceType.Application));
+    assertClassHeadersMatchClassSources(
+        PathBasedAnalysisInputLocation.create(jar, SourceType.Application));
+    assertClassHeadersMatchClassSources(
+        PathBasedAnalysisInputLocation.create(war, SourceType.Application));
+    assertClassHeadersMatchClassSources(
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/miniTestSuite/java6/binary/"));
+  }
+
+  private void assertClassHeadersMatchClassSources(AnalysisInputLocation inputLocation) {
+    JavaView view = new JavaView(inputLocation);
+    Set<ClassHeader> expected =
+        inputLocation.getClassSources(view).map(ClassHeader::of).collect(Collectors.toSet());
+    Set<ClassHeader> actual = inputLocation.getClassHeaders(view).collect(Collectors.toSet());
+    assertTrue(!expected.isEmpty());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testTypeHierarchyDoesNotResolveClasses() {
+    JavaView view =
+        new JavaView(PathBasedAnalysisInputLocation.create(jar, SourceType.Application));
+    ClassType miniApp = getIdentifierFactory().getClassType("MiniApp");
+
+    assertTrue(view.getTypeHierarchy().contains(miniApp));
+    assertEquals(
+        Optional.of(getIdentifierFactory().getClassType("java.lang.Object")),
+        view.getTypeHierarchy().superClassOf(miniApp));
+    assertEquals(0, view.getCachedClassesCount());
+  }
 }
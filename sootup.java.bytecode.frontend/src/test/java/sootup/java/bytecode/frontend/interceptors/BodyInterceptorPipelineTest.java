@@ -0,0 +1,94 @@
+package sootup.java.bytecode.frontend.interceptors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import categories.TestCategories;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class BodyInterceptorPipelineTest {
+
+  private static final String classPath = "../shared-test-resources/miniTestSuite/java6/binary/";
+
+  @Test
+  public void testInterceptorsAreAppliedInOrder() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    List<BodyInterceptor> applied = new ArrayList<>();
+
+    JavaView view = new JavaView(Collections.emptyList());
+    Body.BodyBuilder builder = Body.builder();
+    builder.setMethodSignature(
+        view.getIdentifierFactory().parseMethodSignature("<Test: void test()>"));
+    builder
+        .getStmtGraph()
+        .setStartingStmt(Jimple.newReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo()));
+
+    new BodyInterceptorPipeline(interceptors).interceptBody(builder, view, applied::add);
+    assertEquals(interceptors, applied);
+  }
+
+  @Test
+  public void testPipelineIsSharedPerInterceptorList() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    BodyInterceptorPipeline pipeline = BodyInterceptorPipeline.of(interceptors);
+    assertSame(pipeline, BodyInterceptorPipeline.of(interceptors));
+    assertEquals(interceptors, pipeline.getBodyInterceptors());
+    assertSame(pipeline, BodyInterceptorPipeline.of(new ArrayList<>(interceptors)));
+
+    // a list which is modified later gets a pipeline of its new content
+    List<BodyInterceptor> modifiedInterceptors = new ArrayList<>(interceptors);
+    assertSame(pipeline, BodyInterceptorPipeline.of(modifiedInterceptors));
+    modifiedInterceptors.remove(0);
+    BodyInterceptorPipeline modifiedPipeline = BodyInterceptorPipeline.of(modifiedInterceptors);
+    assertNotSame(pipeline, modifiedPipeline);
+    assertEquals(modifiedInterceptors, modifiedPipeline.getBodyInterceptors());
+  }
+
+  @Test
+  public void testSameBodiesAsSequentialInterceptors() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    // wrapped interceptors are not fused, i.e. each one traverses the StmtGraph on its own
+    List<BodyInterceptor> sequential =
+        interceptors.stream()
+            .map(interceptor -> (BodyInterceptor) interceptor::interceptBody)
+            .collect(Collectors.toList());
+
+    Map<MethodSignature, Body> fusedBodies = resolveBodies(interceptors);
+    Map<MethodSignature, Body> sequentialBodies = resolveBodies(sequential);
+
+    assertFalse(fusedBodies.isEmpty());
+    assertEquals(sequentialBodies.keySet(), fusedBodies.keySet());
+    for (Map.Entry<MethodSignature, Body> entry : fusedBodies.entrySet()) {
+      // StmtGraphs are compared by the identity of their Stmts, so compare the printed bodies
+      assertEquals(
+          sequentialBodies.get(entry.getKey()).toString(),
+          entry.getValue().toString(),
+          entry.getKey().toString());
+    }
+  }
+
+  private static Map<MethodSignature, Body> resolveBodies(List<BodyInterceptor> interceptors) {
+    AnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(classPath, SourceType.Application, interceptors);
+    JavaView view = new JavaView(inputLocation);
+    return view.getClasses()
+        .flatMap(c -> c.getMethods().stream())
+        .filter(SootMethod::hasBody)
+        .collect(Collectors.toMap(SootMethod::getSignature, SootMethod::getBody));
+  }
+}
@@ -0,0 +1,83 @@
+package sootup.java.bytecode.frontend.interceptors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import categories.TestCategories;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorMetric;
+import sootup.core.transform.BodyInterceptorTelemetry;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class BodyInterceptorTelemetryTest {
+
+  @Test
+  public void testMeasureDefaultInterceptors() throws IOException {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    BodyInterceptorTelemetry telemetry = new BodyInterceptorTelemetry(interceptors);
+
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/miniTestSuite/java6/binary/",
+                SourceType.Application,
+                telemetry.getBodyInterceptors()));
+    long bodyCount =
+        view.getClasses()
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::hasBody)
+            .map(SootMethod::getBody)
+            .count();
+    assertTrue(bodyCount > 0);
+
+    Map<BodyInterceptor, BodyInterceptorMetric> metrics = telemetry.getMetrics();
+    assertEquals(interceptors, Arrays.asList(metrics.keySet().toArray()));
+    for (BodyInterceptorMetric metric : metrics.values()) {
+      assertEquals(bodyCount, metric.getInvocationCount());
+      assertEquals(bodyCount, Arrays.stream(metric.getDurationHistogram()).sum());
+      assertEquals(bodyCount, Arrays.stream(metric.getInvocationsByBodySize()).sum());
+      assertEquals(metric.getTotalNanos(), Arrays.stream(metric.getNanosByBodySize()).sum());
+      assertTrue(metric.getMaxNanos() <= metric.getTotalNanos());
+
+      List<BodyInterceptorMetric.BodyMeasurement> slowest = metric.getSlowestBodies();
+      assertFalse(slowest.isEmpty());
+      assertEquals(metric.getMaxNanos(), slowest.get(0).getNanos());
+      assertNotNull(slowest.get(0).getMethod());
+    }
+
+    StringBuilder csv = new StringBuilder();
+    telemetry.exportCsv(csv);
+    assertEquals(interceptors.size() + 1, csv.toString().split("\n").length);
+    assertTrue(csv.toString().contains("TypeAssigner," + bodyCount + ","));
+
+    StringBuilder slowestCsv = new StringBuilder();
+    telemetry.exportSlowestBodiesCsv(slowestCsv);
+    assertTrue(slowestCsv.toString().startsWith("interceptor,method,stmts,nanos,allocatedBytes\n"));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testDeprecatedAccessors() {
+    BodyInterceptorMetric metric = new BodyInterceptorMetric(3L, 2L);
+    assertEquals(0, metric.getInvocationCount());
+    assertEquals(3, metric.getRuntime());
+    assertEquals(2, metric.getMemoryUsage());
+
+    metric.setRuntime(metric.getRuntime() + 4);
+    metric.setMemoryUsage(metric.getMemoryUsage() + 1);
+    assertEquals(7, metric.getRuntime());
+    assertEquals(7_000_000, metric.getTotalNanos());
+    assertEquals(3, metric.getMemoryUsage());
+    assertEquals(3 * 1024 * 1024, metric.getAllocatedBytes());
+  }
+}
@@ -3,6 +3,7 @@ package sootup.java.bytecode.frontend.interceptors.typeresolving;
 import static org.junit.jupiter.api.Assertions.*;
 
 import categories.TestCategories;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -23,7 +24,10 @@ import sootup.core.util.Utils;
 import sootup.interceptors.LocalSplitter;
 import sootup.interceptors.TypeAssigner;
 import sootup.interceptors.typeresolving.TypeResolver;
+import sootup.interceptors.typeresolving.TypingContext;
+import sootup.interceptors.typeresolving.types.BottomType;
 import sootup.interceptors.typeresolving.types.TopType;
+import sootup.java.bytecode.frontend.inputlocation.DefaultRuntimeAnalysisInputLocation;
 import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
 import sootup.java.core.JavaPackageName;
 import sootup.java.core.types.JavaClassType;
@@ -50,6 +54,74 @@ public class TypeResolverTest extends TypeAssignerTestSuite {
     buildView(baseDir + "CastCounterTest/", className);
   }
 
+  @Test
+  public void testTypingContextIsSharedPerView() {
+    TypingContext context = TypingContext.of(view);
+    assertSame(context, TypingContext.of(view));
+    assertNotSame(context, TypingContext.of(new JavaView(Collections.emptyList())));
+  }
+
+  @Test
+  public void testTypingContextDoesNotKeepViewAlive() throws InterruptedException {
+    JavaView otherView = new JavaView(Collections.emptyList());
+    TypingContext.of(otherView);
+    WeakReference<JavaView> viewRef = new WeakReference<>(otherView);
+    otherView = null;
+
+    for (int i = 0; i < 50 && viewRef.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(viewRef.get());
+  }
+
+  @Test
+  public void testBoundedTypingSearch() {
+    buildView(baseDir + "Misc/", "Misc");
+    TypingContext context = TypingContext.of(view);
+    long truncatedSearches = context.getTruncatedSearchCount();
+
+    // a local of this method has several least common ancestors, i.e. the typing is forked
+    TypeResolver resolver = new TypeResolver(view);
+    assertTrue(resolver.resolve(createMethodsBuilder("testTaAndLnsWithoutLS1", "void")));
+    assertFalse(resolver.isSearchTruncated());
+    assertEquals(truncatedSearches, context.getTruncatedSearchCount());
+
+    Body.BodyBuilder builder = createMethodsBuilder("testTaAndLnsWithoutLS1", "void");
+    TypeResolver boundedResolver = new TypeResolver(view, 1);
+    assertTrue(boundedResolver.resolve(builder));
+    assertTrue(boundedResolver.isSearchTruncated());
+    assertEquals(truncatedSearches + 1, context.getTruncatedSearchCount());
+    assertNotNull(builder.build());
+  }
+
+  @Test
+  public void testTypeAssignerWithReachedBound() {
+    AnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            baseDir + "Misc/",
+            SourceType.Application,
+            Collections.singletonList(new TypeAssigner(1)));
+    AnalysisInputLocation rtJar =
+        new DefaultRuntimeAnalysisInputLocation(SourceType.Application, Collections.emptyList());
+    JavaView boundedView = new JavaView(Arrays.asList(inputLocation, rtJar));
+    final MethodSignature methodSignature =
+        boundedView
+            .getIdentifierFactory()
+            .getMethodSignature("Misc", "testTaAndLnsWithoutLS1", "void", Collections.emptyList());
+    Body body = boundedView.getMethod(methodSignature).get().getBody();
+
+    // the ambiguities are resolved greedily, but every local still gets a concrete type
+    assertEquals(1, TypingContext.of(boundedView).getTruncatedSearchCount());
+    assertEquals(4, body.getLocals().size());
+    for (Local local : body.getLocals()) {
+      assertFalse(local.getType() instanceof TopType, local.toString());
+      assertFalse(local.getType() instanceof BottomType, local.toString());
+    }
+    assertTrue(
+        body.getLocals().contains(new Local("l1", PrimitiveType.getLong())), body.toString());
+  }
+
   @Test
   public void testInvokeStmt() {
     final Body.BodyBuilder builder = createMethodsBuilder("invokeStmt", "void");
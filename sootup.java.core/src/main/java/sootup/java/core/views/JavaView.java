@@ -22,29 +22,42 @@ package sootup.java.core.views;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.cache.ClassCache;
+import sootup.core.cache.ConcurrentCache;
 import sootup.core.cache.FullCache;
 import sootup.core.cache.provider.ClassCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SootClass;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.types.ClassType;
 import sootup.core.views.AbstractView;
+import sootup.core.views.BulkBodyResolver;
 import sootup.java.core.*;
 
 /**
  * The Class JavaView manages the Java classes of the application being analyzed. This view cannot
  * be altered after its creation.
  *
+ * <p>If the view is created with a {@link sootup.core.cache.provider.ConcurrentCacheProvider},
+ * classes are resolved without locking the view: each class is still built exactly once, but
+ * multiple threads can resolve different classes at the same time.
+ *
  * @author Linghui Luo created on 31.07.2018
  * @author Jan Martin Persch
  */
@@ -82,28 +95,145 @@ public class JavaView extends AbstractView {
   /** Resolves all classes that are part of the view and stores them in the cache. */
   @Override
   @Nonnull
-  public synchronized Stream<JavaSootClass> getClasses() {
-    if (isFullyResolved && cache instanceof FullCache) {
+  public Stream<JavaSootClass> getClasses() {
+    if (cache instanceof ConcurrentCache) {
+      return resolveClasses();
+    }
+    synchronized (this) {
+      return resolveClasses();
+    }
+  }
+
+  @Nonnull
+  private Stream<JavaSootClass> resolveClasses() {
+    if (isFullyResolved && keepsAllClasses()) {
       return cache.getClasses().stream().map(clazz -> (JavaSootClass) clazz);
     }
 
     Stream<JavaSootClass> resolvedClasses =
         inputLocations.stream()
-            .flatMap(
-                location -> {
-                  // TODO: [ms] find a way to not stream().collect().stream()
-                  return location.getClassSources(this).collect(Collectors.toList()).stream();
-                })
+            .flatMap(location -> location.getClassSources(this))
             .map(this::buildClassFrom);
+    if (!keepsAllClasses()) {
+      // e.g. an LRUCache: the classes are built lazily, so they need not fit in memory at once
+      return resolvedClasses;
+    }
 
+    // the flag may only be set once every class is in the cache, so the classes are resolved
+    // before the stream is returned
+    List<JavaSootClass> classes = resolvedClasses.collect(Collectors.toList());
     isFullyResolved = true;
+    return classes.stream();
+  }
+
+  /** Whether the cache keeps every class that was put into it. */
+  private boolean keepsAllClasses() {
+    return cache instanceof FullCache || cache instanceof ConcurrentCache;
+  }
+
+  /**
+   * Resolves the bodies of all concrete methods of all classes in the view. Unless the view is
+   * already fully resolved, the classes are built one after another while the bodies of the
+   * previous classes are resolved, so the class files are not all parsed before the first
+   * conversion.
+   */
+  @Nonnull
+  @Override
+  public BulkBodyResolver.Result resolveBodies(@Nonnull BulkBodyResolver resolver) {
+    if (isFullyResolved && keepsAllClasses()) {
+      return resolver.resolve(getClasses());
+    }
+
+    // a type that is contained in several input locations is built from the first one only
+    Set<ClassType> seenTypes = ConcurrentHashMap.newKeySet();
+    return resolver.resolve(
+        inputLocations.stream()
+            .flatMap(location -> location.getClassSources(this))
+            .filter(classSource -> seenTypes.add(classSource.getClassType()))
+            .map(this::buildClassFrom));
+  }
+
+  /**
+   * Resolves all classes that are part of the view like {@link #getClasses()}, but reads and parses
+   * the class files of each input location in parallel on the given pool, e.g. {@link
+   * ForkJoinPool#commonPool()}. The input locations are processed one after another, so the first
+   * input location that contains a type still determines its class.
+   *
+   * <p>The view should be created with a {@link
+   * sootup.core.cache.provider.ConcurrentCacheProvider}. Otherwise only the class files are parsed
+   * concurrently, while the classes are built one at a time.
+   *
+   * @return the resolved classes, in no particular order
+   */
+  @Nonnull
+  public List<JavaSootClass> getClassesInParallel(@Nonnull ForkJoinPool pool) {
+    if (isFullyResolved && keepsAllClasses()) {
+      return cache.getClasses().stream()
+          .map(clazz -> (JavaSootClass) clazz)
+          .collect(Collectors.toList());
+    }
+
+    List<JavaSootClass> resolvedClasses = new ArrayList<>();
+    for (AnalysisInputLocation location : inputLocations) {
+      ForkJoinTask<List<JavaSootClass>> task =
+          pool.submit(
+              () ->
+                  location
+                      .getClassSources(this)
+                      .parallel()
+                      .map(this::buildClassFrom)
+                      .collect(Collectors.toList()));
+      try {
+        resolvedClasses.addAll(task.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while resolving the classes.", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException("Could not resolve the classes of " + location, e);
+      }
+    }
+
+    if (keepsAllClasses()) {
+      isFullyResolved = true;
+    }
     return resolvedClasses;
   }
 
+  /**
+   * Reads the {@link ClassHeader}s of all classes from the input locations without resolving the
+   * classes. Like {@link #getClassSource(ClassType)}, the first input location that contains a type
+   * determines its header.
+   */
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders() {
+    if (isFullyResolved && keepsAllClasses()) {
+      return super.getClassHeaders();
+    }
+
+    Set<ClassType> seenTypes = ConcurrentHashMap.newKeySet();
+    return inputLocations.stream()
+        .flatMap(location -> location.getClassHeaders(this))
+        .filter(header -> seenTypes.add(header.getType()));
+  }
+
   /** Resolves the class matching the provided {@link ClassType ClassType}. */
   @Override
   @Nonnull
-  public synchronized Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+  public Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+    if (cache instanceof ConcurrentCache) {
+      return resolveClass(type);
+    }
+    synchronized (this) {
+      return resolveClass(type);
+    }
+  }
+
+  @Nonnull
+  private Optional<JavaSootClass> resolveClass(@Nonnull ClassType type) {
     JavaSootClass cachedClass = (JavaSootClass) cache.getClass(type);
     if (cachedClass != null) {
       return Optional.of(cachedClass);
@@ -138,6 +268,12 @@ public class JavaView extends AbstractView {
     return identifierFactory;
   }
 
+  /** Returns the input locations of this view in the order in which they are searched. */
+  @Nonnull
+  public List<AnalysisInputLocation> getInputLocations() {
+    return Collections.unmodifiableList(inputLocations);
+  }
+
   /** Returns the number of classes that are currently stored in the cache. */
   public int getCachedClassesCount() {
     return cache.size();
@@ -158,18 +294,29 @@ public class JavaView extends AbstractView {
   }
 
   @Nonnull
-  protected synchronized JavaSootClass buildClassFrom(AbstractClassSource classSource) {
-
+  protected JavaSootClass buildClassFrom(AbstractClassSource classSource) {
     ClassType classType = classSource.getClassType();
-    JavaSootClass theClass;
-    if (cache.hasClass(classType)) {
-      theClass = (JavaSootClass) cache.getClass(classType);
-    } else {
-      theClass =
-          (JavaSootClass)
-              classSource.buildClass(classSource.getAnalysisInputLocation().getSourceType());
-      cache.putClass(classType, theClass);
+    if (cache instanceof ConcurrentCache) {
+      return (JavaSootClass)
+          ((ConcurrentCache) cache)
+              .getOrCreateClass(
+                  classType,
+                  () ->
+                      classSource.buildClass(
+                          classSource.getAnalysisInputLocation().getSourceType()));
+    }
+
+    synchronized (this) {
+      JavaSootClass theClass;
+      if (cache.hasClass(classType)) {
+        theClass = (JavaSootClass) cache.getClass(classType);
+      } else {
+        theClass =
+            (JavaSootClass)
+                classSource.buildClass(classSource.getAnalysisInputLocation().getSourceType());
+        cache.putClass(classType, theClass);
+      }
+      return theClass;
     }
-    return theClass;
   }
 }
@@ -39,6 +39,7 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import sootup.core.frontend.OverridingBodySource;
 import sootup.core.frontend.OverridingClassSource;
@@ -63,7 +64,9 @@ import sootup.java.core.types.JavaClassType;
 import sootup.java.frontend.inputlocation.JavaSourcePathAnalysisInputLocation;
 
 /**
- * Converter which converts WALA IR to jimple.
+ * Converter which converts WALA IR to jimple. Multiple classes can be converted concurrently by the
+ * same converter, see {@link WalaJavaClassProvider#getClassSources(SourceType,
+ * java.util.concurrent.ForkJoinPool)}.
  *
  * @author Linghui Luo
  */
@@ -71,16 +74,20 @@ public class WalaIRToJimpleConverter {
 
   final JavaIdentifierFactory identifierFactory;
   private final AnalysisInputLocation srcNamespace;
-  private final HashMap<String, Integer> clsWithInnerCls;
-  private final HashMap<String, String> walaToSootNameTable;
-  private Set<JavaSootField> sootFields;
+  /** guarded by the lock of walaToSootNameTable */
+  private final Map<String, Integer> clsWithInnerCls;
+
+  private final Map<String, String> walaToSootNameTable;
+
+  /** the fields of the class that is converted by the current thread */
+  private final ThreadLocal<Set<JavaSootField>> sootFields = new ThreadLocal<>();
 
   public WalaIRToJimpleConverter(@Nonnull Set<String> sourceDirPath) {
     srcNamespace = new JavaSourcePathAnalysisInputLocation(sourceDirPath);
     // TODO: [ms] get identifierFactory from view - view can hold a different implementation
     identifierFactory = JavaIdentifierFactory.getInstance();
     clsWithInnerCls = new HashMap<>();
-    walaToSootNameTable = new HashMap<>();
+    walaToSootNameTable = new ConcurrentHashMap<>();
   }
 
   public WalaIRToJimpleConverter(@Nonnull Set<String> sourceDirPath, @Nonnull SourceType srcType) {
@@ -88,7 +95,7 @@ public class WalaIRToJimpleConverter {
     // TODO: [ms] get identifierFactory from view - view can hold a different implementation
     identifierFactory = JavaIdentifierFactory.getInstance();
     clsWithInnerCls = new HashMap<>();
-    walaToSootNameTable = new HashMap<>();
+    walaToSootNameTable = new ConcurrentHashMap<>();
   }
 
   /**
@@ -144,7 +151,7 @@ public class WalaIRToJimpleConverter {
     // convert fields
     Set<IField> fields = HashSetFactory.make(walaClass.getDeclaredInstanceFields());
     fields.addAll(walaClass.getDeclaredStaticFields());
-    sootFields = new HashSet<>();
+    Set<JavaSootField> sootFields = new HashSet<>();
     for (IField walaField : fields) {
       JavaSootField sootField = convertField(classSig, (AstField) walaField);
       sootFields.add(sootField);
@@ -163,12 +170,17 @@ public class WalaIRToJimpleConverter {
       sootFields.add(enclosingObject);
     }
 
-    // convert methods
+    // convert methods, which may add synthetic fields to the class
     Set<JavaSootMethod> sootMethods = new HashSet<>();
 
-    for (IMethod walaMethod : walaClass.getDeclaredMethods()) {
-      JavaSootMethod sootMethod = convertMethod(classSig, (AstMethod) walaMethod);
-      sootMethods.add(sootMethod);
+    this.sootFields.set(sootFields);
+    try {
+      for (IMethod walaMethod : walaClass.getDeclaredMethods()) {
+        JavaSootMethod sootMethod = convertMethod(classSig, (AstMethod) walaMethod);
+        sootMethods.add(sootMethod);
+      }
+    } finally {
+      this.sootFields.remove();
     }
 
     return createClassSource(
@@ -600,6 +612,13 @@ public class WalaIRToJimpleConverter {
     if (sootName != null) {
       return sootName;
     }
+    // inner classes are numbered in the order their names are converted first
+    synchronized (walaToSootNameTable) {
+      return walaToSootNameTable.computeIfAbsent(cl, this::createClassNameFromWala);
+    }
+  }
+
+  private String createClassNameFromWala(String className) {
     StringBuilder sb = new StringBuilder();
     if (className.startsWith("L")) {
       className = className.substring(1);
@@ -641,9 +660,7 @@ public class WalaIRToJimpleConverter {
     } else {
       throw new RuntimeException("Can not convert WALA class name: " + className);
     }
-    String ret = sb.toString();
-    walaToSootNameTable.put(cl, ret);
-    return ret;
+    return sb.toString();
   }
 
   /**
@@ -655,8 +672,9 @@ public class WalaIRToJimpleConverter {
   }
 
   protected void addSootField(JavaSootField field) {
-    if (this.sootFields != null) {
-      this.sootFields.add(field);
+    Set<JavaSootField> fields = this.sootFields.get();
+    if (fields != null) {
+      fields.add(field);
     }
   }
 
@@ -20,6 +20,11 @@ package sootup.java.frontend.conversion;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.ibm.wala.cast.java.ipa.callgraph.JavaSourceAnalysisScope;
 import com.ibm.wala.cast.java.loader.JavaSourceLoaderImpl;
 import com.ibm.wala.cast.java.translator.jdt.ecj.ECJClassLoaderFactory;
@@ -37,10 +42,18 @@ import com.ibm.wala.types.ClassLoaderReference;
 import com.ibm.wala.types.TypeName;
 import com.ibm.wala.util.config.FileOfClasses;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.frontend.ClassProvider;
@@ -61,6 +74,18 @@ import sootup.java.core.types.JavaClassType;
  */
 public class WalaJavaClassProvider implements ClassProvider {
 
+  /**
+   * The class hierarchies of source paths, shared by the providers whose scope is determined by the
+   * source path and the exclusion file alone. An entry is keyed by the state of the files, so
+   * changed sources are never served a stale hierarchy. The entries are softly referenced, so they
+   * are built again once the memory runs low.
+   */
+  private static final Cache<List<String>, IClassHierarchy> sharedClassHierarchies =
+      CacheBuilder.newBuilder().softValues().build();
+
+  /** the sorted source path and the exclusion file if the class hierarchy can be shared, or null */
+  @Nullable private List<String> sharedScope;
+
   private final SourceType sourceType;
   private Set<String> sourcePath;
   private IClassHierarchy classHierarchy;
@@ -94,6 +119,7 @@ public class WalaJavaClassProvider implements ClassProvider {
     }
     setExclusions(exclusionFilePath);
     factory = new ECJClassLoaderFactory(scope.getExclusions());
+    sharedScope = sharedScopeOf(sourcePath, exclusionFilePath);
   }
 
   public WalaJavaClassProvider(
@@ -164,6 +190,7 @@ public class WalaJavaClassProvider implements ClassProvider {
         JavaSourceAnalysisScope.SOURCE, new SourceDirectoryTreeModule(new File(sourceDirPath)));
     setExclusions(exclusionFilePath);
     factory = new ECJClassLoaderFactory(scope.getExclusions());
+    sharedScope = sharedScopeOf(sourcePath, exclusionFilePath);
   }
 
   /**
@@ -213,34 +240,166 @@ public class WalaJavaClassProvider implements ClassProvider {
     }
   }
 
-  /** Use WALA's JAVA source code front-end to build class hierarchy. */
+  @Nonnull
+  private static List<String> sharedScopeOf(
+      @Nonnull Set<String> sourcePath, @Nullable String exclusionFilePath) {
+    List<String> scope = new ArrayList<>(new TreeSet<>(sourcePath));
+    if (exclusionFilePath != null) {
+      scope.add(exclusionFilePath);
+    }
+    return scope;
+  }
+
+  /**
+   * Use WALA's JAVA source code front-end to build class hierarchy. Providers with the same source
+   * path and exclusion file share the class hierarchy as long as the files do not change.
+   *
+   * @throws ResolveException if WALA can not build the class hierarchy
+   */
   private void buildClassHierachy() {
     try {
-      this.classHierarchy = ClassHierarchyFactory.make(scope, factory);
+      List<String> key = sharedScope == null ? null : classHierarchyKey(sharedScope);
+      if (key == null) {
+        this.classHierarchy = ClassHierarchyFactory.make(scope, factory);
+      } else {
+        this.classHierarchy =
+            sharedClassHierarchies.get(key, () -> ClassHierarchyFactory.make(scope, factory));
+      }
     } catch (ClassHierarchyException e) {
-      e.printStackTrace();
+      throw classHierarchyFailure(e);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      // the cause is the exception of ClassHierarchyFactory.make
+      throw classHierarchyFailure((Exception) e.getCause());
+    }
+  }
+
+  @Nonnull
+  private ResolveException classHierarchyFailure(@Nonnull Exception cause) {
+    return new ResolveException(
+        "Could not build the class hierarchy of the source path " + sourcePath,
+        Paths.get(sourcePath.isEmpty() ? "" : sourcePath.iterator().next()),
+        cause);
+  }
+
+  /**
+   * Identifies the class hierarchy of the given scope by the paths, sizes and modification times of
+   * its files and the runtime whose classes are in the primordial scope.
+   *
+   * @return the key or null if the files can not be read
+   */
+  @Nullable
+  private static List<String> classHierarchyKey(@Nonnull List<String> sharedScope) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    try {
+      for (String path : sharedScope) {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(Paths.get(path))) {
+          files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+          BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+          hasher
+              .putString(file.toString(), StandardCharsets.UTF_8)
+              .putLong(attributes.size())
+              .putLong(attributes.lastModifiedTime().toMillis());
+        }
+      }
+    } catch (IOException | UncheckedIOException e) {
+      return null;
     }
+    List<String> key = new ArrayList<>(sharedScope);
+    key.add(System.getProperty("java.home"));
+    key.add(hasher.hash().toString());
+    return key;
+  }
+
+  /**
+   * Drops the class hierarchies that are shared by the providers, e.g. to release their memory.
+   * Providers that have already built their class hierarchy keep it.
+   */
+  public static void clearSharedClassHierarchies() {
+    sharedClassHierarchies.invalidateAll();
   }
 
   /**
    * Return ClassSources converted from WALA classes.
    *
+   * <p>Anonymous and local classes are numbered in the order of the class hierarchy, which follows
+   * the order in the source files, e.g. the first local class <code>Foo</code> of <code>A</code> is
+   * named <code>A1$Foo</code>. The numbering does not depend on the order in which the classes are
+   * converted.
+   *
    * @return list of classes
+   * @throws ResolveException if WALA can not build the class hierarchy
    */
   public List<JavaSootClassSource> getClassSources(SourceType srcType) {
-    Iterator<IClass> it = iterateWalaClasses();
+    List<JavaSourceLoaderImpl.JavaClass> walaClasses = listWalaClasses();
     if (classSources == null) {
       classSources = new ArrayList<>();
     }
-    WalaIRToJimpleConverter walaToSoot = new WalaIRToJimpleConverter(this.sourcePath, srcType);
-    while (it.hasNext()) {
-      JavaSourceLoaderImpl.JavaClass walaClass = (JavaSourceLoaderImpl.JavaClass) it.next();
+    WalaIRToJimpleConverter walaToSoot = createConverter(srcType, walaClasses);
+    for (JavaSourceLoaderImpl.JavaClass walaClass : walaClasses) {
       JavaSootClassSource sootClass = walaToSoot.convertToClassSource(walaClass);
       classSources.add(sootClass);
     }
     return classSources;
   }
 
+  /**
+   * Return ClassSources converted from WALA classes. The WALA IR of the classes is converted to
+   * Jimple in parallel on the given pool. The classes are named like in {@link
+   * #getClassSources(SourceType)}.
+   *
+   * @return list of classes, in the order of the class hierarchy
+   * @throws ResolveException if WALA can not build the class hierarchy
+   */
+  public List<JavaSootClassSource> getClassSources(
+      @Nonnull SourceType srcType, @Nonnull ForkJoinPool pool) {
+    List<JavaSourceLoaderImpl.JavaClass> walaClasses = listWalaClasses();
+    WalaIRToJimpleConverter walaToSoot = createConverter(srcType, walaClasses);
+
+    ForkJoinTask<List<JavaSootClassSource>> task =
+        pool.submit(
+            () ->
+                walaClasses
+                    .parallelStream()
+                    .map(walaToSoot::convertToClassSource)
+                    .collect(Collectors.toList()));
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while converting the classes.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Could not convert the classes of " + sourcePath, e);
+    }
+  }
+
+  @Nonnull
+  private List<JavaSourceLoaderImpl.JavaClass> listWalaClasses() {
+    List<JavaSourceLoaderImpl.JavaClass> walaClasses = new ArrayList<>();
+    iterateWalaClasses().forEachRemaining(c -> walaClasses.add((JavaSourceLoaderImpl.JavaClass) c));
+    return walaClasses;
+  }
+
+  /**
+   * Creates a converter that has named the given classes in their order. Anonymous and local
+   * classes are numbered in the order their names are converted first, so naming them upfront makes
+   * the names independent of the order in which the classes are converted.
+   */
+  @Nonnull
+  private WalaIRToJimpleConverter createConverter(
+      @Nonnull SourceType srcType, @Nonnull List<JavaSourceLoaderImpl.JavaClass> walaClasses) {
+    WalaIRToJimpleConverter walaToSoot = new WalaIRToJimpleConverter(this.sourcePath, srcType);
+    for (JavaSourceLoaderImpl.JavaClass walaClass : walaClasses) {
+      walaToSoot.convertClassNameFromWala(walaClass.getName().toString());
+    }
+    return walaToSoot;
+  }
+
   /**
    * Return soot classes converted from WALA classes.
    *
@@ -265,11 +424,7 @@ public class WalaJavaClassProvider implements ClassProvider {
 
   private Iterator<IClass> iterateWalaClasses() {
     if (classHierarchy == null) {
-      try {
-        buildClassHierachy();
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
+      buildClassHierachy();
     }
     return classHierarchy.getLoader(JavaSourceAnalysisScope.SOURCE).iterateAllClasses();
   }
@@ -24,6 +24,7 @@ package sootup.java.frontend.inputlocation;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -60,6 +61,9 @@ public class JavaSourcePathAnalysisInputLocation implements AnalysisInputLocatio
 
   @Nonnull private final List<BodyInterceptor> bodyInterceptors;
 
+  /** the pool that converts the classes to Jimple in parallel, or null to convert them in order */
+  @Nullable private ForkJoinPool conversionPool = null;
+
   /**
    * Create a {@link JavaSourcePathAnalysisInputLocation} which locates java source code in the
    * given source path.
@@ -147,9 +151,20 @@ public class JavaSourcePathAnalysisInputLocation implements AnalysisInputLocatio
     return bodyInterceptors;
   }
 
+  /**
+   * Sets the pool on which {@link #getClassSources(View)} converts the classes of the source path
+   * to Jimple in parallel. If no pool is set, the classes are converted one after another.
+   */
+  public void setConversionPool(@Nullable ForkJoinPool conversionPool) {
+    this.conversionPool = conversionPool;
+  }
+
   @Override
   @Nonnull
   public Stream<JavaSootClassSource> getClassSources(@Nonnull View view) {
+    if (conversionPool != null) {
+      return classProvider.getClassSources(srcType, conversionPool).stream();
+    }
     return classProvider.getClassSources(srcType).stream();
   }
 
@@ -2,15 +2,27 @@ package sootup.java.frontend.conversion;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import sootup.core.frontend.SootClassSource;
+import sootup.core.model.SourceType;
 import sootup.core.signatures.PackageName;
 import sootup.core.util.ImmutableUtils;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
 import sootup.java.frontend.inputlocation.JavaSourcePathAnalysisInputLocation;
 
 @Tag("Java8")
@@ -48,4 +60,91 @@ public class WalaJavaClassProviderTest {
 
     assertEquals(content, (classSource));
   }
+
+  @Test
+  public void testGetClassSourcesInParallel(@TempDir Path srcDir) throws IOException {
+    copyWalaTests(srcDir, "AnonymousClass.java", "InnerClass.java", "LocalClass.java");
+    Set<String> sourcePath = ImmutableUtils.immutableSet(srcDir.toString());
+
+    JavaView sequentialView = new JavaView(new JavaSourcePathAnalysisInputLocation(sourcePath));
+    List<String> expected =
+        sequentialView
+            .getClasses()
+            .map(c -> c.getType().getFullyQualifiedName())
+            .collect(Collectors.toList());
+    assertTrue(expected.contains("LocalClass2$Foo"));
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaSourcePathAnalysisInputLocation parallelLocation =
+          new JavaSourcePathAnalysisInputLocation(sourcePath);
+      parallelLocation.setConversionPool(pool);
+      List<String> actual =
+          new JavaView(parallelLocation)
+              .getClasses()
+              .map(c -> c.getType().getFullyQualifiedName())
+              .collect(Collectors.toList());
+      // the anonymous and local classes are numbered the same way
+      assertEquals(expected, actual);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSharedClassHierarchyFollowsTheSources(@TempDir Path srcDir) throws IOException {
+    copyWalaTests(srcDir, "Array1.java");
+    Set<String> sourcePath = ImmutableUtils.immutableSet(srcDir.toString());
+    assertEquals(
+        Collections.singletonList("Array1"),
+        classNamesOf(new WalaJavaClassProvider(sourcePath, null)));
+
+    copyWalaTests(srcDir, "Casts.java");
+    assertEquals(
+        Arrays.asList("Array1", "Casts"),
+        classNamesOf(new WalaJavaClassProvider(sourcePath, null)));
+  }
+
+  @Test
+  public void testNamesOfAnonymousAndLocalClasses(@TempDir Path srcDir) throws IOException {
+    copyWalaTests(srcDir, "AnonymousClass.java", "LocalClass.java");
+    Set<String> sourcePath = ImmutableUtils.immutableSet(srcDir.toString());
+    List<String> namesAndLines =
+        new WalaJavaClassProvider(sourcePath, null)
+            .getClassSources(SourceType.Application).stream()
+                .map(
+                    classSource ->
+                        classSource.getClassType().getFullyQualifiedName()
+                            + ":"
+                            + classSource.resolvePosition().getFirstLine())
+                .sorted()
+                .collect(Collectors.toList());
+    // local classes are numbered in the order of the source, the Foo of main first. Before the
+    // classes were named upfront, the sequential conversion numbered LocalClass.main's Foo second.
+    assertEquals(
+        Arrays.asList(
+            "AnonymousClass$1:18",
+            "AnonymousClass$2:57",
+            "AnonymousClass$Foo:9",
+            "AnonymousClass1$FooImpl:41",
+            "AnonymousClass:1",
+            "LocalClass1$Foo:12",
+            "LocalClass2$Foo:38",
+            "LocalClass:1"),
+        namesAndLines);
+  }
+
+  private static List<String> classNamesOf(WalaJavaClassProvider provider) {
+    return provider.getClassSources(SourceType.Application).stream()
+        .map(classSource -> classSource.getClassType().getFullyQualifiedName())
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static void copyWalaTests(Path srcDir, String... fileNames) throws IOException {
+    for (String fileName : fileNames) {
+      Files.copy(
+          Paths.get("../shared-test-resources/wala-tests/", fileName), srcDir.resolve(fileName));
+    }
+  }
 }
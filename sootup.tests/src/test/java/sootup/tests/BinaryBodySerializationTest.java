@@ -0,0 +1,139 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.jimple.common.stmt.FallsThroughStmt;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.util.serialization.BinaryBodyReader;
+import sootup.core.util.serialization.BinaryBodyWriter;
+import sootup.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.language.JavaJimple;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests that bodies survive a roundtrip through {@link BinaryBodyWriter}/{@link BinaryBodyReader}.
+ */
+@Tag("Java8")
+public class BinaryBodySerializationTest {
+
+  @Test
+  public void testRoundtripOfJar() throws IOException {
+    assertRoundtrip(
+        new JavaClassPathAnalysisInputLocation(
+            Paths.get(
+                    "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar")
+                .toString(),
+            SourceType.Application,
+            BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+  }
+
+  @Test
+  public void testRoundtripOfTraps() throws IOException {
+    assertRoundtrip(
+        new JavaClassPathAnalysisInputLocation(
+            "src/test/resources/bugs/1119_trap-serialization", SourceType.Application));
+  }
+
+  @Test
+  public void testRoundtripOfUnpairedSurrogates() throws IOException {
+    // obfuscated bytecode may contain Strings that are not valid UTF-16
+    String value = "\uD800a\uDC00\u0000\u00e4\u20ac\uD83D\uDE00";
+    JavaIdentifierFactory factory = JavaIdentifierFactory.getInstance();
+    Local a = JavaJimple.newLocal("a", factory.getClassType("java.lang.String"));
+    FallsThroughStmt assign =
+        JavaJimple.newAssignStmt(
+            a,
+            JavaJimple.getInstance().newStringConstant(value),
+            StmtPositionInfo.getNoStmtPositionInfo());
+    Stmt ret = JavaJimple.newReturnStmt(a, StmtPositionInfo.getNoStmtPositionInfo());
+
+    Body.BodyBuilder builder = Body.builder();
+    builder.setMethodSignature(
+        factory.getMethodSignature("ab.c", "test", "java.lang.String", Collections.emptyList()));
+    builder.getStmtGraph().setStartingStmt(assign);
+    builder.getStmtGraph().putEdge(assign, ret);
+    builder.setLocals(Collections.singleton(a));
+    builder.setPosition(NoPositionInformation.getInstance());
+    Body body = builder.build();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (BinaryBodyWriter writer = new BinaryBodyWriter(bytes)) {
+      writer.write(body);
+    }
+    Body readBody;
+    try (BinaryBodyReader reader =
+        new BinaryBodyReader(ByteBuffer.wrap(bytes.toByteArray()), factory)) {
+      readBody = reader.read();
+    }
+
+    JAssignStmt readAssign = (JAssignStmt) readBody.getStmtGraph().getStartingStmt();
+    assertEquals(value, ((StringConstant) readAssign.getRightOp()).getValue());
+  }
+
+  private void assertRoundtrip(AnalysisInputLocation inputLocation) throws IOException {
+    JavaView view = new JavaView(inputLocation);
+    List<Body> bodies =
+        view.getClasses()
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::hasBody)
+            .map(SootMethod::getBody)
+            .collect(Collectors.toList());
+    assertFalse(bodies.isEmpty());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (BinaryBodyWriter writer = new BinaryBodyWriter(bytes)) {
+      for (Body body : bodies) {
+        writer.write(body);
+      }
+    }
+
+    List<Body> readBodies = new ArrayList<>();
+    try (BinaryBodyReader reader =
+        new BinaryBodyReader(ByteBuffer.wrap(bytes.toByteArray()), view.getIdentifierFactory())) {
+      for (Body body = reader.read(); body != null; body = reader.read()) {
+        readBodies.add(body);
+      }
+    }
+
+    assertEquals(bodies.size(), readBodies.size());
+    for (int i = 0; i < bodies.size(); i++) {
+      Body expected = bodies.get(i);
+      Body actual = readBodies.get(i);
+      assertEquals(expected.getMethodSignature(), actual.getMethodSignature());
+      assertEquals(expected.toString(), actual.toString());
+      assertEquals(expected.getPosition(), actual.getPosition());
+      assertEquals(
+          expected.getLocals().stream().map(Local::getType).collect(Collectors.toList()),
+          actual.getLocals().stream().map(Local::getType).collect(Collectors.toList()));
+
+      Iterator<Stmt> actualStmts = actual.getStmtGraph().getStmts().iterator();
+      for (Stmt expectedStmt : expected.getStmtGraph().getStmts()) {
+        assertEquals(
+            expectedStmt.getPositionInfo().getStmtPosition(),
+            actualStmts.next().getPositionInfo().getStmtPosition());
+      }
+    }
+  }
+}
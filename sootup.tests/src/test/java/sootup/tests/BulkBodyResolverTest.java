@@ -0,0 +1,109 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.cache.provider.ConcurrentCacheProvider;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.views.BulkBodyResolver;
+import sootup.java.bytecode.frontend.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Tests the parallel resolution of all bodies of a view via {@link BulkBodyResolver}. */
+@Tag("Java8")
+public class BulkBodyResolverTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+
+  private JavaView createView() {
+    return new JavaView(
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application)),
+        new ConcurrentCacheProvider());
+  }
+
+  @Test
+  public void resolveBodiesWithExecutor() {
+    JavaView view = createView();
+    long concreteMethods =
+        createView()
+            .getClasses()
+            .flatMap(c -> c.getMethods().stream())
+            .filter(SootMethod::isConcrete)
+            .count();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      BulkBodyResolver.Result result = view.resolveBodies(executor);
+      assertTrue(result.isSuccessful());
+      assertEquals(concreteMethods, result.getResolvedCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void resolveBodiesWithForkJoinPoolAndProgress() {
+    JavaView view = createView();
+    AtomicLong progressCalls = new AtomicLong();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      BulkBodyResolver.Result result =
+          new BulkBodyResolver(pool)
+              .withMaxMethodsInFlight(2)
+              .withProgressListener((resolved, failed) -> progressCalls.incrementAndGet())
+              .resolve(view.getClasses());
+      assertTrue(result.isSuccessful());
+      assertTrue(result.getResolvedCount() > 0);
+      assertEquals(result.getResolvedCount(), progressCalls.get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void resolveBodiesWhileBuildingClasses() {
+    JavaView view = createView();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      BulkBodyResolver.Result result =
+          view.resolveBodies(new BulkBodyResolver(executor).withMaxMethodsInFlight(2));
+      assertTrue(result.isSuccessful());
+      assertEquals(
+          view.getClasses()
+              .flatMap(c -> c.getMethods().stream())
+              .filter(SootMethod::isConcrete)
+              .count(),
+          result.getResolvedCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void resolveBodiesFromWorkerOfSamePool() throws Exception {
+    JavaView view = createView();
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      BulkBodyResolver resolver = new BulkBodyResolver(pool);
+      ExecutionException exception =
+          assertThrows(
+              ExecutionException.class,
+              () -> pool.submit(() -> resolver.resolve(view.getClasses())).get());
+      assertTrue(exception.getCause() instanceof IllegalStateException);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
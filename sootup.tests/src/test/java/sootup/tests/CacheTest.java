@@ -1,20 +1,29 @@
 package sootup.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.cache.provider.ConcurrentCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.cache.provider.LRUCacheProvider;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.types.ClassType;
 import sootup.java.bytecode.frontend.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
 import sootup.java.core.views.JavaView;
 
 /**
@@ -71,8 +80,38 @@ public class CacheTest {
     view.getClasses();
     assertEquals(1, view.getCachedClassesCount());
 
+    // the classes of an LRUCache are only built while the stream is consumed
     JavaView newView = new JavaView(inputLocations, new LRUCacheProvider());
-    newView.getClasses().count();
+    Stream<JavaSootClass> classes = newView.getClasses();
+    assertEquals(0, newView.getCachedClassesCount());
+    classes.count();
     assertEquals(6, newView.getCachedClassesCount());
   }
+
+  /** Test the {@link sootup.core.cache.ConcurrentCache} class */
+  @Test
+  public void concurrentCacheTest() throws Exception {
+    JavaView view = new JavaView(inputLocations, new ConcurrentCacheProvider());
+    assertEquals(0, view.getCachedClassesCount());
+
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<JavaSootClass>> futures =
+          IntStream.range(0, 32)
+              .mapToObj(i -> executor.submit(() -> view.getClass(miniAppClassType).get()))
+              .collect(Collectors.toList());
+      JavaSootClass first = futures.get(0).get();
+      for (Future<JavaSootClass> future : futures) {
+        assertSame(first, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, view.getCachedClassesCount());
+
+    view.getClasses().count();
+    assertEquals(6, view.getCachedClassesCount());
+    assertEquals(6, view.getClasses().count());
+  }
 }
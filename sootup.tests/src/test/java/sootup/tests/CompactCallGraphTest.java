@@ -0,0 +1,89 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.CompactCallGraph;
+import sootup.callgraph.MutableCallGraph;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests that a {@link CompactCallGraph} answers queries like the call graph it was created from.
+ */
+@Tag("Java8")
+public class CompactCallGraphTest {
+
+  private CallGraph expected;
+  private CompactCallGraph actual;
+
+  @BeforeEach
+  public void setup() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar"
+                    + File.pathSeparator
+                    + "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar"));
+    List<MethodSignature> entryPoints =
+        view.getClasses()
+            .flatMap(clazz -> clazz.getMethods().stream())
+            .filter(SootMethod::hasBody)
+            .map(SootMethod::getSignature)
+            .collect(Collectors.toList());
+    expected = new ClassHierarchyAnalysisAlgorithm(view).initialize(entryPoints);
+    actual = CompactCallGraph.of(expected);
+  }
+
+  @Test
+  public void testQueries() {
+    assertTrue(expected.callCount() > 0);
+    assertEquals(expected.callCount(), actual.callCount());
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    assertEquals(expected.getEntryMethods(), actual.getEntryMethods());
+    assertEquals(expected.getMethodSignatures().size(), actual.getMethodCount());
+
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(expected.callTargetsFrom(method), actual.callTargetsFrom(method));
+      assertEquals(expected.callSourcesTo(method), actual.callSourcesTo(method));
+      assertEquals(expected.callsFrom(method), actual.callsFrom(method));
+      assertEquals(expected.callsTo(method), actual.callsTo(method));
+
+      int id = actual.idOf(method);
+      assertEquals(method, actual.methodOf(id));
+      assertEquals(
+          expected.callTargetsFrom(method),
+          actual.callTargetIdsFrom(id).mapToObj(actual::methodOf).collect(Collectors.toSet()));
+      assertEquals(
+          expected.callSourcesTo(method),
+          actual.callSourceIdsTo(id).mapToObj(actual::methodOf).collect(Collectors.toSet()));
+
+      for (CallGraph.Call call : expected.callsFrom(method)) {
+        assertTrue(actual.containsCall(call));
+        assertTrue(actual.callsFrom(method).contains(call));
+        assertTrue(actual.callTargetsFrom(method).contains(call.getTargetMethodSignature()));
+      }
+    }
+    assertEquals(expected.exportAsDot(), actual.exportAsDot());
+  }
+
+  @Test
+  public void testCopy() {
+    MutableCallGraph copy = actual.copy();
+    assertEquals(expected.getMethodSignatures(), copy.getMethodSignatures());
+    assertEquals(expected.callCount(), copy.callCount());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(expected.callsFrom(method), copy.callsFrom(method));
+    }
+    assertSame(actual, CompactCallGraph.of(actual));
+  }
+}
@@ -0,0 +1,109 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.callgraph.AbstractCallGraphAlgorithm;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.RapidTypeAnalysisAlgorithm;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Tests that the parallel call graph construction builds the same graph as the sequential one. */
+@Tag("Java8")
+public class ParallelCallGraphTest {
+
+  private static final String CLASS_PATH =
+      "../shared-test-resources/java-miniapps/MiniApp.jar"
+          + File.pathSeparator
+          + "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar";
+
+  @Test
+  public void testCHA() {
+    assertSameCallGraph(ClassHierarchyAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void testRTA() {
+    assertSameCallGraph(RapidTypeAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void testCHAOnOwnPoolWithSharedInstance() throws Exception {
+    CallGraph sequential = buildCallGraph(ClassHierarchyAnalysisAlgorithm::new, false);
+
+    JavaView view = new JavaView(new JavaClassPathAnalysisInputLocation(CLASS_PATH));
+    List<MethodSignature> entryPoints = getEntryPoints(view);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      AbstractCallGraphAlgorithm cgAlgorithm = new ClassHierarchyAnalysisAlgorithm(view, pool);
+      assertTrue(cgAlgorithm.isParallel());
+      // one instance constructs several call graphs at once
+      List<Future<CallGraph>> callGraphs = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        callGraphs.add(callers.submit(() -> cgAlgorithm.initialize(entryPoints)));
+      }
+      for (Future<CallGraph> callGraph : callGraphs) {
+        assertSameCallGraph(sequential, callGraph.get());
+      }
+    } finally {
+      callers.shutdown();
+      pool.shutdown();
+    }
+  }
+
+  private void assertSameCallGraph(
+      BiFunction<JavaView, Boolean, AbstractCallGraphAlgorithm> algorithm) {
+    assertSameCallGraph(buildCallGraph(algorithm, false), buildCallGraph(algorithm, true));
+  }
+
+  private void assertSameCallGraph(CallGraph sequential, CallGraph parallel) {
+    assertTrue(sequential.callCount() > 0);
+    assertEquals(sequential.getMethodSignatures(), parallel.getMethodSignatures());
+    assertEquals(sequential.callCount(), parallel.callCount());
+    for (MethodSignature method : sequential.getMethodSignatures()) {
+      assertEquals(toEdges(sequential, method), toEdges(parallel, method), method.toString());
+    }
+  }
+
+  private CallGraph buildCallGraph(
+      BiFunction<JavaView, Boolean, AbstractCallGraphAlgorithm> algorithm, boolean parallel) {
+    JavaView view = new JavaView(new JavaClassPathAnalysisInputLocation(CLASS_PATH));
+    AbstractCallGraphAlgorithm cgAlgorithm = algorithm.apply(view, parallel);
+    assertEquals(parallel, cgAlgorithm.isParallel());
+    return cgAlgorithm.initialize(getEntryPoints(view));
+  }
+
+  private List<MethodSignature> getEntryPoints(JavaView view) {
+    return view.getClasses()
+        .flatMap(clazz -> clazz.getMethods().stream())
+        .filter(SootMethod::hasBody)
+        .map(SootMethod::getSignature)
+        .sorted(Comparator.comparing(MethodSignature::toString))
+        .collect(Collectors.toList());
+  }
+
+  /** the calls are compared by their position since the bodies of both views differ */
+  private Set<String> toEdges(CallGraph cg, MethodSignature method) {
+    return cg.callsFrom(method).stream()
+        .map(
+            call ->
+                call.getTargetMethodSignature()
+                    + "@"
+                    + call.getInvokableStmt().getPositionInfo().getStmtPosition())
+        .collect(Collectors.toSet());
+  }
+}
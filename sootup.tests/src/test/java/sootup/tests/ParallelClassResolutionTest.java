@@ -0,0 +1,107 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.cache.ConcurrentCache;
+import sootup.core.cache.provider.ClassCacheProvider;
+import sootup.core.cache.provider.ConcurrentCacheProvider;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootClass;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.frontend.inputlocation.MappedJarAnalysisInputLocation;
+import sootup.java.bytecode.frontend.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/** Tests the parallel resolution of all classes of a view via JavaView#getClassesInParallel. */
+@Tag("Java8")
+public class ParallelClassResolutionTest {
+
+  private static List<AnalysisInputLocation> createInputLocations() {
+    return Arrays.asList(
+        PathBasedAnalysisInputLocation.create(
+            Paths.get("../shared-test-resources/miniTestSuite/java6/binary"),
+            SourceType.Application),
+        PathBasedAnalysisInputLocation.create(
+            Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"),
+            SourceType.Application),
+        new MappedJarAnalysisInputLocation(
+            Paths.get("../shared-test-resources/soot-1580/jpush-android_v3.0.5.jar"),
+            SourceType.Library));
+  }
+
+  private static void assertSameClassesAsSequential(ClassCacheProvider cacheProvider) {
+    Set<ClassType> expected =
+        new JavaView(createInputLocations())
+            .getClasses()
+            .map(SootClass::getType)
+            .collect(Collectors.toSet());
+
+    JavaView view = new JavaView(createInputLocations(), cacheProvider);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<JavaSootClass> classes = view.getClassesInParallel(pool);
+      Set<ClassType> actual = classes.stream().map(SootClass::getType).collect(Collectors.toSet());
+
+      assertFalse(expected.isEmpty());
+      assertEquals(expected, actual);
+      assertEquals(expected.size(), view.getCachedClassesCount());
+      // the classes are resolved once and served from the cache afterwards
+      assertEquals(expected.size(), view.getClassesInParallel(pool).stream().distinct().count());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void resolveClassesWithConcurrentCache() {
+    assertSameClassesAsSequential(new ConcurrentCacheProvider());
+  }
+
+  @Test
+  public void resolveClassesWithFullCache() {
+    assertSameClassesAsSequential(new FullCacheProvider());
+  }
+
+  @Test
+  public void partiallyConsumedClassesDoNotCompleteTheView() {
+    Set<ClassType> expected =
+        new JavaView(createInputLocations())
+            .getClasses()
+            .map(SootClass::getType)
+            .collect(Collectors.toSet());
+
+    JavaView view = new JavaView(createInputLocations(), new ConcurrentCacheProvider());
+    assertFalse(view.getClasses().limit(1).collect(Collectors.toList()).isEmpty());
+
+    assertEquals(expected, view.getClasses().map(SootClass::getType).collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void failedBuildsAreNotCounted() {
+    ConcurrentCache cache = new ConcurrentCache();
+    ClassType type = JavaIdentifierFactory.getInstance().getClassType("A");
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.getOrCreateClass(
+                type,
+                () -> {
+                  throw new IllegalStateException();
+                }));
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,78 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ResolveException;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.VoidType;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootField;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/** Tests that the indexed member lookups of a class agree with its member sets. */
+@Tag("Java8")
+public class SootClassMemberLookupTest {
+
+  @Test
+  public void testLookupsMatchMembers() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                Paths.get(
+                        "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar")
+                    .toString(),
+                SourceType.Application));
+
+    for (JavaSootClass clazz : view.getClasses().collect(Collectors.toList())) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        assertEquals(Optional.of(method), clazz.getMethod(method.getSignature().getSubSignature()));
+        long overloads =
+            clazz.getMethods().stream()
+                .filter(
+                    m ->
+                        m.getName().equals(method.getName())
+                            && m.getParameterTypes().equals(method.getParameterTypes()))
+                .count();
+        if (overloads == 1) {
+          assertEquals(
+              Optional.of(method), clazz.getMethod(method.getName(), method.getParameterTypes()));
+        } else {
+          // e.g. bridge methods differing only in their return type
+          assertThrows(
+              ResolveException.class,
+              () -> clazz.getMethod(method.getName(), method.getParameterTypes()));
+        }
+        assertEquals(
+            clazz.getMethods().stream()
+                .filter(m -> m.getName().equals(method.getName()))
+                .collect(Collectors.toSet()),
+            clazz.getMethodsByName(method.getName()));
+      }
+      for (JavaSootField field : clazz.getFields()) {
+        assertEquals(Optional.of(field), clazz.getField(field.getSignature().getSubSignature()));
+        assertEquals(Optional.of(field), clazz.getField(field.getName()));
+      }
+
+      assertFalse(
+          clazz
+              .getMethod(
+                  new MethodSubSignature(
+                      "<nonexistent>",
+                      Collections.singletonList(PrimitiveType.getInt()),
+                      VoidType.getInstance()))
+              .isPresent());
+      assertFalse(clazz.getField("<nonexistent>").isPresent());
+      assertTrue(clazz.getMethodsByName("<nonexistent>").isEmpty());
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.model.SourceType;
+import sootup.core.typehierarchy.IndexedTypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.frontend.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.OverridingJavaClassSource;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
+
+/** Tests that {@link IndexedTypeHierarchy} answers queries like {@link ViewTypeHierarchy}. */
+@Tag("Java8")
+public class IndexedTypeHierarchyTest {
+
+  private JavaClassPathAnalysisInputLocation inputLocation;
+  private JavaView view;
+  private ViewTypeHierarchy expected;
+  private IndexedTypeHierarchy actual;
+  private List<ClassType> types;
+
+  @BeforeEach
+  public void setup() {
+    inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/java-miniapps/MiniApp.jar"
+                + File.pathSeparator
+                + "../shared-test-resources/jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar");
+    view = new JavaView(inputLocation);
+    expected = new ViewTypeHierarchy(view);
+    actual = new IndexedTypeHierarchy(view);
+
+    // the classes of the view and all types they reference
+    types =
+        view.getClassHeaders()
+            .flatMap(
+                header ->
+                    Stream.concat(
+                        Stream.concat(Stream.of(header.getType()), header.getInterfaces().stream()),
+                        header.getSuperclass().map(Stream::of).orElseGet(Stream::empty)))
+            .distinct()
+            .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testQueriesMatchViewTypeHierarchy() {
+    for (ClassType type : types) {
+      assertTrue(actual.contains(type));
+      assertEquals(expected.isInterface(type), actual.isInterface(type), type.toString());
+      assertEquals(expected.superClassOf(type), actual.superClassOf(type), type.toString());
+      assertSameElements(type, expected::subtypesOf, actual::subtypesOf);
+      assertSameElements(type, expected::directSubtypesOf, actual::directSubtypesOf);
+      assertSameElements(type, expected::implementedInterfacesOf, actual::implementedInterfacesOf);
+      if (expected.isInterface(type)) {
+        assertSameElements(type, expected::implementersOf, actual::implementersOf);
+        assertSameElements(
+            type, expected::directlyExtendedInterfacesOf, actual::directlyExtendedInterfacesOf);
+      } else {
+        assertSameElements(type, expected::subclassesOf, actual::subclassesOf);
+        assertSameElements(
+            type,
+            expected::directlyImplementedInterfacesOf,
+            actual::directlyImplementedInterfacesOf);
+      }
+    }
+    assertFalse(actual.contains(view.getIdentifierFactory().getClassType("does.not.Exist")));
+  }
+
+  @Test
+  public void testSubtypingAndLowestCommonAncestorsMatchViewTypeHierarchy() {
+    for (ClassType a : types) {
+      for (ClassType b : types) {
+        assertEquals(expected.isSubtype(a, b), actual.isSubtype(a, b), a + " :> " + b);
+        assertEquals(
+            new HashSet<>(expected.getLowestCommonAncestors(a, b)),
+            new HashSet<>(actual.getLowestCommonAncestors(a, b)),
+            "lca(" + a + ", " + b + ")");
+      }
+    }
+  }
+
+  @Test
+  public void testCachedLowestCommonAncestorsAreUnmodifiable() {
+    ClassType a = types.get(0);
+    ClassType b = types.get(types.size() - 1);
+    for (int i = 0; i < 2; i++) {
+      // the second query returns the cached set
+      Collection<ClassType> expectedLcas = expected.getLowestCommonAncestors(a, b);
+      Collection<ClassType> actualLcas = actual.getLowestCommonAncestors(a, b);
+      assertThrows(UnsupportedOperationException.class, expectedLcas::clear);
+      assertThrows(UnsupportedOperationException.class, actualLcas::clear);
+    }
+    assertFalse(expected.getLowestCommonAncestors(a, b).isEmpty());
+    assertFalse(actual.getLowestCommonAncestors(a, b).isEmpty());
+  }
+
+  @Test
+  public void testAddType() {
+    JavaIdentifierFactory factory = view.getIdentifierFactory();
+    JavaClassType employee = factory.getClassType("ds.Employee");
+    ClassType abstractDataStructure = factory.getClassType("ds.AbstractDataStrcture");
+    JavaClassType newType = factory.getClassType("adummytype.Type");
+    // trigger building the index before the type is added
+    assertFalse(actual.contains(newType));
+
+    OverridingJavaClassSource classSource =
+        new OverridingJavaClassSource(
+            inputLocation,
+            null,
+            newType,
+            employee,
+            Collections.emptySet(),
+            null,
+            Collections.emptySet(),
+            Collections.emptySet(),
+            null,
+            EnumSet.of(ClassModifier.FINAL),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList());
+    actual.addType(new SootClass(classSource, SourceType.Application));
+
+    assertTrue(actual.contains(newType));
+    assertTrue(actual.subclassesOf(abstractDataStructure).anyMatch(newType::equals));
+    assertTrue(actual.isSubtype(employee, newType));
+    assertEquals(Optional.of(employee), actual.superClassOf(newType));
+    assertEquals(
+        ClassHeader.of(view.getClass(employee).get()).getInterfaces(),
+        actual.implementedInterfacesOf(newType).collect(Collectors.toSet()));
+  }
+
+  private static void assertSameElements(
+      ClassType type,
+      Function<ClassType, Stream<ClassType>> expected,
+      Function<ClassType, Stream<ClassType>> actual) {
+    assertEquals(
+        expected.apply(type).collect(Collectors.toSet()),
+        actual.apply(type).collect(Collectors.toSet()),
+        type.toString());
+  }
+}